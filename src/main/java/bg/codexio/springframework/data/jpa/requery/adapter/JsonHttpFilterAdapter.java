@@ -73,9 +73,30 @@ public class JsonHttpFilterAdapter
      */
     @Override
     public <T> FilterRequestWrapper<T> adapt(HttpServletRequest webRequest) {
-        var filterJson = webRequest.getParameter("filter");
-        var complexFilterJson = webRequest.getParameter("complexFilter");
+        return this.adapt(
+                webRequest.getParameter("filter"),
+                webRequest.getParameter("complexFilter")
+        );
+    }
 
+    /**
+     * Adapts the raw values of the "filter" and "complexFilter" parameters
+     * into a {@link FilterRequestWrapper}, independently of the request
+     * type they were read from.
+     *
+     * @param filterJson        the value of the "filter" parameter, or
+     *                          {@code null} if absent
+     * @param complexFilterJson the value of the "complexFilter" parameter,
+     *                          or {@code null} if absent
+     * @param <T>               the type of the result in the
+     *                          {@link FilterRequestWrapper}
+     * @return a {@link FilterRequestWrapper} containing the parsed filter
+     * requests or an empty wrapper if parsing fails
+     */
+    public <T> FilterRequestWrapper<T> adapt(
+            String filterJson,
+            String complexFilterJson
+    ) {
         try {
             if (filterJson != null) {
                 return constructSimpleFilterWrapper(filterJson);
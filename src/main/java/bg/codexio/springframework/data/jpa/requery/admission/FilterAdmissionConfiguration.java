@@ -0,0 +1,158 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Registers the admission of filters: the {@link FilterCostModel}, the
+ * {@link FilterComplexityBudgetPolicy} rejecting filters over the budget,
+ * and the {@link QueryDeadlineRepositoryPostProcessor} bounding repository
+ * queries by the deadline of a {@link FilterTimeoutPolicy}.
+ *
+ * <p>The default budget and the weights of the cost model are read from
+ * the {@code requery.admission.*} properties, falling back to
+ * {@link #DEFAULT_MAX_COST} and {@link FilterCostModel#defaults()}. An
+ * application replaces the cost model or the budget policy by declaring a
+ * bean of the same type, whose presence removes the default one once all
+ * configurations are loaded.</p>
+ */
+@Configuration
+public class FilterAdmissionConfiguration {
+    public static final double DEFAULT_MAX_COST = 100;
+
+    public static final String MAX_COST_PROPERTY = "requery.admission.max-cost";
+
+    public static final String NODE_WEIGHT_PROPERTY =
+            "requery.admission.cost.node-weight";
+
+    public static final String DEPTH_WEIGHT_PROPERTY =
+            "requery.admission.cost.depth-weight";
+
+    public static final String IN_VALUE_WEIGHT_PROPERTY =
+            "requery.admission.cost.in-value-weight";
+
+    public static final String LEADING_WILDCARD_WEIGHT_PROPERTY =
+            "requery.admission.cost.leading-wildcard-weight";
+
+    public static final String COLLECTION_PATH_WEIGHT_PROPERTY =
+            "requery.admission.cost.collection-path-weight";
+
+    @Bean
+    public static QueryDeadlineRepositoryPostProcessor queryDeadlineRepositoryPostProcessor() {
+        return new QueryDeadlineRepositoryPostProcessor();
+    }
+
+    /**
+     * Removes the default beans that the application replaced, see
+     * {@link DefaultBeanRemover}.
+     *
+     * @return the post processor removing the replaced defaults
+     */
+    @Bean
+    public static BeanDefinitionRegistryPostProcessor filterAdmissionDefaultBeanRemover() {
+        return new DefaultBeanRemover(Map.of(
+                "filterCostModel",
+                FilterCostModel.class,
+                "filterComplexityBudgetPolicy",
+                FilterComplexityBudgetPolicy.class
+        ));
+    }
+
+    /**
+     * @param environment the environment holding the weight properties
+     * @return the cost model with the configured weights, the library's
+     * default weights for the properties that are not set
+     */
+    @Bean
+    public FilterCostModel filterCostModel(Environment environment) {
+        var defaults = FilterCostModel.defaults();
+
+        return new FilterCostModel(
+                environment.getProperty(
+                        NODE_WEIGHT_PROPERTY,
+                        Double.class,
+                        defaults.nodeWeight()
+                ),
+                environment.getProperty(
+                        DEPTH_WEIGHT_PROPERTY,
+                        Double.class,
+                        defaults.depthWeight()
+                ),
+                environment.getProperty(
+                        IN_VALUE_WEIGHT_PROPERTY,
+                        Double.class,
+                        defaults.inValueWeight()
+                ),
+                environment.getProperty(
+                        LEADING_WILDCARD_WEIGHT_PROPERTY,
+                        Double.class,
+                        defaults.leadingWildcardWeight()
+                ),
+                environment.getProperty(
+                        COLLECTION_PATH_WEIGHT_PROPERTY,
+                        Double.class,
+                        defaults.collectionPathWeight()
+                )
+        );
+    }
+
+    /**
+     * @param filterCostModel the cost model estimating the filters
+     * @param environment     the environment holding the budget property
+     * @return the policy rejecting the filters over the configured
+     * budget, {@link #DEFAULT_MAX_COST} if it is not set
+     */
+    @Bean
+    public FilterComplexityBudgetPolicy filterComplexityBudgetPolicy(
+            FilterCostModel filterCostModel,
+            Environment environment
+    ) {
+        return new FilterComplexityBudgetPolicy(
+                filterCostModel,
+                environment.getProperty(
+                        MAX_COST_PROPERTY,
+                        Double.class,
+                        DEFAULT_MAX_COST
+                )
+        );
+    }
+
+    /**
+     * Removes a default bean definition when another bean of its type is
+     * defined. It runs after the configuration classes are loaded, so the
+     * replacement is found whatever the order of the configurations. The
+     * type of a bean is taken from its definition, such as the return type
+     * of its factory method, without creating it.
+     *
+     * @param defaults the types of the default beans by their names
+     */
+    record DefaultBeanRemover(Map<String, Class<?>> defaults)
+            implements BeanDefinitionRegistryPostProcessor {
+
+        @Override
+        public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+            if (!(registry instanceof ListableBeanFactory beanFactory)) {
+                return;
+            }
+
+            this.defaults.forEach((name, type) -> {
+                var replaced = Arrays.stream(beanFactory.getBeanNamesForType(
+                                             type,
+                                             true,
+                                             false
+                                     ))
+                                     .anyMatch(other -> !other.equals(name));
+                if (replaced && registry.containsBeanDefinition(name)) {
+                    registry.removeBeanDefinition(name);
+                }
+            });
+        }
+    }
+}
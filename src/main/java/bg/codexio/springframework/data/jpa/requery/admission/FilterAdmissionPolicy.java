@@ -0,0 +1,32 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import org.springframework.core.MethodParameter;
+
+/**
+ * A policy that decides whether an adapted filter may be turned into a
+ * query. Policies are consulted by the argument resolver after the filter
+ * is adapted and before any JPA Criteria are built.
+ *
+ * <p>Every bean implementing this interface is picked up by the
+ * {@code FilterJsonArgumentResolver}, in the same way as the active
+ * {@code HttpFilterAdapter} beans.</p>
+ */
+public interface FilterAdmissionPolicy {
+
+    /**
+     * Checks the given filter and throws if it must not be executed.
+     *
+     * @param filter     the adapted filter, simple filters being represented
+     *                   as a single group joined with {@code AND}
+     * @param entityType the entity type being filtered
+     * @param parameter  the {@code Specification} method parameter being
+     *                   resolved
+     * @throws FilterRejectedException if the filter is not admitted
+     */
+    void admit(
+            FilterGroupRequest filter,
+            Class<?> entityType,
+            MethodParameter parameter
+    );
+}
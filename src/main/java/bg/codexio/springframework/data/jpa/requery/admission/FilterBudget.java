@@ -0,0 +1,25 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the maximum cost a filter may have, as estimated by the
+ * {@link FilterCostModel}.
+ *
+ * <p>When placed on a {@code Specification} controller parameter the budget
+ * applies to that endpoint only. When placed on an entity class it applies
+ * to every endpoint filtering that entity, unless the parameter declares
+ * its own budget.</p>
+ */
+@Target({ElementType.PARAMETER, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FilterBudget {
+
+    /**
+     * @return the maximum estimated cost of an admitted filter
+     */
+    double maxCost();
+}
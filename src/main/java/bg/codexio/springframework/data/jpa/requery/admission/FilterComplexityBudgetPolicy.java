@@ -0,0 +1,92 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Rejects filters whose estimated cost exceeds the budget of the endpoint.
+ *
+ * <p>The budget is taken from a {@link FilterBudget} annotation on the
+ * {@code Specification} parameter, then from one on the entity class, and
+ * finally falls back to the default budget this policy was created
+ * with.</p>
+ */
+public class FilterComplexityBudgetPolicy
+        implements FilterAdmissionPolicy {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final FilterCostModel costModel;
+
+    private final double defaultMaxCost;
+
+    public FilterComplexityBudgetPolicy(
+            FilterCostModel costModel,
+            double defaultMaxCost
+    ) {
+        this.costModel = costModel;
+        this.defaultMaxCost = defaultMaxCost;
+    }
+
+    /**
+     * Estimates the cost of the filter and rejects it with
+     * {@link HttpStatus#UNPROCESSABLE_ENTITY} if it exceeds the budget.
+     *
+     * @param filter     the adapted filter
+     * @param entityType the entity type being filtered
+     * @param parameter  the {@code Specification} method parameter being
+     *                   resolved
+     */
+    @Override
+    public void admit(
+            FilterGroupRequest filter,
+            Class<?> entityType,
+            MethodParameter parameter
+    ) {
+        var budget = this.budgetFor(
+                entityType,
+                parameter
+        );
+        var cost = this.costModel.estimate(
+                filter,
+                entityType
+        );
+
+        this.logger.debug(
+                "Filter on {} costs {} of a {} budget",
+                entityType.getSimpleName(),
+                cost,
+                budget
+        );
+
+        if (cost > budget) {
+            throw new FilterRejectedException(
+                    HttpStatus.UNPROCESSABLE_ENTITY,
+                    "The filter is too complex: estimated cost " + cost
+                            + " exceeds the budget of " + budget
+            );
+        }
+    }
+
+    private double budgetFor(
+            Class<?> entityType,
+            MethodParameter parameter
+    ) {
+        var parameterBudget = parameter == null
+                              ? null
+                              :
+                              parameter.getParameterAnnotation(FilterBudget.class);
+        if (parameterBudget != null) {
+            return parameterBudget.maxCost();
+        }
+
+        var entityBudget = entityType.getAnnotation(FilterBudget.class);
+        if (entityBudget != null) {
+            return entityBudget.maxCost();
+        }
+
+        return this.defaultMaxCost;
+    }
+}
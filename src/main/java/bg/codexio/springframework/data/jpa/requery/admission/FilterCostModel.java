@@ -0,0 +1,119 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.resolver.FieldPathResolver;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A linear cost model estimating how expensive a filter is to execute.
+ *
+ * <p>Each {@link FilterRequest} costs {@code nodeWeight}. Operations that
+ * cannot use an ordinary index - the leading-wildcard LIKE operations and
+ * the case-insensitive family, which wraps the column in {@code LOWER} -
+ * add {@code leadingWildcardWeight}. Every value of an {@code IN} or
+ * {@code NOT_IN} list adds {@code inValueWeight}, and paths traversing a
+ * collection, which require a join, add {@code collectionPathWeight}.
+ * Finally, every nesting level beyond the first adds
+ * {@code depthWeight}.</p>
+ *
+ * @param nodeWeight            the cost of a single filter request
+ * @param depthWeight           the cost of each nested group
+ * @param inValueWeight         the cost of each {@code IN} list value
+ * @param leadingWildcardWeight the extra cost of a non-sargable LIKE
+ * @param collectionPathWeight  the extra cost of a path through a
+ *                              collection
+ */
+public record FilterCostModel(
+        double nodeWeight,
+        double depthWeight,
+        double inValueWeight,
+        double leadingWildcardWeight,
+        double collectionPathWeight
+) {
+    private static final Set<FilterOperation> LEADING_WILDCARD_OPERATIONS =
+            EnumSet.of(
+                    FilterOperation.ENDS_WITH,
+                    FilterOperation.CONTAINS,
+                    FilterOperation.BEGINS_WITH_CASEINS,
+                    FilterOperation.ENDS_WITH_CASEINS,
+                    FilterOperation.CONTAINS_CASEINS
+            );
+
+    /**
+     * @return the cost model with the library's default weights
+     */
+    public static FilterCostModel defaults() {
+        return new FilterCostModel(
+                1,
+                2,
+                0.1,
+                10,
+                5
+        );
+    }
+
+    /**
+     * Estimates the cost of the given filter.
+     *
+     * @param filter     the filter to estimate
+     * @param entityType the entity type being filtered, used to detect
+     *                   collection paths
+     * @return the estimated cost
+     */
+    public double estimate(
+            FilterGroupRequest filter,
+            Class<?> entityType
+    ) {
+        return (filter.depth() - 1) * this.depthWeight
+                + filter.allOperations()
+                        .mapToDouble(request -> this.estimate(
+                                request,
+                                entityType
+                        ))
+                        .sum();
+    }
+
+    private double estimate(
+            FilterRequest request,
+            Class<?> entityType
+    ) {
+        var cost = this.nodeWeight;
+
+        if (LEADING_WILDCARD_OPERATIONS.contains(request.operation())) {
+            cost += this.leadingWildcardWeight;
+        }
+
+        if (request.value() instanceof Collection<?> values) {
+            cost += values.size() * this.inValueWeight;
+        }
+
+        if (this.isCollectionPath(
+                request.field(),
+                entityType
+        )) {
+            cost += this.collectionPathWeight;
+        }
+
+        return cost;
+    }
+
+    private boolean isCollectionPath(
+            String field,
+            Class<?> entityType
+    ) {
+        try {
+            return FieldPathResolver.resolve(
+                                            entityType,
+                                            field
+                                    )
+                                    .collection();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
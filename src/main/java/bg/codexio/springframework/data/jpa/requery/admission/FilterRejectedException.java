@@ -0,0 +1,27 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.Serial;
+
+/**
+ * Thrown when a filter is rejected before it reaches the database. Being a
+ * {@link ResponseStatusException}, it is translated by Spring MVC into a
+ * client error response with the given status.
+ */
+public class FilterRejectedException
+        extends ResponseStatusException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public FilterRejectedException(
+            HttpStatusCode status,
+            String reason
+    ) {
+        super(
+                status,
+                reason
+        );
+    }
+}
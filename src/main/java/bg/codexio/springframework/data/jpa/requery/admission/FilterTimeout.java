@@ -0,0 +1,26 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the time budget of the queries of a filter, which the
+ * {@link FilterTimeoutPolicy} scales by the estimated cost of the filter.
+ *
+ * <p>When placed on a {@code Specification} controller parameter the
+ * budget applies to that endpoint only. When placed on an entity class it
+ * applies to every endpoint filtering that entity, unless the parameter
+ * declares its own budget.</p>
+ */
+@Target({ElementType.PARAMETER, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FilterTimeout {
+
+    /**
+     * @return the timeout of the queries of the most expensive filters, in
+     * milliseconds
+     */
+    long millis();
+}
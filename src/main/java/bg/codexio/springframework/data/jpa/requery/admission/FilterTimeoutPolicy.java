@@ -0,0 +1,223 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Sets the {@link QueryDeadline} of a filtered request.
+ *
+ * <p>The time budget of the endpoint is taken from a {@link FilterTimeout}
+ * annotation on the {@code Specification} parameter, then from one on the
+ * entity class, and finally falls back to the default timeout this policy
+ * was created with. The budget is meant for the most expensive filters:
+ * it is scaled by the estimated cost of the filter relative to the
+ * reference cost, so that a cheap filter running long is cut short, and
+ * never drops below the minimum timeout.</p>
+ *
+ * <p>A caller may send the time it is still willing to wait, in
+ * milliseconds, in the deadline header; the queries then never outlive
+ * the caller.</p>
+ */
+public class FilterTimeoutPolicy
+        implements FilterAdmissionPolicy {
+    public static final String DEFAULT_DEADLINE_HEADER = "X-Request-Timeout";
+
+    public static final Duration DEFAULT_MIN_TIMEOUT = Duration.ofMillis(100);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final FilterCostModel costModel;
+
+    private final Duration defaultTimeout;
+
+    private final Duration minTimeout;
+
+    private final double referenceCost;
+
+    private final String deadlineHeader;
+
+    public FilterTimeoutPolicy(
+            FilterCostModel costModel,
+            Duration defaultTimeout
+    ) {
+        this(
+                costModel,
+                defaultTimeout,
+                DEFAULT_MIN_TIMEOUT,
+                FilterAdmissionConfiguration.DEFAULT_MAX_COST,
+                DEFAULT_DEADLINE_HEADER
+        );
+    }
+
+    /**
+     * Constructs a policy with custom scaling and deadline header.
+     *
+     * @param costModel      estimates the cost of a filter
+     * @param defaultTimeout the budget of endpoints without a
+     *                       {@link FilterTimeout}
+     * @param minTimeout     the shortest timeout of a filter the caller
+     *                       still waits for
+     * @param referenceCost  the estimated cost of a filter given the whole
+     *                       budget
+     * @param deadlineHeader the request header with the milliseconds the
+     *                       caller still waits
+     */
+    public FilterTimeoutPolicy(
+            FilterCostModel costModel,
+            Duration defaultTimeout,
+            Duration minTimeout,
+            double referenceCost,
+            String deadlineHeader
+    ) {
+        this.costModel = costModel;
+        this.defaultTimeout = defaultTimeout;
+        this.minTimeout = minTimeout;
+        this.referenceCost = referenceCost;
+        this.deadlineHeader = deadlineHeader;
+    }
+
+    /**
+     * Sets the deadline of the queries of the current request.
+     *
+     * @param filter     the adapted filter
+     * @param entityType the entity type being filtered
+     * @param parameter  the {@code Specification} method parameter being
+     *                   resolved
+     * @throws FilterRejectedException with {@code 400 Bad Request} if the
+     *                                 deadline header is not a number, and
+     *                                 with {@code 504 Gateway Timeout} if
+     *                                 the caller stopped waiting
+     */
+    @Override
+    public void admit(
+            FilterGroupRequest filter,
+            Class<?> entityType,
+            MethodParameter parameter
+    ) {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+
+        var timeout = this.timeoutFor(
+                filter,
+                entityType,
+                parameter
+        );
+        var callerTimeout = this.callerTimeout(attributes);
+        if (callerTimeout != null) {
+            if (!callerTimeout.isPositive()) {
+                throw new FilterRejectedException(
+                        HttpStatus.GATEWAY_TIMEOUT,
+                        "The caller no longer waits for the filter"
+                );
+            }
+            if (callerTimeout.compareTo(timeout) < 0) {
+                timeout = callerTimeout;
+            }
+        }
+
+        this.logger.debug(
+                "Filter on {} times out after {}",
+                entityType.getSimpleName(),
+                timeout
+        );
+
+        attributes.setAttribute(
+                QueryDeadline.ATTRIBUTE,
+                new QueryDeadline(timeout),
+                RequestAttributes.SCOPE_REQUEST
+        );
+    }
+
+    /**
+     * Scales the budget of the endpoint by the cost of the filter.
+     *
+     * @param filter     the adapted filter
+     * @param entityType the entity type being filtered
+     * @param parameter  the {@code Specification} method parameter, may be
+     *                   {@code null}
+     * @return the timeout of the queries of the filter
+     */
+    private Duration timeoutFor(
+            FilterGroupRequest filter,
+            Class<?> entityType,
+            MethodParameter parameter
+    ) {
+        var budget = this.budgetFor(
+                entityType,
+                parameter
+        );
+        var share = Math.min(
+                1,
+                this.costModel.estimate(
+                        filter,
+                        entityType
+                ) / this.referenceCost
+        );
+        var scaled = Duration.ofNanos((long) (budget.toNanos() * share));
+
+        return scaled.compareTo(this.minTimeout) < 0
+               ? this.minTimeout
+               : scaled;
+    }
+
+    private Duration budgetFor(
+            Class<?> entityType,
+            MethodParameter parameter
+    ) {
+        var parameterTimeout = parameter == null
+                               ? null
+                               :
+                               parameter.getParameterAnnotation(FilterTimeout.class);
+        if (parameterTimeout != null) {
+            return Duration.ofMillis(parameterTimeout.millis());
+        }
+
+        var entityTimeout = entityType.getAnnotation(FilterTimeout.class);
+        if (entityTimeout != null) {
+            return Duration.ofMillis(entityTimeout.millis());
+        }
+
+        return this.defaultTimeout;
+    }
+
+    /**
+     * Reads the time the caller still waits from the deadline header.
+     *
+     * @param attributes the attributes of the current request
+     * @return the time the caller still waits, {@code null} if the request
+     * has no deadline header
+     * @throws FilterRejectedException with {@code 400 Bad Request} if the
+     *                                 header is not a number
+     */
+    private Duration callerTimeout(RequestAttributes attributes) {
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+
+        var header = servletAttributes.getRequest()
+                                      .getHeader(this.deadlineHeader);
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+
+        try {
+            return Duration.ofMillis(Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "The " + this.deadlineHeader + " header must be a "
+                            + "number of milliseconds"
+            );
+        }
+    }
+}
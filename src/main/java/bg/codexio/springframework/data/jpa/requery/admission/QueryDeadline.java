@@ -0,0 +1,209 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.spi.QueryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The deadline of the queries of a filtered request, set by the
+ * {@link FilterTimeoutPolicy} when the filter is admitted.
+ *
+ * <p>The deadline becomes the {@code jakarta.persistence.query.timeout}
+ * of the JPA queries and the query timeout of the JDBC statements it is
+ * applied to. Those queries and statements are cancelled when the request
+ * is aborted, see {@link QueryDeadlineInterceptor}.</p>
+ *
+ * <p>JDBC query timeouts are whole seconds, and Hibernate rounds the hint
+ * to the nearest one, so the time left is always rounded up to a whole
+ * second that never disables the timeout.</p>
+ */
+public class QueryDeadline {
+    public static final String ATTRIBUTE = QueryDeadline.class.getName();
+
+    public static final String TIMEOUT_HINT =
+            "jakarta.persistence.query.timeout";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final long expiresAt;
+
+    private final Set<SharedSessionContractImplementor> sessions =
+            ConcurrentHashMap.newKeySet();
+
+    private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+
+    public QueryDeadline(Duration timeout) {
+        this.expiresAt = System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * @return the deadline of the current request, if its filter was
+     * admitted by a {@link FilterTimeoutPolicy}
+     */
+    public static Optional<QueryDeadline> current() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+
+        return attributes == null
+               ? Optional.empty()
+               : Optional.ofNullable((QueryDeadline) attributes.getAttribute(
+                       ATTRIBUTE,
+                       RequestAttributes.SCOPE_REQUEST
+               ));
+    }
+
+    /**
+     * Applies the deadline of the current request, if there is one, to a
+     * query.
+     *
+     * @param query the query
+     * @param <Q>   the query type
+     * @return the query
+     */
+    public static <Q extends Query> Q applyCurrent(Q query) {
+        return current().map(deadline -> deadline.applyTo(query))
+                        .orElse(query);
+    }
+
+    /**
+     * @return the time left until the deadline, negative once it passed
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(this.expiresAt - System.nanoTime());
+    }
+
+    /**
+     * Sets the time left until the deadline as the timeout of a query,
+     * and cancels it if the request is aborted while it runs.
+     *
+     * @param query the query
+     * @param <Q>   the query type
+     * @return the query
+     */
+    public <Q extends Query> Q applyTo(Q query) {
+        query.setHint(
+                TIMEOUT_HINT,
+                this.timeoutSeconds() * 1000
+        );
+        this.sessions.add(query.unwrap(QueryImplementor.class)
+                               .getSession());
+
+        return query;
+    }
+
+    /**
+     * Sets the time left until the deadline as the timeout of the queries
+     * an entity manager creates from now on, and cancels its running
+     * statement if the request is aborted.
+     *
+     * <p>The entity manager must be one the caller opened, or bound to
+     * the current transaction: on a shared entity manager outside of a
+     * transaction, the timeout would be set on a throwaway one. Apply the
+     * deadline to every query instead in that case.</p>
+     *
+     * @param entityManager the entity manager
+     */
+    public void applyTo(EntityManager entityManager) {
+        entityManager.setProperty(
+                TIMEOUT_HINT,
+                this.timeoutSeconds() * 1000
+        );
+        this.sessions.add(
+                entityManager.unwrap(SharedSessionContractImplementor.class)
+        );
+    }
+
+    /**
+     * Applies the deadline to the entity managers bound to the current
+     * thread, by a transaction or an open entity manager in view, so that
+     * it also bounds the queries of a Spring Data repository.
+     *
+     * @see #applyTo(EntityManager)
+     */
+    public void applyToBoundEntityManagers() {
+        for (var resource : TransactionSynchronizationManager.getResourceMap()
+                                                             .values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                this.applyTo(holder.getEntityManager());
+            }
+        }
+    }
+
+    /**
+     * Sets the time left until the deadline as the timeout of a JDBC
+     * statement, and cancels it if the request is aborted while it runs.
+     *
+     * @param statement the statement
+     * @throws SQLException if the timeout cannot be set
+     */
+    public void applyTo(Statement statement) throws SQLException {
+        statement.setQueryTimeout(this.timeoutSeconds());
+        this.statements.add(statement);
+    }
+
+    /**
+     * Cancels the running queries and statements the deadline was applied
+     * to.
+     */
+    public void cancel() {
+        for (var session : this.sessions) {
+            if (session.isClosed()) {
+                continue;
+            }
+
+            try {
+                session.getJdbcCoordinator()
+                       .cancelLastQuery();
+            } catch (RuntimeException e) {
+                this.logger.debug(
+                        "Could not cancel the query of an aborted request",
+                        e
+                );
+            }
+        }
+        for (var statement : this.statements) {
+            try {
+                if (!statement.isClosed()) {
+                    statement.cancel();
+                }
+            } catch (SQLException e) {
+                this.logger.debug(
+                        "Could not cancel the statement of an aborted "
+                                + "request",
+                        e
+                );
+            }
+        }
+        this.sessions.clear();
+        this.statements.clear();
+    }
+
+    /**
+     * @return the time left until the deadline in whole seconds, rounded
+     * up and at least one
+     */
+    public int timeoutSeconds() {
+        return Math.clamp(
+                Math.ceilDiv(
+                        this.remaining()
+                            .toMillis(),
+                        1000
+                ),
+                1,
+                Integer.MAX_VALUE / 1000
+        );
+    }
+}
@@ -0,0 +1,81 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cancels the running queries of an asynchronous request that fails or
+ * times out, which is how the servlet container reports a client that
+ * disconnected, so that their connections return to the pool at once.
+ *
+ * <p>Register it with
+ * {@code AsyncSupportConfigurer#registerCallableInterceptors} and
+ * {@code AsyncSupportConfigurer#registerDeferredResultInterceptors}. A
+ * synchronous request cannot observe the disconnect of its client; its
+ * queries are bounded by the {@link QueryDeadline} timeout only.</p>
+ */
+public class QueryDeadlineInterceptor
+        implements CallableProcessingInterceptor,
+                   DeferredResultProcessingInterceptor {
+
+    @Override
+    public <T> Object handleTimeout(
+            NativeWebRequest request,
+            Callable<T> task
+    ) {
+        cancel(request);
+
+        return RESULT_NONE;
+    }
+
+    @Override
+    public <T> Object handleError(
+            NativeWebRequest request,
+            Callable<T> task,
+            Throwable t
+    ) {
+        cancel(request);
+
+        return RESULT_NONE;
+    }
+
+    @Override
+    public <T> boolean handleTimeout(
+            NativeWebRequest request,
+            DeferredResult<T> deferredResult
+    ) {
+        cancel(request);
+
+        return true;
+    }
+
+    @Override
+    public <T> boolean handleError(
+            NativeWebRequest request,
+            DeferredResult<T> deferredResult,
+            Throwable t
+    ) {
+        cancel(request);
+
+        return true;
+    }
+
+    /**
+     * Cancels the running queries of a request, if it has a deadline.
+     *
+     * @param request the aborted request
+     */
+    private static void cancel(NativeWebRequest request) {
+        if (request.getAttribute(
+                QueryDeadline.ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST
+        ) instanceof QueryDeadline deadline) {
+            deadline.cancel();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+
+/**
+ * Bounds the queries of every Spring Data repository, such as
+ * {@code findAll(spec, pageable)} with a resolved filter, by the
+ * {@link QueryDeadline} of the current request.
+ *
+ * <p>Registered as a bean, it adds itself to every repository factory.
+ * Each repository call applies the deadline to the entity manager of the
+ * transaction the repository runs in, which becomes the
+ * {@code jakarta.persistence.query.timeout} of its JPQL and criteria
+ * queries; Hibernate does not apply it to native queries.</p>
+ */
+public class QueryDeadlineRepositoryPostProcessor
+        implements BeanPostProcessor, RepositoryProxyPostProcessor {
+    private final MethodInterceptor interceptor = invocation -> {
+        QueryDeadline.current()
+                     .ifPresent(QueryDeadline::applyToBoundEntityManagers);
+
+        return invocation.proceed();
+    };
+
+    @Override
+    public Object postProcessBeforeInitialization(
+            Object bean,
+            String beanName
+    ) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(this));
+        }
+
+        return bean;
+    }
+
+    /**
+     * Adds the deadline to the repository, inside its transaction, as
+     * repository factories register their transactional post processor
+     * before the customizations.
+     *
+     * @param factory               the factory of the repository proxy
+     * @param repositoryInformation the repository
+     */
+    @Override
+    public void postProcess(
+            ProxyFactory factory,
+            RepositoryInformation repositoryInformation
+    ) {
+        factory.addAdvice(this.interceptor);
+    }
+}
@@ -0,0 +1,44 @@
+package bg.codexio.springframework.data.jpa.requery.aggregation;
+
+/**
+ * A single aggregate of an {@link AggregationRequest}, computed for every
+ * group.
+ *
+ * @param function the aggregate function
+ * @param field    the dot-separated field to aggregate; optional for
+ *                 {@code COUNT}, which then counts the entities of the
+ *                 group, and otherwise counts the non-null values
+ */
+public record Aggregate(
+        AggregateFunction function,
+        String field
+) {
+    /**
+     * Creates a {@code COUNT} of the entities of every group.
+     *
+     * @return the aggregate
+     */
+    public static Aggregate count() {
+        return new Aggregate(
+                AggregateFunction.COUNT,
+                null
+        );
+    }
+
+    /**
+     * Creates an aggregate of a field.
+     *
+     * @param function the aggregate function
+     * @param field    the dot-separated field
+     * @return the aggregate
+     */
+    public static Aggregate of(
+            AggregateFunction function,
+            String field
+    ) {
+        return new Aggregate(
+                function,
+                field
+        );
+    }
+}
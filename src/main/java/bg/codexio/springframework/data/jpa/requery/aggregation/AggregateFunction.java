@@ -0,0 +1,27 @@
+package bg.codexio.springframework.data.jpa.requery.aggregation;
+
+/**
+ * The aggregate functions that can be computed over filtered entities.
+ */
+public enum AggregateFunction {
+    /**
+     * The number of entities, not requiring a field.
+     */
+    COUNT,
+    /**
+     * The sum of a numeric field.
+     */
+    SUM,
+    /**
+     * The average of a numeric field.
+     */
+    AVG,
+    /**
+     * The smallest value of a field.
+     */
+    MIN,
+    /**
+     * The largest value of a field.
+     */
+    MAX
+}
@@ -0,0 +1,16 @@
+package bg.codexio.springframework.data.jpa.requery.aggregation;
+
+import java.util.Map;
+
+/**
+ * A group computed by an {@link AggregationExecutor}.
+ *
+ * @param groups     the value of every group-by field, by field; a
+ *                   {@code null} value groups the entities without one
+ * @param aggregates the value of every aggregate, by name
+ */
+public record AggregateRow(
+        Map<String, Object> groups,
+        Map<String, Object> aggregates
+) {
+}
@@ -0,0 +1,21 @@
+package bg.codexio.springframework.data.jpa.requery.aggregation;
+
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * A controller method argument combining the filter of the request with
+ * its {@link AggregationRequest}, resolved by the
+ * {@link AggregationArgumentResolver} and computed by the
+ * {@link AggregationExecutor}.
+ *
+ * @param entityType    the entity type being aggregated
+ * @param specification the filter of the request
+ * @param request       the groups and aggregates to compute
+ * @param <T>           the entity type
+ */
+public record Aggregation<T>(
+        Class<T> entityType,
+        Specification<T> specification,
+        AggregationRequest request
+) {
+}
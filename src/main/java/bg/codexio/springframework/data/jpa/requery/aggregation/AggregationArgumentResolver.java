@@ -0,0 +1,110 @@
+package bg.codexio.springframework.data.jpa.requery.aggregation;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.resolver.FilterJsonArgumentResolver;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * A Spring MVC argument resolver for {@link Aggregation} parameters. The
+ * filter of the request is resolved by the
+ * {@link FilterJsonArgumentResolver}, exactly like a {@link Specification}
+ * parameter, and the {@link AggregationRequest} is read from the JSON
+ * {@code aggregation} request parameter.
+ */
+public class AggregationArgumentResolver
+        implements HandlerMethodArgumentResolver {
+    private final FilterJsonArgumentResolver filterResolver;
+
+    private final ObjectMapper objectMapper;
+
+    public AggregationArgumentResolver(
+            FilterJsonArgumentResolver filterResolver,
+            ObjectMapper objectMapper
+    ) {
+        this.filterResolver = filterResolver;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Determines if this resolver is applicable for the method parameter,
+     * specifically checking if the parameter is of type
+     * {@link Aggregation}.
+     *
+     * @param parameter the method parameter to check
+     * @return true if the parameter is an {@link Aggregation}, false
+     * otherwise
+     */
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType()
+                        .equals(Aggregation.class);
+    }
+
+    /**
+     * Resolves the filter and the aggregation request of the web request.
+     *
+     * @param parameter  the method parameter to resolve
+     * @param webRequest the {@link NativeWebRequest} being handled
+     * @return the resolved {@link Aggregation}
+     * @throws FilterRejectedException with {@code 400 Bad Request} if the
+     *                                 {@code aggregation} parameter is
+     *                                 missing or malformed, or if the
+     *                                 filter is rejected
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Object resolveArgument(
+            @NotNull MethodParameter parameter,
+            ModelAndViewContainer mavContainer,
+            @NotNull NativeWebRequest webRequest,
+            WebDataBinderFactory binderFactory
+    ) {
+        var aggregationJson = webRequest.getParameter("aggregation");
+        if (aggregationJson == null) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "The aggregation parameter is missing"
+            );
+        }
+
+        AggregationRequest request;
+        try {
+            request = this.objectMapper.readValue(
+                    aggregationJson,
+                    AggregationRequest.class
+            );
+        } catch (JsonProcessingException e) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "The aggregation parameter is malformed: "
+                            + e.getOriginalMessage()
+            );
+        }
+
+        var specification =
+                (Specification) this.filterResolver.resolveArgument(
+                        parameter,
+                        mavContainer,
+                        webRequest,
+                        binderFactory
+                );
+
+        return new Aggregation(
+                ResolvableType.forMethodParameter(parameter)
+                              .getGeneric(0)
+                              .toClass(),
+                specification,
+                request
+        );
+    }
+}
@@ -0,0 +1,460 @@
+package bg.codexio.springframework.data.jpa.requery.aggregation;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.admission.QueryDeadline;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverter;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.resolver.EntityPaths;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups the entities matching a filter and computes aggregates of every
+ * group in the database, so that only the aggregate rows are read.
+ *
+ * <p>The filter, the group-by fields, the aggregates and the
+ * {@code HAVING} conditions are compiled into a single
+ * {@code CriteriaQuery<Tuple>}. Group-by and aggregated fields are
+ * validated like facet fields and left joined, sharing their joins, so that
+ * the entities without an association are grouped under {@code null}.
+ * Groups are returned in ascending order of their group-by values.</p>
+ */
+public class AggregationExecutor {
+    private final EntityManager entityManager;
+
+    private final FilterJsonTypeConverter converter;
+
+    public AggregationExecutor(
+            EntityManager entityManager,
+            FilterJsonTypeConverter converter
+    ) {
+        this.entityManager = entityManager;
+        this.converter = converter;
+    }
+
+    /**
+     * Computes an aggregation resolved from a request.
+     *
+     * @param aggregation the filter and the aggregation request
+     * @param <T>         the entity type
+     * @return the groups, in ascending order of their group-by values
+     * @throws FilterRejectedException if the request cannot be computed
+     */
+    public <T> List<AggregateRow> aggregate(Aggregation<T> aggregation) {
+        return this.aggregate(
+                aggregation.entityType(),
+                aggregation.specification(),
+                aggregation.request()
+        );
+    }
+
+    /**
+     * Groups the entities matching the given specification and computes
+     * the requested aggregates of every group.
+     *
+     * @param entityType    the entity type being aggregated
+     * @param specification the filter, {@code null} for every entity
+     * @param request       the groups and aggregates to compute
+     * @param <T>           the entity type
+     * @return the groups, in ascending order of their group-by values
+     * @throws FilterRejectedException with {@code 400 Bad Request} if a
+     *                                 field or condition cannot be used
+     */
+    public <T> List<AggregateRow> aggregate(
+            Class<T> entityType,
+            Specification<T> specification,
+            AggregationRequest request
+    ) {
+        var resultTypes = this.validate(
+                entityType,
+                request
+        );
+
+        var cb = this.entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(entityType);
+        var joins = new HashMap<String, From<?, ?>>();
+
+        var predicate = specification == null
+                        ? null
+                        : specification.toPredicate(
+                                root,
+                                query,
+                                cb
+                        );
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        var groups = new ArrayList<Expression<?>>();
+        var orders = new ArrayList<Order>();
+        for (var field : request.groupBy()) {
+            var path = EntityPaths.leftJoinedPath(
+                    root,
+                    joins,
+                    field
+            );
+            groups.add(path);
+            orders.add(cb.asc(path));
+        }
+
+        var aggregates = new LinkedHashMap<String, Expression<?>>();
+        request.aggregates()
+               .forEach((name, aggregate) -> aggregates.put(
+                       name,
+                       this.aggregateExpression(
+                               aggregate,
+                               root,
+                               joins,
+                               cb
+                       )
+               ));
+
+        var selections = new ArrayList<Selection<?>>(groups);
+        selections.addAll(aggregates.values());
+        // Replaces any ordering of the filter, such as the relevance of a
+        // SEARCH, which has no meaning for a group.
+        query.multiselect(selections)
+             .orderBy(orders);
+        if (!groups.isEmpty()) {
+            query.groupBy(groups);
+        }
+        if (!request.having()
+                    .isEmpty()) {
+            query.having(this.havingPredicates(
+                    request.having(),
+                    aggregates,
+                    resultTypes,
+                    cb
+            ));
+        }
+
+        return QueryDeadline.applyCurrent(this.entityManager.createQuery(query))
+                            .getResultList()
+                            .stream()
+                            .map(tuple -> this.toRow(
+                                    tuple,
+                                    request.groupBy(),
+                                    aggregates.keySet()
+                            ))
+                            .toList();
+    }
+
+    /**
+     * Reads a group from a result tuple, whose group-by values are followed
+     * by its aggregates.
+     *
+     * @param tuple      the result tuple
+     * @param groupBy    the group-by fields
+     * @param aggregates the names of the aggregates
+     * @return the group
+     */
+    private AggregateRow toRow(
+            Tuple tuple,
+            List<String> groupBy,
+            Collection<String> aggregates
+    ) {
+        var index = 0;
+        var groups = new LinkedHashMap<String, Object>();
+        for (var field : groupBy) {
+            groups.put(
+                    field,
+                    tuple.get(index++)
+            );
+        }
+        var values = new LinkedHashMap<String, Object>();
+        for (var name : aggregates) {
+            values.put(
+                    name,
+                    tuple.get(index++)
+            );
+        }
+
+        return new AggregateRow(
+                groups,
+                values
+        );
+    }
+
+    /**
+     * Builds the expression of a single aggregate.
+     *
+     * @param aggregate the aggregate to build
+     * @param root      the root of the query
+     * @param joins     the joins shared by the fields of the query
+     * @param cb        the {@link CriteriaBuilder} of the query
+     * @return the aggregate expression
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Expression<?> aggregateExpression(
+            Aggregate aggregate,
+            Root<?> root,
+            Map<String, From<?, ?>> joins,
+            CriteriaBuilder cb
+    ) {
+        if (aggregate.field() == null) {
+            return cb.count(root);
+        }
+
+        var path = EntityPaths.leftJoinedPath(
+                root,
+                joins,
+                aggregate.field()
+        );
+
+        return switch (aggregate.function()) {
+            case COUNT -> cb.count(path);
+            case SUM -> cb.sum((Expression<Number>) path);
+            case AVG -> cb.avg((Expression<Number>) path);
+            case MIN -> cb.least((Expression<Comparable>) path);
+            case MAX -> cb.greatest((Expression<Comparable>) path);
+        };
+    }
+
+    /**
+     * Builds the {@code HAVING} conditions, converting their values to the
+     * type of the aggregate they compare.
+     *
+     * @param having      the conditions, referencing aggregates by name
+     * @param aggregates  the aggregate expressions, by name
+     * @param resultTypes the result type of every aggregate, by name
+     * @param cb          the {@link CriteriaBuilder} of the query
+     * @return the conditions
+     * @throws FilterRejectedException with {@code 400 Bad Request} if a
+     *                                 value cannot be compared
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate[] havingPredicates(
+            List<FilterRequest> having,
+            Map<String, Expression<?>> aggregates,
+            Map<String, Class<?>> resultTypes,
+            CriteriaBuilder cb
+    ) {
+        var predicates = new Predicate[having.size()];
+        for (var i = 0; i < predicates.length; i++) {
+            var condition = having.get(i);
+            var expression = (Expression<Comparable>) aggregates.get(condition.field());
+            predicates[i] = switch (condition.operation()) {
+                case EMPTY -> cb.isNull(expression);
+                case NOT_EMPTY -> cb.isNotNull(expression);
+                default -> {
+                    var value = this.havingValue(
+                            condition,
+                            resultTypes.get(condition.field())
+                    );
+
+                    yield switch (condition.operation()) {
+                        case EQ -> cb.equal(
+                                expression,
+                                value
+                        );
+                        case GT -> cb.greaterThan(
+                                expression,
+                                value
+                        );
+                        case GTE -> cb.greaterThanOrEqualTo(
+                                expression,
+                                value
+                        );
+                        case LT -> cb.lessThan(
+                                expression,
+                                value
+                        );
+                        case LTE -> cb.lessThanOrEqualTo(
+                                expression,
+                                value
+                        );
+                        default -> throw new IllegalStateException();
+                    };
+                }
+            };
+        }
+
+        return predicates;
+    }
+
+    /**
+     * Converts the value of a {@code HAVING} condition to the result type
+     * of its aggregate.
+     *
+     * @param condition  the condition
+     * @param resultType the result type of the aggregate
+     * @return the converted value
+     * @throws FilterRejectedException with {@code 400 Bad Request} if the
+     *                                 value is missing or cannot be
+     *                                 converted
+     */
+    @SuppressWarnings("rawtypes")
+    private Comparable havingValue(
+            FilterRequest condition,
+            Class<?> resultType
+    ) {
+        Comparable<?> value;
+        try {
+            value = condition.value() == null
+                    ? null
+                    : this.converter.convert(
+                            resultType,
+                            condition.value()
+                                     .toString()
+                    );
+        } catch (RuntimeException e) {
+            value = null;
+        }
+        if (!resultType.isInstance(value)) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "Having value '" + condition.value() + "' cannot be "
+                            + "compared with '" + condition.field() + "'"
+            );
+        }
+
+        return value;
+    }
+
+    /**
+     * Checks the group-by fields, aggregates and conditions of a request.
+     *
+     * @param entityType the entity type being aggregated
+     * @param request    the request to check
+     * @return the result type of every aggregate, by name
+     * @throws FilterRejectedException with {@code 400 Bad Request} if the
+     *                                 request cannot be computed
+     */
+    private Map<String, Class<?>> validate(
+            Class<?> entityType,
+            AggregationRequest request
+    ) {
+        if (request.aggregates()
+                   .isEmpty()) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "The aggregation has no aggregate"
+            );
+        }
+        request.groupBy()
+               .forEach(field -> EntityPaths.resolve(
+                       entityType,
+                       field,
+                       "Group by field"
+               ));
+
+        var resultTypes = new HashMap<String, Class<?>>();
+        request.aggregates()
+               .forEach((name, aggregate) -> resultTypes.put(
+                       name,
+                       this.resultType(
+                               entityType,
+                               name,
+                               aggregate
+                       )
+               ));
+
+        for (var condition : request.having()) {
+            if (!resultTypes.containsKey(condition.field())) {
+                throw new FilterRejectedException(
+                        HttpStatus.BAD_REQUEST,
+                        "Having field '" + condition.field() + "' is not an "
+                                + "aggregate"
+                );
+            }
+            switch (condition.operation()) {
+                case EQ, GT, GTE, LT, LTE, EMPTY, NOT_EMPTY -> {
+                }
+                case null, default -> throw new FilterRejectedException(
+                        HttpStatus.BAD_REQUEST,
+                        "Having operation " + condition.operation()
+                                + " is not supported"
+                );
+            }
+        }
+
+        return resultTypes;
+    }
+
+    /**
+     * Checks that an aggregate can be computed and determines the type of
+     * its result, following the JPA rules for aggregate functions.
+     *
+     * @param entityType the entity type being aggregated
+     * @param name       the name of the aggregate
+     * @param aggregate  the aggregate to check
+     * @return the result type of the aggregate
+     * @throws FilterRejectedException with {@code 400 Bad Request} if the
+     *                                 aggregate cannot be computed
+     */
+    private Class<?> resultType(
+            Class<?> entityType,
+            String name,
+            Aggregate aggregate
+    ) {
+        if (aggregate.function() == null) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "Aggregate '" + name + "' has no function"
+            );
+        }
+        if (aggregate.field() == null) {
+            if (aggregate.function() == AggregateFunction.COUNT) {
+                return Long.class;
+            }
+
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "Aggregate '" + name + "' has no field to "
+                            + aggregate.function()
+            );
+        }
+
+        var fieldInfo = EntityPaths.resolve(
+                entityType,
+                aggregate.field(),
+                "Aggregate field"
+        );
+        var fieldType = ClassUtils.resolvePrimitiveIfNecessary(fieldInfo.type());
+        var supported = switch (aggregate.function()) {
+            case COUNT -> true;
+            case SUM, AVG -> Number.class.isAssignableFrom(fieldType);
+            case MIN, MAX -> Comparable.class.isAssignableFrom(fieldType);
+        };
+        if (!supported) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "Aggregate '" + name + "' cannot "
+                            + aggregate.function() + " the field '"
+                            + aggregate.field() + "'"
+            );
+        }
+
+        return switch (aggregate.function()) {
+            case COUNT -> Long.class;
+            case AVG -> Double.class;
+            case SUM -> fieldType == BigDecimal.class
+                                || fieldType == BigInteger.class
+                        ? fieldType
+                        : fieldType == Float.class || fieldType == Double.class
+                          ? Double.class
+                          : Long.class;
+            case MIN, MAX -> fieldType;
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package bg.codexio.springframework.data.jpa.requery.aggregation;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What an {@link AggregationExecutor} computes over the filtered entities:
+ * the fields to group by, the named aggregates of every group and the
+ * conditions the groups must meet.
+ *
+ * <p>Read from the {@code aggregation} request parameter by the
+ * {@link AggregationArgumentResolver}, for example:</p>
+ *
+ * <pre>{@code
+ * {
+ *   "groupBy": ["department.name"],
+ *   "aggregates": {
+ *     "headcount": {"function": "COUNT"},
+ *     "payroll": {"function": "SUM", "field": "salary"}
+ *   },
+ *   "having": {"field": "headcount", "operation": "GTE", "value": "10"}
+ * }
+ * }</pre>
+ *
+ * @param groupBy    the dot-separated fields to group by; without any, a
+ *                   single row aggregates every filtered entity
+ * @param aggregates the aggregates, by name
+ * @param having     the conditions on the aggregates, referenced by name
+ *                   and joined with {@code AND}; may be {@code null}
+ */
+public record AggregationRequest(
+        @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+        List<String> groupBy,
+        Map<String, Aggregate> aggregates,
+        @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+        List<FilterRequest> having
+) {
+    /**
+     * Replaces the missing parts of the request with empty ones.
+     */
+    public AggregationRequest {
+        groupBy = groupBy == null
+                  ? List.of()
+                  : groupBy;
+        aggregates = aggregates == null
+                     ? Map.of()
+                     : aggregates;
+        having = having == null
+                 ? List.of()
+                 : having;
+    }
+}
@@ -0,0 +1,66 @@
+package bg.codexio.springframework.data.jpa.requery.aggregation;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.util.List;
+
+/**
+ * A single aggregate of a {@link ConditionalAggregationExecutor} query,
+ * computed over the entities matching its own filter.
+ *
+ * <p>The filter has the same shape as the {@code filter} and
+ * {@code complexFilter} request parameters, given as JSON values instead
+ * of strings: a single filter or an array of filters joined with
+ * {@code AND}, or a complex filter group. Without either, the aggregate is
+ * computed over all entities.</p>
+ *
+ * @param filter        the simple filter, may be {@code null}
+ * @param complexFilter the complex filter, used when there is no simple
+ *                      filter, may be {@code null}
+ * @param function      the aggregate function
+ * @param field         the dot-separated numeric field aggregated by
+ *                      every function but {@code COUNT}, which ignores it
+ */
+public record ConditionalAggregate(
+        @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+        List<FilterRequest> filter,
+        FilterGroupRequest complexFilter,
+        AggregateFunction function,
+        String field
+) {
+    /**
+     * Creates a {@code COUNT} of the entities matching the given filters.
+     *
+     * @param filter the filters, joined with {@code AND}
+     * @return the aggregate
+     */
+    public static ConditionalAggregate count(FilterRequest... filter) {
+        return new ConditionalAggregate(
+                List.of(filter),
+                null,
+                AggregateFunction.COUNT,
+                null
+        );
+    }
+
+    /**
+     * Adapts the filter of this aggregate like a filter read from a
+     * request.
+     *
+     * @param <T> the type of the result in the {@link FilterRequestWrapper}
+     * @return the adapted filter, empty if the aggregate has none
+     */
+    public <T> FilterRequestWrapper<T> toFilterWrapper() {
+        if (this.filter != null) {
+            return new FilterRequestWrapper<>(this.filter);
+        }
+        if (this.complexFilter != null) {
+            return new FilterRequestWrapper<>(this.complexFilter);
+        }
+
+        return new FilterRequestWrapper<>();
+    }
+}
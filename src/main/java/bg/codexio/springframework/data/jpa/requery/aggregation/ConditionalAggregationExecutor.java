@@ -0,0 +1,350 @@
+package bg.codexio.springframework.data.jpa.requery.aggregation;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.admission.QueryDeadline;
+import bg.codexio.springframework.data.jpa.requery.resolver.EntityPaths;
+import bg.codexio.springframework.data.jpa.requery.resolver.FilterJsonArgumentResolver;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaPredicate;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes several aggregates, each over the entities matching its own
+ * filter, with a single query.
+ *
+ * <p>Every filter goes through
+ * {@link FilterJsonArgumentResolver#resolveSpecification}, so it is
+ * admitted, converted and turned into a predicate exactly like a filter
+ * read from a request. The predicates are then attached to their aggregate
+ * as a {@code FILTER (WHERE ...)} clause, which Hibernate renders natively
+ * on databases supporting it and as {@code SUM(CASE WHEN ...)} elsewhere.
+ * When every aggregate has a filter, the query is further restricted to the
+ * rows matching any of them.</p>
+ *
+ * <p>A filter on a nested field is correlated through an {@code EXISTS}
+ * subquery instead, as its joins would otherwise restrict the rows seen by
+ * every other aggregate.</p>
+ */
+public class ConditionalAggregationExecutor {
+    private final EntityManager entityManager;
+
+    private final FilterJsonArgumentResolver resolver;
+
+    public ConditionalAggregationExecutor(
+            EntityManager entityManager,
+            FilterJsonArgumentResolver resolver
+    ) {
+        this.entityManager = entityManager;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Computes the given named aggregates over the entities of the given
+     * type.
+     *
+     * @param entityType the entity type being aggregated
+     * @param aggregates the aggregates, by name
+     * @return the value of each aggregate, by name and in the given order;
+     * any function but {@code COUNT} over no entity is {@code null}
+     * @throws FilterRejectedException if a filter is rejected or an
+     *                                 aggregated field cannot be used
+     */
+    public Map<String, Number> aggregate(
+            Class<?> entityType,
+            Map<String, ConditionalAggregate> aggregates
+    ) {
+        if (aggregates.isEmpty()) {
+            return Map.of();
+        }
+
+        var specifications = new LinkedHashMap<String, Specification<Object>>();
+        var correlated = new HashSet<String>();
+        aggregates.forEach((name, aggregate) -> {
+            this.validate(
+                    entityType,
+                    name,
+                    aggregate
+            );
+            var filterWrapper = aggregate.<Specification<Object>>toFilterWrapper();
+            if (this.needsJoins(filterWrapper)) {
+                correlated.add(name);
+            }
+            specifications.put(
+                    name,
+                    this.resolver.resolveSpecification(
+                            filterWrapper,
+                            entityType,
+                            null
+                    )
+            );
+        });
+
+        var cb = (HibernateCriteriaBuilder) this.entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        @SuppressWarnings("unchecked") var root =
+                (Root<Object>) query.from(entityType);
+        var joins = new HashMap<String, From<?, ?>>();
+
+        var selections = new ArrayList<Selection<?>>(aggregates.size());
+        var predicates = new ArrayList<Predicate>(aggregates.size());
+        aggregates.forEach((name, aggregate) -> {
+            var predicate = correlated.contains(name)
+                            ? this.correlatedPredicate(
+                                    specifications.get(name),
+                                    entityType,
+                                    root,
+                                    query,
+                                    cb
+                            )
+                            : specifications.get(name)
+                                            .toPredicate(
+                                                    root,
+                                                    query,
+                                                    cb
+                                            );
+            predicates.add(predicate);
+            selections.add(this.aggregateExpression(
+                                       aggregate,
+                                       root,
+                                       joins,
+                                       (JpaPredicate) predicate,
+                                       cb
+                               )
+                               .alias(name));
+        });
+
+        query.multiselect(selections);
+        // A SEARCH ordering by relevance has no meaning for a single
+        // aggregate row and is not valid without a GROUP BY.
+        query.orderBy(List.of());
+        if (!predicates.contains(null)) {
+            query.where(cb.or(predicates.toArray(Predicate[]::new)));
+        }
+
+        var tuple = QueryDeadline.applyCurrent(this.entityManager.createQuery(query))
+                                 .getSingleResult();
+        var result = new LinkedHashMap<String, Number>();
+        for (var name : aggregates.keySet()) {
+            result.put(
+                    name,
+                    (Number) tuple.get(name)
+            );
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks whether a filter reaches into an association. Paths through an
+     * association are inner joined, which would drop the entities without
+     * it from every other aggregate of the shared query.
+     *
+     * @param filterWrapper the adapted filter of an aggregate
+     * @return {@code true} if the filter has a nested field or a
+     * {@code SEARCH}, whose searched paths may be nested
+     */
+    private boolean needsJoins(FilterRequestWrapper<?> filterWrapper) {
+        return filterWrapper.toFilterGroupRequest()
+                            .map(group -> group.allOperations()
+                                               .anyMatch(operation -> operation.operation()
+                                                       == FilterOperation.SEARCH
+                                                       || operation.field()
+                                                                   .contains(".")))
+                            .orElse(false);
+    }
+
+    /**
+     * Builds the filter of an aggregate as an {@code EXISTS} subquery
+     * correlated on the entity, so that the joins of the filter stay inside
+     * the subquery.
+     *
+     * @param spec       the resolved filter of the aggregate
+     * @param entityType the entity type being aggregated
+     * @param root       the root of the aggregate query
+     * @param query      the aggregate query
+     * @param cb         the {@link HibernateCriteriaBuilder} of the query
+     * @return the correlated predicate, {@code null} if the filter is empty
+     */
+    @SuppressWarnings("unchecked")
+    private Predicate correlatedPredicate(
+            Specification<Object> spec,
+            Class<?> entityType,
+            Root<Object> root,
+            CriteriaQuery<Tuple> query,
+            HibernateCriteriaBuilder cb
+    ) {
+        var subquery = query.subquery(Integer.class);
+        var subRoot = (Root<Object>) subquery.from(entityType);
+        var predicate = spec.toPredicate(
+                subRoot,
+                query,
+                cb
+        );
+        if (predicate == null) {
+            return null;
+        }
+        subquery.select(cb.literal(1))
+                .where(
+                        cb.equal(
+                                subRoot,
+                                root
+                        ),
+                        predicate
+                );
+
+        return cb.exists(subquery);
+    }
+
+    /**
+     * Builds the aggregate expression of a single aggregate.
+     *
+     * @param aggregate the aggregate to build
+     * @param root      the root of the query
+     * @param joins     the joins shared by the aggregated fields
+     * @param predicate the filter of the aggregate, {@code null} if none
+     * @param cb        the {@link HibernateCriteriaBuilder} of the query
+     * @return the aggregate expression
+     */
+    @SuppressWarnings("unchecked")
+    private Expression<? extends Number> aggregateExpression(
+            ConditionalAggregate aggregate,
+            Root<Object> root,
+            Map<String, From<?, ?>> joins,
+            JpaPredicate predicate,
+            HibernateCriteriaBuilder cb
+    ) {
+        if (aggregate.function() == AggregateFunction.COUNT) {
+            return predicate == null
+                   ? cb.count(root)
+                   : cb.count(
+                           root,
+                           predicate
+                   );
+        }
+
+        var path = (Expression<Number>) EntityPaths.leftJoinedPath(
+                root,
+                joins,
+                aggregate.field()
+        );
+
+        return switch (aggregate.function()) {
+            case SUM -> predicate == null
+                        ? cb.sum(path)
+                        : cb.sum(
+                                path,
+                                predicate
+                        );
+            case AVG -> predicate == null
+                        ? cb.avg(path)
+                        : cb.avg(
+                                path,
+                                predicate
+                        );
+            // There is no filtered MIN and MAX, so the values outside of
+            // the filter are turned into nulls, which both ignore.
+            case MIN -> cb.min(this.filteredPath(
+                    path,
+                    predicate,
+                    cb
+            ));
+            case MAX -> cb.max(this.filteredPath(
+                    path,
+                    predicate,
+                    cb
+            ));
+            case COUNT -> throw new IllegalStateException();
+        };
+    }
+
+    /**
+     * Restricts an aggregated path to the rows matching a filter with a
+     * {@code CASE WHEN}, the other rows yielding {@code null}.
+     *
+     * @param path      the aggregated path
+     * @param predicate the filter of the aggregate, {@code null} if none
+     * @param cb        the {@link HibernateCriteriaBuilder} of the query
+     * @return the filtered path, or the path itself without a filter
+     */
+    private Expression<Number> filteredPath(
+            Expression<Number> path,
+            JpaPredicate predicate,
+            HibernateCriteriaBuilder cb
+    ) {
+        if (predicate == null) {
+            return path;
+        }
+
+        return cb.<Number>selectCase()
+                 .when(
+                         predicate,
+                         path
+                 );
+    }
+
+    /**
+     * Checks that an aggregate has a function and, unless it is a
+     * {@code COUNT}, a numeric field.
+     *
+     * @param entityType the entity type being aggregated
+     * @param name       the name of the aggregate
+     * @param aggregate  the aggregate to check
+     * @throws FilterRejectedException if the aggregate cannot be computed
+     */
+    private void validate(
+            Class<?> entityType,
+            String name,
+            ConditionalAggregate aggregate
+    ) {
+        if (aggregate.function() == null) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "Aggregate '" + name + "' has no function"
+            );
+        }
+        if (aggregate.function() == AggregateFunction.COUNT) {
+            return;
+        }
+        if (aggregate.field() == null) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "Aggregate '" + name + "' has no field to "
+                            + aggregate.function()
+            );
+        }
+
+        var fieldType = EntityPaths.resolve(
+                                           entityType,
+                                           aggregate.field(),
+                                           "Aggregate field"
+                                   )
+                                   .type();
+        if (!Number.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(fieldType))) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "Aggregate '" + name + "' cannot "
+                            + aggregate.function() + " the non-numeric "
+                            + "field '" + aggregate.field() + "'"
+            );
+        }
+    }
+}
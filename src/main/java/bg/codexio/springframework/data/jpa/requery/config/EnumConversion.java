@@ -0,0 +1,98 @@
+package bg.codexio.springframework.data.jpa.requery.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converts strings to plain Java enum constants by name or by ordinal.
+ *
+ * <p>The constants of each enum type are looked up once and cached, so a
+ * conversion is a single map lookup instead of the reflective
+ * {@link Enum#valueOf(Class, String)} and the defensive copy made by
+ * {@link Class#getEnumConstants()}.</p>
+ */
+final class EnumConversion {
+    private static final ClassValue<Constants> CONSTANTS = new ClassValue<>() {
+        @Override
+        protected Constants computeValue(Class<?> type) {
+            var constants = (Enum<?>[]) type.getEnumConstants();
+            var byName = new HashMap<String, Enum<?>>();
+            for (var constant : constants) {
+                byName.put(
+                        constant.name(),
+                        constant
+                );
+            }
+
+            return new Constants(
+                    Map.copyOf(byName),
+                    constants
+            );
+        }
+    };
+
+    private EnumConversion() {
+    }
+
+    /**
+     * Converts the input to a constant of the given enum type.
+     *
+     * @param input the name or the ordinal of the constant
+     * @param type  the enum type, or the class of a constant with a body
+     * @return the matching constant
+     * @throws IllegalArgumentException if no constant matches the input
+     */
+    static Enum<?> convert(
+            String input,
+            Class<?> type
+    ) {
+        var enumType = type.isEnum()
+                       ? type
+                       : type.getSuperclass();
+        var constants = CONSTANTS.get(enumType);
+
+        var constant = constants.byName()
+                                .get(input);
+        if (constant != null) {
+            return constant;
+        }
+
+        var ordinal = ordinal(input);
+        if (ordinal >= 0 && ordinal < constants.byOrdinal().length) {
+            return constants.byOrdinal()[ordinal];
+        }
+
+        throw new IllegalArgumentException("No constant '" + input + "' in "
+                                                   + enumType.getSimpleName());
+    }
+
+    /**
+     * Parses a non-negative ordinal without allocating.
+     *
+     * @param input the input to parse
+     * @return the ordinal, or {@code -1} if the input is not a small
+     * non-negative integer
+     */
+    private static int ordinal(String input) {
+        if (input.isEmpty() || input.length() > 9) {
+            return -1;
+        }
+
+        var ordinal = 0;
+        for (var i = 0; i < input.length(); i++) {
+            var digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            ordinal = ordinal * 10 + digit;
+        }
+
+        return ordinal;
+    }
+
+    private record Constants(
+            Map<String, Enum<?>> byName,
+            Enum<?>[] byOrdinal
+    ) {
+    }
+}
@@ -14,7 +14,8 @@ import java.util.function.BiFunction;
  * within the application.
  * It supports custom conversions for {@link LocalDateTime},
  * {@link LocalDate}, {@link Boolean},
- * and {@link JoinColumnEnumeration}.
+ * and {@link JoinColumnEnumeration}, followed by the
+ * {@link StandardTypeConversions}.
  */
 @Configuration
 public class FilterJsonTypeConversionConfiguration {
@@ -67,5 +68,7 @@ public class FilterJsonTypeConversionConfiguration {
                         (Class<? extends Enum<?>>) actualType
                 )
         );
+
+        StandardTypeConversions.register(converter);
     }
 }
\ No newline at end of file
@@ -1,20 +1,28 @@
 package bg.codexio.springframework.data.jpa.requery.config;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 
 /**
  * Implementation of {@link FilterJsonTypeConverter} that provides mechanisms
  * to convert JSON string values into Java {@link Comparable} types.
+ *
+ * <p>A type without its own conversion uses the conversion of its most
+ * specific supertype: a supertype of another candidate never wins, an
+ * interface wins over an unrelated class such as {@link Enum}, and the
+ * latest registered conversion wins over the rest. The conversion chosen
+ * for each type is cached with the registered conversions it was chosen
+ * from, which every registration replaces as a whole, so a lookup never
+ * caches a choice made before a registration.</p>
  */
 public class FilterJsonTypeConverterImpl
         implements FilterJsonTypeConverter {
-    private final Map<Class<?>, BiFunction<String, Class<?>, ?
-            extends Comparable<?>>> conversions = new HashMap<>();
+    private static final BiFunction<String, Class<?>, ? extends Comparable<?>> DEFAULT_CONVERSION = (x, y) -> x;
 
-    private final BiFunction<String, Class<?>, ? extends Comparable<?>> defaultConversion = (x, y) -> x;
+    private volatile Registry registry = new Registry(Map.of());
 
     /**
      * Converts the given string value to a Java type as specified by the
@@ -31,24 +39,12 @@ public class FilterJsonTypeConverterImpl
             Class<?> type,
             String value
     ) {
-        var conversionDelegate = this.conversions.getOrDefault(
-                type,
-                null
-        );
-
-        if (conversionDelegate == null) {
-            conversionDelegate = this.conversions.entrySet()
-                                                 .stream()
-                                                 .filter(kvp -> kvp.getKey()
-                                                                   .isAssignableFrom(type))
-                                                 .map(Map.Entry::getValue)
-                                                 .findFirst()
-                                                 .orElse(null);
-        }
+        var current = this.registry;
 
-        return Objects.requireNonNullElse(
-                              conversionDelegate,
-                              this.defaultConversion
+        return current.resolvedConversions()
+                      .computeIfAbsent(
+                              type,
+                              current::resolveConversion
                       )
                       .apply(
                               value,
@@ -68,13 +64,73 @@ public class FilterJsonTypeConverterImpl
      *                 {@link Class} and returns an instance of the type
      */
     @Override
-    public <T extends Comparable<?>> void addConversion(
+    public synchronized <T extends Comparable<?>> void addConversion(
             Class<T> type,
             BiFunction<String, Class<?>, T> delegate
     ) {
-        this.conversions.put(
+        var conversions = new LinkedHashMap<>(this.registry.conversions());
+        conversions.remove(type);
+        conversions.put(
                 type,
                 delegate
         );
+        this.registry = new Registry(Collections.unmodifiableMap(conversions));
+    }
+
+    /**
+     * The registered conversions, in registration order, with the
+     * conversions resolved from them.
+     *
+     * @param conversions         the registered conversions, never
+     *                            modified
+     * @param resolvedConversions the conversion chosen for each converted
+     *                            type
+     */
+    private record Registry(
+            Map<Class<?>, BiFunction<String, Class<?>, ? extends Comparable<?>>> conversions,
+            Map<Class<?>, BiFunction<String, Class<?>, ? extends Comparable<?>>> resolvedConversions
+    ) {
+        private Registry(Map<Class<?>, BiFunction<String, Class<?>, ?
+                extends Comparable<?>>> conversions) {
+            this(
+                    conversions,
+                    new ConcurrentHashMap<>()
+            );
+        }
+
+        /**
+         * Finds the conversion for the given type: its own conversion,
+         * the conversion of its most specific supertype, or the identity
+         * conversion.
+         *
+         * @param type the type to find the conversion for
+         * @return the conversion to use for the type
+         */
+        private BiFunction<String, Class<?>, ? extends Comparable<?>> resolveConversion(Class<?> type) {
+            var conversionDelegate = this.conversions.get(type);
+            if (conversionDelegate != null) {
+                return conversionDelegate;
+            }
+
+            var candidates = this.conversions.keySet()
+                                             .stream()
+                                             .filter(candidate -> candidate.isAssignableFrom(type))
+                                             .toList();
+            Class<?> chosen = null;
+            for (var candidate : candidates) {
+                var mostSpecific = candidates.stream()
+                                             .noneMatch(other -> other != candidate
+                                                     && candidate.isAssignableFrom(other));
+                if (mostSpecific && (chosen == null
+                        || candidate.isInterface()
+                        || !chosen.isInterface())) {
+                    chosen = candidate;
+                }
+            }
+
+            return chosen == null
+                   ? DEFAULT_CONVERSION
+                   : this.conversions.get(chosen);
+        }
     }
-}
\ No newline at end of file
+}
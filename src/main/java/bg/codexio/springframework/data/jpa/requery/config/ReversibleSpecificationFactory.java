@@ -13,10 +13,26 @@ public class ReversibleSpecificationFactory {
         this.entityManager = entityManager;
     }
 
+    /**
+     * Returns a {@link ReversibleSpecification} for the given specification.
+     * Specifications resolved by the
+     * {@link bg.codexio.springframework.data.jpa.requery.resolver.FilterJsonArgumentResolver}
+     * already carry their filter and are returned unchanged; only other
+     * specifications are reverse-engineered through a throwaway query.
+     *
+     * @param specification the specification to reverse
+     * @param clazz         the entity type
+     * @param <T>           the entity type
+     * @return the reversible specification
+     */
     public <T> ReversibleSpecification<T> create(
             Specification<T> specification,
             Class<T> clazz
     ) {
+        if (specification instanceof ReversibleSpecification<T> reversible) {
+            return reversible;
+        }
+
         var criteriaBuilder = this.entityManager.getCriteriaBuilder();
         var query = criteriaBuilder.createQuery(clazz);
         var root = query.from(clazz);
@@ -0,0 +1,99 @@
+package bg.codexio.springframework.data.jpa.requery.config;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The conversions every {@link FilterJsonTypeConverter} needs to bind
+ * filter values of common field types in their native type, instead of
+ * passing them to the query as strings.
+ *
+ * <p>Numbers are parsed with the primitive parsers, {@link BigDecimal} and
+ * {@link BigInteger} from their exact decimal representation, never
+ * through a {@code double}, and {@link Instant} from ISO-8601. Enums are
+ * matched by name or ordinal through {@link EnumConversion}, unless an
+ * interface of the enum, such as {@code JoinColumnEnumeration}, has its
+ * own conversion, registered before or after this pack.</p>
+ */
+public final class StandardTypeConversions {
+    private StandardTypeConversions() {
+    }
+
+    /**
+     * Registers the conversions with the given converter.
+     *
+     * @param converter the converter to register the conversions with
+     */
+    public static void register(FilterJsonTypeConverter converter) {
+        converter.addConversion(
+                Long.class,
+                (input, type) -> Long.parseLong(input)
+        );
+        converter.addConversion(
+                long.class,
+                (input, type) -> Long.parseLong(input)
+        );
+        converter.addConversion(
+                Integer.class,
+                (input, type) -> Integer.parseInt(input)
+        );
+        converter.addConversion(
+                int.class,
+                (input, type) -> Integer.parseInt(input)
+        );
+        converter.addConversion(
+                Short.class,
+                (input, type) -> Short.parseShort(input)
+        );
+        converter.addConversion(
+                short.class,
+                (input, type) -> Short.parseShort(input)
+        );
+        converter.addConversion(
+                Byte.class,
+                (input, type) -> Byte.parseByte(input)
+        );
+        converter.addConversion(
+                byte.class,
+                (input, type) -> Byte.parseByte(input)
+        );
+        converter.addConversion(
+                Double.class,
+                (input, type) -> Double.parseDouble(input)
+        );
+        converter.addConversion(
+                double.class,
+                (input, type) -> Double.parseDouble(input)
+        );
+        converter.addConversion(
+                Float.class,
+                (input, type) -> Float.parseFloat(input)
+        );
+        converter.addConversion(
+                float.class,
+                (input, type) -> Float.parseFloat(input)
+        );
+        converter.addConversion(
+                BigDecimal.class,
+                (input, type) -> new BigDecimal(input)
+        );
+        converter.addConversion(
+                BigInteger.class,
+                (input, type) -> new BigInteger(input)
+        );
+        converter.addConversion(
+                UUID.class,
+                (input, type) -> UUID.fromString(input)
+        );
+        converter.addConversion(
+                Instant.class,
+                (input, type) -> Instant.parse(input)
+        );
+        converter.addConversion(
+                Enum.class,
+                EnumConversion::convert
+        );
+    }
+}
@@ -1,23 +1,244 @@
 package bg.codexio.springframework.data.jpa.requery.dialect;
 
+import bg.codexio.springframework.data.jpa.requery.resolver.function.ArraySQLFunction;
 import bg.codexio.springframework.data.jpa.requery.resolver.function.CaseInsensitiveLikeSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.CaseInsensitiveLikeStrategy;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.JsonPathSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.MySQLArraySQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.MySQLJsonPathSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.MySQLTextSearchSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.PrefixMatchSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.PrefixMatchStrategy;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.TextSearchSQLFunction;
 import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.dialect.DatabaseVersion;
 import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
 
 /**
  * Extends the standard {@link MySQLDialect} and registers a custom function
  * to support case-insensitive LIKE operations.
+ *
+ * <p>When the columns use a case-insensitive ({@code _ci}) collation, a
+ * plain {@code LIKE} already matches case-insensitively, so the function is
+ * rendered without {@code LOWER} calls. The collation is taken from the
+ * {@value #CASE_INSENSITIVE_COLLATION_SETTING} setting if present, and
+ * otherwise detected from the default collation of the database.</p>
+ *
+ * <p>The {@code SEARCH} operation is rendered through
+ * {@link MySQLTextSearchSQLFunction}, backed by the index described by
+ * {@link #fullTextIndexDefinition(String, String...)}.</p>
+ *
+ * <p>Prefix matches on string columns are rendered as a {@code LIKE}
+ * without casting the column, which MySQL already executes as an index
+ * range scan. Setting {@value #PREFIX_RANGE_SETTING} to {@code true}
+ * renders the explicit range {@code column >= ? AND column < ?} instead;
+ * it is only equivalent under a binary, {@code NO PAD} collation such as
+ * {@code utf8mb4_0900_bin}.</p>
+ *
+ * <p>Filters on paths inside {@code JSON} columns are rendered through
+ * {@link MySQLJsonPathSQLFunction}. MySQL cannot index a {@code JSON}
+ * column directly: comparisons on a path use the index of the generated
+ * column described by
+ * {@link #jsonGeneratedColumnDefinition(String, String, String, String...)}.</p>
+ *
+ * <p>MySQL has no array columns. The {@code OVERLAPS},
+ * {@code CONTAINS_ALL} and {@code CONTAINED_BY} operations fall back to
+ * {@code JSON} arrays: an array attribute mapped with
+ * {@code @JdbcTypeCode(SqlTypes.JSON)} is matched through
+ * {@link MySQLArraySQLFunction}, the values bound as a single {@code JSON}
+ * parameter. The first two seek the multi-valued index described by
+ * {@link #multiValuedIndexDefinition(String, String, String)};
+ * {@code CONTAINED_BY} always scans.</p>
  */
 public class RequeryEnhancedMySQLDialect
         extends MySQLDialect {
+    public static final String CASE_INSENSITIVE_COLLATION_SETTING =
+            "requery.mysql.case_insensitive_collation";
+
+    public static final String PREFIX_RANGE_SETTING =
+            "requery.mysql.prefix_range";
+
+    private final boolean caseInsensitiveCollation;
+
+    public RequeryEnhancedMySQLDialect() {
+        super();
+        this.caseInsensitiveCollation = false;
+    }
+
+    public RequeryEnhancedMySQLDialect(DatabaseVersion version) {
+        super(version);
+        this.caseInsensitiveCollation = false;
+    }
+
+    public RequeryEnhancedMySQLDialect(DialectResolutionInfo info) {
+        super(info);
+        this.caseInsensitiveCollation =
+                isCaseInsensitiveCollation(info.getDatabaseMetadata());
+    }
+
+    /**
+     * Detects whether the default collation of the database is
+     * case-insensitive.
+     *
+     * @param metaData the metadata of the connection used to resolve the
+     *                 dialect, may be {@code null}
+     * @return {@code true} if the collation ends with {@code _ci}
+     */
+    private static boolean isCaseInsensitiveCollation(DatabaseMetaData metaData) {
+        if (metaData == null) {
+            return false;
+        }
+
+        try (var statement = metaData.getConnection()
+                                     .createStatement(); var resultSet =
+                statement.executeQuery("SELECT @@collation_database")) {
+            return resultSet.next() && resultSet.getString(1)
+                                                .endsWith("_ci");
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Describes the {@code FULLTEXT} index a {@code SEARCH} over the given
+     * columns is matched against. {@code MATCH ... AGAINST} requires an
+     * index on exactly these columns.
+     *
+     * @param table   the table to index
+     * @param columns the columns of the document, in {@code SearchField}
+     *                order
+     * @return the {@code CREATE FULLTEXT INDEX} statement
+     */
+    public static String fullTextIndexDefinition(
+            String table,
+            String... columns
+    ) {
+        return "CREATE FULLTEXT INDEX " + table + "_" + String.join(
+                "_",
+                columns
+        ) + "_fts_idx ON " + table + " (" + String.join(
+                ", ",
+                columns
+        ) + ")";
+    }
+
+    /**
+     * Describes the indexed generated column that MySQL substitutes for the
+     * value of a path inside a {@code JSON} column, so comparisons on the
+     * path seek an index instead of scanning the table.
+     *
+     * @param table   the table holding the column
+     * @param column  the {@code JSON} column
+     * @param sqlType the SQL type of the values at the path, e.g.
+     *                {@code VARCHAR(64)}
+     * @param keys    the keys of the path inside the document
+     * @return the {@code ALTER TABLE} statement
+     */
+    public static String jsonGeneratedColumnDefinition(
+            String table,
+            String column,
+            String sqlType,
+            String... keys
+    ) {
+        var generatedColumn = column + "_" + String.join(
+                "_",
+                keys
+        );
+        var valueExpression = MySQLJsonPathSQLFunction.valueExpression(
+                column,
+                List.of(keys)
+        );
+
+        return "ALTER TABLE " + table + " ADD COLUMN " + generatedColumn
+                + " " + sqlType + " AS (" + valueExpression + ") VIRTUAL, "
+                + "ADD INDEX " + table + "_" + generatedColumn + "_idx ("
+                + generatedColumn + ")";
+    }
+
+    /**
+     * Describes the multi-valued index that lets the {@code OVERLAPS} and
+     * {@code CONTAINS_ALL} operations on a {@code JSON} array seek an index
+     * instead of scanning the table.
+     *
+     * @param table   the table to index
+     * @param column  the {@code JSON} array column
+     * @param sqlType the SQL type of the elements, e.g. {@code CHAR(64)}
+     * @return the {@code CREATE INDEX} statement
+     */
+    public static String multiValuedIndexDefinition(
+            String table,
+            String column,
+            String sqlType
+    ) {
+        return "CREATE INDEX " + table + "_" + column + "_mvi_idx ON " + table
+                + " ((CAST(" + column + " AS " + sqlType + " ARRAY)))";
+    }
+
     @Override
     public void initializeFunctionRegistry(FunctionContributions functionContributions) {
         super.initializeFunctionRegistry(functionContributions);
 
+        var configuration = functionContributions.getServiceRegistry()
+                                                 .requireService(ConfigurationService.class);
+        var caseInsensitiveStrategy = configuration.getSetting(
+                CASE_INSENSITIVE_COLLATION_SETTING,
+                StandardConverters.BOOLEAN,
+                this.caseInsensitiveCollation
+        )
+                                      ? CaseInsensitiveLikeStrategy.COLLATION_LIKE
+                                      : CaseInsensitiveLikeStrategy.LOWER_LIKE;
+        var prefixStrategy = configuration.getSetting(
+                PREFIX_RANGE_SETTING,
+                StandardConverters.BOOLEAN,
+                false
+        )
+                             ? PrefixMatchStrategy.RANGE
+                             : PrefixMatchStrategy.LIKE;
+
         functionContributions.getFunctionRegistry()
                              .register(
                                      CaseInsensitiveLikeSQLFunction.FUNC_NAME,
-                                     new CaseInsensitiveLikeSQLFunction()
+                                     new CaseInsensitiveLikeSQLFunction(caseInsensitiveStrategy)
+                             );
+        functionContributions.getFunctionRegistry()
+                             .register(
+                                     PrefixMatchSQLFunction.FUNC_NAME,
+                                     new PrefixMatchSQLFunction(prefixStrategy)
+                             );
+        functionContributions.getFunctionRegistry()
+                             .register(
+                                     PrefixMatchSQLFunction.CASE_INSENSITIVE_FUNC_NAME,
+                                     new PrefixMatchSQLFunction(
+                                             prefixStrategy,
+                                             caseInsensitiveStrategy
+                                     )
+                             );
+        functionContributions.getFunctionRegistry()
+                             .register(
+                                     TextSearchSQLFunction.FUNC_NAME,
+                                     new MySQLTextSearchSQLFunction(false)
+                             );
+        functionContributions.getFunctionRegistry()
+                             .register(
+                                     TextSearchSQLFunction.RANK_FUNC_NAME,
+                                     new MySQLTextSearchSQLFunction(true)
+                             );
+        functionContributions.getFunctionRegistry()
+                             .register(
+                                     JsonPathSQLFunction.FUNC_NAME,
+                                     new MySQLJsonPathSQLFunction()
+                             );
+        functionContributions.getFunctionRegistry()
+                             .register(
+                                     ArraySQLFunction.FUNC_NAME,
+                                     new MySQLArraySQLFunction()
                              );
     }
-}
\ No newline at end of file
+}
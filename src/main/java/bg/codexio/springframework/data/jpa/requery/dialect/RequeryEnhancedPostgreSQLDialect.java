@@ -1,23 +1,305 @@
 package bg.codexio.springframework.data.jpa.requery.dialect;
 
+import bg.codexio.springframework.data.jpa.requery.resolver.function.ArraySQLFunction;
 import bg.codexio.springframework.data.jpa.requery.resolver.function.CaseInsensitiveLikeSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.CaseInsensitiveLikeStrategy;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.GroupingSetsSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.JsonPathSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.PostgreSQLArraySQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.PostgreSQLJsonPathSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.PostgreSQLTextSearchSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.PrefixMatchSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.PrefixMatchStrategy;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.TextSearchSQLFunction;
 import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.dialect.DatabaseVersion;
 import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.jdbc.dialect.spi.DialectResolutionInfo;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * Extends the standard {@link PostgreSQLDialect} and registers a custom
  * function to support case-insensitive LIKE operations.
+ *
+ * <p>Case-insensitive matching is rendered as {@code ILIKE} by default.
+ * Setting {@value #CASE_INSENSITIVE_LIKE_SETTING} to {@code lower} renders
+ * {@code lower(column) LIKE ?} instead, which can use the expression index
+ * described by {@link #caseInsensitiveIndexDefinition(String, String)}.</p>
+ *
+ * <p>The {@code SEARCH} operation is rendered through
+ * {@link PostgreSQLTextSearchSQLFunction}, backed by the indexes described by
+ * {@link #fullTextIndexDefinition(String, String, String...)} and
+ * {@link #trigramIndexDefinition(String, String...)}.</p>
+ *
+ * <p>Prefix matches on string columns are rendered as the half-open range
+ * {@code column >= ? AND column < ?} when the database collation orders
+ * strings by code point ({@code C} or {@code POSIX}), and as a
+ * {@code LIKE} without casting the column otherwise. The collation is
+ * detected from the database and can be overridden with
+ * {@value #PREFIX_RANGE_SETTING}.</p>
+ *
+ * <p>Facet counts are computed with {@code GROUPING SETS} through the
+ * {@link GroupingSetsSQLFunction}.</p>
+ *
+ * <p>Filters on paths inside {@code jsonb} columns are rendered through
+ * {@link PostgreSQLJsonPathSQLFunction}; equality is matched as
+ * containment, backed by the index described by
+ * {@link #jsonIndexDefinition(String, String)}.</p>
+ *
+ * <p>The {@code OVERLAPS}, {@code CONTAINS_ALL} and {@code CONTAINED_BY}
+ * operations on array columns are rendered through
+ * {@link PostgreSQLArraySQLFunction} as the {@code &&}, {@code @>} and
+ * {@code <@} operators, with the values bound as a single array parameter,
+ * backed by the index described by
+ * {@link #arrayIndexDefinition(String, String)}.</p>
  */
 public class RequeryEnhancedPostgreSQLDialect
         extends PostgreSQLDialect {
+    public static final String CASE_INSENSITIVE_LIKE_SETTING =
+            "requery.postgresql.case_insensitive_like";
+
+    public static final String PREFIX_RANGE_SETTING =
+            "requery.postgresql.prefix_range";
+
+    private final boolean codePointCollation;
+
+    public RequeryEnhancedPostgreSQLDialect() {
+        super();
+        this.codePointCollation = false;
+    }
+
+    public RequeryEnhancedPostgreSQLDialect(DatabaseVersion version) {
+        super(version);
+        this.codePointCollation = false;
+    }
+
+    public RequeryEnhancedPostgreSQLDialect(DialectResolutionInfo info) {
+        super(info);
+        this.codePointCollation =
+                isCodePointCollation(info.getDatabaseMetadata());
+    }
+
+    /**
+     * Detects whether the collation of the current database orders strings
+     * by code point, which makes a prefix range equivalent to a prefix
+     * {@code LIKE}.
+     *
+     * @param metaData the metadata of the connection used to resolve the
+     *                 dialect, may be {@code null}
+     * @return {@code true} for the {@code C} and {@code POSIX} collations
+     */
+    private static boolean isCodePointCollation(DatabaseMetaData metaData) {
+        if (metaData == null) {
+            return false;
+        }
+
+        try (var statement = metaData.getConnection()
+                                     .createStatement(); var resultSet =
+                statement.executeQuery("SELECT datcollate FROM pg_database "
+                                               + "WHERE datname = "
+                                               + "current_database()")) {
+            if (!resultSet.next()) {
+                return false;
+            }
+
+            var collation = resultSet.getString(1);
+
+            return "C".equals(collation) || "POSIX".equals(collation)
+                    || collation.startsWith("C.");
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Describes the expression index that lets
+     * {@link CaseInsensitiveLikeStrategy#LOWER_LIKE} prefix matches seek an
+     * index instead of scanning the table.
+     *
+     * @param table  the table to index
+     * @param column the column matched case-insensitively
+     * @return the {@code CREATE INDEX} statement
+     */
+    public static String caseInsensitiveIndexDefinition(
+            String table,
+            String column
+    ) {
+        return "CREATE INDEX " + table + "_" + column + "_lower_idx ON "
+                + table + " (lower(" + column + ") text_pattern_ops)";
+    }
+
+    /**
+     * Describes the expression index that lets case-insensitive prefix
+     * matches rendered as a {@link PrefixMatchStrategy#RANGE} seek an index.
+     *
+     * @param table  the table to index
+     * @param column the column matched case-insensitively
+     * @return the {@code CREATE INDEX} statement
+     */
+    public static String caseInsensitiveRangeIndexDefinition(
+            String table,
+            String column
+    ) {
+        return "CREATE INDEX " + table + "_" + column + "_lower_range_idx ON "
+                + table + " (lower(" + column + "))";
+    }
+
+    /**
+     * Describes the GIN index that lets a full-text {@code SEARCH} over the
+     * given columns seek an index instead of scanning the table.
+     *
+     * @param table         the table to index
+     * @param configuration the text search configuration, as declared by
+     *                      the {@code SearchField}
+     * @param columns       the columns of the document, in
+     *                      {@code SearchField} order
+     * @return the {@code CREATE INDEX} statement
+     */
+    public static String fullTextIndexDefinition(
+            String table,
+            String configuration,
+            String... columns
+    ) {
+        return "CREATE INDEX " + table + "_" + String.join(
+                "_",
+                columns
+        ) + "_fts_idx ON " + table + " USING gin (to_tsvector('"
+                + configuration + "', "
+                + PostgreSQLTextSearchSQLFunction.documentExpression(List.of(columns))
+                + "))";
+    }
+
+    /**
+     * Describes the {@code pg_trgm} GIN index that lets a trigram
+     * {@code SEARCH} over the given columns seek an index instead of
+     * scanning the table.
+     *
+     * @param table   the table to index
+     * @param columns the columns of the document, in {@code SearchField}
+     *                order
+     * @return the {@code CREATE INDEX} statement
+     */
+    public static String trigramIndexDefinition(
+            String table,
+            String... columns
+    ) {
+        return "CREATE INDEX " + table + "_" + String.join(
+                "_",
+                columns
+        ) + "_trgm_idx ON " + table + " USING gin (("
+                + PostgreSQLTextSearchSQLFunction.documentExpression(List.of(columns))
+                + ") gin_trgm_ops)";
+    }
+
+    /**
+     * Describes the GIN index that lets {@code EQ} and {@code IN} filters on
+     * paths inside a {@code jsonb} column, rendered as containment, seek an
+     * index instead of scanning the table.
+     *
+     * @param table  the table to index
+     * @param column the {@code jsonb} column
+     * @return the {@code CREATE INDEX} statement
+     */
+    public static String jsonIndexDefinition(
+            String table,
+            String column
+    ) {
+        return "CREATE INDEX " + table + "_" + column + "_json_idx ON "
+                + table + " USING gin (" + column + " jsonb_path_ops)";
+    }
+
+    /**
+     * Describes the GIN index that lets the array operations on the given
+     * column seek an index instead of scanning the table.
+     *
+     * @param table  the table to index
+     * @param column the array column
+     * @return the {@code CREATE INDEX} statement
+     */
+    public static String arrayIndexDefinition(
+            String table,
+            String column
+    ) {
+        return "CREATE INDEX " + table + "_" + column + "_gin_idx ON " + table
+                + " USING gin (" + column + ")";
+    }
+
     @Override
     public void initializeFunctionRegistry(FunctionContributions functionContributions) {
         super.initializeFunctionRegistry(functionContributions);
 
+        var configuration = functionContributions.getServiceRegistry()
+                                                 .requireService(ConfigurationService.class);
+        var strategy = configuration.getSetting(
+                CASE_INSENSITIVE_LIKE_SETTING,
+                StandardConverters.STRING,
+                "ilike"
+        );
+        var caseInsensitiveStrategy =
+                "lower".equals(strategy.toLowerCase(Locale.ROOT))
+                ? CaseInsensitiveLikeStrategy.LOWER_LIKE
+                : CaseInsensitiveLikeStrategy.ILIKE;
+        var prefixStrategy = configuration.getSetting(
+                PREFIX_RANGE_SETTING,
+                StandardConverters.BOOLEAN,
+                this.codePointCollation
+        )
+                             ? PrefixMatchStrategy.RANGE
+                             : PrefixMatchStrategy.LIKE;
+
         functionContributions.getFunctionRegistry()
                              .register(
                                      CaseInsensitiveLikeSQLFunction.FUNC_NAME,
-                                     new CaseInsensitiveLikeSQLFunction()
+                                     new CaseInsensitiveLikeSQLFunction(caseInsensitiveStrategy)
+                             );
+        functionContributions.getFunctionRegistry()
+                             .register(
+                                     PrefixMatchSQLFunction.FUNC_NAME,
+                                     new PrefixMatchSQLFunction(prefixStrategy)
+                             );
+        functionContributions.getFunctionRegistry()
+                             .register(
+                                     PrefixMatchSQLFunction.CASE_INSENSITIVE_FUNC_NAME,
+                                     new PrefixMatchSQLFunction(
+                                             prefixStrategy,
+                                             caseInsensitiveStrategy
+                                     )
+                             );
+        functionContributions.getFunctionRegistry()
+                             .register(
+                                     TextSearchSQLFunction.FUNC_NAME,
+                                     new PostgreSQLTextSearchSQLFunction(false)
+                             );
+        functionContributions.getFunctionRegistry()
+                             .register(
+                                     TextSearchSQLFunction.RANK_FUNC_NAME,
+                                     new PostgreSQLTextSearchSQLFunction(true)
+                             );
+        functionContributions.getFunctionRegistry()
+                             .register(
+                                     GroupingSetsSQLFunction.FUNC_NAME,
+                                     new GroupingSetsSQLFunction(false)
+                             );
+        functionContributions.getFunctionRegistry()
+                             .register(
+                                     GroupingSetsSQLFunction.GROUPING_FUNC_NAME,
+                                     new GroupingSetsSQLFunction(true)
+                             );
+        functionContributions.getFunctionRegistry()
+                             .register(
+                                     JsonPathSQLFunction.FUNC_NAME,
+                                     new PostgreSQLJsonPathSQLFunction()
+                             );
+        functionContributions.getFunctionRegistry()
+                             .register(
+                                     ArraySQLFunction.FUNC_NAME,
+                                     new PostgreSQLArraySQLFunction()
                              );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package bg.codexio.springframework.data.jpa.requery.dialect;
+
+import bg.codexio.springframework.data.jpa.requery.resolver.function.CaseInsensitiveLikeStrategy;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.PrefixMatchSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.PrefixMatchStrategy;
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+
+/**
+ * Registers portable fallbacks for the functions the
+ * {@code FilterJsonArgumentResolver} emits for every dialect, so prefix
+ * matches keep working without one of the Requery enhanced dialects.
+ * Functions already registered by the dialect are left untouched.
+ *
+ * <p>Discovered by Hibernate through {@link java.util.ServiceLoader}.</p>
+ */
+public class RequeryFunctionContributor
+        implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        var registry = functionContributions.getFunctionRegistry();
+
+        if (registry.findFunctionDescriptor(PrefixMatchSQLFunction.FUNC_NAME)
+                == null) {
+            registry.register(
+                    PrefixMatchSQLFunction.FUNC_NAME,
+                    new PrefixMatchSQLFunction(PrefixMatchStrategy.LIKE)
+            );
+        }
+        if (registry.findFunctionDescriptor(PrefixMatchSQLFunction.CASE_INSENSITIVE_FUNC_NAME)
+                == null) {
+            registry.register(
+                    PrefixMatchSQLFunction.CASE_INSENSITIVE_FUNC_NAME,
+                    new PrefixMatchSQLFunction(
+                            PrefixMatchStrategy.LIKE,
+                            CaseInsensitiveLikeStrategy.LOWER_LIKE
+                    )
+            );
+        }
+    }
+}
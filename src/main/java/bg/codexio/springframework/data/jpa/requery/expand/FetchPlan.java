@@ -0,0 +1,175 @@
+package bg.codexio.springframework.data.jpa.requery.expand;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.resolver.FieldPathResolver;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import org.springframework.http.HttpStatus;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The associations to load together with the entities matching a filter,
+ * read from the {@code expand} request parameter by the
+ * {@link FetchPlanArgumentResolver} and applied by the
+ * {@link FetchPlanExecutor}.
+ *
+ * <p>Paths are resolved with the {@link FieldPathResolver}, like filter
+ * fields. Every segment must be an association, and a path may go through
+ * at most one collection, so that loading it never fetches several
+ * collections with a single join.</p>
+ *
+ * @param entityType the entity type being queried
+ * @param paths      the dot-separated association paths
+ * @param <T>        the entity type
+ */
+public record FetchPlan<T>(
+        Class<T> entityType,
+        List<String> paths
+) {
+    /**
+     * Validates the association paths of the plan.
+     *
+     * @throws FilterRejectedException with {@code 400 Bad Request} if a
+     *                                 path cannot be expanded
+     */
+    public FetchPlan {
+        paths = List.copyOf(paths);
+        for (var path : paths) {
+            validate(
+                    entityType,
+                    path
+            );
+        }
+    }
+
+    /**
+     * Creates a plan loading the given associations.
+     *
+     * @param entityType the entity type being queried
+     * @param paths      the dot-separated association paths
+     * @param <T>        the entity type
+     * @return the plan
+     * @throws FilterRejectedException with {@code 400 Bad Request} if a
+     *                                 path cannot be expanded
+     */
+    public static <T> FetchPlan<T> of(
+            Class<T> entityType,
+            String... paths
+    ) {
+        return new FetchPlan<>(
+                entityType,
+                List.of(paths)
+        );
+    }
+
+    /**
+     * Returns the paths reaching only single-valued associations, which
+     * are fetched with the entities themselves.
+     *
+     * @return the single-valued paths
+     */
+    public List<String> singleValuedPaths() {
+        return this.paths.stream()
+                         .filter(path -> !this.isCollectionPath(path))
+                         .toList();
+    }
+
+    /**
+     * Returns the paths going through a collection, which are loaded for
+     * all the entities at once after the entities themselves.
+     *
+     * @return the paths going through a collection
+     */
+    public List<String> collectionPaths() {
+        return this.paths.stream()
+                         .filter(this::isCollectionPath)
+                         .toList();
+    }
+
+    /**
+     * @param path an association path of the plan
+     * @return {@code true} if the path goes through a collection
+     */
+    private boolean isCollectionPath(String path) {
+        return FieldPathResolver.resolve(
+                                        this.entityType,
+                                        path
+                                )
+                                .collection();
+    }
+
+    /**
+     * Checks that every segment of a path is an association and that the
+     * path goes through at most one collection.
+     *
+     * @param entityType the entity type being queried
+     * @param path       the dot-separated association path
+     * @throws FilterRejectedException with {@code 400 Bad Request} if the
+     *                                 path cannot be expanded
+     */
+    private static void validate(
+            Class<?> entityType,
+            String path
+    ) {
+        var segments = path.split("\\.");
+        var prefix = new StringBuilder();
+        var collections = 0;
+        for (var segment : segments) {
+            if (!prefix.isEmpty()) {
+                prefix.append('.');
+            }
+            prefix.append(segment);
+
+            Field field;
+            try {
+                field = FieldPathResolver.resolve(
+                                                 entityType,
+                                                 prefix.toString()
+                                         )
+                                         .field();
+            } catch (IllegalArgumentException e) {
+                throw new FilterRejectedException(
+                        HttpStatus.BAD_REQUEST,
+                        e.getMessage()
+                );
+            }
+            if (!isAssociation(field)) {
+                throw new FilterRejectedException(
+                        HttpStatus.BAD_REQUEST,
+                        "Expanded field '" + prefix + "' is not an "
+                                + "association"
+                );
+            }
+            if (Collection.class.isAssignableFrom(field.getType())) {
+                collections++;
+            }
+        }
+
+        if (collections > 1) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "Expanded field '" + path + "' goes through more than "
+                            + "one collection"
+            );
+        }
+    }
+
+    /**
+     * @param field a field of an entity
+     * @return {@code true} if the field is mapped as an association or an
+     * element collection
+     */
+    private static boolean isAssociation(Field field) {
+        return field.isAnnotationPresent(ManyToOne.class)
+                || field.isAnnotationPresent(OneToOne.class)
+                || field.isAnnotationPresent(OneToMany.class)
+                || field.isAnnotationPresent(ManyToMany.class)
+                || field.isAnnotationPresent(ElementCollection.class);
+    }
+}
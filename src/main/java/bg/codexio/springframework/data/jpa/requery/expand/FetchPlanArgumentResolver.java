@@ -0,0 +1,74 @@
+package bg.codexio.springframework.data.jpa.requery.expand;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A Spring MVC argument resolver for {@link FetchPlan} parameters, read
+ * from the {@code expand} request parameter next to the filter. The
+ * parameter holds comma-separated association paths and may be repeated,
+ * e.g. {@code ?expand=department,projects.owner}.
+ */
+public class FetchPlanArgumentResolver
+        implements HandlerMethodArgumentResolver {
+
+    /**
+     * Determines if this resolver is applicable for the method parameter,
+     * specifically checking if the parameter is of type
+     * {@link FetchPlan}.
+     *
+     * @param parameter the method parameter to check
+     * @return true if the parameter is a {@link FetchPlan}, false otherwise
+     */
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType()
+                        .equals(FetchPlan.class);
+    }
+
+    /**
+     * Resolves the association paths of the {@code expand} parameter into
+     * a {@link FetchPlan} of the parameter's entity type.
+     *
+     * @param parameter  the method parameter to resolve
+     * @param webRequest the {@link NativeWebRequest} being handled
+     * @return the resolved {@link FetchPlan}, empty if the request has no
+     * {@code expand} parameter
+     * @throws FilterRejectedException with {@code 400 Bad Request} if a
+     *                                 path cannot be expanded
+     */
+    @Override
+    public Object resolveArgument(
+            @NotNull MethodParameter parameter,
+            ModelAndViewContainer mavContainer,
+            @NotNull NativeWebRequest webRequest,
+            WebDataBinderFactory binderFactory
+    ) {
+        var entityType = ResolvableType.forMethodParameter(parameter)
+                                       .getGeneric(0)
+                                       .toClass();
+        var values = webRequest.getParameterValues("expand");
+        var paths = values == null
+                    ? List.<String>of()
+                    : Arrays.stream(values)
+                            .flatMap(value -> Arrays.stream(value.split(",")))
+                            .map(String::trim)
+                            .filter(path -> !path.isEmpty())
+                            .distinct()
+                            .toList();
+
+        return new FetchPlan<>(
+                entityType,
+                paths
+        );
+    }
+}
@@ -0,0 +1,517 @@
+package bg.codexio.springframework.data.jpa.requery.expand;
+
+import bg.codexio.springframework.data.jpa.requery.admission.QueryDeadline;
+import bg.codexio.springframework.data.jpa.requery.resolver.FieldPathResolver;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Subgraph;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.graph.GraphSemantic;
+import org.hibernate.graph.RootGraph;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a filter and loads the associations of a {@link FetchPlan} with the
+ * matching entities, so that serializing them does not issue one select
+ * per entity and association.
+ *
+ * <p>Single-valued associations are added to a dynamic load graph of the
+ * filter query and fetched with the entities. Collections are never
+ * fetched by the filter query, which would make Hibernate paginate in
+ * memory: each collection path is instead loaded afterwards for all the
+ * entities of the result with one query restricted to them, in chunks of
+ * {@value #IN_CHUNK_SIZE}.</p>
+ *
+ * <p>With the {@link FetchStrategy#IDS_FIRST} strategy, a page is read in
+ * two phases: the filter, sort and limit select only the identifiers, and
+ * the entities of the page are then loaded by identifier in the order of
+ * the first query. Entities already in the persistence context or the
+ * second-level cache are not selected again.</p>
+ *
+ * <p>The {@link QueryDeadline} of the current request, if any, bounds
+ * every query of the executor.</p>
+ */
+public class FetchPlanExecutor {
+    /**
+     * The maximum number of entities whose collections are loaded by a
+     * single query, below the limit of bind parameters of the common
+     * databases.
+     */
+    public static final int IN_CHUNK_SIZE = 1000;
+
+    private final EntityManager entityManager;
+
+    private final FetchStrategy strategy;
+
+    public FetchPlanExecutor(EntityManager entityManager) {
+        this(
+                entityManager,
+                FetchStrategy.JOINED
+        );
+    }
+
+    public FetchPlanExecutor(
+            EntityManager entityManager,
+            FetchStrategy strategy
+    ) {
+        this.entityManager = entityManager;
+        this.strategy = strategy;
+    }
+
+    /**
+     * Finds all the entities matching a filter with the associations of a
+     * plan loaded.
+     *
+     * @param spec the resolved filter, {@code null} for every entity
+     * @param plan the associations to load
+     * @param sort the order of the entities
+     * @param <T>  the entity type
+     * @return the matching entities
+     */
+    public <T> List<T> findAll(
+            Specification<T> spec,
+            FetchPlan<T> plan,
+            Sort sort
+    ) {
+        var entities = this.query(
+                                   spec,
+                                   plan,
+                                   sort
+                           )
+                           .getResultList();
+        this.loadCollections(
+                entities,
+                plan
+        );
+
+        return entities;
+    }
+
+    /**
+     * Finds a page of the entities matching a filter with the associations
+     * of a plan loaded. The {@link FetchStrategy#IDS_FIRST} strategy only
+     * applies to a paged request of an entity with a single identifier
+     * attribute, the other requests are read with a single query.
+     *
+     * @param spec     the resolved filter, {@code null} for every entity
+     * @param plan     the associations to load
+     * @param pageable the page to read
+     * @param <T>      the entity type
+     * @return the page of matching entities
+     */
+    public <T> Page<T> findAll(
+            Specification<T> spec,
+            FetchPlan<T> plan,
+            Pageable pageable
+    ) {
+        List<T> entities;
+        if (this.strategy == FetchStrategy.IDS_FIRST
+                && pageable.isPaged()
+                && this.entityManager.getMetamodel()
+                                     .entity(plan.entityType())
+                                     .hasSingleIdAttribute()) {
+            entities = this.loadByIds(
+                    plan,
+                    this.ids(
+                            spec,
+                            plan.entityType(),
+                            pageable
+                    )
+            );
+        } else {
+            var query = this.query(
+                    spec,
+                    plan,
+                    pageable.getSort()
+            );
+            if (pageable.isPaged()) {
+                query.setFirstResult((int) pageable.getOffset())
+                     .setMaxResults(pageable.getPageSize());
+            }
+            entities = query.getResultList();
+        }
+
+        this.loadCollections(
+                entities,
+                plan
+        );
+
+        return PageableExecutionUtils.getPage(
+                entities,
+                pageable,
+                () -> this.count(
+                        spec,
+                        plan.entityType()
+                )
+        );
+    }
+
+    /**
+     * Builds the filter query, fetching the single-valued associations of
+     * the plan.
+     *
+     * @param spec the resolved filter, {@code null} for every entity
+     * @param plan the associations to load
+     * @param sort the order of the entities
+     * @param <T>  the entity type
+     * @return the query
+     */
+    private <T> TypedQuery<T> query(
+            Specification<T> spec,
+            FetchPlan<T> plan,
+            Sort sort
+    ) {
+        var cb = this.entityManager.getCriteriaBuilder();
+        var criteriaQuery = cb.createQuery(plan.entityType());
+        var root = criteriaQuery.from(plan.entityType());
+        this.where(
+                spec,
+                root,
+                criteriaQuery,
+                cb
+        );
+        if (sort.isSorted()) {
+            criteriaQuery.orderBy(QueryUtils.toOrders(
+                    sort,
+                    root,
+                    cb
+            ));
+        }
+
+        var query =
+                QueryDeadline.applyCurrent(this.entityManager.createQuery(criteriaQuery));
+        var singleValuedPaths = plan.singleValuedPaths();
+        if (!singleValuedPaths.isEmpty()) {
+            query.setHint(
+                    SpecHints.HINT_SPEC_LOAD_GRAPH,
+                    this.entityGraph(
+                            plan.entityType(),
+                            singleValuedPaths
+                    )
+            );
+        }
+
+        return query;
+    }
+
+    /**
+     * Selects the identifiers of a page of the entities matching a filter,
+     * in the order of the page.
+     *
+     * @param spec       the resolved filter, {@code null} for every entity
+     * @param entityType the entity type
+     * @param pageable   the page to read
+     * @param <T>        the entity type
+     * @return the identifiers of the page
+     */
+    private <T> List<Object> ids(
+            Specification<T> spec,
+            Class<T> entityType,
+            Pageable pageable
+    ) {
+        var entity = this.entityManager.getMetamodel()
+                                       .entity(entityType);
+        var idAttribute = entity.getId(entity.getIdType()
+                                             .getJavaType());
+        var cb = this.entityManager.getCriteriaBuilder();
+        var criteriaQuery = cb.createQuery(Object.class);
+        var root = criteriaQuery.from(entityType);
+        this.where(
+                spec,
+                root,
+                criteriaQuery,
+                cb
+        );
+        criteriaQuery.select(root.get(idAttribute.getName()));
+        if (pageable.getSort()
+                    .isSorted()) {
+            criteriaQuery.orderBy(QueryUtils.toOrders(
+                    pageable.getSort(),
+                    root,
+                    cb
+            ));
+        }
+
+        return QueryDeadline.applyCurrent(this.entityManager.createQuery(criteriaQuery))
+                            .setFirstResult((int) pageable.getOffset())
+                            .setMaxResults(pageable.getPageSize())
+                            .getResultList();
+    }
+
+    /**
+     * Loads the entities of the given identifiers with the single-valued
+     * associations of a plan, in the order of the identifiers. The
+     * persistence context and the second-level cache are checked first,
+     * and only the missing entities are selected.
+     *
+     * @param plan the associations to load
+     * @param ids  the identifiers of the entities
+     * @param <T>  the entity type
+     * @return the entities, in the order of the identifiers
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> loadByIds(
+            FetchPlan<T> plan,
+            List<Object> ids
+    ) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        var loader = this.entityManager.unwrap(Session.class)
+                                       .byMultipleIds(plan.entityType())
+                                       .enableSessionCheck(true)
+                                       .enableOrderedReturn(true);
+        var singleValuedPaths = plan.singleValuedPaths();
+        if (!singleValuedPaths.isEmpty()) {
+            loader.with(
+                    (RootGraph<T>) this.entityGraph(
+                            plan.entityType(),
+                            singleValuedPaths
+                    ),
+                    GraphSemantic.LOAD
+            );
+        }
+
+        // An entity deleted between the two phases is loaded as null.
+        return loader.multiLoad(ids)
+                     .stream()
+                     .filter(Objects::nonNull)
+                     .collect(Collectors.toList());
+    }
+
+    /**
+     * Loads the collection paths of a plan for the given entities, one
+     * query per path and chunk of entities. The loaded collections are
+     * attached to the entities through the persistence context.
+     *
+     * @param entities the managed entities of the result
+     * @param plan     the associations to load
+     * @param <T>      the entity type
+     */
+    private <T> void loadCollections(
+            List<T> entities,
+            FetchPlan<T> plan
+    ) {
+        var collectionPaths = plan.collectionPaths();
+        if (entities.isEmpty() || collectionPaths.isEmpty()) {
+            return;
+        }
+
+        for (var path : collectionPaths) {
+            for (var from = 0; from < entities.size(); from += IN_CHUNK_SIZE) {
+                this.loadCollection(
+                        plan.entityType(),
+                        path,
+                        entities.subList(
+                                from,
+                                Math.min(
+                                        from + IN_CHUNK_SIZE,
+                                        entities.size()
+                                )
+                        )
+                );
+            }
+        }
+    }
+
+    /**
+     * Loads a collection path for a chunk of entities. The query is rooted
+     * at the entities owning the collection, as Hibernate does not fetch
+     * the associations of a joined entity that is already loaded: for
+     * {@code department.employees}, the departments of the entities are
+     * selected by a subquery and their employees fetched by a load graph.
+     *
+     * @param entityType the entity type of the result
+     * @param path       the dot-separated path going through a collection
+     * @param chunk      the managed entities of the result
+     * @param <T>        the entity type
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> void loadCollection(
+            Class<T> entityType,
+            String path,
+            List<T> chunk
+    ) {
+        var segments = path.split("\\.");
+        var ownerLength = 0;
+        var collectionPath = segments[0];
+        while (!FieldPathResolver.resolve(
+                                         entityType,
+                                         collectionPath
+                                 )
+                                 .collection()) {
+            collectionPath += "." + segments[++ownerLength];
+        }
+
+        var ownerPath = Arrays.copyOf(
+                segments,
+                ownerLength
+        );
+        var ownerType = ownerLength == 0
+                        ? entityType
+                        : FieldPathResolver.resolve(
+                                                   entityType,
+                                                   String.join(
+                                                           ".",
+                                                           ownerPath
+                                                   )
+                                           )
+                                           .type();
+
+        var cb = this.entityManager.getCriteriaBuilder();
+        var criteriaQuery = (CriteriaQuery<Object>) cb.createQuery(ownerType);
+        var owner = criteriaQuery.from((Class<Object>) ownerType);
+        if (ownerLength == 0) {
+            criteriaQuery.where(owner.in(chunk));
+        } else {
+            var subquery = criteriaQuery.subquery((Class<Object>) ownerType);
+            var subRoot = subquery.from(entityType);
+            var ownerExpression = (Path) subRoot;
+            for (var segment : ownerPath) {
+                ownerExpression = ownerExpression.get(segment);
+            }
+            subquery.select(ownerExpression)
+                    .where(subRoot.in(chunk));
+            criteriaQuery.where(owner.in(subquery));
+        }
+
+        QueryDeadline.applyCurrent(this.entityManager.createQuery(criteriaQuery))
+                     .setHint(
+                             SpecHints.HINT_SPEC_LOAD_GRAPH,
+                             this.entityGraph(
+                                     (Class<Object>) ownerType,
+                                     List.of(String.join(
+                                             ".",
+                                             Arrays.copyOfRange(
+                                                     segments,
+                                                     ownerLength,
+                                                     segments.length
+                                             )
+                                     ))
+                             )
+                     )
+                     .getResultList();
+    }
+
+    /**
+     * Counts the entities matching a filter.
+     *
+     * @param spec       the resolved filter, {@code null} for every entity
+     * @param entityType the entity type
+     * @param <T>        the entity type
+     * @return the number of matching entities
+     */
+    private <T> long count(
+            Specification<T> spec,
+            Class<T> entityType
+    ) {
+        var cb = this.entityManager.getCriteriaBuilder();
+        var criteriaQuery = cb.createQuery(Long.class);
+        var root = criteriaQuery.from(entityType);
+        this.where(
+                spec,
+                root,
+                criteriaQuery,
+                cb
+        );
+        // A SEARCH ordering by relevance is not valid in a count.
+        criteriaQuery.select(cb.count(root))
+                     .orderBy(List.of());
+
+        return QueryDeadline.applyCurrent(this.entityManager.createQuery(criteriaQuery))
+                            .getSingleResult();
+    }
+
+    /**
+     * Restricts a query to the entities matching a filter.
+     *
+     * @param spec          the resolved filter, {@code null} for every
+     *                      entity
+     * @param root          the root of the query
+     * @param criteriaQuery the query
+     * @param cb            the {@link CriteriaBuilder} of the query
+     * @param <T>           the entity type
+     */
+    private <T> void where(
+            Specification<T> spec,
+            Root<T> root,
+            CriteriaQuery<?> criteriaQuery,
+            CriteriaBuilder cb
+    ) {
+        var predicate = spec == null
+                        ? null
+                        : spec.toPredicate(
+                                root,
+                                criteriaQuery,
+                                cb
+                        );
+        if (predicate != null) {
+            criteriaQuery.where(predicate);
+        }
+    }
+
+    /**
+     * Builds a dynamic entity graph of the given association paths,
+     * sharing the subgraphs of their common prefixes.
+     *
+     * @param entityType the entity type
+     * @param paths      the dot-separated association paths
+     * @param <T>        the entity type
+     * @return the entity graph
+     */
+    private <T> EntityGraph<T> entityGraph(
+            Class<T> entityType,
+            List<String> paths
+    ) {
+        var graph = this.entityManager.createEntityGraph(entityType);
+        var subgraphs = new HashMap<String, Subgraph<?>>();
+        for (var path : paths) {
+            var segments = path.split("\\.");
+            var parent = (Subgraph<?>) null;
+            var prefix = new StringBuilder();
+            for (var i = 0; i < segments.length - 1; i++) {
+                var segment = segments[i];
+                if (i > 0) {
+                    prefix.append('.');
+                }
+                prefix.append(segment);
+
+                var owner = parent;
+                parent = subgraphs.computeIfAbsent(
+                        prefix.toString(),
+                        key -> owner == null
+                               ? graph.addSubgraph(segment)
+                               : owner.addSubgraph(segment)
+                );
+            }
+
+            var last = segments[segments.length - 1];
+            if (parent == null) {
+                graph.addAttributeNodes(last);
+            } else {
+                parent.addAttributeNodes(last);
+            }
+        }
+
+        return graph;
+    }
+}
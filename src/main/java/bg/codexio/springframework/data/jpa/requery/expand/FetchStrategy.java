@@ -0,0 +1,19 @@
+package bg.codexio.springframework.data.jpa.requery.expand;
+
+/**
+ * How a {@link FetchPlanExecutor} reads a page of filtered entities.
+ */
+public enum FetchStrategy {
+    /**
+     * A single query filters, sorts and limits the entities, fetching
+     * their single-valued associations with them.
+     */
+    JOINED,
+    /**
+     * A first query filters, sorts and limits only the identifiers, which
+     * an index can often answer alone. The entities of the page are then
+     * loaded by identifier, through the persistence context and the
+     * second-level cache, and returned in the order of the first query.
+     */
+    IDS_FIRST
+}
@@ -0,0 +1,99 @@
+package bg.codexio.springframework.data.jpa.requery.export;
+
+import org.springframework.beans.NullValueInNestedPathException;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes entities as RFC 4180 CSV lines, reading the column values
+ * directly from the entity fields.
+ */
+final class CsvRowWriter {
+    private final Writer writer;
+
+    private final List<String> columns;
+
+    CsvRowWriter(
+            Writer writer,
+            List<String> columns
+    ) {
+        this.writer = writer;
+        this.columns = columns;
+    }
+
+    /**
+     * Writes the header line with the column names.
+     *
+     * @throws IOException if the line cannot be written
+     */
+    void writeHeader()
+            throws IOException {
+        this.writeLine(this.columns);
+    }
+
+    /**
+     * Writes the line of a single entity. Dot-separated columns are read
+     * from the nested objects, a {@code null} anywhere on the path being
+     * written as an empty value. The columns must have been validated
+     * against the entity type.
+     *
+     * @param entity the entity to write
+     * @throws IOException if the line cannot be written
+     */
+    void writeRow(Object entity)
+            throws IOException {
+        var accessor = PropertyAccessorFactory.forDirectFieldAccess(entity);
+        accessor.setAutoGrowNestedPaths(false);
+
+        var values = this.columns.stream()
+                                 .map(column -> {
+                                     try {
+                                         return accessor.getPropertyValue(column);
+                                     } catch (NullValueInNestedPathException e) {
+                                         return null;
+                                     }
+                                 })
+                                 .toList();
+        this.writeLine(values);
+    }
+
+    private void writeLine(List<?> values)
+            throws IOException {
+        for (var i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                this.writer.write(',');
+            }
+            this.writer.write(escape(values.get(i)));
+        }
+        this.writer.write("\r\n");
+    }
+
+    /**
+     * Quotes a value if it contains a separator, a quote or a line break,
+     * doubling the quotes inside it.
+     *
+     * @param value the value to escape
+     * @return the CSV representation of the value
+     */
+    static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+
+        var text = value.toString();
+        if (text.indexOf(',') < 0
+                && text.indexOf('"') < 0
+                && text.indexOf('\n') < 0
+                && text.indexOf('\r') < 0) {
+            return text;
+        }
+
+        return "\"" + text.replace(
+                "\"",
+                "\"\""
+        ) + "\"";
+    }
+}
@@ -0,0 +1,31 @@
+package bg.codexio.springframework.data.jpa.requery.export;
+
+import org.springframework.http.MediaType;
+
+/**
+ * The formats a {@link FilteredExport} can be written in.
+ */
+public enum ExportFormat {
+    /**
+     * One JSON document per entity, each followed by a line feed.
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    /**
+     * A header line with the column names followed by one RFC 4180 line per
+     * entity.
+     */
+    CSV(new MediaType(
+            "text",
+            "csv"
+    ));
+
+    private final MediaType mediaType;
+
+    ExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return this.mediaType;
+    }
+}
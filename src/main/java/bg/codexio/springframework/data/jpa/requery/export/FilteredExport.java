@@ -0,0 +1,76 @@
+package bg.codexio.springframework.data.jpa.requery.export;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * A filtered export returned from a controller. The query is only executed
+ * when the response body is written, and the entities are written to the
+ * response while the cursor is read, so no list of results is ever built.
+ *
+ * @param executor   the executor running the query
+ * @param spec       the resolved filter
+ * @param entityType the entity type being exported
+ * @param format     the format to write the entities in
+ * @param columns    the fields written as CSV columns, all basic fields of
+ *                   the entity if empty; ignored for NDJSON
+ * @param <T>        the entity type being exported
+ */
+public record FilteredExport<T>(
+        FilteredExportExecutor executor,
+        Specification<T> spec,
+        Class<T> entityType,
+        ExportFormat format,
+        List<String> columns
+)
+        implements StreamingResponseBody {
+
+    @Override
+    public void writeTo(OutputStream outputStream)
+            throws IOException {
+        this.executor.write(
+                this.spec,
+                this.entityType,
+                this.format,
+                this.columns,
+                outputStream
+        );
+    }
+
+    /**
+     * Wraps the export into a {@code 200 OK} response with the content type
+     * of its format, served as an attachment with the given file name. The
+     * name is quoted and escaped; a name that is not ASCII is also sent
+     * encoded as UTF-8, which clients prefer over the quoted one.
+     *
+     * @param fileName the file name suggested to the client
+     * @return the response streaming the export
+     */
+    public ResponseEntity<StreamingResponseBody> toResponseEntity(String fileName) {
+        var contentDisposition = ContentDisposition.attachment();
+        if (StandardCharsets.US_ASCII.newEncoder()
+                                     .canEncode(fileName)) {
+            contentDisposition.filename(fileName);
+        } else {
+            contentDisposition.filename(
+                    fileName,
+                    StandardCharsets.UTF_8
+            );
+        }
+        var headers = new HttpHeaders();
+        headers.setContentType(this.format.mediaType());
+        headers.setContentDisposition(contentDisposition.build());
+
+        return ResponseEntity.ok()
+                             .headers(headers)
+                             .body(this);
+    }
+}
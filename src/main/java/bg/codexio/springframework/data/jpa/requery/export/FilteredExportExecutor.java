@@ -0,0 +1,347 @@
+package bg.codexio.springframework.data.jpa.requery.export;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.admission.QueryDeadline;
+import bg.codexio.springframework.data.jpa.requery.resolver.FieldPathResolver;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Transient;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.query.Query;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Executes a resolved filter as a forward-only cursor and writes the
+ * matching entities as they are read, instead of materialising them with
+ * {@code findAll(spec)}.
+ *
+ * <p>The query runs in a read-only transaction with the JDBC fetch size
+ * set, so drivers such as PostgreSQL's stream rows instead of buffering the
+ * whole result set. Entities are loaded read-only and the persistence
+ * context is cleared every {@code clearInterval} rows, which keeps the heap
+ * flat regardless of the number of exported rows. Associations are not
+ * fetched by the export query; eager associations of the exported entities
+ * are still loaded by Hibernate.</p>
+ */
+public class FilteredExportExecutor {
+    public static final int DEFAULT_FETCH_SIZE = 500;
+    public static final int DEFAULT_CLEAR_INTERVAL = 500;
+
+    private static final ClassValue<List<String>> BASIC_FIELDS =
+            new ClassValue<>() {
+                @Override
+                protected List<String> computeValue(Class<?> type) {
+                    return FilteredExportExecutor.basicFields(type);
+                }
+            };
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectWriter objectWriter;
+
+    private final int fetchSize;
+
+    private final int clearInterval;
+
+    public FilteredExportExecutor(
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper
+    ) {
+        this(
+                entityManager,
+                transactionManager,
+                objectMapper,
+                DEFAULT_FETCH_SIZE,
+                DEFAULT_CLEAR_INTERVAL
+        );
+    }
+
+    /**
+     * Constructs an executor with a custom fetch size and clear interval.
+     *
+     * @param entityManager      the shared entity manager
+     * @param transactionManager the transaction manager of the entity
+     *                           manager
+     * @param objectMapper       the mapper used to write NDJSON
+     * @param fetchSize          the JDBC fetch size of the export query
+     * @param clearInterval      the number of rows after which the
+     *                           persistence context is cleared
+     */
+    public FilteredExportExecutor(
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            int fetchSize,
+            int clearInterval
+    ) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectWriter =
+                objectMapper.writer()
+                            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.fetchSize = fetchSize;
+        this.clearInterval = clearInterval;
+    }
+
+    /**
+     * Creates an export of all basic fields of the entities matching the
+     * filter.
+     *
+     * @param spec       the resolved filter
+     * @param entityType the entity type being exported
+     * @param format     the format to write the entities in
+     * @param <T>        the entity type being exported
+     * @return the export, executed when it is written
+     */
+    public <T> FilteredExport<T> export(
+            Specification<T> spec,
+            Class<T> entityType,
+            ExportFormat format
+    ) {
+        return this.export(
+                spec,
+                entityType,
+                format,
+                List.of()
+        );
+    }
+
+    /**
+     * Creates an export of the entities matching the filter.
+     *
+     * @param spec       the resolved filter
+     * @param entityType the entity type being exported
+     * @param format     the format to write the entities in
+     * @param columns    the dot-separated fields written as CSV columns
+     * @param <T>        the entity type being exported
+     * @return the export, executed when it is written
+     * @throws FilterRejectedException with {@code 400 Bad Request} if a
+     *                                 column is not a field of the entity
+     *                                 or goes through a collection
+     */
+    public <T> FilteredExport<T> export(
+            Specification<T> spec,
+            Class<T> entityType,
+            ExportFormat format,
+            List<String> columns
+    ) {
+        for (var column : columns) {
+            this.validateColumn(
+                    entityType,
+                    column
+            );
+        }
+
+        return new FilteredExport<>(
+                this,
+                spec,
+                entityType,
+                format,
+                columns
+        );
+    }
+
+    /**
+     * Checks that a CSV column is a single-valued field path of the
+     * entity type, so that a typo is reported to the client rather than
+     * exported as an empty column.
+     *
+     * @param entityType the entity type being exported
+     * @param column     the dot-separated field written as a column
+     * @throws FilterRejectedException with {@code 400 Bad Request} if the
+     *                                 column is not a field of the entity
+     *                                 or goes through a collection
+     */
+    private void validateColumn(
+            Class<?> entityType,
+            String column
+    ) {
+        boolean collection;
+        try {
+            collection = FieldPathResolver.resolve(
+                                                  entityType,
+                                                  column
+                                          )
+                                          .collection();
+        } catch (IllegalArgumentException e) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "Unknown export column '" + column + "': "
+                            + e.getMessage()
+            );
+        }
+        if (collection) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "Export column '" + column + "' goes through a "
+                            + "collection"
+            );
+        }
+    }
+
+    /**
+     * Runs the filter and writes every matching entity to the output
+     * stream while the cursor is read.
+     *
+     * @param spec         the resolved filter
+     * @param entityType   the entity type being exported
+     * @param format       the format to write the entities in
+     * @param columns      the fields written as CSV columns, all basic
+     *                     fields of the entity if empty
+     * @param outputStream the stream to write to, left open
+     * @param <T>          the entity type being exported
+     * @return the number of exported entities
+     * @throws IOException if the output cannot be written
+     */
+    public <T> long write(
+            Specification<T> spec,
+            Class<T> entityType,
+            ExportFormat format,
+            List<String> columns,
+            OutputStream outputStream
+    )
+            throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(
+                outputStream,
+                StandardCharsets.UTF_8
+        ));
+        var csvWriter = new CsvRowWriter(
+                writer,
+                columns.isEmpty()
+                ? BASIC_FIELDS.get(entityType)
+                : columns
+        );
+        if (format == ExportFormat.CSV) {
+            csvWriter.writeHeader();
+        }
+
+        try {
+            var count = this.transactionTemplate.execute(status -> this.scroll(
+                    spec,
+                    entityType,
+                    entity -> {
+                        if (format == ExportFormat.CSV) {
+                            csvWriter.writeRow(entity);
+                        } else {
+                            this.objectWriter.writeValue(
+                                    writer,
+                                    entity
+                            );
+                            writer.write('\n');
+                        }
+                    }
+            ));
+            writer.flush();
+
+            return count == null
+                   ? 0
+                   : count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Reads the entities matching the filter with a forward-only cursor,
+     * clearing the persistence context in batches.
+     *
+     * @param spec       the resolved filter
+     * @param entityType the entity type being exported
+     * @param consumer   the consumer of each entity
+     * @param <T>        the entity type being exported
+     * @return the number of consumed entities
+     */
+    private <T> long scroll(
+            Specification<T> spec,
+            Class<T> entityType,
+            RowConsumer consumer
+    ) {
+        var cb = this.entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(entityType);
+        var root = query.from(entityType);
+        var predicate = spec.toPredicate(
+                root,
+                query,
+                cb
+        );
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        var count = 0L;
+        try (var results = QueryDeadline.applyCurrent(this.entityManager.createQuery(query))
+                                        .unwrap(Query.class)
+                                        .setFetchSize(this.fetchSize)
+                                        .setReadOnly(true)
+                                        .setCacheMode(CacheMode.IGNORE)
+                                        .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                consumer.accept(results.get());
+                if (++count % this.clearInterval == 0) {
+                    this.entityManager.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return count;
+    }
+
+    /**
+     * Lists the persistent fields of an entity that hold a simple value,
+     * skipping associations and collections.
+     *
+     * @param type the entity type
+     * @return the names of the basic fields, superclass fields first
+     */
+    private static List<String> basicFields(Class<?> type) {
+        var hierarchy = new ArrayList<Class<?>>();
+        for (var current = type; current != null
+                && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.addFirst(current);
+        }
+
+        var fields = new ArrayList<String>();
+        for (var current : hierarchy) {
+            for (var field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())
+                        || Modifier.isTransient(field.getModifiers())
+                        || field.isAnnotationPresent(Transient.class)
+                        || !BeanUtils.isSimpleValueType(field.getType())) {
+                    continue;
+                }
+                fields.add(field.getName());
+            }
+        }
+
+        return List.copyOf(fields);
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(Object entity)
+                throws IOException;
+    }
+}
@@ -0,0 +1,14 @@
+package bg.codexio.springframework.data.jpa.requery.facet;
+
+/**
+ * The number of filtered entities having a value of a facet field.
+ *
+ * @param value the value in its string form, {@code null} for entities
+ *              without a value
+ * @param count the number of entities with the value
+ */
+public record FacetBucket(
+        String value,
+        long count
+) {
+}
@@ -0,0 +1,392 @@
+package bg.codexio.springframework.data.jpa.requery.facet;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.admission.QueryDeadline;
+import bg.codexio.springframework.data.jpa.requery.resolver.EntityPaths;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.GroupingSetsSQLFunction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Computes the value counts of several facet fields for the entities
+ * matching a resolved filter, in a single round trip.
+ *
+ * <p>When the dialect registers the {@link GroupingSetsSQLFunction}, all
+ * facets are grouped by one {@code GROUPING SETS} query and the top
+ * buckets of each facet are selected in memory. Otherwise every facet gets
+ * its own grouped subquery, ordered and limited to its top buckets, and
+ * the subqueries are joined with {@code UNION ALL}.</p>
+ *
+ * <p>Facet fields are resolved like filter fields, an unknown field or a
+ * field inside a collection being rejected with {@code 400 Bad Request}.
+ * Associations on the path of a facet are left joined, so entities without
+ * the association are counted in the {@code null} bucket.</p>
+ */
+public class FacetExecutor {
+    private static final Comparator<FacetBucket> BUCKET_ORDER =
+            Comparator.comparingLong(FacetBucket::count)
+                      .reversed()
+                      .thenComparing(
+                              FacetBucket::value,
+                              Comparator.nullsLast(Comparator.naturalOrder())
+                      );
+
+    private final EntityManager entityManager;
+
+    public FacetExecutor(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Finds the facet of a {@code GROUPING SETS} row from its
+     * {@code GROUPING} bit mask, in which only the bit of the grouped facet
+     * is cleared.
+     *
+     * @param mask       the grouping bit mask of the row
+     * @param facetCount the number of facets
+     * @return the index of the grouped facet
+     */
+    static int facetIndex(
+            int mask,
+            int facetCount
+    ) {
+        for (var i = 0; i < facetCount; i++) {
+            if ((mask & (1 << (facetCount - 1 - i))) == 0) {
+                return i;
+            }
+        }
+
+        throw new IllegalStateException("No grouped facet in mask " + mask);
+    }
+
+    /**
+     * Counts the values of the given facets for the entities matching the
+     * filter.
+     *
+     * @param spec       the resolved filter
+     * @param entityType the entity type being filtered
+     * @param facets     the facets to count
+     * @param <T>        the entity type being filtered
+     * @return one result per facet, in request order
+     * @throws FilterRejectedException if a facet field cannot be grouped by
+     */
+    public <T> List<FacetResult> facets(
+            Specification<T> spec,
+            Class<T> entityType,
+            List<FacetRequest> facets
+    ) {
+        if (facets.isEmpty()) {
+            return List.of();
+        }
+        this.validate(
+                entityType,
+                facets
+        );
+
+        List<List<FacetBucket>> buckets;
+        if (this.supportsGroupingSets()) {
+            buckets = this.groupingSets(
+                    spec,
+                    entityType,
+                    facets
+            );
+        } else {
+            buckets = this.unionAll(
+                    spec,
+                    entityType,
+                    facets
+            );
+        }
+
+        var results = new ArrayList<FacetResult>(facets.size());
+        for (var i = 0; i < facets.size(); i++) {
+            var facetBuckets = buckets.get(i);
+            facetBuckets.sort(BUCKET_ORDER);
+            results.add(new FacetResult(
+                    facets.get(i)
+                          .field(),
+                    List.copyOf(facetBuckets.subList(
+                            0,
+                            Math.min(
+                                    facetBuckets.size(),
+                                    facets.get(i)
+                                          .limit()
+                            )
+                    ))
+            ));
+        }
+
+        return results;
+    }
+
+    /**
+     * Counts all facets with a single {@code GROUPING SETS} query.
+     *
+     * @param spec       the resolved filter
+     * @param entityType the entity type being filtered
+     * @param facets     the facets to count
+     * @param <T>        the entity type being filtered
+     * @return the buckets of each facet, by facet index
+     */
+    private <T> List<List<FacetBucket>> groupingSets(
+            Specification<T> spec,
+            Class<T> entityType,
+            List<FacetRequest> facets
+    ) {
+        var cb = this.entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var root = query.from(entityType);
+        var joins = new HashMap<String, From<?, ?>>();
+        var paths = facets.stream()
+                          .map(facet -> EntityPaths.leftJoinedPath(
+                                  root,
+                                  joins,
+                                  facet.field()
+                          ))
+                          .toArray(Expression<?>[]::new);
+
+        var selections = new ArrayList<Expression<?>>();
+        selections.add(cb.function(
+                GroupingSetsSQLFunction.GROUPING_FUNC_NAME,
+                Integer.class,
+                paths
+        ));
+        for (var path : paths) {
+            selections.add(this.asString(path));
+        }
+        selections.add(cb.count(root));
+        query.multiselect(selections.toArray(Expression<?>[]::new))
+             .groupBy(cb.function(
+                     GroupingSetsSQLFunction.FUNC_NAME,
+                     Object.class,
+                     paths
+             ));
+        this.where(
+                query,
+                spec,
+                root,
+                cb
+        );
+
+        var buckets = this.emptyBuckets(facets.size());
+        for (var tuple : QueryDeadline.applyCurrent(this.entityManager.createQuery(query))
+                                      .getResultList()) {
+            var index = facetIndex(
+                    tuple.get(
+                                 0,
+                                 Number.class
+                         )
+                         .intValue(),
+                    facets.size()
+            );
+            buckets.get(index)
+                   .add(new FacetBucket(
+                           tuple.get(
+                                   index + 1,
+                                   String.class
+                           ),
+                           tuple.get(
+                                        facets.size() + 1,
+                                        Number.class
+                                )
+                                .longValue()
+                   ));
+        }
+
+        return buckets;
+    }
+
+    /**
+     * Counts every facet in its own limited subquery, joined with
+     * {@code UNION ALL}.
+     *
+     * @param spec       the resolved filter
+     * @param entityType the entity type being filtered
+     * @param facets     the facets to count
+     * @param <T>        the entity type being filtered
+     * @return the buckets of each facet, by facet index
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<List<FacetBucket>> unionAll(
+            Specification<T> spec,
+            Class<T> entityType,
+            List<FacetRequest> facets
+    ) {
+        var cb = (HibernateCriteriaBuilder) this.entityManager.getCriteriaBuilder();
+        var queries = new ArrayList<CriteriaQuery<Tuple>>(facets.size());
+        for (var i = 0; i < facets.size(); i++) {
+            var query = cb.createTupleQuery();
+            var root = query.from(entityType);
+            var path = EntityPaths.leftJoinedPath(
+                    root,
+                    new HashMap<>(),
+                    facets.get(i)
+                          .field()
+            );
+            query.multiselect(
+                         cb.literal(i),
+                         this.asString(path),
+                         cb.count(root)
+                 )
+                 .groupBy(path);
+            this.where(
+                    query,
+                    spec,
+                    root,
+                    cb
+            );
+            query.orderBy(
+                    cb.desc(cb.count(root)),
+                    cb.asc(path)
+            );
+            query.fetch(facets.get(i)
+                              .limit());
+            queries.add(query);
+        }
+
+        var union = queries.size() == 1
+                    ? queries.getFirst()
+                    : cb.unionAll(
+                            queries.getFirst(),
+                            queries.subList(
+                                           1,
+                                           queries.size()
+                                   )
+                                   .toArray(CriteriaQuery[]::new)
+                    );
+
+        var buckets = this.emptyBuckets(facets.size());
+        for (var tuple : QueryDeadline.applyCurrent(this.entityManager.createQuery(union))
+                                      .getResultList()) {
+            buckets.get(tuple.get(
+                                     0,
+                                     Number.class
+                             )
+                             .intValue())
+                   .add(new FacetBucket(
+                           tuple.get(
+                                   1,
+                                   String.class
+                           ),
+                           tuple.get(
+                                        2,
+                                        Number.class
+                                )
+                                .longValue()
+                   ));
+        }
+
+        return buckets;
+    }
+
+    /**
+     * Applies the filter to a facet query, without its ordering.
+     *
+     * @param query the facet query
+     * @param spec  the resolved filter
+     * @param root  the root of the facet query
+     * @param cb    the {@link CriteriaBuilder} of the query
+     * @param <T>   the entity type being filtered
+     */
+    private <T> void where(
+            CriteriaQuery<Tuple> query,
+            Specification<T> spec,
+            Root<T> root,
+            CriteriaBuilder cb
+    ) {
+        var predicate = spec.toPredicate(
+                root,
+                query,
+                cb
+        );
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // Drops any ordering of the filter, such as the relevance of a
+        // SEARCH, which has no meaning for a bucket.
+        query.orderBy(List.of());
+    }
+
+    /**
+     * Casts a facet path to a string, so that the buckets of all facets
+     * share one column type. String paths are not cast.
+     *
+     * @param path the facet path
+     * @return the path as a string expression
+     */
+    @SuppressWarnings("unchecked")
+    private Expression<String> asString(Expression<?> path) {
+        return String.class.equals(path.getJavaType())
+               ? (Expression<String>) path
+               : path.as(String.class);
+    }
+
+    /**
+     * Checks that every facet field exists, is not inside a collection and
+     * is requested only once.
+     *
+     * @param entityType the entity type being filtered
+     * @param facets     the facets to check
+     * @throws FilterRejectedException if a facet cannot be grouped by
+     */
+    private void validate(
+            Class<?> entityType,
+            List<FacetRequest> facets
+    ) {
+        var fields = new HashSet<String>();
+        for (var facet : facets) {
+            if (!fields.add(facet.field())) {
+                throw new FilterRejectedException(
+                        HttpStatus.BAD_REQUEST,
+                        "Facet '" + facet.field() + "' is requested more "
+                                + "than once"
+                );
+            }
+
+            EntityPaths.resolve(
+                    entityType,
+                    facet.field(),
+                    "Facet"
+            );
+        }
+    }
+
+    /**
+     * Checks whether the dialect registered the grouping sets functions.
+     *
+     * @return {@code true} if facets can be computed with
+     * {@code GROUPING SETS}
+     */
+    private boolean supportsGroupingSets() {
+        return this.entityManager.getEntityManagerFactory()
+                                 .unwrap(SessionFactoryImplementor.class)
+                                 .getQueryEngine()
+                                 .getSqmFunctionRegistry()
+                                 .findFunctionDescriptor(GroupingSetsSQLFunction.FUNC_NAME)
+                != null;
+    }
+
+    private List<List<FacetBucket>> emptyBuckets(int facetCount) {
+        var buckets = new ArrayList<List<FacetBucket>>(facetCount);
+        for (var i = 0; i < facetCount; i++) {
+            buckets.add(new ArrayList<>());
+        }
+
+        return buckets;
+    }
+}
@@ -0,0 +1,38 @@
+package bg.codexio.springframework.data.jpa.requery.facet;
+
+/**
+ * A facet to count the values of.
+ *
+ * @param field the dot-separated path of the field, resolved like a filter
+ *              field
+ * @param limit the maximum number of buckets returned, the most frequent
+ *              values being kept
+ */
+public record FacetRequest(
+        String field,
+        int limit
+) {
+    public static final int DEFAULT_LIMIT = 10;
+
+    public FacetRequest {
+        if (limit < 1) {
+            throw new IllegalArgumentException("The bucket limit of facet '"
+                                                       + field
+                                                       + "' must be "
+                                                       + "positive");
+        }
+    }
+
+    /**
+     * Creates a facet with the {@link #DEFAULT_LIMIT}.
+     *
+     * @param field the dot-separated path of the field
+     * @return the facet request
+     */
+    public static FacetRequest of(String field) {
+        return new FacetRequest(
+                field,
+                DEFAULT_LIMIT
+        );
+    }
+}
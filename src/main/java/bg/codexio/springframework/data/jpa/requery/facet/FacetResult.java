@@ -0,0 +1,15 @@
+package bg.codexio.springframework.data.jpa.requery.facet;
+
+import java.util.List;
+
+/**
+ * The buckets of a single facet.
+ *
+ * @param field   the facet field, as requested
+ * @param buckets the buckets, most frequent value first
+ */
+public record FacetResult(
+        String field,
+        List<FacetBucket> buckets
+) {
+}
@@ -0,0 +1,115 @@
+package bg.codexio.springframework.data.jpa.requery.geo;
+
+/**
+ * A latitude and longitude range, the value of the {@code WITHIN_BOX}
+ * operation, e.g.
+ * {@code {"south": 42.6, "west": 23.2, "north": 42.8, "east": 23.4}}. A
+ * box whose western bound is east of its eastern bound crosses the
+ * antimeridian.
+ *
+ * @param south the minimum latitude, in degrees
+ * @param west  the western longitude, in degrees
+ * @param north the maximum latitude, in degrees
+ * @param east  the eastern longitude, in degrees
+ */
+public record GeoBox(
+        double south,
+        double west,
+        double north,
+        double east
+) {
+    /**
+     * @throws IllegalArgumentException if a bound is out of range or the
+     *                                  box is south of its southern bound
+     */
+    public GeoBox {
+        GeoValues.checkCoordinates(
+                south,
+                west
+        );
+        GeoValues.checkCoordinates(
+                north,
+                east
+        );
+        if (south > north) {
+            throw new IllegalArgumentException("expects 'south' not to be "
+                                                       + "north of 'north'");
+        }
+    }
+
+    /**
+     * Reads a box from the value of a {@code WITHIN_BOX} filter.
+     *
+     * @param value the filter value
+     * @return the box
+     * @throws IllegalArgumentException if the value is not a valid box
+     */
+    public static GeoBox of(Object value) {
+        return new GeoBox(
+                GeoValues.number(
+                        value,
+                        "south"
+                ),
+                GeoValues.number(
+                        value,
+                        "west"
+                ),
+                GeoValues.number(
+                        value,
+                        "north"
+                ),
+                GeoValues.number(
+                        value,
+                        "east"
+                )
+        );
+    }
+
+    /**
+     * @return whether the box crosses the antimeridian, so its longitudes
+     * are two ranges
+     */
+    public boolean crossesAntimeridian() {
+        return this.west > this.east;
+    }
+
+    /**
+     * @return the latitude of the center of the box
+     */
+    public double centerLatitude() {
+        return (this.south + this.north) / 2;
+    }
+
+    /**
+     * @return the longitude of the center of the box
+     */
+    public double centerLongitude() {
+        if (!this.crossesAntimeridian()) {
+            return (this.west + this.east) / 2;
+        }
+
+        var center = (this.west + this.east + 360) / 2;
+
+        return center > 180
+               ? center - 360
+               : center;
+    }
+
+    /**
+     * @param latitude  a latitude in degrees
+     * @param longitude a longitude in degrees
+     * @return whether the point is inside the box
+     */
+    public boolean contains(
+            double latitude,
+            double longitude
+    ) {
+        if (latitude < this.south || latitude > this.north) {
+            return false;
+        }
+
+        return this.crossesAntimeridian()
+               ? longitude >= this.west || longitude <= this.east
+               : longitude >= this.west && longitude <= this.east;
+    }
+}
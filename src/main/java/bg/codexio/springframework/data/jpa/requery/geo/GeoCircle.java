@@ -0,0 +1,162 @@
+package bg.codexio.springframework.data.jpa.requery.geo;
+
+/**
+ * A center and a radius, the value of the {@code WITHIN_RADIUS} operation,
+ * e.g. {@code {"latitude": 42.69, "longitude": 23.32, "radius": 5000}}.
+ *
+ * <p>Distances are great-circle distances on a sphere of the mean Earth
+ * radius, computed with the haversine formula. The operation is compiled
+ * into the {@link #boundingBox()} range, which an index answers, and the
+ * exact check {@code haversine(point) <= }{@link #haversineBound()}, which
+ * compares the haversine of the central angle instead of the distance, so
+ * the database needs no inverse trigonometry.</p>
+ *
+ * @param latitude  the latitude of the center, in degrees
+ * @param longitude the longitude of the center, in degrees
+ * @param radius    the radius, in meters
+ */
+public record GeoCircle(
+        double latitude,
+        double longitude,
+        double radius
+) {
+    public static final double EARTH_RADIUS = 6_371_008.8;
+
+    /**
+     * @throws IllegalArgumentException if the center is out of range or the
+     *                                  radius is negative
+     */
+    public GeoCircle {
+        GeoValues.checkCoordinates(
+                latitude,
+                longitude
+        );
+        if (radius < 0) {
+            throw new IllegalArgumentException("expects a radius of at "
+                                                       + "least 0");
+        }
+    }
+
+    /**
+     * Reads a circle from the value of a {@code WITHIN_RADIUS} filter.
+     *
+     * @param value the filter value
+     * @return the circle
+     * @throws IllegalArgumentException if the value is not a valid circle
+     */
+    public static GeoCircle of(Object value) {
+        return new GeoCircle(
+                GeoValues.number(
+                        value,
+                        "latitude"
+                ),
+                GeoValues.number(
+                        value,
+                        "longitude"
+                ),
+                GeoValues.number(
+                        value,
+                        "radius"
+                )
+        );
+    }
+
+    /**
+     * Computes the haversine of the central angle between two points,
+     * {@code sin²(Δφ/2) + cos φ1 · cos φ2 · sin²(Δλ/2)}, which grows with
+     * their distance.
+     *
+     * @param latitude1  the latitude of the first point, in degrees
+     * @param longitude1 the longitude of the first point, in degrees
+     * @param latitude2  the latitude of the second point, in degrees
+     * @param longitude2 the longitude of the second point, in degrees
+     * @return the haversine, between 0 and 1
+     */
+    public static double haversine(
+            double latitude1,
+            double longitude1,
+            double latitude2,
+            double longitude2
+    ) {
+        var halfLatitude = Math.sin(Math.toRadians(latitude2 - latitude1) / 2);
+        var halfLongitude =
+                Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+
+        return halfLatitude * halfLatitude + Math.cos(Math.toRadians(latitude1))
+                * Math.cos(Math.toRadians(latitude2)) * halfLongitude
+                * halfLongitude;
+    }
+
+    /**
+     * @return the haversine of the central angle of the radius; a point is
+     * inside the circle when its {@link #haversine} from the center is at
+     * most this bound
+     */
+    public double haversineBound() {
+        var half = Math.sin(Math.min(
+                this.radius / EARTH_RADIUS,
+                Math.PI
+        ) / 2);
+
+        return half * half;
+    }
+
+    /**
+     * Computes the smallest latitude and longitude range holding the
+     * circle. A circle reaching a pole holds every longitude.
+     *
+     * @return the bounding box
+     */
+    public GeoBox boundingBox() {
+        var angle = this.radius / EARTH_RADIUS;
+        var south = this.latitude - Math.toDegrees(angle);
+        var north = this.latitude + Math.toDegrees(angle);
+        if (south <= -90 || north >= 90) {
+            return new GeoBox(
+                    Math.max(
+                            south,
+                            -90
+                    ),
+                    -180,
+                    Math.min(
+                            north,
+                            90
+                    ),
+                    180
+            );
+        }
+
+        var longitudeDelta = Math.toDegrees(Math.asin(Math.sin(angle)
+                                                              / Math.cos(Math.toRadians(this.latitude))));
+        var west = this.longitude - longitudeDelta;
+        var east = this.longitude + longitudeDelta;
+
+        return new GeoBox(
+                south,
+                west < -180
+                ? west + 360
+                : west,
+                north,
+                east > 180
+                ? east - 360
+                : east
+        );
+    }
+
+    /**
+     * @param latitude  a latitude in degrees
+     * @param longitude a longitude in degrees
+     * @return whether the point is inside the circle
+     */
+    public boolean contains(
+            double latitude,
+            double longitude
+    ) {
+        return haversine(
+                this.latitude,
+                this.longitude,
+                latitude,
+                longitude
+        ) <= this.haversineBound();
+    }
+}
@@ -0,0 +1,44 @@
+package bg.codexio.springframework.data.jpa.requery.geo;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a point of an entity, stored as a pair of latitude and longitude
+ * attributes, that the {@code WITHIN_RADIUS} and {@code WITHIN_BOX}
+ * operations filter on.
+ *
+ * <p>The point is filtered under its {@link #name()}, e.g.
+ * {@code {"field": "location", "operation": "WITHIN_RADIUS", ...}}, and
+ * compiled into a range on both attributes, which a B-tree index on
+ * {@code (latitude, longitude)} answers, followed by the exact distance
+ * check. Coordinates are in degrees.</p>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(GeoPoints.class)
+public @interface GeoPoint {
+    /**
+     * @return the field name the point is filtered under
+     */
+    String name();
+
+    /**
+     * @return the latitude attribute, relative to the annotated type
+     */
+    String latitude() default "latitude";
+
+    /**
+     * @return the longitude attribute, relative to the annotated type
+     */
+    String longitude() default "longitude";
+
+    /**
+     * @return whether results are ordered by ascending distance when the
+     * request does not specify its own sort
+     */
+    boolean orderByDistance() default false;
+}
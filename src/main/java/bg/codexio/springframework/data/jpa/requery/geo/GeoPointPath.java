@@ -0,0 +1,62 @@
+package bg.codexio.springframework.data.jpa.requery.geo;
+
+import bg.codexio.springframework.data.jpa.requery.resolver.FieldPathResolver;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The latitude and longitude paths of a {@link GeoPoint} reached by a
+ * filter field, e.g. {@code store.location}.
+ *
+ * @param latitude        the path of the latitude attribute
+ * @param longitude       the path of the longitude attribute
+ * @param orderByDistance whether results are ordered by distance
+ */
+public record GeoPointPath(
+        String latitude,
+        String longitude,
+        boolean orderByDistance
+) {
+    /**
+     * Resolves the {@link GeoPoint} named by the last segment of a field,
+     * declared on the type reached by the preceding segments.
+     *
+     * @param entityType the entity type being filtered
+     * @param field      the dot-separated filter field
+     * @return the paths of the point, or empty if no point has this name
+     * @throws IllegalArgumentException if the preceding segments do not
+     *                                  resolve to a field
+     */
+    public static Optional<GeoPointPath> resolve(
+            Class<?> entityType,
+            String field
+    ) {
+        var separator = field.lastIndexOf('.');
+        var prefix = field.substring(
+                0,
+                separator + 1
+        );
+        var name = field.substring(separator + 1);
+        var type = separator < 0
+                   ? entityType
+                   : FieldPathResolver.resolve(
+                                              entityType,
+                                              field.substring(
+                                                      0,
+                                                      separator
+                                              )
+                                      )
+                                      .type();
+
+        return Arrays.stream(type.getAnnotationsByType(GeoPoint.class))
+                     .filter(point -> point.name()
+                                           .equals(name))
+                     .findFirst()
+                     .map(point -> new GeoPointPath(
+                             prefix + point.latitude(),
+                             prefix + point.longitude(),
+                             point.orderByDistance()
+                     ));
+    }
+}
@@ -0,0 +1,16 @@
+package bg.codexio.springframework.data.jpa.requery.geo;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Holds the {@link GeoPoint} declarations of a type declaring several
+ * points.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GeoPoints {
+    GeoPoint[] value();
+}
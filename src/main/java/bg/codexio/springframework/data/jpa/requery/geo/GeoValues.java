@@ -0,0 +1,64 @@
+package bg.codexio.springframework.data.jpa.requery.geo;
+
+import java.util.Map;
+
+/**
+ * Reads the coordinates of a geographic filter value, given as a JSON
+ * object.
+ */
+final class GeoValues {
+    private GeoValues() {
+    }
+
+    /**
+     * Reads a finite number from a JSON object.
+     *
+     * @param value the filter value
+     * @param key   the key of the number
+     * @return the number
+     * @throws IllegalArgumentException if the value is not an object or the
+     *                                  key does not hold a finite number
+     */
+    static double number(
+            Object value,
+            String key
+    ) {
+        if (!(value instanceof Map<?, ?> map)) {
+            throw new IllegalArgumentException("expects an object");
+        }
+
+        var number = map.get(key);
+        try {
+            var result = number instanceof Number n
+                         ? n.doubleValue()
+                         : Double.parseDouble(String.valueOf(number));
+            if (Double.isFinite(result)) {
+                return result;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below, with the key.
+        }
+
+        throw new IllegalArgumentException("expects a number for '" + key
+                                                   + "'");
+    }
+
+    /**
+     * @param latitude  a latitude in degrees
+     * @param longitude a longitude in degrees
+     * @throws IllegalArgumentException if a coordinate is out of range
+     */
+    static void checkCoordinates(
+            double latitude,
+            double longitude
+    ) {
+        if (latitude < -90 || latitude > 90) {
+            throw new IllegalArgumentException("expects latitudes between "
+                                                       + "-90 and 90");
+        }
+        if (longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("expects longitudes between "
+                                                       + "-180 and 180");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package bg.codexio.springframework.data.jpa.requery.index;
+
+/**
+ * A physical column of a mapped table.
+ *
+ * @param table  the table expression as mapped by Hibernate, possibly
+ *               qualified with a schema
+ * @param column the column name
+ */
+public record ColumnReference(
+        String table,
+        String column
+) {
+}
@@ -0,0 +1,146 @@
+package bg.codexio.springframework.data.jpa.requery.index;
+
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.metamodel.mapping.AttributeMapping;
+import org.hibernate.metamodel.mapping.BasicEntityIdentifierMapping;
+import org.hibernate.metamodel.mapping.BasicValuedModelPart;
+import org.hibernate.metamodel.mapping.EmbeddableValuedModelPart;
+import org.hibernate.metamodel.mapping.EntityMappingType;
+import org.hibernate.metamodel.mapping.ModelPart;
+import org.hibernate.metamodel.mapping.ModelPartContainer;
+import org.hibernate.metamodel.mapping.PluralAttributeMapping;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maps dot-separated entity paths to the physical columns they are stored
+ * in, using the Hibernate mapping metamodel. Paths may navigate through
+ * embeddables, to-one associations and collections.
+ */
+public class EntityColumnMapper {
+    private final MappingMetamodel metamodel;
+
+    public EntityColumnMapper(MappingMetamodel metamodel) {
+        this.metamodel = metamodel;
+    }
+
+    /**
+     * Resolves the column the given path of the entity type is stored in.
+     *
+     * @param entityType the mapped entity type
+     * @param path       the dot-separated attribute path
+     * @return the column, or empty if the entity is not mapped or the path
+     * does not end in a single basic column
+     */
+    public Optional<ColumnReference> column(
+            Class<?> entityType,
+            String path
+    ) {
+        var part = (ModelPart) this.metamodel.findEntityDescriptor(entityType);
+        if (part == null) {
+            return Optional.empty();
+        }
+
+        for (var segment : path.split("\\.")) {
+            if (part instanceof PluralAttributeMapping plural) {
+                part = plural.getElementDescriptor();
+            }
+            if (!(part instanceof ModelPartContainer container)) {
+                return Optional.empty();
+            }
+
+            part = container.findSubPart(
+                    segment,
+                    null
+            );
+            if (part == null) {
+                return Optional.empty();
+            }
+        }
+
+        if (part instanceof PluralAttributeMapping plural) {
+            part = plural.getElementDescriptor();
+        }
+
+        return part instanceof BasicValuedModelPart basic
+               ? Optional.of(new ColumnReference(
+                basic.getContainingTableExpression(),
+                basic.getSelectionExpression()
+        ))
+               : Optional.empty();
+    }
+
+    /**
+     * Lists the paths of the identifier, the basic attributes and the
+     * attributes of embeddables of every mapped entity, together with the
+     * columns they are stored in. Association paths are not listed, they
+     * can be resolved on demand with {@link #column(Class, String)}.
+     *
+     * @return the mapped paths per entity type
+     */
+    public Map<Class<?>, Map<String, ColumnReference>> columns() {
+        var columns = new HashMap<Class<?>, Map<String, ColumnReference>>();
+
+        this.metamodel.forEachEntityDescriptor(descriptor -> {
+            var paths = new HashMap<String, ColumnReference>();
+            this.collect(
+                    descriptor,
+                    paths
+            );
+            columns.put(
+                    descriptor.getMappedClass(),
+                    paths
+            );
+        });
+
+        return columns;
+    }
+
+    private void collect(
+            EntityMappingType descriptor,
+            Map<String, ColumnReference> paths
+    ) {
+        if (descriptor.getIdentifierMapping() instanceof BasicEntityIdentifierMapping id) {
+            paths.put(
+                    id.getAttributeName(),
+                    new ColumnReference(
+                            id.getContainingTableExpression(),
+                            id.getSelectionExpression()
+                    )
+            );
+        }
+
+        descriptor.forEachAttributeMapping(attribute -> this.collect(
+                attribute,
+                "",
+                paths
+        ));
+    }
+
+    private void collect(
+            AttributeMapping attribute,
+            String prefix,
+            Map<String, ColumnReference> paths
+    ) {
+        var path = prefix + attribute.getAttributeName();
+
+        if (attribute instanceof BasicValuedModelPart basic) {
+            paths.put(
+                    path,
+                    new ColumnReference(
+                            basic.getContainingTableExpression(),
+                            basic.getSelectionExpression()
+                    )
+            );
+        } else if (attribute instanceof EmbeddableValuedModelPart embeddable) {
+            embeddable.getEmbeddableTypeDescriptor()
+                      .forEachAttributeMapping(nested -> this.collect(
+                              nested,
+                              path + ".",
+                              paths
+                      ));
+        }
+    }
+}
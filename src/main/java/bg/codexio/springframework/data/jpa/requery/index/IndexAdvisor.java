@@ -0,0 +1,255 @@
+package bg.codexio.springframework.data.jpa.requery.index;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterAdmissionPolicy;
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.geo.GeoPointPath;
+import bg.codexio.springframework.data.jpa.requery.metrics.FilterMetrics;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link FilterAdmissionPolicy} that advises against filters whose
+ * leading predicate cannot use an index.
+ *
+ * <p>The advisor maps entity paths to physical columns through the
+ * Hibernate metamodel and reads the index definitions of the mapped tables
+ * through JDBC {@link java.sql.DatabaseMetaData}. The resulting
+ * {@link IndexCoverageMap} is built once all singletons are instantiated
+ * and can be rebuilt on demand with {@link #refresh()}.</p>
+ *
+ * <p>A predicate is considered to use an index when its operation can seek
+ * a B-tree index and its column is the leading column of one. What happens
+ * otherwise is decided per {@link FilterOperation} by an
+ * {@link UnindexedFilterAction}.</p>
+ */
+public class IndexAdvisor
+        implements FilterAdmissionPolicy, SmartInitializingSingleton {
+    private static final Set<FilterOperation> SARGABLE_OPERATIONS =
+            EnumSet.of(
+                    FilterOperation.EMPTY,
+                    FilterOperation.EQ,
+                    FilterOperation.GT,
+                    FilterOperation.GTE,
+                    FilterOperation.LT,
+                    FilterOperation.LTE,
+                    FilterOperation.BEGINS_WITH,
+                    FilterOperation.IN,
+                    FilterOperation.WITHIN_RADIUS,
+                    FilterOperation.WITHIN_BOX
+            );
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final EntityColumnMapper columnMapper;
+
+    private final IndexMetadataReader metadataReader =
+            new IndexMetadataReader();
+
+    private final FilterMetrics metrics;
+
+    private final Map<FilterOperation, UnindexedFilterAction> actions;
+
+    private volatile IndexCoverageMap coverage = IndexCoverageMap.empty();
+
+    public IndexAdvisor(
+            EntityManagerFactory entityManagerFactory,
+            FilterMetrics metrics,
+            UnindexedFilterAction defaultAction,
+            Map<FilterOperation, UnindexedFilterAction> actions
+    ) {
+        this.sessionFactory =
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.columnMapper =
+                new EntityColumnMapper(this.sessionFactory.getMappingMetamodel());
+        this.metrics = metrics;
+        this.actions = new EnumMap<>(FilterOperation.class);
+
+        for (var operation : FilterOperation.values()) {
+            this.actions.put(
+                    operation,
+                    actions.getOrDefault(
+                            operation,
+                            defaultAction
+                    )
+            );
+        }
+    }
+
+    /**
+     * Builds the coverage map when the application starts. A failure is
+     * logged and leaves the advisor without coverage, so it never prevents
+     * the application from starting.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            this.refresh();
+        } catch (RuntimeException e) {
+            this.logger.error(
+                    "Could not read the index metadata: " + e.getMessage(),
+                    e
+            );
+        }
+    }
+
+    /**
+     * Rebuilds the coverage map from the current database metadata.
+     *
+     * @return the new coverage map
+     */
+    public IndexCoverageMap refresh() {
+        var columns = this.columnMapper.columns();
+        var tables = columns.values()
+                            .stream()
+                            .map(Map::values)
+                            .flatMap(Collection::stream)
+                            .map(ColumnReference::table)
+                            .collect(Collectors.toSet());
+
+        try (var session = this.sessionFactory.openSession()) {
+            var leadingIndexedColumns =
+                    session.doReturningWork(connection -> this.metadataReader.leadingIndexedColumns(
+                            connection,
+                            tables
+                    ));
+
+            this.coverage = new IndexCoverageMap(
+                    columns,
+                    leadingIndexedColumns
+            );
+        }
+
+        return this.coverage;
+    }
+
+    /**
+     * @return the current coverage map
+     */
+    public IndexCoverageMap coverage() {
+        return this.coverage;
+    }
+
+    /**
+     * Checks whether the given predicate can use an index.
+     *
+     * @param entityType the entity type being filtered
+     * @param request    the predicate to check
+     * @return whether an index is usable, or empty if the path is not
+     * mapped to a single column or the operation is a {@code SEARCH}, whose
+     * text indexes are not reported by the JDBC index metadata. A
+     * geographic operation uses an index led by the latitude column of its
+     * {@link GeoPointPath}
+     */
+    public Optional<Boolean> hasUsableIndex(
+            Class<?> entityType,
+            FilterRequest request
+    ) {
+        if (request.operation() == FilterOperation.SEARCH) {
+            return Optional.empty();
+        }
+
+        var field = request.field();
+        if (request.operation() == FilterOperation.WITHIN_RADIUS
+                || request.operation() == FilterOperation.WITHIN_BOX) {
+            try {
+                var point = GeoPointPath.resolve(
+                        entityType,
+                        field
+                );
+                if (point.isEmpty()) {
+                    return Optional.empty();
+                }
+                field = point.get()
+                             .latitude();
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        }
+
+        var coverage = this.coverage;
+        var path = field;
+
+        return coverage.column(
+                               entityType,
+                               path
+                       )
+                       .or(() -> this.columnMapper.column(
+                               entityType,
+                               path
+                       ))
+                       .map(column -> SARGABLE_OPERATIONS.contains(request.operation())
+                               && coverage.isLeadingIndexed(column));
+    }
+
+    /**
+     * Applies the configured {@link UnindexedFilterAction} when the leading
+     * predicate of the filter cannot use an index.
+     *
+     * @param filter     the adapted filter
+     * @param entityType the entity type being filtered
+     * @param parameter  the {@code Specification} method parameter being
+     *                   resolved
+     * @throws FilterRejectedException if the action is
+     *                                 {@link UnindexedFilterAction#REJECT}
+     */
+    @Override
+    public void admit(
+            FilterGroupRequest filter,
+            Class<?> entityType,
+            MethodParameter parameter
+    ) {
+        if (filter.groupOperations().length == 0) {
+            return;
+        }
+
+        var leading = filter.groupOperations()[0];
+        var action = this.actions.get(leading.operation());
+        if (action == UnindexedFilterAction.IGNORE
+                || this.hasUsableIndex(
+                               entityType,
+                               leading
+                       )
+                       .orElse(true)) {
+            return;
+        }
+
+        this.metrics.countUnindexed(
+                leading.operation(),
+                entityType
+        );
+
+        switch (action) {
+            case WARN -> this.logger.warn(
+                    "Filter on {}.{} with {} cannot use an index",
+                    entityType.getSimpleName(),
+                    leading.field(),
+                    leading.operation()
+            );
+            case REJECT -> throw new FilterRejectedException(
+                    HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Filtering by " + leading.field() + " with "
+                            + leading.operation() + " cannot use an index"
+            );
+            default -> {
+            }
+        }
+    }
+}
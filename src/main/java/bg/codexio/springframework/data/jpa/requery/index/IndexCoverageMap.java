@@ -0,0 +1,91 @@
+package bg.codexio.springframework.data.jpa.requery.index;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of which filterable entity paths are stored in a
+ * column that is the leading column of an index.
+ */
+public class IndexCoverageMap {
+    private final Map<Class<?>, Map<String, ColumnReference>> columns;
+
+    private final Map<String, Set<String>> leadingIndexedColumns;
+
+    public IndexCoverageMap(
+            Map<Class<?>, Map<String, ColumnReference>> columns,
+            Map<String, Set<String>> leadingIndexedColumns
+    ) {
+        this.columns = Map.copyOf(columns);
+        this.leadingIndexedColumns = Map.copyOf(leadingIndexedColumns);
+    }
+
+    /**
+     * @return a coverage map that knows no entity
+     */
+    public static IndexCoverageMap empty() {
+        return new IndexCoverageMap(
+                Map.of(),
+                Map.of()
+        );
+    }
+
+    /**
+     * Looks up the column of an entity path known at the time the snapshot
+     * was taken.
+     *
+     * @param entityType the entity type
+     * @param path       the dot-separated attribute path
+     * @return the column, or empty if the path is not part of the snapshot
+     */
+    public Optional<ColumnReference> column(
+            Class<?> entityType,
+            String path
+    ) {
+        return Optional.ofNullable(this.columns.getOrDefault(
+                                                       entityType,
+                                                       Map.of()
+                                               )
+                                               .get(path));
+    }
+
+    /**
+     * Checks whether the column is the leading column of an index.
+     *
+     * @param column the column to check
+     * @return {@code true} if an index starts with the column
+     */
+    public boolean isLeadingIndexed(ColumnReference column) {
+        return this.leadingIndexedColumns.getOrDefault(
+                           column.table()
+                                 .toLowerCase(Locale.ROOT),
+                           Set.of()
+                   )
+                                         .contains(column.column()
+                                                         .toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Reports the coverage of every known path of the given entity.
+     *
+     * @param entityType the entity type
+     * @return whether each path is stored in a leading index column
+     */
+    public Map<String, Boolean> coverage(Class<?> entityType) {
+        var coverage = new HashMap<String, Boolean>();
+        this.columns.getOrDefault(
+                    entityType,
+                    Map.of()
+            )
+                    .forEach((path, column) -> coverage.put(
+                            path,
+                            this.isLeadingIndexed(column)
+                    ));
+
+        return Collections.unmodifiableMap(coverage);
+    }
+}
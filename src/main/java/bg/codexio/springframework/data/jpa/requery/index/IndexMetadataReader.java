@@ -0,0 +1,106 @@
+package bg.codexio.springframework.data.jpa.requery.index;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads index definitions through {@link DatabaseMetaData#getIndexInfo}.
+ *
+ * <p>Only the leading column of every index is kept, since a predicate on a
+ * single column can only seek an index that starts with that column.</p>
+ */
+public class IndexMetadataReader {
+
+    /**
+     * Reads the leading columns of the indexes of the given tables.
+     *
+     * @param connection the connection to read the metadata from
+     * @param tables     the table expressions as mapped by Hibernate,
+     *                   possibly qualified with a schema
+     * @return the lower-cased leading index columns per lower-cased table
+     * expression
+     * @throws SQLException if the metadata cannot be read
+     */
+    public Map<String, Set<String>> leadingIndexedColumns(
+            Connection connection,
+            Collection<String> tables
+    ) throws SQLException {
+        var metaData = connection.getMetaData();
+        var result = new HashMap<String, Set<String>>();
+
+        for (var table : tables) {
+            var separator = table.lastIndexOf('.');
+            var schema = separator < 0
+                         ? null
+                         : this.identifier(
+                                 metaData,
+                                 table.substring(
+                                         0,
+                                         separator
+                                 )
+                         );
+            var name = this.identifier(
+                    metaData,
+                    table.substring(separator + 1)
+            );
+
+            var columns = new HashSet<String>();
+            try (var indexes = metaData.getIndexInfo(
+                    connection.getCatalog(),
+                    schema,
+                    name,
+                    false,
+                    true
+            )) {
+                while (indexes.next()) {
+                    var column = indexes.getString("COLUMN_NAME");
+                    if (column != null
+                            && indexes.getShort("ORDINAL_POSITION") == 1) {
+                        columns.add(column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+
+            result.put(
+                    table.toLowerCase(Locale.ROOT),
+                    columns
+            );
+        }
+
+        return result;
+    }
+
+    /**
+     * Converts a mapped identifier to the case the database stores
+     * unquoted identifiers in, keeping quoted identifiers as they are.
+     */
+    private String identifier(
+            DatabaseMetaData metaData,
+            String identifier
+    ) throws SQLException {
+        if (identifier.length() > 1 && (identifier.startsWith("\"")
+                || identifier.startsWith("`"))) {
+            return identifier.substring(
+                    1,
+                    identifier.length() - 1
+            );
+        }
+
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return identifier.toUpperCase(Locale.ROOT);
+        }
+
+        if (metaData.storesLowerCaseIdentifiers()) {
+            return identifier.toLowerCase(Locale.ROOT);
+        }
+
+        return identifier;
+    }
+}
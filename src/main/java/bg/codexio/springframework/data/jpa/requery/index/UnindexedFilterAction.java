@@ -0,0 +1,26 @@
+package bg.codexio.springframework.data.jpa.requery.index;
+
+/**
+ * What the {@link IndexAdvisor} does when the leading predicate of a
+ * filter cannot use an index.
+ */
+public enum UnindexedFilterAction {
+    /**
+     * The filter is executed without any advice.
+     */
+    IGNORE,
+    /**
+     * The filter is executed and counted in the metrics.
+     */
+    RECORD,
+    /**
+     * The filter is executed, counted in the metrics and logged as a
+     * warning.
+     */
+    WARN,
+    /**
+     * The filter is counted in the metrics and rejected with a client
+     * error.
+     */
+    REJECT
+}
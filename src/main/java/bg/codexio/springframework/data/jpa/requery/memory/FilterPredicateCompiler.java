@@ -0,0 +1,910 @@
+package bg.codexio.springframework.data.jpa.requery.memory;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverter;
+import bg.codexio.springframework.data.jpa.requery.geo.GeoBox;
+import bg.codexio.springframework.data.jpa.requery.geo.GeoCircle;
+import bg.codexio.springframework.data.jpa.requery.geo.GeoPoint;
+import bg.codexio.springframework.data.jpa.requery.geo.GeoPointPath;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterLogicalOperator;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import bg.codexio.springframework.data.jpa.requery.search.SearchField;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Compiles adapted filters into {@link Predicate}s evaluated in memory,
+ * so that the same filter JSON that drives a query can filter a cached
+ * {@link List} or {@link java.util.stream.Stream} of entities.
+ *
+ * <p>Groups are combined exactly like the {@code FilterJsonArgumentResolver}
+ * combines them into a {@code Specification}, and values are converted with
+ * the same {@link FilterJsonTypeConverter}, falling back to the raw string
+ * if the conversion fails. Everything that does not depend on the entity
+ * is done once, while compiling: field paths become {@link PropertyPath}
+ * accessors, values are converted and given a comparator matching their
+ * type, {@code IN} lists become hash sets and {@code LIKE} patterns become
+ * string tests.</p>
+ *
+ * <p>The operations of a conjunction are reordered by estimated cost and
+ * selectivity, so that cheap and selective tests reject an entity before
+ * expensive ones run; disjunctions run their cheap and likely tests first.
+ * The reordering never changes the result, as every test is free of side
+ * effects.</p>
+ *
+ * <p>The semantics follow the SQL path: a comparison with a {@code null}
+ * value does not match, a path through a collection matches if any element
+ * does, a path through a missing association does not match, and
+ * {@code LIKE} wildcards in the value are honoured. {@code SEARCH} has no
+ * in-memory text index and matches entities whose searched fields contain
+ * every term of the query, ignoring case.</p>
+ */
+public class FilterPredicateCompiler {
+    private static final Predicate<Object> MATCH_ALL = entity -> true;
+
+    private final FilterJsonTypeConverter converter;
+
+    public FilterPredicateCompiler(FilterJsonTypeConverter converter) {
+        this.converter = converter;
+    }
+
+    /**
+     * Compiles the filter of the given wrapper, simple filters being joined
+     * with {@code AND}.
+     *
+     * @param filterWrapper the adapted filter
+     * @param entityType    the type of the filtered entities
+     * @param <T>           the type of the filtered entities
+     * @return the compiled filter, matching every entity if the wrapper
+     * holds no filter
+     * @throws FilterRejectedException if a field of the filter does not
+     *                                 exist or a value is missing
+     */
+    public <T> Predicate<T> compile(
+            FilterRequestWrapper<?> filterWrapper,
+            Class<T> entityType
+    ) {
+        return filterWrapper.toFilterGroupRequest()
+                            .map(group -> this.compile(
+                                    group,
+                                    entityType
+                            ))
+                            .orElseGet(this::matchAll);
+    }
+
+    /**
+     * Compiles a group and its nested groups.
+     *
+     * @param group      the group to compile
+     * @param entityType the type of the filtered entities
+     * @param <T>        the type of the filtered entities
+     * @return the compiled group
+     * @throws FilterRejectedException if a field of the filter does not
+     *                                 exist or a value is missing
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Predicate<T> compile(
+            FilterGroupRequest group,
+            Class<T> entityType
+    ) {
+        var node = this.node(
+                group,
+                entityType
+        );
+
+        return node == null
+               ? this.matchAll()
+               : (Predicate<T>) node.compile()
+                                    .predicate();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Predicate<T> matchAll() {
+        return (Predicate<T>) MATCH_ALL;
+    }
+
+    /**
+     * Builds the tree of a group, folding its operations from left to right
+     * and combining the nested group with the result.
+     *
+     * @param group      the group
+     * @param entityType the type of the filtered entities
+     * @return the root node of the group, {@code null} if it is empty
+     */
+    private Node node(
+            FilterGroupRequest group,
+            Class<?> entityType
+    ) {
+        if (group.groupOperations().length == 0) {
+            return null;
+        }
+
+        var leftSide = (Node) this.leaf(
+                group.groupOperations()[0],
+                entityType
+        );
+        for (var i = 1; i < group.groupOperations().length; i++) {
+            leftSide = Junction.combine(
+                    leftSide,
+                    group.nonPriorityGroupOperators()[i - 1],
+                    this.leaf(
+                            group.groupOperations()[i],
+                            entityType
+                    )
+            );
+        }
+
+        if (group.rightSideOperands() == null) {
+            return leftSide;
+        }
+
+        var rightSide = this.node(
+                group.rightSideOperands()
+                     .unaryGroup(),
+                entityType
+        );
+
+        return rightSide == null
+               ? leftSide
+               : Junction.combine(
+                       leftSide,
+                       group.rightSideOperands()
+                            .unaryGroupOperator(),
+                       rightSide
+               );
+    }
+
+    /**
+     * Compiles a single filter operation.
+     *
+     * @param filter     the filter
+     * @param entityType the type of the filtered entities
+     * @return the compiled operation
+     */
+    private Compiled leaf(
+            FilterRequest filter,
+            Class<?> entityType
+    ) {
+        if (filter.operation() == FilterOperation.WITHIN_RADIUS
+                || filter.operation() == FilterOperation.WITHIN_BOX) {
+            return this.geo(
+                    filter,
+                    entityType
+            );
+        }
+
+        var path = this.path(
+                entityType,
+                filter.field()
+        );
+        if (filter.operation() == FilterOperation.SEARCH) {
+            return this.search(
+                    filter,
+                    entityType,
+                    path
+            );
+        }
+        if (filter.operation() != FilterOperation.EMPTY
+                && filter.operation() != FilterOperation.NOT_EMPTY
+                && filter.value() == null) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    filter.operation() + " on '" + filter.field()
+                            + "' expects a value"
+            );
+        }
+
+        var valueTest = switch (filter.operation()) {
+            case EMPTY -> (Predicate<Object>) Objects::isNull;
+            case NOT_EMPTY -> (Predicate<Object>) Objects::nonNull;
+            case EQ -> this.equalTo(
+                    path.type(),
+                    this.convert(
+                            path.type(),
+                            filter.value()
+                    )
+            );
+            case GT, GTE, LT, LTE -> this.comparison(
+                    filter.operation(),
+                    path.type(),
+                    this.convert(
+                            path.type(),
+                            filter.value()
+                    )
+            );
+            case IN -> this.in(
+                    path.type(),
+                    filter.value()
+            );
+            case NOT_IN -> ((Predicate<Object>) Objects::nonNull).and(this.in(
+                                                                              path.type(),
+                                                                              filter.value()
+                                                                      )
+                                                                      .negate());
+            case BEGINS_WITH -> this.like(
+                    filter.value() + "%",
+                    false
+            );
+            case ENDS_WITH -> this.like(
+                    "%" + filter.value(),
+                    false
+            );
+            case CONTAINS -> this.like(
+                    "%" + filter.value() + "%",
+                    false
+            );
+            case BEGINS_WITH_CASEINS -> this.like(
+                    filter.value() + "%",
+                    true
+            );
+            case ENDS_WITH_CASEINS -> this.like(
+                    "%" + filter.value(),
+                    true
+            );
+            case CONTAINS_CASEINS -> this.like(
+                    "%" + filter.value() + "%",
+                    true
+            );
+            case SEARCH, WITHIN_RADIUS, WITHIN_BOX ->
+                    throw new IllegalStateException();
+            case OVERLAPS, CONTAINS_ALL, CONTAINED_BY -> this.arrayTest(
+                    filter,
+                    path.type()
+            );
+        };
+
+        return new Compiled(
+                entity -> path.test(
+                        entity,
+                        valueTest
+                ),
+                this.cost(
+                        filter,
+                        path
+                ),
+                this.selectivity(filter)
+        );
+    }
+
+    /**
+     * Compiles a {@code SEARCH}: every whitespace separated term of the
+     * query has to be contained in one of the searched fields, ignoring
+     * case. The searched fields are the {@link SearchField#paths()} of the
+     * field, relative to the type declaring it, or the field itself.
+     *
+     * @param filter     the search filter
+     * @param entityType the type of the filtered entities
+     * @param path       the path of the filter field
+     * @return the compiled search
+     */
+    private Compiled search(
+            FilterRequest filter,
+            Class<?> entityType,
+            PropertyPath path
+    ) {
+        var searchField = path.field()
+                              .getAnnotation(SearchField.class);
+        var paths = new ArrayList<PropertyPath>();
+        if (searchField == null || searchField.paths().length == 0) {
+            paths.add(path);
+        } else {
+            var prefix = filter.field()
+                               .substring(
+                                       0,
+                                       filter.field()
+                                             .lastIndexOf('.') + 1
+                               );
+            for (var searchPath : searchField.paths()) {
+                paths.add(this.path(
+                        entityType,
+                        prefix + searchPath
+                ));
+            }
+        }
+
+        var terms = String.valueOf(filter.value())
+                          .toLowerCase(Locale.ROOT)
+                          .split("\\s+");
+
+        return new Compiled(
+                entity -> {
+                    var document = new StringBuilder();
+                    for (var searchPath : paths) {
+                        searchPath.forEach(
+                                entity,
+                                value -> {
+                                    if (value != null) {
+                                        document.append(value)
+                                                .append(' ');
+                                    }
+                                }
+                        );
+                    }
+
+                    var text = document.toString()
+                                       .toLowerCase(Locale.ROOT);
+                    for (var term : terms) {
+                        if (!text.contains(term)) {
+                            return false;
+                        }
+                    }
+
+                    return true;
+                },
+                16 * paths.size(),
+                this.selectivity(filter)
+        );
+    }
+
+    /**
+     * Compiles a {@code WITHIN_RADIUS} or {@code WITHIN_BOX} on a
+     * {@link GeoPoint}. Points are tested exactly against the circle or the
+     * box; there is no index to narrow them down first in memory.
+     *
+     * @param filter     the geographic filter
+     * @param entityType the type of the filtered entities
+     * @return the compiled test
+     * @throws FilterRejectedException if the field is not a
+     *                                 {@link GeoPoint} or the value is not a
+     *                                 valid area
+     */
+    private Compiled geo(
+            FilterRequest filter,
+            Class<?> entityType
+    ) {
+        GeoPointPath point;
+        BiPredicate<Double, Double> area;
+        try {
+            point = GeoPointPath.resolve(
+                                        entityType,
+                                        filter.field()
+                                )
+                                .orElseThrow(() -> new IllegalArgumentException(
+                                        "is only supported on @GeoPoint "
+                                                + "fields"));
+            if (filter.operation() == FilterOperation.WITHIN_RADIUS) {
+                area = GeoCircle.of(filter.value())::contains;
+            } else {
+                area = GeoBox.of(filter.value())::contains;
+            }
+        } catch (IllegalArgumentException e) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    filter.operation() + " on '" + filter.field() + "' "
+                            + e.getMessage()
+            );
+        }
+        var latitude = this.path(
+                entityType,
+                point.latitude()
+        );
+        var longitude = this.path(
+                entityType,
+                point.longitude()
+        );
+
+        return new Compiled(
+                entity -> latitude.test(
+                        entity,
+                        lat -> lat instanceof Number latitudeValue
+                                && longitude.test(
+                                        entity,
+                                        lng -> lng instanceof Number longitudeValue
+                                                && area.test(
+                                                        latitudeValue.doubleValue(),
+                                                        longitudeValue.doubleValue()
+                                                )
+                                )
+                ),
+                this.cost(
+                        filter,
+                        latitude
+                ),
+                this.selectivity(filter)
+        );
+    }
+
+    /**
+     * Resolves a field path of the filtered type.
+     *
+     * @param entityType the type of the filtered entities
+     * @param field      the dot-separated field
+     * @return the compiled path
+     * @throws FilterRejectedException if the field does not exist
+     */
+    private PropertyPath path(
+            Class<?> entityType,
+            String field
+    ) {
+        try {
+            return PropertyPath.of(
+                    entityType,
+                    field
+            );
+        } catch (IllegalArgumentException e) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    e.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Converts a filter value to the type of its field.
+     *
+     * @param fieldType the type of the field
+     * @param value     the value to convert
+     * @return the converted value, or its string form if the conversion
+     * fails
+     */
+    private Object convert(
+            Class<?> fieldType,
+            Object value
+    ) {
+        try {
+            return this.converter.convert(
+                    fieldType,
+                    value.toString()
+            );
+        } catch (RuntimeException e) {
+            return value.toString();
+        }
+    }
+
+    /**
+     * Creates the test of an array operation, with the semantics of the
+     * PostgreSQL array operators: {@code OVERLAPS} matches arrays sharing
+     * an element with the values, {@code CONTAINS_ALL} arrays holding every
+     * value and {@code CONTAINED_BY} arrays holding only values.
+     *
+     * @param filter    the array operation
+     * @param fieldType the type of the field
+     * @return the array test
+     * @throws FilterRejectedException if the field is not an array or the
+     *                                 value is not a list
+     */
+    private Predicate<Object> arrayTest(
+            FilterRequest filter,
+            Class<?> fieldType
+    ) {
+        if (!fieldType.isArray()) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    filter.operation() + " on '" + filter.field()
+                            + "' is only supported on array fields"
+            );
+        }
+        if (!(filter.value() instanceof Collection<?> collection)) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    filter.operation() + " on '" + filter.field()
+                            + "' expects a list of values"
+            );
+        }
+
+        var elementType = ClassUtils.resolvePrimitiveIfNecessary(fieldType.getComponentType());
+        var values = new HashSet<>();
+        for (var value : collection) {
+            values.add(this.convert(
+                    elementType,
+                    value
+            ));
+        }
+
+        return fieldValue -> {
+            if (fieldValue == null) {
+                return false;
+            }
+
+            var elements = new HashSet<>();
+            for (var i = 0; i < Array.getLength(fieldValue); i++) {
+                elements.add(Array.get(
+                        fieldValue,
+                        i
+                ));
+            }
+
+            return switch (filter.operation()) {
+                case OVERLAPS -> elements.stream()
+                                         .anyMatch(values::contains);
+                case CONTAINS_ALL -> elements.containsAll(values);
+                default -> values.containsAll(elements);
+            };
+        };
+    }
+
+    /**
+     * Creates the equality test of a value. Values converted to the field
+     * type are compared with {@link Object#equals}, except for
+     * {@link BigDecimal}s which, like SQL numerics, ignore their scale.
+     *
+     * @param fieldType the type of the field
+     * @param value     the converted value
+     * @return the equality test
+     */
+    private Predicate<Object> equalTo(
+            Class<?> fieldType,
+            Object value
+    ) {
+        if (this.isOfFieldType(
+                fieldType,
+                value
+        ) && !(value instanceof BigDecimal)) {
+            return value::equals;
+        }
+
+        var comparator = this.comparator(
+                fieldType,
+                value
+        );
+
+        return fieldValue -> fieldValue != null && comparator.compare(
+                fieldValue,
+                value
+        ) == 0;
+    }
+
+    /**
+     * Creates the range test of a value.
+     *
+     * @param operation one of {@code GT}, {@code GTE}, {@code LT} and
+     *                  {@code LTE}
+     * @param fieldType the type of the field
+     * @param value     the converted value
+     * @return the range test
+     */
+    private Predicate<Object> comparison(
+            FilterOperation operation,
+            Class<?> fieldType,
+            Object value
+    ) {
+        var comparator = this.comparator(
+                fieldType,
+                value
+        );
+
+        return switch (operation) {
+            case GT -> fieldValue -> fieldValue != null && comparator.compare(
+                    fieldValue,
+                    value
+            ) > 0;
+            case GTE -> fieldValue -> fieldValue != null && comparator.compare(
+                    fieldValue,
+                    value
+            ) >= 0;
+            case LT -> fieldValue -> fieldValue != null && comparator.compare(
+                    fieldValue,
+                    value
+            ) < 0;
+            case LTE -> fieldValue -> fieldValue != null && comparator.compare(
+                    fieldValue,
+                    value
+            ) <= 0;
+            default -> throw new IllegalArgumentException(operation.name());
+        };
+    }
+
+    /**
+     * Creates the membership test of an {@code IN} list. Values converted
+     * to the field type are looked up in a hash set, others are compared
+     * one by one.
+     *
+     * @param fieldType the type of the field
+     * @param value     the collection of values, or a single value
+     * @return the membership test
+     */
+    private Predicate<Object> in(
+            Class<?> fieldType,
+            Object value
+    ) {
+        var values = (value instanceof Collection<?> collection
+                      ? collection
+                      : List.of(value)).stream()
+                                       .map(v -> this.convert(
+                                               fieldType,
+                                               v
+                                       ))
+                                       .toList();
+
+        if (values.stream()
+                  .allMatch(v -> this.isOfFieldType(
+                          fieldType,
+                          v
+                  ) && !(v instanceof BigDecimal))) {
+            var set = new HashSet<>(values);
+
+            return set::contains;
+        }
+
+        var tests = values.stream()
+                          .map(v -> this.equalTo(
+                                  fieldType,
+                                  v
+                          ))
+                          .toList();
+
+        return fieldValue -> {
+            for (var test : tests) {
+                if (test.test(fieldValue)) {
+                    return true;
+                }
+            }
+
+            return false;
+        };
+    }
+
+    /**
+     * Creates the test of a {@code LIKE} pattern. Non-string values are
+     * matched through their string form, like the cast of the SQL path.
+     *
+     * @param pattern         the {@code LIKE} pattern
+     * @param caseInsensitive whether the pattern is matched ignoring case
+     * @return the pattern test
+     */
+    private Predicate<Object> like(
+            String pattern,
+            boolean caseInsensitive
+    ) {
+        var matcher = LikePattern.compile(caseInsensitive
+                                          ? pattern.toLowerCase(Locale.ROOT)
+                                          : pattern);
+
+        return caseInsensitive
+               ? value -> value != null && matcher.test(value.toString()
+                                                             .toLowerCase(Locale.ROOT))
+               : value -> value != null && matcher.test(value.toString());
+    }
+
+    /**
+     * Selects the comparator of a converted value: its natural order if it
+     * has the field type, numeric order if both sides are numbers, and the
+     * order of the string forms otherwise.
+     *
+     * @param fieldType the type of the field
+     * @param value     the converted value
+     * @return the comparator of field values against the value
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Comparator<Object> comparator(
+            Class<?> fieldType,
+            Object value
+    ) {
+        if (this.isOfFieldType(
+                fieldType,
+                value
+        ) && value instanceof Comparable) {
+            return (left, right) -> ((Comparable) left).compareTo(right);
+        }
+        if (value instanceof Number
+                && Number.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(fieldType))) {
+            return Comparator.comparing(number -> new BigDecimal(number.toString()));
+        }
+
+        return Comparator.comparing(String::valueOf);
+    }
+
+    private boolean isOfFieldType(
+            Class<?> fieldType,
+            Object value
+    ) {
+        return ClassUtils.resolvePrimitiveIfNecessary(fieldType)
+                         .isInstance(value);
+    }
+
+    /**
+     * Estimates the cost of evaluating an operation, relative to an
+     * equality test on a field of the entity.
+     *
+     * @param filter the filter
+     * @param path   the path of the filter field
+     * @return the estimated cost
+     */
+    private double cost(
+            FilterRequest filter,
+            PropertyPath path
+    ) {
+        var cost = switch (filter.operation()) {
+            case EMPTY, NOT_EMPTY, EQ, IN, NOT_IN -> 1.0;
+            case GT, GTE, LT, LTE -> 1.5;
+            case BEGINS_WITH, ENDS_WITH, CONTAINS -> 3.0;
+            case BEGINS_WITH_CASEINS, ENDS_WITH_CASEINS, CONTAINS_CASEINS -> 6.0;
+            case OVERLAPS, CONTAINS_ALL, CONTAINED_BY -> 4.0;
+            case SEARCH -> 16.0;
+            case WITHIN_RADIUS, WITHIN_BOX -> 8.0;
+        };
+        var value = String.valueOf(filter.value());
+        if (value.indexOf('%') >= 0 || value.indexOf('_') >= 0) {
+            cost *= 4;
+        }
+
+        return cost + (path.length() - 1) * 0.5 + (path.traversesCollection()
+                                                   ? 8
+                                                   : 0);
+    }
+
+    /**
+     * Estimates the fraction of entities an operation matches, without
+     * statistics: equality is assumed to be selective, negations and
+     * ranges not.
+     *
+     * @param filter the filter
+     * @return the estimated selectivity, between 0 and 1
+     */
+    private double selectivity(FilterRequest filter) {
+        return switch (filter.operation()) {
+            case EQ -> 0.05;
+            case IN -> filter.value() instanceof Collection<?> values
+                       ? Math.min(
+                               0.5,
+                               0.05 * values.size()
+                       )
+                       : 0.05;
+            case EMPTY, BEGINS_WITH, BEGINS_WITH_CASEINS, SEARCH,
+                 WITHIN_RADIUS, WITHIN_BOX -> 0.1;
+            case ENDS_WITH, CONTAINS, ENDS_WITH_CASEINS, CONTAINS_CASEINS,
+                 OVERLAPS, CONTAINS_ALL, CONTAINED_BY -> 0.2;
+            case GT, GTE, LT, LTE -> 0.33;
+            case NOT_EMPTY, NOT_IN -> 0.9;
+        };
+    }
+
+    /**
+     * A node of the filter tree, either a compiled operation or a
+     * junction of nodes.
+     */
+    private sealed interface Node
+            permits Compiled, Junction {
+        Compiled compile();
+    }
+
+    /**
+     * A compiled test with its estimated cost and selectivity.
+     *
+     * @param predicate   the test of an entity
+     * @param cost        the estimated cost of the test
+     * @param selectivity the estimated fraction of matching entities
+     */
+    private record Compiled(
+            Predicate<Object> predicate,
+            double cost,
+            double selectivity
+    )
+            implements Node {
+        @Override
+        public Compiled compile() {
+            return this;
+        }
+    }
+
+    /**
+     * Nodes joined by the same logical operator. Nested junctions of the
+     * same operator are flattened, so their operations can be reordered
+     * together.
+     *
+     * @param operator the logical operator
+     * @param children the joined nodes
+     */
+    private record Junction(
+            FilterLogicalOperator operator,
+            List<Node> children
+    )
+            implements Node {
+        static Junction combine(
+                Node leftSide,
+                FilterLogicalOperator operator,
+                Node rightSide
+        ) {
+            var children = new ArrayList<Node>();
+            for (var side : List.of(
+                    leftSide,
+                    rightSide
+            )) {
+                if (side instanceof Junction junction
+                        && junction.operator() == operator) {
+                    children.addAll(junction.children());
+                } else {
+                    children.add(side);
+                }
+            }
+
+            return new Junction(
+                    operator,
+                    children
+            );
+        }
+
+        /**
+         * Orders the children by the classic rank of filter ordering: a
+         * conjunction runs first the tests with the lowest cost per
+         * rejected entity, a disjunction the tests with the lowest cost per
+         * accepted entity.
+         *
+         * @return the compiled junction
+         */
+        @Override
+        public Compiled compile() {
+            var and = this.operator == FilterLogicalOperator.AND;
+            var compiled = new ArrayList<Compiled>(this.children.size());
+            for (var child : this.children) {
+                compiled.add(child.compile());
+            }
+            compiled.sort(Comparator.comparingDouble(child -> child.cost()
+                    / Math.max(
+                            and
+                            ? 1 - child.selectivity()
+                            : child.selectivity(),
+                            1e-6
+                    )));
+
+            var cost = 0.0;
+            var reached = 1.0;
+            var selectivity = and
+                              ? 1.0
+                              : 0.0;
+            for (var child : compiled) {
+                cost += reached * child.cost();
+                if (and) {
+                    reached *= child.selectivity();
+                    selectivity *= child.selectivity();
+                } else {
+                    reached *= 1 - child.selectivity();
+                    selectivity = 1 - (1 - selectivity) * (1 - child.selectivity());
+                }
+            }
+
+            @SuppressWarnings("unchecked") var predicates =
+                    (Predicate<Object>[]) compiled.stream()
+                                                  .map(Compiled::predicate)
+                                                  .toArray(Predicate[]::new);
+            var predicate = and
+                            ? Junction.allOf(predicates)
+                            : Junction.anyOf(predicates);
+
+            return new Compiled(
+                    predicate,
+                    cost,
+                    selectivity
+            );
+        }
+
+        private static Predicate<Object> allOf(Predicate<Object>[] predicates) {
+            return entity -> {
+                for (var predicate : predicates) {
+                    if (!predicate.test(entity)) {
+                        return false;
+                    }
+                }
+
+                return true;
+            };
+        }
+
+        private static Predicate<Object> anyOf(Predicate<Object>[] predicates) {
+            return entity -> {
+                for (var predicate : predicates) {
+                    if (predicate.test(entity)) {
+                        return true;
+                    }
+                }
+
+                return false;
+            };
+        }
+    }
+}
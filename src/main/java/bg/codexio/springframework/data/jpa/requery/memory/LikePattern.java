@@ -0,0 +1,91 @@
+package bg.codexio.springframework.data.jpa.requery.memory;
+
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles SQL {@code LIKE} patterns into string tests. The filter value is
+ * not escaped by the SQL path either, so {@code %} and {@code _} in the
+ * value keep their wildcard meaning here.
+ */
+final class LikePattern {
+    private LikePattern() {
+    }
+
+    /**
+     * Compiles a {@code LIKE} pattern. Patterns whose only wildcards are a
+     * leading or trailing {@code %} are matched with
+     * {@link String#startsWith}, {@link String#endsWith} or
+     * {@link String#contains}; other patterns are translated into a
+     * regular expression.
+     *
+     * @param pattern the {@code LIKE} pattern
+     * @return the test of a string against the pattern
+     */
+    static Predicate<String> compile(String pattern) {
+        var leading = pattern.startsWith("%");
+        var trailing = pattern.length() > (leading
+                                           ? 1
+                                           : 0) && pattern.endsWith("%");
+        var literal = pattern.substring(
+                leading
+                ? 1
+                : 0,
+                pattern.length() - (trailing
+                                    ? 1
+                                    : 0)
+        );
+
+        if (literal.indexOf('%') >= 0 || literal.indexOf('_') >= 0) {
+            var regex = LikePattern.toRegex(pattern);
+
+            return value -> regex.matcher(value)
+                                 .matches();
+        }
+        if (leading && trailing) {
+            return value -> value.contains(literal);
+        }
+        if (leading) {
+            return value -> value.endsWith(literal);
+        }
+        if (trailing) {
+            return value -> value.startsWith(literal);
+        }
+
+        return literal::equals;
+    }
+
+    /**
+     * Translates a {@code LIKE} pattern into an equivalent regular
+     * expression.
+     *
+     * @param pattern the {@code LIKE} pattern
+     * @return the compiled regular expression
+     */
+    private static Pattern toRegex(String pattern) {
+        var regex = new StringBuilder(pattern.length() + 8);
+        var literal = new StringBuilder();
+        for (var i = 0; i < pattern.length(); i++) {
+            var c = pattern.charAt(i);
+            if (c != '%' && c != '_') {
+                literal.append(c);
+                continue;
+            }
+            if (!literal.isEmpty()) {
+                regex.append(Pattern.quote(literal.toString()));
+                literal.setLength(0);
+            }
+            regex.append(c == '%'
+                         ? ".*"
+                         : ".");
+        }
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+
+        return Pattern.compile(
+                regex.toString(),
+                Pattern.DOTALL
+        );
+    }
+}
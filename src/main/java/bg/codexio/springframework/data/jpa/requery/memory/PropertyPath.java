@@ -0,0 +1,350 @@
+package bg.codexio.springframework.data.jpa.requery.memory;
+
+import bg.codexio.springframework.data.jpa.requery.resolver.FieldPathResolver;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A dot-separated field path compiled into one accessor per segment.
+ *
+ * <p>Segments backed by a getter are read through a lambda spun by
+ * {@link LambdaMetafactory}, which the JIT inlines like a direct call;
+ * segments without a getter are read through a field
+ * {@link java.lang.invoke.MethodHandle}. Accessors are created once per
+ * field and paths once per entity type, so no reflection happens while
+ * values are read.</p>
+ */
+final class PropertyPath {
+    private static final ClassValue<Map<String, Function<Object, Object>>> ACCESSORS =
+            new ClassValue<>() {
+                @Override
+                protected Map<String, Function<Object, Object>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private static final ClassValue<Map<String, PropertyPath>> PATHS =
+            new ClassValue<>() {
+                @Override
+                protected Map<String, PropertyPath> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private final Function<Object, Object>[] accessors;
+
+    private final boolean[] collections;
+
+    private final boolean traversesCollection;
+
+    private final Field field;
+
+    private final Class<?> type;
+
+    private PropertyPath(
+            Function<Object, Object>[] accessors,
+            boolean[] collections,
+            Field field,
+            Class<?> type
+    ) {
+        this.accessors = accessors;
+        this.collections = collections;
+        this.field = field;
+        this.type = type;
+
+        var traversesCollection = false;
+        for (var collection : collections) {
+            traversesCollection |= collection;
+        }
+        this.traversesCollection = traversesCollection;
+    }
+
+    /**
+     * Compiles a field path of an entity type, or returns the already
+     * compiled one.
+     *
+     * @param type the entity type the path starts from
+     * @param path the dot-separated field path
+     * @return the compiled path
+     * @throws IllegalArgumentException if a segment of the path does not
+     *                                  exist
+     */
+    static PropertyPath of(
+            Class<?> type,
+            String path
+    ) {
+        return PATHS.get(type)
+                    .computeIfAbsent(
+                            path,
+                            p -> PropertyPath.compile(
+                                    type,
+                                    p
+                            )
+                    );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PropertyPath compile(
+            Class<?> type,
+            String path
+    ) {
+        var segments = path.split("\\.");
+        var accessors = new ArrayList<Function<Object, Object>>(segments.length);
+        var collections = new boolean[segments.length];
+        var currentType = type;
+        var field = (Field) null;
+
+        for (var i = 0; i < segments.length; i++) {
+            var fieldInfo = FieldPathResolver.resolve(
+                    currentType,
+                    segments[i]
+            );
+            field = fieldInfo.field();
+            var segmentField = field;
+            accessors.add(ACCESSORS.get(field.getDeclaringClass())
+                                   .computeIfAbsent(
+                                           field.getName(),
+                                           name -> PropertyPath.accessor(segmentField)
+                                   ));
+            collections[i] = Collection.class.isAssignableFrom(field.getType());
+            currentType = fieldInfo.type();
+        }
+
+        return new PropertyPath(
+                accessors.toArray(Function[]::new),
+                collections,
+                field,
+                currentType
+        );
+    }
+
+    /**
+     * Creates the accessor of a field, through its getter if it has one.
+     *
+     * @param field the field to read
+     * @return a function reading the field from an instance of its
+     * declaring class
+     * @throws IllegalArgumentException if the field cannot be accessed
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> accessor(Field field) {
+        var getter = PropertyPath.getter(field);
+        if (getter != null) {
+            try {
+                var lookup = MethodHandles.privateLookupIn(
+                        getter.getDeclaringClass(),
+                        MethodHandles.lookup()
+                );
+                var handle = lookup.unreflect(getter);
+
+                return (Function<Object, Object>) LambdaMetafactory.metafactory(
+                                                                           lookup,
+                                                                           "apply",
+                                                                           MethodType.methodType(Function.class),
+                                                                           MethodType.methodType(
+                                                                                   Object.class,
+                                                                                   Object.class
+                                                                           ),
+                                                                           handle,
+                                                                           handle.type()
+                                                                                 .wrap()
+                                                                   )
+                                                                   .getTarget()
+                                                                   .invoke();
+            } catch (Throwable ignored) {
+                // the getter is not accessible, the field may still be
+            }
+        }
+
+        try {
+            var handle = MethodHandles.privateLookupIn(
+                                              field.getDeclaringClass(),
+                                              MethodHandles.lookup()
+                                      )
+                                      .unreflectGetter(field)
+                                      .asType(MethodType.methodType(
+                                              Object.class,
+                                              Object.class
+                                      ));
+
+            return target -> {
+                try {
+                    return (Object) handle.invokeExact(target);
+                } catch (Throwable e) {
+                    throw new IllegalStateException(
+                            "Cannot read " + field,
+                            e
+                    );
+                }
+            };
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(
+                    "Cannot access field '" + field.getName() + "' of "
+                            + field.getDeclaringClass()
+                                   .getSimpleName(),
+                    e
+            );
+        }
+    }
+
+    /**
+     * Finds the JavaBeans getter of a field.
+     *
+     * @param field the field
+     * @return the non-static getter returning the field type, or
+     * {@code null} if there is none
+     */
+    private static Method getter(Field field) {
+        var suffix = StringUtils.capitalize(field.getName());
+        for (var prefix : List.of(
+                "get",
+                "is"
+        )) {
+            var method = ReflectionUtils.findMethod(
+                    field.getDeclaringClass(),
+                    prefix + suffix
+            );
+            if (method != null && !Modifier.isStatic(method.getModifiers())
+                    && method.getReturnType()
+                             .equals(field.getType())) {
+                return method;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the last field of the path
+     */
+    Field field() {
+        return this.field;
+    }
+
+    /**
+     * @return the type of the last field, or its element type if it is a
+     * collection
+     */
+    Class<?> type() {
+        return this.type;
+    }
+
+    /**
+     * @return the number of segments of the path
+     */
+    int length() {
+        return this.accessors.length;
+    }
+
+    /**
+     * @return whether any segment of the path is a collection
+     */
+    boolean traversesCollection() {
+        return this.traversesCollection;
+    }
+
+    /**
+     * Tests the value of the path. A path through a collection matches if
+     * any of its elements matches, like the join of the SQL path; a path
+     * through a missing association does not match, like its inner join.
+     *
+     * @param root      the entity to read the path from
+     * @param valueTest the test of the value at the end of the path
+     * @return whether the value, or any of the values, matches
+     */
+    boolean test(
+            Object root,
+            Predicate<Object> valueTest
+    ) {
+        if (!this.traversesCollection) {
+            var value = root;
+            for (var i = 0; i < this.accessors.length; i++) {
+                if (value == null) {
+                    return false;
+                }
+                value = this.accessors[i].apply(value);
+            }
+
+            return valueTest.test(value);
+        }
+
+        return this.test(
+                root,
+                0,
+                valueTest
+        );
+    }
+
+    /**
+     * Passes every value of the path to the consumer, skipping the values
+     * behind a missing association.
+     *
+     * @param root     the entity to read the path from
+     * @param consumer the consumer of the values
+     */
+    void forEach(
+            Object root,
+            Consumer<Object> consumer
+    ) {
+        this.test(
+                root,
+                0,
+                value -> {
+                    consumer.accept(value);
+
+                    return false;
+                }
+        );
+    }
+
+    private boolean test(
+            Object current,
+            int index,
+            Predicate<Object> valueTest
+    ) {
+        if (index == this.accessors.length) {
+            return valueTest.test(current);
+        }
+        if (current == null) {
+            return false;
+        }
+
+        var value = this.accessors[index].apply(current);
+        if (!this.collections[index]) {
+            return this.test(
+                    value,
+                    index + 1,
+                    valueTest
+            );
+        }
+        if (value == null) {
+            return false;
+        }
+        for (var element : (Collection<?>) value) {
+            if (this.test(
+                    element,
+                    index + 1,
+                    valueTest
+            )) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
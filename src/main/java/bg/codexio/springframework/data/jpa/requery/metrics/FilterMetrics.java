@@ -0,0 +1,97 @@
+package bg.codexio.springframework.data.jpa.requery.metrics;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+
+import java.util.function.Supplier;
+
+/**
+ * Records timings, counters and distributions for the filter resolution
+ * pipeline.
+ *
+ * <p>The default implementation returned by {@link #noop()} does nothing
+ * and is used whenever no {@code MeterRegistry} is available, so an
+ * application without Micrometer pays only for a direct method call.</p>
+ */
+public interface FilterMetrics {
+
+    /**
+     * Returns the shared implementation that records nothing.
+     *
+     * @return a no-op {@link FilterMetrics}
+     */
+    static FilterMetrics noop() {
+        return NoOpFilterMetrics.INSTANCE;
+    }
+
+    /**
+     * Executes the given action and records its duration against the
+     * given stage.
+     *
+     * @param stage  the pipeline stage being timed
+     * @param action the action to execute
+     * @param <T>    the type of the action's result
+     * @return the result of the action
+     */
+    <T> T record(
+            FilterStage stage,
+            Supplier<T> action
+    );
+
+    /**
+     * Counts a request that was adapted by the given adapter.
+     *
+     * @param adapter    the type of the adapter that handled the request
+     * @param entityType the entity type being filtered
+     */
+    void countAdapter(
+            Class<?> adapter,
+            Class<?> entityType
+    );
+
+    /**
+     * Counts a single filter operation.
+     *
+     * @param operation  the operation being applied
+     * @param entityType the entity type being filtered
+     */
+    void countOperation(
+            FilterOperation operation,
+            Class<?> entityType
+    );
+
+    /**
+     * Records the shape of a whole filter.
+     *
+     * @param nodeCount  the number of {@code FilterRequest} nodes
+     * @param depth      the nesting depth of the filter groups
+     * @param entityType the entity type being filtered
+     */
+    void recordFilterShape(
+            int nodeCount,
+            int depth,
+            Class<?> entityType
+    );
+
+    /**
+     * Records the number of values passed to an {@code IN} or
+     * {@code NOT_IN} operation.
+     *
+     * @param size       the number of values
+     * @param entityType the entity type being filtered
+     */
+    void recordInListSize(
+            int size,
+            Class<?> entityType
+    );
+
+    /**
+     * Counts a filter whose leading predicate cannot use an index.
+     *
+     * @param operation  the operation of the leading predicate
+     * @param entityType the entity type being filtered
+     */
+    void countUnindexed(
+            FilterOperation operation,
+            Class<?> entityType
+    );
+}
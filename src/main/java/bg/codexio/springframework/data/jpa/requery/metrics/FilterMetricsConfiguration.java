@@ -0,0 +1,30 @@
+package bg.codexio.springframework.data.jpa.requery.metrics;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Provides the {@link FilterMetrics} bean. Micrometer is an optional
+ * dependency, so its classes are only touched when they are on the
+ * classpath and a {@code MeterRegistry} bean is present; otherwise the
+ * no-op implementation is used.
+ */
+@Configuration
+public class FilterMetricsConfiguration {
+    static final String METER_REGISTRY_CLASS =
+            "io.micrometer.core.instrument.MeterRegistry";
+
+    @Bean
+    public FilterMetrics filterMetrics(BeanFactory beanFactory) {
+        if (!ClassUtils.isPresent(
+                METER_REGISTRY_CLASS,
+                FilterMetricsConfiguration.class.getClassLoader()
+        )) {
+            return FilterMetrics.noop();
+        }
+
+        return MicrometerFilterMetrics.fromBeanFactory(beanFactory);
+    }
+}
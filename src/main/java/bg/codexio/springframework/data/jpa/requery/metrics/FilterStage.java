@@ -0,0 +1,13 @@
+package bg.codexio.springframework.data.jpa.requery.metrics;
+
+/**
+ * The stages a filter passes through between the HTTP request and the
+ * final JPA {@link jakarta.persistence.criteria.Predicate}. Each stage is
+ * timed separately by {@link FilterMetrics}.
+ */
+public enum FilterStage {
+    ADAPT,
+    CONVERSION,
+    PATH_RESOLUTION,
+    PREDICATE_BUILDING
+}
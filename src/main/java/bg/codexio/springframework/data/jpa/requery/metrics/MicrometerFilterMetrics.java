@@ -0,0 +1,166 @@
+package bg.codexio.springframework.data.jpa.requery.metrics;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.BeanFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A {@link FilterMetrics} backed by a Micrometer {@link MeterRegistry}.
+ *
+ * <p>Stage timers are created once and reused, counters and distribution
+ * summaries are looked up through the registry, which caches them by
+ * name and tags.</p>
+ */
+public class MicrometerFilterMetrics
+        implements FilterMetrics {
+    public static final String STAGE_TIMER = "requery.filter.stage";
+    public static final String OPERATION_COUNTER = "requery.filter.operations";
+    public static final String ADAPTER_COUNTER = "requery.filter.adapters";
+    public static final String NODE_SUMMARY = "requery.filter.nodes";
+    public static final String DEPTH_SUMMARY = "requery.filter.depth";
+    public static final String IN_LIST_SUMMARY = "requery.filter.in.size";
+    public static final String UNINDEXED_COUNTER = "requery.filter.unindexed";
+
+    private final MeterRegistry registry;
+
+    private final Map<FilterStage, Timer> stageTimers =
+            new EnumMap<>(FilterStage.class);
+
+    public MicrometerFilterMetrics(MeterRegistry registry) {
+        this.registry = registry;
+
+        for (var stage : FilterStage.values()) {
+            this.stageTimers.put(
+                    stage,
+                    Timer.builder(STAGE_TIMER)
+                         .description("Time spent in a filter resolution "
+                                              + "stage")
+                         .tag(
+                                 "stage",
+                                 stage.name()
+                                      .toLowerCase()
+                         )
+                         .register(registry)
+            );
+        }
+    }
+
+    /**
+     * Creates a {@link FilterMetrics} from the {@link MeterRegistry} bean
+     * of the given factory, falling back to {@link FilterMetrics#noop()}
+     * if there is no such bean.
+     *
+     * @param beanFactory the factory to look the registry up in
+     * @return the Micrometer backed metrics or the no-op implementation
+     */
+    static FilterMetrics fromBeanFactory(BeanFactory beanFactory) {
+        var registry = beanFactory.getBeanProvider(MeterRegistry.class)
+                                  .getIfAvailable();
+
+        return registry == null
+               ? FilterMetrics.noop()
+               : new MicrometerFilterMetrics(registry);
+    }
+
+    @Override
+    public <T> T record(
+            FilterStage stage,
+            Supplier<T> action
+    ) {
+        return this.stageTimers.get(stage)
+                               .record(action);
+    }
+
+    @Override
+    public void countAdapter(
+            Class<?> adapter,
+            Class<?> entityType
+    ) {
+        this.registry.counter(
+                    ADAPTER_COUNTER,
+                    "adapter",
+                    adapter.getSimpleName(),
+                    "entity",
+                    entityType.getSimpleName()
+            )
+                     .increment();
+    }
+
+    @Override
+    public void countOperation(
+            FilterOperation operation,
+            Class<?> entityType
+    ) {
+        this.registry.counter(
+                    OPERATION_COUNTER,
+                    "operation",
+                    operation.name(),
+                    "entity",
+                    entityType.getSimpleName()
+            )
+                     .increment();
+    }
+
+    @Override
+    public void recordFilterShape(
+            int nodeCount,
+            int depth,
+            Class<?> entityType
+    ) {
+        this.summary(
+                    NODE_SUMMARY,
+                    entityType
+            )
+            .record(nodeCount);
+        this.summary(
+                    DEPTH_SUMMARY,
+                    entityType
+            )
+            .record(depth);
+    }
+
+    @Override
+    public void recordInListSize(
+            int size,
+            Class<?> entityType
+    ) {
+        this.summary(
+                    IN_LIST_SUMMARY,
+                    entityType
+            )
+            .record(size);
+    }
+
+    @Override
+    public void countUnindexed(
+            FilterOperation operation,
+            Class<?> entityType
+    ) {
+        this.registry.counter(
+                    UNINDEXED_COUNTER,
+                    "operation",
+                    operation.name(),
+                    "entity",
+                    entityType.getSimpleName()
+            )
+                     .increment();
+    }
+
+    private DistributionSummary summary(
+            String name,
+            Class<?> entityType
+    ) {
+        return DistributionSummary.builder(name)
+                                  .tag(
+                                          "entity",
+                                          entityType.getSimpleName()
+                                  )
+                                  .register(this.registry);
+    }
+}
@@ -0,0 +1,57 @@
+package bg.codexio.springframework.data.jpa.requery.metrics;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+
+import java.util.function.Supplier;
+
+/**
+ * A {@link FilterMetrics} that records nothing.
+ */
+enum NoOpFilterMetrics
+        implements FilterMetrics {
+    INSTANCE;
+
+    @Override
+    public <T> T record(
+            FilterStage stage,
+            Supplier<T> action
+    ) {
+        return action.get();
+    }
+
+    @Override
+    public void countAdapter(
+            Class<?> adapter,
+            Class<?> entityType
+    ) {
+    }
+
+    @Override
+    public void countOperation(
+            FilterOperation operation,
+            Class<?> entityType
+    ) {
+    }
+
+    @Override
+    public void recordFilterShape(
+            int nodeCount,
+            int depth,
+            Class<?> entityType
+    ) {
+    }
+
+    @Override
+    public void recordInListSize(
+            int size,
+            Class<?> entityType
+    ) {
+    }
+
+    @Override
+    public void countUnindexed(
+            FilterOperation operation,
+            Class<?> entityType
+    ) {
+    }
+}
@@ -1,8 +1,57 @@
 package bg.codexio.springframework.data.jpa.requery.payload;
 
+import java.util.Arrays;
+import java.util.stream.Stream;
+
 public record FilterGroupRequest(
         FilterRequest[] groupOperations,
         FilterLogicalOperator[] nonPriorityGroupOperators,
         UnaryGroupRequest rightSideOperands
 ) {
-}
\ No newline at end of file
+    /**
+     * Streams every {@link FilterRequest} of this group and of its nested
+     * groups, in the order they appear in the filter.
+     *
+     * @return a stream of all filter requests in the group tree
+     */
+    public Stream<FilterRequest> allOperations() {
+        var own = Arrays.stream(this.groupOperations);
+
+        return this.rightSideOperands == null
+               ? own
+               : Stream.concat(
+                       own,
+                       this.rightSideOperands.unaryGroup()
+                                             .allOperations()
+               );
+    }
+
+    /**
+     * Counts the {@link FilterRequest} nodes of this group, including the
+     * ones in its nested groups.
+     *
+     * @return the total number of filter requests in the group tree
+     */
+    public int nodeCount() {
+        var count = this.groupOperations.length;
+        if (this.rightSideOperands != null) {
+            count += this.rightSideOperands.unaryGroup()
+                                           .nodeCount();
+        }
+
+        return count;
+    }
+
+    /**
+     * Computes the nesting depth of this group, a group without nested
+     * groups having a depth of one.
+     *
+     * @return the depth of the group tree
+     */
+    public int depth() {
+        return this.rightSideOperands == null
+               ? 1
+               : 1 + this.rightSideOperands.unaryGroup()
+                                           .depth();
+    }
+}
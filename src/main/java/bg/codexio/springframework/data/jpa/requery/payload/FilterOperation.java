@@ -15,5 +15,11 @@ public enum FilterOperation {
     NOT_IN,
     BEGINS_WITH_CASEINS,
     ENDS_WITH_CASEINS,
-    CONTAINS_CASEINS
+    CONTAINS_CASEINS,
+    SEARCH,
+    OVERLAPS,
+    CONTAINS_ALL,
+    CONTAINED_BY,
+    WITHIN_RADIUS,
+    WITHIN_BOX
 }
\ No newline at end of file
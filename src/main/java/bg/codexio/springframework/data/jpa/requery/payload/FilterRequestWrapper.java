@@ -1,5 +1,6 @@
 package bg.codexio.springframework.data.jpa.requery.payload;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -115,6 +116,32 @@ public record FilterRequestWrapper<T>(
                                       .orElse(this);
     }
 
+    /**
+     * Returns the adapted filter as a {@link FilterGroupRequest}. Simple
+     * filters are represented as a single group whose requests are joined
+     * with {@link FilterLogicalOperator#AND}.
+     *
+     * @return the filter as a group, or empty if no filter was adapted
+     */
+    public Optional<FilterGroupRequest> toFilterGroupRequest() {
+        return this.filterRequests.map(requests -> {
+                                      var operators =
+                                              new FilterLogicalOperator[requests.size()
+                                                      - 1];
+                                      Arrays.fill(
+                                              operators,
+                                              FilterLogicalOperator.AND
+                                      );
+
+                                      return new FilterGroupRequest(
+                                              requests.toArray(FilterRequest[]::new),
+                                              operators,
+                                              null
+                                      );
+                                  })
+                                  .or(() -> this.filterGroupRequest);
+    }
+
     /**
      * Returns the result if present, or uses the {@code defaultSupplier} to
      * supply a default value.
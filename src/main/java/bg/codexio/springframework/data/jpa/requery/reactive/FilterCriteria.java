@@ -0,0 +1,28 @@
+package bg.codexio.springframework.data.jpa.requery.reactive;
+
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+
+/**
+ * The reactive counterpart of a {@code Specification} parameter: the
+ * filter of a request translated into a Spring Data R2DBC
+ * {@link Criteria} for the entity type {@code T}.
+ *
+ * @param criteria the translated filter, {@link Criteria#empty()} if the
+ *                 request has no filter
+ * @param <T>      the entity type the filter was resolved against
+ */
+public record FilterCriteria<T>(
+        Criteria criteria
+) {
+    /**
+     * Creates a {@link Query} selecting the entities matching the filter,
+     * to be refined with sorting and paging and passed to an
+     * {@code R2dbcEntityTemplate}.
+     *
+     * @return a {@link Query} for the filter
+     */
+    public Query toQuery() {
+        return Query.query(this.criteria);
+    }
+}
@@ -0,0 +1,63 @@
+package bg.codexio.springframework.data.jpa.requery.reactive;
+
+import bg.codexio.springframework.data.jpa.requery.adapter.JsonHttpFilterAdapter;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * The default reactive filter adapter, reading the JSON "filter" and
+ * "complexFilter" query parameters of a {@link ServerHttpRequest}. Parsing
+ * is delegated to {@link JsonHttpFilterAdapter}, so both stacks accept
+ * exactly the same filters.
+ */
+public class JsonServerHttpFilterAdapter
+        implements ServerHttpFilterAdapter {
+    private final JsonHttpFilterAdapter delegate;
+
+    /**
+     * Constructs a new {@code JsonServerHttpFilterAdapter} with the given
+     * {@code ObjectMapper}.
+     *
+     * @param objectMapper the {@code ObjectMapper} used for JSON
+     *                     deserialization
+     */
+    public JsonServerHttpFilterAdapter(ObjectMapper objectMapper) {
+        this.delegate = new JsonHttpFilterAdapter(objectMapper);
+    }
+
+    /**
+     * Determines whether the given {@link ServerHttpRequest} has a "filter"
+     * or a "complexFilter" query parameter.
+     *
+     * @param req the {@link ServerHttpRequest} to evaluate
+     * @return {@code true} if the request contains either parameter,
+     * {@code false} otherwise
+     */
+    @Override
+    public boolean supports(ServerHttpRequest req) {
+        var queryParams = req.getQueryParams();
+
+        return queryParams.containsKey("filter")
+                || queryParams.containsKey("complexFilter");
+    }
+
+    /**
+     * Adapts the "filter" and "complexFilter" query parameters of the given
+     * {@link ServerHttpRequest} into a {@link FilterRequestWrapper}.
+     *
+     * @param req the reactive HTTP request containing filter parameters
+     * @param <T> the type of the result in the {@link FilterRequestWrapper}
+     * @return a {@link FilterRequestWrapper} containing the parsed filter
+     * requests or an empty wrapper if parsing fails
+     */
+    @Override
+    public <T> FilterRequestWrapper<T> adapt(ServerHttpRequest req) {
+        var queryParams = req.getQueryParams();
+
+        return this.delegate.adapt(
+                queryParams.getFirst("filter"),
+                queryParams.getFirst("complexFilter")
+        );
+    }
+}
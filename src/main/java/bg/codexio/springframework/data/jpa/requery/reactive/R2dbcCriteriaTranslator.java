@@ -0,0 +1,329 @@
+package bg.codexio.springframework.data.jpa.requery.reactive;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverter;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterLogicalOperator;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import bg.codexio.springframework.data.jpa.requery.resolver.FieldInfo;
+import bg.codexio.springframework.data.jpa.requery.resolver.FieldPathResolver;
+import bg.codexio.springframework.data.jpa.requery.search.SearchField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.http.HttpStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Translates adapted filters into Spring Data R2DBC {@link Criteria}.
+ *
+ * <p>Groups are combined exactly like the
+ * {@code FilterJsonArgumentResolver} combines them into a
+ * {@code Specification}: the operations of a group are folded from left to
+ * right and the nested group is then combined with the result. Values are
+ * converted with the {@link FilterJsonTypeConverter}, falling back to the
+ * raw string if the conversion fails.</p>
+ *
+ * <p>R2DBC has no joins, so only fields declared on the entity itself can
+ * be filtered. Field names are resolved against the entity before they
+ * reach the query, as unknown property names would otherwise be passed to
+ * the SQL as column names. {@code SEARCH} has no portable R2DBC form and
+ * is translated to a case-insensitive {@code CONTAINS} over the
+ * {@link SearchField#paths()} of the field.</p>
+ */
+public class R2dbcCriteriaTranslator {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final FilterJsonTypeConverter converter;
+
+    public R2dbcCriteriaTranslator(FilterJsonTypeConverter converter) {
+        this.converter = converter;
+    }
+
+    /**
+     * Translates the filter of the given wrapper, simple filters being
+     * joined with {@code AND}.
+     *
+     * @param filterWrapper the adapted filter
+     * @param entityType    the entity type being filtered
+     * @return the {@link Criteria} of the filter, or {@link Criteria#empty()}
+     * if the wrapper holds no filter
+     * @throws FilterRejectedException if a field cannot be filtered
+     */
+    public Criteria translate(
+            FilterRequestWrapper<?> filterWrapper,
+            Class<?> entityType
+    ) {
+        return filterWrapper.toFilterGroupRequest()
+                            .map(group -> this.translate(
+                                    group,
+                                    entityType
+                            ))
+                            .orElseGet(Criteria::empty);
+    }
+
+    /**
+     * Translates a group and its nested groups.
+     *
+     * @param group      the group to translate
+     * @param entityType the entity type being filtered
+     * @return the {@link Criteria} of the group
+     * @throws FilterRejectedException if a field cannot be filtered
+     */
+    public Criteria translate(
+            FilterGroupRequest group,
+            Class<?> entityType
+    ) {
+        if (group.groupOperations().length == 0) {
+            return Criteria.empty();
+        }
+
+        var leftSide = this.translate(
+                group.groupOperations()[0],
+                entityType
+        );
+        for (var i = 1; i < group.groupOperations().length; i++) {
+            leftSide = this.combine(
+                    leftSide,
+                    group.nonPriorityGroupOperators()[i - 1],
+                    this.translate(
+                            group.groupOperations()[i],
+                            entityType
+                    )
+            );
+        }
+
+        if (group.rightSideOperands() == null) {
+            return leftSide;
+        }
+
+        return this.combine(
+                leftSide,
+                group.rightSideOperands()
+                     .unaryGroupOperator(),
+                this.translate(
+                        group.rightSideOperands()
+                             .unaryGroup(),
+                        entityType
+                )
+        );
+    }
+
+    /**
+     * Translates a single filter operation.
+     *
+     * @param filter     the filter to translate
+     * @param entityType the entity type being filtered
+     * @return the {@link Criteria} of the operation
+     */
+    private Criteria translate(
+            FilterRequest filter,
+            Class<?> entityType
+    ) {
+        var fieldInfo = this.resolveField(
+                filter.field(),
+                entityType
+        );
+        var column = Criteria.where(filter.field());
+
+        return switch (filter.operation()) {
+            case EMPTY -> column.isNull();
+            case NOT_EMPTY -> column.isNotNull();
+            case EQ -> column.is(this.convertValue(
+                    fieldInfo,
+                    filter.value()
+            ));
+            case GT -> column.greaterThan(this.convertValue(
+                    fieldInfo,
+                    filter.value()
+            ));
+            case GTE -> column.greaterThanOrEquals(this.convertValue(
+                    fieldInfo,
+                    filter.value()
+            ));
+            case LT -> column.lessThan(this.convertValue(
+                    fieldInfo,
+                    filter.value()
+            ));
+            case LTE -> column.lessThanOrEquals(this.convertValue(
+                    fieldInfo,
+                    filter.value()
+            ));
+            case BEGINS_WITH -> column.like(filter.value() + "%");
+            case ENDS_WITH -> column.like("%" + filter.value());
+            case CONTAINS -> column.like("%" + filter.value() + "%");
+            case IN -> column.in(this.convertValues(
+                    fieldInfo,
+                    filter.value()
+            ));
+            case NOT_IN -> column.notIn(this.convertValues(
+                    fieldInfo,
+                    filter.value()
+            ));
+            case BEGINS_WITH_CASEINS -> column.like(filter.value() + "%")
+                                              .ignoreCase(true);
+            case ENDS_WITH_CASEINS -> column.like("%" + filter.value())
+                                            .ignoreCase(true);
+            case CONTAINS_CASEINS -> column.like("%" + filter.value() + "%")
+                                           .ignoreCase(true);
+            case SEARCH -> this.search(
+                    filter,
+                    fieldInfo,
+                    entityType
+            );
+            case OVERLAPS, CONTAINS_ALL, CONTAINED_BY, WITHIN_RADIUS, WITHIN_BOX ->
+                    throw new FilterRejectedException(
+                            HttpStatus.BAD_REQUEST,
+                            filter.operation() + " on '" + filter.field()
+                                    + "' cannot be filtered with R2DBC"
+                    );
+        };
+    }
+
+    /**
+     * Translates a {@code SEARCH} into a case-insensitive {@code CONTAINS}
+     * on each searchable path, joined with {@code OR}.
+     *
+     * @param filter     the search filter
+     * @param fieldInfo  the resolved filter field
+     * @param entityType the entity type being filtered
+     * @return the {@link Criteria} of the search
+     */
+    private Criteria search(
+            FilterRequest filter,
+            FieldInfo fieldInfo,
+            Class<?> entityType
+    ) {
+        var searchField = fieldInfo.field()
+                                   .getAnnotation(SearchField.class);
+        var paths = searchField == null || searchField.paths().length == 0
+                    ? List.of(filter.field())
+                    : List.of(searchField.paths());
+
+        var criteria = Criteria.empty();
+        for (var path : paths) {
+            this.resolveField(
+                    path,
+                    entityType
+            );
+            criteria = criteria.or(Criteria.where(path)
+                                           .like("%" + filter.value() + "%")
+                                           .ignoreCase(true));
+        }
+
+        return criteria;
+    }
+
+    /**
+     * Combines two criteria using the specified logical operator. A chain
+     * of criteria is rendered without parentheses, so the left side is
+     * wrapped in a group to keep the left-to-right evaluation order instead
+     * of letting {@code AND} bind tighter than {@code OR}.
+     *
+     * @param leftSide  the left-hand criteria
+     * @param operator  the logical operator to use
+     * @param rightSide the right-hand criteria
+     * @return the combined {@link Criteria}
+     */
+    private Criteria combine(
+            Criteria leftSide,
+            FilterLogicalOperator operator,
+            Criteria rightSide
+    ) {
+        var group = Criteria.empty()
+                            .and(leftSide);
+
+        return switch (operator) {
+            case AND -> group.and(rightSide);
+            case OR -> group.or(rightSide);
+        };
+    }
+
+    /**
+     * Resolves a filter field against the entity type, rejecting nested
+     * and unknown fields.
+     *
+     * @param field      the filter field
+     * @param entityType the entity type being filtered
+     * @return the resolved field
+     * @throws FilterRejectedException if the field cannot be filtered
+     */
+    private FieldInfo resolveField(
+            String field,
+            Class<?> entityType
+    ) {
+        if (field.contains(".")) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    "Nested field '" + field + "' cannot be filtered with "
+                            + "R2DBC"
+            );
+        }
+
+        try {
+            return FieldPathResolver.resolve(
+                    entityType,
+                    field
+            );
+        } catch (IllegalArgumentException e) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    e.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Converts a filter value to the type of its field.
+     *
+     * @param fieldInfo the resolved filter field
+     * @param value     the value to convert
+     * @return the converted value, or its string form if the conversion
+     * fails
+     */
+    private Object convertValue(
+            FieldInfo fieldInfo,
+            Object value
+    ) {
+        try {
+            return this.converter.convert(
+                    fieldInfo.type(),
+                    value.toString()
+            );
+        } catch (RuntimeException e) {
+            this.logger.error(
+                    e.getMessage(),
+                    e
+            );
+
+            return value.toString();
+        }
+    }
+
+    /**
+     * Converts each element of an {@code IN} or {@code NOT_IN} value to the
+     * type of its field.
+     *
+     * @param fieldInfo the resolved filter field
+     * @param value     the collection of values, or a single value
+     * @return the converted values
+     */
+    private List<Object> convertValues(
+            FieldInfo fieldInfo,
+            Object value
+    ) {
+        var values = value instanceof Collection<?> collection
+                     ? collection
+                     : List.of(value);
+
+        return values.stream()
+                     .map(v -> this.convertValue(
+                             fieldInfo,
+                             v
+                     ))
+                     .toList();
+    }
+}
@@ -0,0 +1,191 @@
+package bg.codexio.springframework.data.jpa.requery.reactive;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterAdmissionPolicy;
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.metrics.FilterMetrics;
+import bg.codexio.springframework.data.jpa.requery.metrics.FilterStage;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * A Spring WebFlux argument resolver for {@link FilterCriteria} parameters,
+ * the reactive counterpart of the {@code FilterJsonArgumentResolver}.
+ *
+ * <p>Filters are read from the query parameters of the
+ * {@link ServerHttpRequest} by the first supporting
+ * {@link ServerHttpFilterAdapter}, checked by the
+ * {@link FilterAdmissionPolicy admission policies} and translated by the
+ * {@link R2dbcCriteriaTranslator}. None of these steps performs I/O, so the
+ * argument is resolved on the calling event loop thread.</p>
+ */
+public class ReactiveFilterJsonArgumentResolver
+        implements HandlerMethodArgumentResolver {
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final R2dbcCriteriaTranslator translator;
+
+    private final List<ServerHttpFilterAdapter> activeAdapters;
+
+    private final FilterMetrics metrics;
+
+    private final List<FilterAdmissionPolicy> admissionPolicies;
+
+    public ReactiveFilterJsonArgumentResolver(
+            R2dbcCriteriaTranslator translator,
+            List<ServerHttpFilterAdapter> activeAdapters
+    ) {
+        this(
+                translator,
+                activeAdapters,
+                FilterMetrics.noop(),
+                List.of()
+        );
+    }
+
+    public ReactiveFilterJsonArgumentResolver(
+            R2dbcCriteriaTranslator translator,
+            List<ServerHttpFilterAdapter> activeAdapters,
+            FilterMetrics metrics,
+            List<FilterAdmissionPolicy> admissionPolicies
+    ) {
+        this.translator = translator;
+        this.activeAdapters = activeAdapters;
+        this.metrics = metrics;
+        this.admissionPolicies = admissionPolicies;
+    }
+
+    /**
+     * Determines if this resolver is applicable for the method parameter,
+     * specifically checking if the parameter is of type
+     * {@link FilterCriteria}.
+     *
+     * @param parameter the method parameter to check
+     * @return true if the parameter is a {@link FilterCriteria}, false
+     * otherwise
+     */
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType()
+                        .equals(FilterCriteria.class);
+    }
+
+    /**
+     * Resolves a {@link FilterCriteria} from the filter of the exchange's
+     * request.
+     *
+     * @param parameter      the method parameter to resolve
+     * @param bindingContext the binding context of the handler
+     * @param exchange       the current exchange
+     * @return a {@link Mono} of the resolved {@link FilterCriteria}, holding
+     * {@link Criteria#empty()} if no filter is provided, or failing with a
+     * {@link FilterRejectedException} if the filter is rejected
+     */
+    @Override
+    public Mono<Object> resolveArgument(
+            MethodParameter parameter,
+            BindingContext bindingContext,
+            ServerWebExchange exchange
+    ) {
+        return Mono.fromSupplier(() -> this.resolve(
+                parameter,
+                exchange.getRequest()
+        ));
+    }
+
+    /**
+     * Adapts, admits and translates the filter of the request.
+     *
+     * @param parameter the method parameter being resolved
+     * @param request   the request holding the filter
+     * @return the resolved {@link FilterCriteria}
+     * @throws FilterRejectedException if the filter is rejected
+     */
+    private FilterCriteria<Object> resolve(
+            MethodParameter parameter,
+            ServerHttpRequest request
+    ) {
+        var genericType = ResolvableType.forMethodParameter(parameter)
+                                        .getGeneric(0)
+                                        .toClass();
+
+        var filterWrapper = this.metrics.record(
+                FilterStage.ADAPT,
+                () -> this.adapt(
+                        request,
+                        genericType
+                )
+        );
+        filterWrapper.toFilterGroupRequest()
+                     .ifPresent(filter -> {
+                         this.admissionPolicies.forEach(policy -> policy.admit(
+                                 filter,
+                                 genericType,
+                                 parameter
+                         ));
+                         this.metrics.recordFilterShape(
+                                 filter.nodeCount(),
+                                 filter.depth(),
+                                 genericType
+                         );
+                         filter.allOperations()
+                               .forEach(operation -> this.metrics.countOperation(
+                                       operation.operation(),
+                                       genericType
+                               ));
+                     });
+
+        return new FilterCriteria<>(this.metrics.record(
+                FilterStage.PREDICATE_BUILDING,
+                () -> this.translator.translate(
+                        filterWrapper,
+                        genericType
+                )
+        ));
+    }
+
+    /**
+     * Selects the first {@link ServerHttpFilterAdapter} that supports the
+     * request and adapts the request with it.
+     *
+     * @param request     the reactive HTTP request containing filter
+     *                    parameters
+     * @param genericType the entity class type on which the filter will be
+     *                    applied
+     * @return the adapted {@link FilterRequestWrapper} or an empty one if no
+     * adapter supports the request
+     */
+    private FilterRequestWrapper<Criteria> adapt(
+            ServerHttpRequest request,
+            Class<?> genericType
+    ) {
+        return this.activeAdapters.stream()
+                                  .filter(adapter -> adapter.supports(request))
+                                  .peek(adapter -> this.logger.debug(
+                                          "{} supports this request and will "
+                                                  + "attempt to adapt it.",
+                                          adapter.getClass()
+                                                 .getSimpleName()
+                                  ))
+                                  .findFirst()
+                                  .map(adapter -> {
+                                      this.metrics.countAdapter(
+                                              adapter.getClass(),
+                                              genericType
+                                      );
+
+                                      return adapter.<Criteria>adapt(request);
+                                  })
+                                  .orElse(new FilterRequestWrapper<>());
+    }
+}
@@ -0,0 +1,38 @@
+package bg.codexio.springframework.data.jpa.requery.reactive;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * The reactive counterpart of
+ * {@link bg.codexio.springframework.data.jpa.requery.adapter.HttpFilterAdapter},
+ * adapting filter parameters of a {@link ServerHttpRequest} into a
+ * {@link FilterRequestWrapper}.
+ *
+ * <p>Implementations run on the event loop and must not block; they are
+ * expected to read the filter from the already parsed request line and
+ * headers, not from the request body.</p>
+ */
+public interface ServerHttpFilterAdapter {
+
+    /**
+     * Determines whether this adapter supports the given
+     * {@link ServerHttpRequest}.
+     *
+     * @param req the reactive HTTP request to check
+     * @return {@code true} if the adapter supports the request, {@code false
+     * } otherwise
+     */
+    boolean supports(ServerHttpRequest req);
+
+    /**
+     * Adapts the filter parameters from the given {@link ServerHttpRequest}
+     * into a {@link FilterRequestWrapper}.
+     *
+     * @param req the reactive HTTP request containing filter parameters
+     * @param <T> the type of the result in the {@link FilterRequestWrapper}
+     * @return a {@link FilterRequestWrapper} containing the adapted filter
+     * requests
+     */
+    <T> FilterRequestWrapper<T> adapt(ServerHttpRequest req);
+}
@@ -0,0 +1,78 @@
+package bg.codexio.springframework.data.jpa.requery.resolver;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * The half-open date range {@code [start, end)} matched by a prefix of the
+ * ISO-8601 representation of a date, such as {@code 2024}, {@code 2024-05}
+ * or {@code 2024-05-17}.
+ *
+ * @param start the first date starting with the prefix
+ * @param end   the first date after the range
+ */
+public record DatePrefixRange(
+        LocalDate start,
+        LocalDate end
+) {
+    private static final Pattern PREFIX =
+            Pattern.compile("(\\d{4})(?:-(\\d{2})(?:-(\\d{2}))?)?");
+
+    /**
+     * Parses an ISO-8601 date prefix.
+     *
+     * @param prefix the prefix to parse
+     * @return the range of dates starting with the prefix, or empty if the
+     * prefix is not a year, a year and month, or a full date
+     */
+    public static Optional<DatePrefixRange> parse(String prefix) {
+        var matcher = PREFIX.matcher(prefix);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+
+        try {
+            var year = Integer.parseInt(matcher.group(1));
+            if (matcher.group(2) == null) {
+                var start = LocalDate.of(
+                        year,
+                        1,
+                        1
+                );
+
+                return Optional.of(new DatePrefixRange(
+                        start,
+                        start.plusYears(1)
+                ));
+            }
+
+            var month = Integer.parseInt(matcher.group(2));
+            if (matcher.group(3) == null) {
+                var start = LocalDate.of(
+                        year,
+                        month,
+                        1
+                );
+
+                return Optional.of(new DatePrefixRange(
+                        start,
+                        start.plusMonths(1)
+                ));
+            }
+
+            var start = LocalDate.of(
+                    year,
+                    month,
+                    Integer.parseInt(matcher.group(3))
+            );
+
+            return Optional.of(new DatePrefixRange(
+                    start,
+                    start.plusDays(1)
+            ));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package bg.codexio.springframework.data.jpa.requery.resolver;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+
+/**
+ * Resolves the field paths of queries built next to a filter, such as facet
+ * or aggregate fields, with the same validation as filter fields.
+ */
+public final class EntityPaths {
+    private EntityPaths() {
+    }
+
+    /**
+     * Resolves a field that is selected or grouped by, rejecting unknown
+     * fields and fields inside a collection.
+     *
+     * @param entityType the entity type being queried
+     * @param field      the dot-separated field
+     * @param role       how the field is used, for the rejection message,
+     *                   e.g. {@code "Facet"}
+     * @return the resolved field
+     * @throws FilterRejectedException with {@code 400 Bad Request} if the
+     *                                 field cannot be used
+     */
+    public static FieldInfo resolve(
+            Class<?> entityType,
+            String field,
+            String role
+    ) {
+        FieldInfo fieldInfo;
+        try {
+            fieldInfo = FieldPathResolver.resolve(
+                    entityType,
+                    field
+            );
+        } catch (IllegalArgumentException e) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    e.getMessage()
+            );
+        }
+
+        if (fieldInfo.collection()) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    role + " '" + field + "' is inside a collection"
+            );
+        }
+
+        return fieldInfo;
+    }
+
+    /**
+     * Retrieves the path of a field, left joining the associations on its
+     * way, so that entities without the association are kept with a
+     * {@code null} value. Joins are shared between the fields of a query
+     * through the given map.
+     *
+     * @param root  the root of the query
+     * @param joins the joins already made, by dot-separated path
+     * @param field the dot-separated field
+     * @return the path of the field
+     */
+    public static Path<?> leftJoinedPath(
+            From<?, ?> root,
+            Map<String, From<?, ?>> joins,
+            String field
+    ) {
+        var segments = field.split("\\.");
+        var from = root;
+        var joinPath = new StringBuilder();
+        for (var i = 0; i < segments.length - 1; i++) {
+            var parent = from;
+            var segment = segments[i];
+            if (i > 0) {
+                joinPath.append('.');
+            }
+            joinPath.append(segment);
+            from = joins.computeIfAbsent(
+                    joinPath.toString(),
+                    key -> parent.join(
+                            segment,
+                            JoinType.LEFT
+                    )
+            );
+        }
+
+        return from.get(segments[segments.length - 1]);
+    }
+}
@@ -2,8 +2,18 @@ package bg.codexio.springframework.data.jpa.requery.resolver;
 
 import java.lang.reflect.Field;
 
-record FieldInfo(
+/**
+ * The result of resolving a dot-separated field path against an entity
+ * type.
+ *
+ * @param field      the last field of the path
+ * @param type       the type of the last field, or its element type if it
+ *                   is a collection
+ * @param collection whether any segment of the path traverses a collection
+ */
+public record FieldInfo(
         Field field,
-        Class<?> type
+        Class<?> type,
+        boolean collection
 ) {
-}
\ No newline at end of file
+}
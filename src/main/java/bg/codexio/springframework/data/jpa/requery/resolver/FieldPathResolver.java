@@ -0,0 +1,120 @@
+package bg.codexio.springframework.data.jpa.requery.resolver;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves dot-separated field paths against entity types using
+ * reflection. Resolved paths are cached per entity type, so the class
+ * hierarchy is only walked once per path.
+ */
+public final class FieldPathResolver {
+    private static final ClassValue<Map<String, FieldInfo>> CACHE =
+            new ClassValue<>() {
+                @Override
+                protected Map<String, FieldInfo> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private FieldPathResolver() {
+    }
+
+    /**
+     * Retrieves detailed information about a field specified by a
+     * dot-separated path within a class hierarchy. This method resolves
+     * each segment of the field path to determine the final field and its
+     * type, which can be used for type conversion and query generation
+     * purposes.
+     *
+     * @param type      The starting class from which to resolve the field
+     *                  path.
+     * @param fieldPath The dot-separated path to the field in the class
+     *                  hierarchy.
+     * @return A {@link FieldInfo} object containing the resolved
+     * {@link Field} and its type.
+     * @throws IllegalArgumentException if a segment of the path cannot be
+     *                                  found in the class hierarchy.
+     */
+    public static FieldInfo resolve(
+            Class<?> type,
+            String fieldPath
+    ) {
+        return CACHE.get(type)
+                    .computeIfAbsent(
+                            fieldPath,
+                            path -> FieldPathResolver.walk(
+                                    type,
+                                    path
+                            )
+                    );
+    }
+
+    private static FieldInfo walk(
+            Class<?> type,
+            String fieldPath
+    ) {
+        var fields = fieldPath.split("\\.");
+        var field = (Field) null;
+        var currentType = type;
+        var collection = false;
+        var index = 0;
+
+        do {
+            field = FieldPathResolver.getFieldFromTypeChain(
+                    fields[index++],
+                    currentType,
+                    type
+            );
+            if (Collection.class.isAssignableFrom(field.getType())) {
+                collection = true;
+                currentType =
+                        (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+            } else {
+                currentType = field.getType();
+            }
+        } while (index < fields.length);
+
+        return new FieldInfo(
+                field,
+                currentType,
+                collection
+        );
+    }
+
+    /**
+     * Recursively retrieves a {@link Field} from a class or its superclass
+     * hierarchy based on the field name provided.
+     *
+     * @param field    The name of the field to retrieve.
+     * @param type     The class from which to start the search.
+     * @param rootType The entity type the path is resolved against, used
+     *                 for error reporting.
+     * @return The {@link Field} object corresponding to the specified field
+     * name.
+     */
+    private static Field getFieldFromTypeChain(
+            String field,
+            Class<?> type,
+            Class<?> rootType
+    ) {
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown field '" + field
+                                                       + "' on "
+                                                       + rootType.getSimpleName());
+        }
+
+        try {
+            return type.getDeclaredField(field);
+        } catch (NoSuchFieldException ignored) {
+            return FieldPathResolver.getFieldFromTypeChain(
+                    field,
+                    type.getSuperclass(),
+                    rootType
+            );
+        }
+    }
+}
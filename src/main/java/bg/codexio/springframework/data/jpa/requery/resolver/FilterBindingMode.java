@@ -0,0 +1,21 @@
+package bg.codexio.springframework.data.jpa.requery.resolver;
+
+/**
+ * How the {@link FilterJsonArgumentResolver} binds filter values to entity
+ * fields.
+ */
+public enum FilterBindingMode {
+    /**
+     * Values that cannot be converted to the field type are logged and
+     * passed to the query as strings, and string operations on other
+     * columns cast the column to a string.
+     */
+    LENIENT,
+    /**
+     * Values are bound in the native type of the field and a value that
+     * cannot be converted is rejected with {@code 400 Bad Request}. String
+     * operations on non-string fields are rejected as well, except prefix
+     * matches on dates, which are rewritten into the equivalent date range.
+     */
+    STRICT
+}
@@ -1,33 +1,60 @@
 package bg.codexio.springframework.data.jpa.requery.resolver;
 
 import bg.codexio.springframework.data.jpa.requery.adapter.HttpFilterAdapter;
+import bg.codexio.springframework.data.jpa.requery.admission.FilterAdmissionPolicy;
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
 import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverter;
+import bg.codexio.springframework.data.jpa.requery.geo.GeoBox;
+import bg.codexio.springframework.data.jpa.requery.geo.GeoCircle;
+import bg.codexio.springframework.data.jpa.requery.geo.GeoPoint;
+import bg.codexio.springframework.data.jpa.requery.geo.GeoPointPath;
+import bg.codexio.springframework.data.jpa.requery.metrics.FilterMetrics;
+import bg.codexio.springframework.data.jpa.requery.metrics.FilterStage;
 import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
 import bg.codexio.springframework.data.jpa.requery.payload.FilterLogicalOperator;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
 import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
 import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.ArraySQLFunction;
 import bg.codexio.springframework.data.jpa.requery.resolver.function.CaseInsensitiveLikeSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.JsonPathSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.PrefixMatchSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.TextSearchSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.search.SearchField;
+import bg.codexio.springframework.data.jpa.requery.search.SearchMode;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.MethodParameter;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
-import java.lang.reflect.Field;
+import java.lang.reflect.Array;
 import java.lang.reflect.ParameterizedType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
 
 /**
  * A Spring MVC argument resolver for converting JSON-encoded filter criteria
@@ -45,12 +72,64 @@ public class FilterJsonArgumentResolver
 
     private final List<HttpFilterAdapter> activeAdapters;
 
+    private final FilterMetrics metrics;
+
+    private final List<FilterAdmissionPolicy> admissionPolicies;
+
+    private final FilterBindingMode bindingMode;
+
     public FilterJsonArgumentResolver(
             FilterJsonTypeConverter converter,
             List<HttpFilterAdapter> activeAdapters
+    ) {
+        this(
+                converter,
+                activeAdapters,
+                FilterMetrics.noop()
+        );
+    }
+
+    public FilterJsonArgumentResolver(
+            FilterJsonTypeConverter converter,
+            List<HttpFilterAdapter> activeAdapters,
+            FilterMetrics metrics
+    ) {
+        this(
+                converter,
+                activeAdapters,
+                metrics,
+                List.of()
+        );
+    }
+
+    @Autowired
+    public FilterJsonArgumentResolver(
+            FilterJsonTypeConverter converter,
+            List<HttpFilterAdapter> activeAdapters,
+            FilterMetrics metrics,
+            List<FilterAdmissionPolicy> admissionPolicies
+    ) {
+        this(
+                converter,
+                activeAdapters,
+                metrics,
+                admissionPolicies,
+                FilterBindingMode.LENIENT
+        );
+    }
+
+    public FilterJsonArgumentResolver(
+            FilterJsonTypeConverter converter,
+            List<HttpFilterAdapter> activeAdapters,
+            FilterMetrics metrics,
+            List<FilterAdmissionPolicy> admissionPolicies,
+            FilterBindingMode bindingMode
     ) {
         this.converter = converter;
         this.activeAdapters = activeAdapters;
+        this.metrics = metrics;
+        this.admissionPolicies = admissionPolicies;
+        this.bindingMode = bindingMode;
     }
 
     /**
@@ -75,7 +154,8 @@ public class FilterJsonArgumentResolver
      * @param webRequest the {@link NativeWebRequest} being handled
      * @return the resolved {@link Specification} object, or {@code null} if
      * no filters are provided
-     * @throws Exception if an error occurs during argument resolution
+     * @throws FilterRejectedException if an {@link FilterAdmissionPolicy}
+     *                                 rejects the filter
      */
     @Override
     public Object resolveArgument(
@@ -87,6 +167,99 @@ public class FilterJsonArgumentResolver
         var request = webRequest.getNativeRequest(HttpServletRequest.class);
         var genericType =
                 (Class<?>) ((ParameterizedType) parameter.getGenericParameterType()).getActualTypeArguments()[0];
+
+        var filterWrapper = this.metrics.record(
+                FilterStage.ADAPT,
+                () -> this.adapt(
+                        request,
+                        genericType
+                )
+        );
+
+        return this.resolveSpecification(
+                filterWrapper,
+                genericType,
+                parameter
+        );
+    }
+
+    /**
+     * Turns an already adapted filter into a {@link Specification}, going
+     * through the same admission, conversion and predicate building as a
+     * filter read from the request. This lets components receiving filters
+     * in other shapes, such as a request body, share the pipeline.
+     *
+     * @param filterWrapper the adapted filter
+     * @param genericType   the entity class type on which the filter will
+     *                      be applied
+     * @param parameter     the method parameter the filter is resolved for,
+     *                      or {@code null} if there is none
+     * @return the resolved {@link Specification}, a
+     * {@link ReversibleSpecification} carrying the filter if there is one,
+     * applying no filtering otherwise
+     * @throws FilterRejectedException if an {@link FilterAdmissionPolicy}
+     *                                 rejects the filter
+     */
+    public Specification<Object> resolveSpecification(
+            FilterRequestWrapper<Specification<Object>> filterWrapper,
+            Class<?> genericType,
+            MethodParameter parameter
+    ) {
+        var source = filterWrapper.toFilterGroupRequest();
+        source.ifPresent(filter -> this.admissionPolicies.forEach(policy -> policy.admit(
+                filter,
+                genericType,
+                parameter
+        )));
+
+        var specification = filterWrapper.isSimple(simpleFilter -> {
+                                             this.metrics.recordFilterShape(
+                                                     simpleFilter.size(),
+                                                     1,
+                                                     genericType
+                                             );
+
+                                             return getSimpleFilterSpecification(
+                                                     simpleFilter,
+                                                     genericType
+                                             );
+                                         })
+                                         .orComplex(complexFilter -> {
+                                             this.metrics.recordFilterShape(
+                                                     complexFilter.nodeCount(),
+                                                     complexFilter.depth(),
+                                                     genericType
+                                             );
+
+                                             return getComplexFilterSpecification(
+                                                     complexFilter,
+                                                     genericType
+                                             );
+                                         })
+                                         .or(this::noFilterSpecification);
+
+        return source.<Specification<Object>>map(filter -> new ReversibleSpecification<>(
+                             specification,
+                             filter
+                     ))
+                     .orElse(specification);
+    }
+
+    /**
+     * Selects the first {@link HttpFilterAdapter} that supports the request
+     * and adapts the request with it.
+     *
+     * @param request     the HTTP servlet request containing filter
+     *                    parameters
+     * @param genericType the entity class type on which the filter will be
+     *                    applied
+     * @return the adapted {@link FilterRequestWrapper} or an empty one if no
+     * adapter supports the request
+     */
+    private FilterRequestWrapper<Specification<Object>> adapt(
+            HttpServletRequest request,
+            Class<?> genericType
+    ) {
         this.logger.debug(
                 "{} active adapters will be tested against the request",
                 this.activeAdapters.size()
@@ -105,17 +278,15 @@ public class FilterJsonArgumentResolver
                                                  .getSimpleName()
                                   ))
                                   .findFirst()
-                                  .map(httpFilterAdapter -> httpFilterAdapter.adapt(request))
-                                  .orElse(new FilterRequestWrapper<>())
-                                  .isSimple(simpleFilter -> getSimpleFilterSpecification(
-                                          simpleFilter,
-                                          genericType
-                                  ))
-                                  .orComplex(complexFilter -> getComplexFilterSpecification(
-                                          complexFilter,
-                                          genericType
-                                  ))
-                                  .or(this::noFilterSpecification);
+                                  .map(httpFilterAdapter -> {
+                                      this.metrics.countAdapter(
+                                              httpFilterAdapter.getClass(),
+                                              genericType
+                                      );
+
+                                      return httpFilterAdapter.<Specification<Object>>adapt(request);
+                                  })
+                                  .orElse(new FilterRequestWrapper<>());
     }
 
     /**
@@ -278,27 +449,760 @@ public class FilterJsonArgumentResolver
             Class<?> genericType,
             FilterLogicalOperator operator
     ) {
+        this.metrics.countOperation(
+                filter.operation(),
+                genericType
+        );
+        if ((filter.operation() == FilterOperation.IN
+                || filter.operation() == FilterOperation.NOT_IN)
+                && filter.value() instanceof Collection<?> values) {
+            this.metrics.recordInListSize(
+                    values.size(),
+                    genericType
+            );
+        }
 
-        var value = this.convertValue(
-                filter.field(),
+        var jsonPath = JsonFieldPath.resolve(
                 genericType,
-                filter.value()
-                      .toString()
+                filter.field()
+        );
+        if (jsonPath.isPresent()) {
+            return this.rightLeftSideByOperator(
+                    specification,
+                    operator,
+                    this.getJsonPathSpecification(
+                            filter,
+                            jsonPath.get()
+                    )
+            );
+        }
+
+        if (filter.operation() == FilterOperation.WITHIN_RADIUS
+                || filter.operation() == FilterOperation.WITHIN_BOX) {
+            return this.rightLeftSideByOperator(
+                    specification,
+                    operator,
+                    this.getGeoSpecification(
+                            filter,
+                            genericType
+                    )
+            );
+        }
+
+        if (this.bindingMode == FilterBindingMode.STRICT) {
+            return this.rightLeftSideByOperator(
+                    specification,
+                    operator,
+                    this.getStrictSpecification(
+                            filter,
+                            genericType
+                    )
+            );
+        }
+
+        var value = this.metrics.record(
+                FilterStage.CONVERSION,
+                () -> this.convertValue(
+                        filter.field(),
+                        genericType,
+                        filter.value()
+                              .toString()
+                )
         );
 
         return this.rightLeftSideByOperator(
                 specification,
                 operator,
-                (root, cq, cb) -> this.getFilterPredicate(
+                this.getPredicateSpecification(
+                        filter,
+                        genericType,
+                        value
+                )
+        );
+    }
+
+    /**
+     * Builds the {@link Specification} of a {@code WITHIN_RADIUS} or
+     * {@code WITHIN_BOX} filter on a {@link GeoPoint}. The point and the
+     * area are resolved here, in both binding modes, so an invalid filter
+     * never reaches the database.
+     *
+     * @param filter      The filter criteria naming the point.
+     * @param genericType The type of entity being filtered.
+     * @return A {@link Specification} for the filter.
+     * @throws FilterRejectedException with {@code 400 Bad Request} if the
+     *                                 field is not a {@link GeoPoint} or
+     *                                 the value is not a valid area
+     */
+    private Specification<Object> getGeoSpecification(
+            FilterRequest filter,
+            Class<?> genericType
+    ) {
+        GeoPointPath point;
+        GeoCircle circle;
+        GeoBox box;
+        try {
+            point = GeoPointPath.resolve(
+                                        genericType,
+                                        filter.field()
+                                )
+                                .orElseThrow(() -> this.bindingRejected(
+                                        filter,
+                                        "is only supported on @GeoPoint "
+                                                + "fields"
+                                ));
+            circle = filter.operation() == FilterOperation.WITHIN_RADIUS
+                     ? GeoCircle.of(filter.value())
+                     : null;
+            box = circle == null
+                  ? GeoBox.of(filter.value())
+                  : circle.boundingBox();
+        } catch (IllegalArgumentException e) {
+            throw this.bindingRejected(
+                    filter,
+                    e.getMessage()
+            );
+        }
+
+        return (root, cq, cb) -> this.metrics.record(
+                FilterStage.PREDICATE_BUILDING,
+                () -> this.geoPredicate(
+                        point,
+                        circle,
+                        box,
+                        root,
+                        cq,
+                        cb
+                )
+        );
+    }
+
+    /**
+     * Creates a JPA {@link Predicate} matching the points inside a circle
+     * or a box. The bounding box is a plain range on the latitude and
+     * longitude columns, so a B-tree index narrows the candidates; for a
+     * circle the exact haversine check of {@link GeoCircle} follows. When
+     * the point asks for distance ordering and the query selects the root
+     * entities, rather than counting or aggregating them, the query is ordered by ascending distance from the center of the
+     * area; a sort requested by the client is applied afterwards and takes
+     * precedence.
+     *
+     * @param point  The paths of the point.
+     * @param circle The circle, or {@code null} for a box.
+     * @param box    The box, or the bounding box of the circle.
+     * @param root   The root of the query from which the paths are derived.
+     * @param query  The query being built.
+     * @param cb     The {@link CriteriaBuilder} used to create the
+     *               predicate.
+     * @return A {@link Predicate} for the area.
+     */
+    @SuppressWarnings("unchecked")
+    private Predicate geoPredicate(
+            GeoPointPath point,
+            GeoCircle circle,
+            GeoBox box,
+            Root<Object> root,
+            CriteriaQuery<?> query,
+            CriteriaBuilder cb
+    ) {
+        Expression<Double> latitude = this.getPath(
+                root,
+                point.latitude()
+        );
+        Expression<Double> longitude = this.getPath(
+                root,
+                point.longitude()
+        );
+
+        var predicate = cb.and(
+                cb.between(
+                        latitude,
+                        box.south(),
+                        box.north()
+                ),
+                box.crossesAntimeridian()
+                ? cb.or(
+                        cb.greaterThanOrEqualTo(
+                                longitude,
+                                box.west()
+                        ),
+                        cb.lessThanOrEqualTo(
+                                longitude,
+                                box.east()
+                        )
+                )
+                : cb.between(
+                        longitude,
+                        box.west(),
+                        box.east()
+                )
+        );
+        if (circle == null && !point.orderByDistance()) {
+            return predicate;
+        }
+
+        var haversine = this.haversine(
+                latitude,
+                longitude,
+                circle == null
+                ? box.centerLatitude()
+                : circle.latitude(),
+                circle == null
+                ? box.centerLongitude()
+                : circle.longitude(),
+                cb
+        );
+        if (point.orderByDistance() && selectsRoot(
+                query,
+                root
+        )) {
+            query.orderBy(cb.asc(haversine));
+        }
+
+        return circle == null
+               ? predicate
+               : cb.and(
+                       predicate,
+                       cb.le(
+                               haversine,
+                               circle.haversineBound()
+                       )
+               );
+    }
+
+    /**
+     * Creates the expression of {@link GeoCircle#haversine} between the
+     * point of each row and a fixed center, using the {@code sin} and
+     * {@code cos} functions every dialect provides.
+     *
+     * @param latitude        The latitude column, in degrees.
+     * @param longitude       The longitude column, in degrees.
+     * @param centerLatitude  The latitude of the center, in degrees.
+     * @param centerLongitude The longitude of the center, in degrees.
+     * @param cb              The {@link CriteriaBuilder} used to create the
+     *                        expression.
+     * @return The haversine expression, growing with the distance.
+     */
+    private Expression<Double> haversine(
+            Expression<Double> latitude,
+            Expression<Double> longitude,
+            double centerLatitude,
+            double centerLongitude,
+            CriteriaBuilder cb
+    ) {
+        var halfLatitude = cb.function(
+                "sin",
+                Double.class,
+                cb.prod(
+                        cb.diff(
+                                latitude,
+                                centerLatitude
+                        ),
+                        Math.PI / 360
+                )
+        );
+        var halfLongitude = cb.function(
+                "sin",
+                Double.class,
+                cb.prod(
+                        cb.diff(
+                                longitude,
+                                centerLongitude
+                        ),
+                        Math.PI / 360
+                )
+        );
+        var cosLatitude = cb.function(
+                "cos",
+                Double.class,
+                cb.prod(
+                        latitude,
+                        Math.PI / 180
+                )
+        );
+
+        return cb.sum(
+                cb.prod(
+                        halfLatitude,
+                        halfLatitude
+                ),
+                cb.prod(
+                        cb.prod(
+                                cosLatitude,
+                                Math.cos(Math.toRadians(centerLatitude))
+                        ),
+                        cb.prod(
+                                halfLongitude,
+                                halfLongitude
+                        )
+                )
+        );
+    }
+
+    /**
+     * Wraps {@link #getFilterPredicate} into a {@link Specification} that
+     * records the time spent building the predicate.
+     *
+     * @param filter      The filter criteria to apply.
+     * @param genericType The type of entity being filtered.
+     * @param value       The converted value of the filter.
+     * @return A {@link Specification} for the filter.
+     */
+    private Specification<Object> getPredicateSpecification(
+            FilterRequest filter,
+            Class<?> genericType,
+            Comparable value
+    ) {
+        return (root, cq, cb) -> this.metrics.record(
+                FilterStage.PREDICATE_BUILDING,
+                () -> this.getFilterPredicate(
                         filter,
                         genericType,
                         value,
                         root,
+                        cq,
                         cb
                 )
         );
     }
 
+    /**
+     * Builds the {@link Specification} of a filter in
+     * {@link FilterBindingMode#STRICT} mode. Comparison values are converted
+     * to the native type of the field, string operations on non-string
+     * fields are rejected, and prefix matches on date fields are rewritten
+     * into the equivalent date range. Every check happens here, while the
+     * argument is resolved, so an invalid filter never reaches the database.
+     *
+     * @param filter      The filter criteria to apply.
+     * @param genericType The type of entity being filtered.
+     * @return A {@link Specification} for the filter.
+     * @throws FilterRejectedException with {@code 400 Bad Request} if the
+     *                                 filter cannot be bound to the field
+     */
+    private Specification<Object> getStrictSpecification(
+            FilterRequest filter,
+            Class<?> genericType
+    ) {
+        var fieldType = this.strictFieldType(
+                filter,
+                genericType
+        );
+
+        return switch (filter.operation()) {
+            case EMPTY, NOT_EMPTY -> this.getPredicateSpecification(
+                    filter,
+                    genericType,
+                    null
+            );
+            case EQ, GT, GTE, LT, LTE -> this.getPredicateSpecification(
+                    filter,
+                    genericType,
+                    this.metrics.record(
+                            FilterStage.CONVERSION,
+                            () -> this.strictConvert(
+                                    filter,
+                                    fieldType,
+                                    filter.value()
+                            )
+                    )
+            );
+            case IN, NOT_IN -> {
+                if (!(filter.value() instanceof Collection<?> values)) {
+                    throw this.bindingRejected(
+                            filter,
+                            "expects a list of values"
+                    );
+                }
+
+                var converted = this.metrics.record(
+                        FilterStage.CONVERSION,
+                        () -> values.stream()
+                                    .map(value -> this.strictConvert(
+                                            filter,
+                                            fieldType,
+                                            value
+                                    ))
+                                    .toList()
+                );
+
+                yield (root, cq, cb) -> this.metrics.record(
+                        FilterStage.PREDICATE_BUILDING,
+                        () -> {
+                            var in = this.getPath(
+                                                 root,
+                                                 filter
+                                         )
+                                         .in(converted);
+
+                            return filter.operation() == FilterOperation.IN
+                                   ? in
+                                   : in.not();
+                        }
+                );
+            }
+            case BEGINS_WITH, BEGINS_WITH_CASEINS -> {
+                if (String.class.equals(fieldType)) {
+                    yield this.getPredicateSpecification(
+                            filter,
+                            genericType,
+                            null
+                    );
+                }
+
+                yield this.datePrefixSpecification(
+                        filter,
+                        fieldType
+                );
+            }
+            case ENDS_WITH, CONTAINS, ENDS_WITH_CASEINS, CONTAINS_CASEINS,
+                 SEARCH -> {
+                if (!String.class.equals(fieldType)) {
+                    throw this.bindingRejected(
+                            filter,
+                            "is only supported on text fields"
+                    );
+                }
+
+                yield this.getPredicateSpecification(
+                        filter,
+                        genericType,
+                        null
+                );
+            }
+            case OVERLAPS, CONTAINS_ALL, CONTAINED_BY -> {
+                var values = this.metrics.record(
+                        FilterStage.CONVERSION,
+                        () -> this.arrayValues(
+                                filter,
+                                fieldType,
+                                value -> this.strictConvert(
+                                        filter,
+                                        fieldType.getComponentType(),
+                                        value
+                                )
+                        )
+                );
+
+                yield (root, cq, cb) -> this.metrics.record(
+                        FilterStage.PREDICATE_BUILDING,
+                        () -> this.arrayPredicate(
+                                filter.operation(),
+                                this.getPath(
+                                        root,
+                                        filter
+                                ),
+                                values,
+                                cb
+                        )
+                );
+            }
+            case WITHIN_RADIUS, WITHIN_BOX ->
+                    throw new IllegalStateException("Geographic filters are "
+                                                            + "built by "
+                                                            + "getGeoSpecification");
+        };
+    }
+
+    /**
+     * Builds the {@link Specification} of a filter on a path inside a JSON
+     * column through the {@link JsonPathSQLFunction} registered by the
+     * dialect. {@code EQ} and {@code IN} are matched as containment of the
+     * document holding the value at the path, so a GIN index on the column
+     * can answer them. The values keep their JSON types and are checked
+     * here in both binding modes, as there is no field type to convert
+     * them to.
+     *
+     * @param filter   The filter criteria containing the field and value.
+     * @param jsonPath The JSON column and the keys of the path inside it.
+     * @return A {@link Specification} for the filter.
+     * @throws FilterRejectedException with {@code 400 Bad Request} if the
+     *                                 operation is not supported on JSON
+     *                                 paths or the value does not fit it
+     */
+    private Specification<Object> getJsonPathSpecification(
+            FilterRequest filter,
+            JsonFieldPath jsonPath
+    ) {
+        var keys = String.join(
+                ".",
+                jsonPath.keys()
+        );
+
+        Specification<Object> specification = switch (filter.operation()) {
+            case EMPTY, NOT_EMPTY -> (root, cq, cb) -> this.jsonPathPredicate(
+                    filter.operation(),
+                    keys,
+                    this.getPath(
+                            root,
+                            jsonPath.column()
+                    ),
+                    cb
+            );
+            case EQ, GT, GTE, LT, LTE -> {
+                if (filter.value() == null
+                        || filter.value() instanceof Collection<?>) {
+                    throw this.bindingRejected(
+                            filter,
+                            "expects a single value"
+                    );
+                }
+
+                var value = filter.operation() == FilterOperation.EQ
+                            ? jsonPath.document(filter.value())
+                            : filter.value();
+
+                yield (root, cq, cb) -> this.jsonPathPredicate(
+                        filter.operation(),
+                        keys,
+                        this.getPath(
+                                root,
+                                jsonPath.column()
+                        ),
+                        cb,
+                        cb.literal(value)
+                );
+            }
+            case IN, NOT_IN -> {
+                if (!(filter.value() instanceof Collection<?> values)
+                        || values.isEmpty()) {
+                    throw this.bindingRejected(
+                            filter,
+                            "expects a list of values"
+                    );
+                }
+
+                var documents = values.stream()
+                                      .map(jsonPath::document)
+                                      .toList();
+
+                yield (root, cq, cb) -> {
+                    var column = this.getPath(
+                            root,
+                            jsonPath.column()
+                    );
+                    var in = cb.or(documents.stream()
+                                            .map(document -> this.jsonPathPredicate(
+                                                    FilterOperation.EQ,
+                                                    keys,
+                                                    column,
+                                                    cb,
+                                                    cb.literal(document)
+                                            ))
+                                            .toArray(Predicate[]::new));
+
+                    return filter.operation() == FilterOperation.IN
+                           ? in
+                           : in.not();
+                };
+            }
+            default -> throw this.bindingRejected(
+                    filter,
+                    "is not supported on JSON fields"
+            );
+        };
+
+        return (root, cq, cb) -> this.metrics.record(
+                FilterStage.PREDICATE_BUILDING,
+                () -> specification.toPredicate(
+                        root,
+                        cq,
+                        cb
+                )
+        );
+    }
+
+    /**
+     * Creates the JPA {@link Predicate} applying the
+     * {@link JsonPathSQLFunction} to a JSON column.
+     *
+     * @param operation The operation to render.
+     * @param keys      The dot-separated keys of the path.
+     * @param column    The path of the JSON column.
+     * @param cb        The {@link CriteriaBuilder} used to create the
+     *                  predicate.
+     * @param value     The document or scalar the operation compares with,
+     *                  if any.
+     * @return A {@link Predicate} that applies the JSON path function.
+     */
+    private Predicate jsonPathPredicate(
+            FilterOperation operation,
+            String keys,
+            Path column,
+            CriteriaBuilder cb,
+            Expression<?>... value
+    ) {
+        var arguments = new ArrayList<Expression<?>>();
+        arguments.add(cb.literal(operation.name()));
+        arguments.add(cb.literal(keys));
+        arguments.add(column);
+        Collections.addAll(
+                arguments,
+                value
+        );
+
+        return cb.function(
+                         JsonPathSQLFunction.FUNC_NAME,
+                         Boolean.class,
+                         arguments.toArray(Expression[]::new)
+                 )
+                 .in(true);
+    }
+
+    /**
+     * Resolves the type of the filtered field in
+     * {@link FilterBindingMode#STRICT} mode.
+     *
+     * @param filter      The filter criteria containing the field.
+     * @param genericType The type of entity being filtered.
+     * @return The type of the field, or of its elements for collections.
+     * @throws FilterRejectedException if the field does not exist
+     */
+    private Class<?> strictFieldType(
+            FilterRequest filter,
+            Class<?> genericType
+    ) {
+        try {
+            return FieldPathResolver.resolve(
+                                            genericType,
+                                            filter.field()
+                                    )
+                                    .type();
+        } catch (IllegalArgumentException e) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    e.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Converts a single value to the native type of the field in
+     * {@link FilterBindingMode#STRICT} mode.
+     *
+     * @param filter    The filter the value belongs to.
+     * @param fieldType The type of the filtered field.
+     * @param value     The value to convert.
+     * @return The value as an instance of the field type.
+     * @throws FilterRejectedException if the value is missing, cannot be
+     *                                 converted, or is converted into
+     *                                 another type
+     */
+    private Comparable strictConvert(
+            FilterRequest filter,
+            Class<?> fieldType,
+            Object value
+    ) {
+        if (value == null || value instanceof Collection<?>) {
+            throw this.bindingRejected(
+                    filter,
+                    "expects a single value"
+            );
+        }
+
+        var converted = (Comparable) null;
+        try {
+            converted = this.converter.convert(
+                    fieldType,
+                    value.toString()
+            );
+        } catch (RuntimeException e) {
+            throw this.bindingRejected(
+                    filter,
+                    "cannot bind '" + value + "' to "
+                            + fieldType.getSimpleName()
+            );
+        }
+
+        if (!ClassUtils.resolvePrimitiveIfNecessary(fieldType)
+                       .isInstance(converted)) {
+            throw this.bindingRejected(
+                    filter,
+                    "cannot bind '" + value + "' to "
+                            + fieldType.getSimpleName()
+            );
+        }
+
+        return converted;
+    }
+
+    /**
+     * Rewrites a prefix match on a date field into the date range the
+     * prefix covers, instead of casting the column to a string.
+     *
+     * @param filter    The filter criteria containing the field and prefix.
+     * @param fieldType The type of the filtered field.
+     * @return A {@link Specification} for the date range.
+     * @throws FilterRejectedException if the field is not a date or the
+     *                                 prefix is not an ISO-8601 date prefix
+     */
+    private Specification<Object> datePrefixSpecification(
+            FilterRequest filter,
+            Class<?> fieldType
+    ) {
+        if (!LocalDate.class.equals(fieldType)
+                && !LocalDateTime.class.equals(fieldType)) {
+            throw this.bindingRejected(
+                    filter,
+                    "is only supported on text and date fields"
+            );
+        }
+
+        var range = DatePrefixRange.parse(String.valueOf(filter.value()))
+                                   .orElseThrow(() -> this.bindingRejected(
+                                           filter,
+                                           "expects a yyyy, yyyy-MM or "
+                                                   + "yyyy-MM-dd prefix"
+                                   ));
+        var start = LocalDate.class.equals(fieldType)
+                    ? (Comparable) range.start()
+                    : range.start()
+                           .atStartOfDay();
+        var end = LocalDate.class.equals(fieldType)
+                  ? (Comparable) range.end()
+                  : range.end()
+                         .atStartOfDay();
+
+        return (root, cq, cb) -> this.metrics.record(
+                FilterStage.PREDICATE_BUILDING,
+                () -> {
+                    var path = this.getPath(
+                            root,
+                            filter
+                    );
+
+                    return cb.and(
+                            cb.greaterThanOrEqualTo(
+                                    path,
+                                    start
+                            ),
+                            cb.lessThan(
+                                    path,
+                                    end
+                            )
+                    );
+                }
+        );
+    }
+
+    /**
+     * Creates the client error for a filter that cannot be bound in
+     * {@link FilterBindingMode#STRICT} mode.
+     *
+     * @param filter The rejected filter.
+     * @param reason Why the filter was rejected.
+     * @return The exception to throw.
+     */
+    private FilterRejectedException bindingRejected(
+            FilterRequest filter,
+            String reason
+    ) {
+        return new FilterRejectedException(
+                HttpStatus.BAD_REQUEST,
+                filter.operation() + " on '" + filter.field() + "' " + reason
+        );
+    }
+
     /**
      * Combines two specifications using the specified logical operator.
      *
@@ -328,6 +1232,7 @@ public class FilterJsonArgumentResolver
      * @param value       The value to compare or match against, properly
      *                    converted.
      * @param root        The root of the query from which paths are derived.
+     * @param query       The query being built, used to order by relevance.
      * @param cb          The {@link CriteriaBuilder} used to construct the
      *                    query predicates.
      * @return A {@link Predicate} representing the filter condition.
@@ -337,6 +1242,7 @@ public class FilterJsonArgumentResolver
             Class<?> genericType,
             Comparable value,
             Root<Object> root,
+            CriteriaQuery<?> query,
             CriteriaBuilder cb
     ) {
         return switch (filter.operation()) {
@@ -383,28 +1289,27 @@ public class FilterJsonArgumentResolver
                     ),
                     value
             );
-            case BEGINS_WITH -> cb.like(
-                    this.getPath(
-                                root,
-                                filter
-                        )
-                        .as(String.class),
-                    filter.value() + "%"
+            case BEGINS_WITH -> this.beginsWith(
+                    filter,
+                    genericType,
+                    root,
+                    cb,
+                    false
             );
             case ENDS_WITH -> cb.like(
-                    this.getPath(
-                                root,
-                                filter
-                        )
-                        .as(String.class),
+                    this.getStringPath(
+                            root,
+                            filter,
+                            genericType
+                    ),
                     "%" + filter.value()
             );
             case CONTAINS -> cb.like(
-                    this.getPath(
-                                root,
-                                filter
-                        )
-                        .as(String.class),
+                    this.getStringPath(
+                            root,
+                            filter,
+                            genericType
+                    ),
                     "%" + filter.value() + "%"
             );
             case IN -> this.in(
@@ -417,24 +1322,44 @@ public class FilterJsonArgumentResolver
                     genericType,
                     root
             );
-            case BEGINS_WITH_CASEINS -> this.caseInsensitiveLikeFunction(
+            case BEGINS_WITH_CASEINS -> this.beginsWith(
                     filter,
+                    genericType,
                     root,
                     cb,
-                    filter.value() + "%"
+                    true
             );
             case ENDS_WITH_CASEINS -> this.caseInsensitiveLikeFunction(
                     filter,
+                    genericType,
                     root,
                     cb,
                     "%" + filter.value()
             );
             case CONTAINS_CASEINS -> this.caseInsensitiveLikeFunction(
                     filter,
+                    genericType,
                     root,
                     cb,
                     "%" + filter.value() + "%"
             );
+            case SEARCH -> this.search(
+                    filter,
+                    genericType,
+                    root,
+                    query,
+                    cb
+            );
+            case OVERLAPS, CONTAINS_ALL, CONTAINED_BY -> this.arrayPredicate(
+                    filter,
+                    genericType,
+                    root,
+                    cb
+            );
+            case WITHIN_RADIUS, WITHIN_BOX ->
+                    throw new IllegalStateException("Geographic filters are "
+                                                            + "built by "
+                                                            + "getGeoSpecification");
         };
     }
 
@@ -458,9 +1383,9 @@ public class FilterJsonArgumentResolver
             String value
     ) {
         try {
-            var fieldInfo = this.getFieldInfo(
-                    field,
-                    type
+            var fieldInfo = FieldPathResolver.resolve(
+                    type,
+                    field
             );
 
             return this.converter.convert(
@@ -498,9 +1423,9 @@ public class FilterJsonArgumentResolver
         try {
             return value.stream()
                         .map(v -> {
-                            var fieldInfo = this.getFieldInfo(
-                                    field,
-                                    type
+                            var fieldInfo = FieldPathResolver.resolve(
+                                    type,
+                                    field
                             );
 
                             return this.converter.convert(
@@ -535,104 +1460,91 @@ public class FilterJsonArgumentResolver
             Root<Object> root,
             FilterRequest filter
     ) {
-        var paths = filter.field()
-                          .split("\\.");
-        var path = this.joinOrGet(
+        return this.getPath(
                 root,
-                paths[0]
+                filter.field()
         );
-        for (var i = 1; i < paths.length; i++) {
-            path = this.joinOrGet(
-                    path,
-                    paths[i]
-            );
-        }
-
-        return path;
     }
 
     /**
-     * Joins a path to the next segment or retrieves the next segment if it
-     * already exists. This method assists in navigating nested paths in
-     * entity models.
+     * Retrieves a {@link Path} for a dot-separated entity field from a
+     * {@link Root} object.
      *
-     * @param path  The current {@link Path} from which the next segment
-     *              should be retrieved or joined.
-     * @param field The field name representing the next segment of the path.
-     * @return The updated {@link Path} including the next segment.
+     * @param root  The {@link Root} object from which to start the path
+     *              retrieval.
+     * @param field The field, which may include nested properties.
+     * @return A {@link Path} object representing the location of the field
+     * within the entity model.
      */
-    private Path joinOrGet(
-            Path path,
+    private Path getPath(
+            Root<Object> root,
             String field
     ) {
-        return path.get(field);
+        return this.metrics.record(
+                FilterStage.PATH_RESOLUTION,
+                () -> {
+                    var paths = field.split("\\.");
+                    var path = this.joinOrGet(
+                            root,
+                            paths[0]
+                    );
+                    for (var i = 1; i < paths.length; i++) {
+                        path = this.joinOrGet(
+                                path,
+                                paths[i]
+                        );
+                    }
+
+                    return path;
+                }
+        );
     }
 
     /**
-     * Retrieves detailed information about a field specified by a
-     * dot-separated path within a class hierarchy. This method recursively
-     * resolves each segment of the field path to determine the final field
-     * and its type, which can be used for type conversion and query
-     * generation purposes.
+     * Retrieves the {@link Path} of a field for a string operation. Only
+     * non-string fields are cast to a string, since a cast on the column
+     * keeps the database from using its index.
      *
-     * @param fieldPath The dot-separated path to the field in the class
-     *                  hierarchy.
-     * @param type      The starting class from which to resolve the field path.
-     * @return A {@link FieldInfo} object containing the resolved
-     * {@link Field} and its type.
+     * @param root        The {@link Root} object from which to start the
+     *                    path retrieval.
+     * @param filter      The {@link FilterRequest} containing the field.
+     * @param genericType The type of entity being filtered.
+     * @return The path of the field as a string expression.
      */
-    private FieldInfo getFieldInfo(
-            String fieldPath,
-            Class<?> type
+    private Expression<String> getStringPath(
+            Root<Object> root,
+            FilterRequest filter,
+            Class<?> genericType
     ) {
-        var fields = fieldPath.split("\\.");
-        var field = (Field) null;
-        var currentType = type;
-        var index = 0;
-
-        do {
-            field = this.getFieldFromTypeChain(
-                    fields[index++],
-                    currentType
-            );
-            currentType = Collection.class.isAssignableFrom(field.getType())
-                          ?
-                          (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0]
-                          : field.getType();
-        } while (index < fields.length);
-
-        return new FieldInfo(
-                field,
-                currentType
+        var path = this.getPath(
+                root,
+                filter
         );
+
+        return String.class.equals(FieldPathResolver.resolve(
+                                                            genericType,
+                                                            filter.field()
+                                                    )
+                                                    .type())
+               ? path
+               : path.as(String.class);
     }
 
     /**
-     * Recursively retrieves a {@link Field} from a class or its superclass
-     * hierarchy based on the field name provided. This method attempts to
-     * find the field in the given class and, if not found, continues to
-     * search in the superclass, recursively moving up the class hierarchy
-     * until the field is found or no superclass remains.
+     * Joins a path to the next segment or retrieves the next segment if it
+     * already exists. This method assists in navigating nested paths in
+     * entity models.
      *
-     * @param field The name of the field to retrieve.
-     * @param type  The class from which to start the search.
-     * @return The {@link Field} object corresponding to the specified field
-     * name.
-     * @throws NoSuchFieldException if the field cannot be found in the class
-     *                              hierarchy.
+     * @param path  The current {@link Path} from which the next segment
+     *              should be retrieved or joined.
+     * @param field The field name representing the next segment of the path.
+     * @return The updated {@link Path} including the next segment.
      */
-    private Field getFieldFromTypeChain(
-            String field,
-            Class<?> type
+    private Path joinOrGet(
+            Path path,
+            String field
     ) {
-        try {
-            return type.getDeclaredField(field);
-        } catch (NoSuchFieldException ignored) {
-            return this.getFieldFromTypeChain(
-                    field,
-                    type.getSuperclass()
-            );
-        }
+        return path.get(field);
     }
 
     /**
@@ -651,15 +1563,20 @@ public class FilterJsonArgumentResolver
             Class<?> genericType,
             Root<Object> root
     ) {
+        var values = this.metrics.record(
+                FilterStage.CONVERSION,
+                () -> this.convertValue(
+                        filter.field(),
+                        genericType,
+                        (List<? extends Comparable>) filter.value()
+                )
+        );
+
         return this.getPath(
                            root,
                            filter
                    )
-                   .in(this.convertValue(
-                           filter.field(),
-                           genericType,
-                           (List<? extends Comparable>) filter.value()
-                   ));
+                   .in(values);
     }
 
     /**
@@ -686,21 +1603,164 @@ public class FilterJsonArgumentResolver
                    .not();
     }
 
+    /**
+     * Creates a JPA {@link Predicate} for an array operation in
+     * {@link FilterBindingMode#LENIENT} mode, converting the values to the
+     * element type of the array field.
+     *
+     * @param filter      The filter criteria containing the field and the
+     *                    list of values.
+     * @param genericType The class type of the entities being queried.
+     * @param root        The root of the query from which the field path is
+     *                    derived.
+     * @param cb          The {@link CriteriaBuilder} used to create the
+     *                    predicate.
+     * @return A {@link Predicate} for the array operation.
+     * @throws FilterRejectedException if the field is not an array or a
+     *                                 value cannot be converted
+     */
+    private Predicate arrayPredicate(
+            FilterRequest filter,
+            Class<?> genericType,
+            Root<Object> root,
+            CriteriaBuilder cb
+    ) {
+        var fieldType = FieldPathResolver.resolve(
+                                                 genericType,
+                                                 filter.field()
+                                         )
+                                         .type();
+        var values = this.metrics.record(
+                FilterStage.CONVERSION,
+                () -> this.arrayValues(
+                        filter,
+                        fieldType,
+                        value -> this.converter.convert(
+                                fieldType.getComponentType(),
+                                value.toString()
+                        )
+                )
+        );
+
+        return this.arrayPredicate(
+                filter.operation(),
+                this.getPath(
+                        root,
+                        filter
+                ),
+                values,
+                cb
+        );
+    }
+
+    /**
+     * Creates a JPA {@link Predicate} comparing an array column with the
+     * given values using a custom SQL function. The values are bound as a
+     * single parameter rather than rendered as literals.
+     *
+     * @param operation The array operation.
+     * @param path      The path of the array field.
+     * @param values    The values, as an array of the field type.
+     * @param cb        The {@link CriteriaBuilder} used to create the
+     *                  predicate.
+     * @return A {@link Predicate} for the array operation.
+     */
+    private Predicate arrayPredicate(
+            FilterOperation operation,
+            Path path,
+            Object[] values,
+            CriteriaBuilder cb
+    ) {
+        return cb.function(
+                         ArraySQLFunction.FUNC_NAME,
+                         Boolean.class,
+                         cb.literal(operation.name()),
+                         path,
+                         ((HibernateCriteriaBuilder) cb).value(values)
+                 )
+                 .in(true);
+    }
+
+    /**
+     * Converts the list of values of an array operation into an array of
+     * the type of the field.
+     *
+     * @param filter    The array operation.
+     * @param fieldType The type of the filtered field.
+     * @param convert   Converts a single value to the element type.
+     * @return The values as an array of the field type.
+     * @throws FilterRejectedException if the field is not an array of
+     *                                 objects, the value is not a list or
+     *                                 a value cannot be converted
+     */
+    private Object[] arrayValues(
+            FilterRequest filter,
+            Class<?> fieldType,
+            Function<Object, Object> convert
+    ) {
+        if (!fieldType.isArray() || fieldType.getComponentType()
+                                             .isPrimitive()) {
+            throw this.bindingRejected(
+                    filter,
+                    "is only supported on array fields"
+            );
+        }
+        if (!(filter.value() instanceof Collection<?> values)) {
+            throw this.bindingRejected(
+                    filter,
+                    "expects a list of values"
+            );
+        }
+
+        var array = (Object[]) Array.newInstance(
+                fieldType.getComponentType(),
+                values.size()
+        );
+        var index = 0;
+        for (var value : values) {
+            if (value == null) {
+                throw this.bindingRejected(
+                        filter,
+                        "does not accept null values"
+                );
+            }
+
+            try {
+                array[index++] = convert.apply(value);
+            } catch (FilterRejectedException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw this.bindingRejected(
+                        filter,
+                        "cannot bind '" + value + "' to "
+                                + fieldType.getComponentType()
+                                           .getSimpleName()
+                );
+            }
+        }
+
+        return array;
+    }
+
     /**
      * Creates a JPA {@link Predicate} using a custom SQL function for
-     * case-insensitive LIKE matching.
-     *
-     * @param filter  The filter criteria containing the field and value.
-     * @param root    The root of the query from which the field path is
-     *                derived.
-     * @param cb      The {@link CriteriaBuilder} used to create the predicate.
-     * @param literal The literal value to be matched in a case-insensitive
-     *                manner.
+     * case-insensitive LIKE matching. The pattern is lower-cased here once,
+     * so the database does not have to lower it for every row.
+     *
+     * @param filter      The filter criteria containing the field and value.
+     * @param genericType The type of entity being filtered.
+     * @param root        The root of the query from which the field path is
+     *                    derived.
+     * @param cb          The {@link CriteriaBuilder} used to create the
+     *                    predicate.
+     * @param literal     The literal value to be matched in a
+     *                    case-insensitive manner.
      * @return A {@link Predicate} that applies the custom case-insensitive
      * LIKE SQL function.
      */
     private Predicate caseInsensitiveLikeFunction(
             FilterRequest filter,
+            Class<?> genericType,
             Root<Object> root,
             CriteriaBuilder cb,
             String literal
@@ -708,13 +1768,229 @@ public class FilterJsonArgumentResolver
         return cb.function(
                          CaseInsensitiveLikeSQLFunction.FUNC_NAME,
                          Boolean.class,
-                         this.getPath(
-                                     root,
-                                     filter
-                             )
-                             .as(String.class),
-                         cb.literal(literal)
+                         this.getStringPath(
+                                 root,
+                                 filter,
+                                 genericType
+                         ),
+                         cb.literal(literal.toLowerCase(Locale.ROOT))
+                 )
+                 .in(true);
+    }
+
+    /**
+     * Creates a JPA {@link Predicate} for a prefix match. String columns
+     * are matched through {@link #prefixMatch}, without casting the
+     * column; other columns keep the cast {@code LIKE}.
+     *
+     * @param filter          The filter criteria containing the field and
+     *                        the prefix.
+     * @param genericType     The class type of the entities being queried.
+     * @param root            The root of the query from which the field
+     *                        path is derived.
+     * @param cb              The {@link CriteriaBuilder} used to create the
+     *                        predicate.
+     * @param caseInsensitive Whether the prefix is matched
+     *                        case-insensitively.
+     * @return A {@link Predicate} for the prefix match.
+     */
+    private Predicate beginsWith(
+            FilterRequest filter,
+            Class<?> genericType,
+            Root<Object> root,
+            CriteriaBuilder cb,
+            boolean caseInsensitive
+    ) {
+        var fieldType = FieldPathResolver.resolve(
+                                                 genericType,
+                                                 filter.field()
+                                         )
+                                         .type();
+        if (String.class.equals(fieldType)) {
+            return this.prefixMatch(
+                    filter,
+                    root,
+                    cb,
+                    caseInsensitive
+            );
+        }
+
+        return caseInsensitive
+               ? this.caseInsensitiveLikeFunction(
+                filter,
+                genericType,
+                root,
+                cb,
+                filter.value() + "%"
+        )
+               : cb.like(
+                       this.getPath(
+                                   root,
+                                   filter
+                           )
+                           .as(String.class),
+                       filter.value() + "%"
+               );
+    }
+
+    /**
+     * Creates a JPA {@link Predicate} for a prefix match on a string column
+     * using the {@link PrefixMatchSQLFunction} registered by the dialect.
+     * The function receives both the {@code LIKE} pattern and the
+     * half-open range {@code [prefix, upper bound)}, so the dialect can
+     * render whichever form its collation supports. A prefix containing
+     * {@code LIKE} wildcards only receives the pattern, as a range would
+     * match the wildcards literally. For the case-insensitive variant the
+     * prefix is lower-cased once here.
+     *
+     * @param filter          The filter criteria containing the field and
+     *                        the prefix.
+     * @param root            The root of the query from which the field
+     *                        path is derived.
+     * @param cb              The {@link CriteriaBuilder} used to create the
+     *                        predicate.
+     * @param caseInsensitive Whether the prefix is matched
+     *                        case-insensitively.
+     * @return A {@link Predicate} that applies the prefix match function.
+     */
+    private Predicate prefixMatch(
+            FilterRequest filter,
+            Root<Object> root,
+            CriteriaBuilder cb,
+            boolean caseInsensitive
+    ) {
+        var prefix = caseInsensitive
+                     ? filter.value()
+                             .toString()
+                             .toLowerCase(Locale.ROOT)
+                     : filter.value()
+                             .toString();
+
+        var arguments = new ArrayList<Expression<?>>();
+        arguments.add(this.getPath(
+                root,
+                filter
+        ));
+        arguments.add(cb.literal(prefix + "%"));
+        if (prefix.indexOf('%') < 0 && prefix.indexOf('_') < 0) {
+            arguments.add(cb.literal(prefix));
+            PrefixBounds.upperBound(prefix)
+                        .ifPresent(upperBound -> arguments.add(cb.literal(upperBound)));
+        }
+
+        return cb.function(
+                         caseInsensitive
+                         ? PrefixMatchSQLFunction.CASE_INSENSITIVE_FUNC_NAME
+                         : PrefixMatchSQLFunction.FUNC_NAME,
+                         Boolean.class,
+                         arguments.toArray(Expression[]::new)
                  )
                  .in(true);
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates a JPA {@link Predicate} matching the field against its text
+     * index through the {@link TextSearchSQLFunction} registered by the
+     * dialect. The indexed document, search mode and configuration are
+     * taken from the {@link SearchField} of the field, if any. When the
+     * mapping asks for relevance ordering and the query selects the root
+     * entities, rather than counting or aggregating them, the query is
+     * ordered by descending relevance; a sort requested by the
+     * client is applied afterwards and takes precedence.
+     *
+     * @param filter      The filter criteria containing the field and the
+     *                    search query.
+     * @param genericType The class type of the entities being queried.
+     * @param root        The root of the query from which the field paths
+     *                    are derived.
+     * @param query       The query being built.
+     * @param cb          The {@link CriteriaBuilder} used to create the
+     *                    predicate.
+     * @return A {@link Predicate} that applies the text search function.
+     */
+    private Predicate search(
+            FilterRequest filter,
+            Class<?> genericType,
+            Root<Object> root,
+            CriteriaQuery<?> query,
+            CriteriaBuilder cb
+    ) {
+        var searchField = FieldPathResolver.resolve(
+                                                   genericType,
+                                                   filter.field()
+                                           )
+                                           .field()
+                                           .getAnnotation(SearchField.class);
+        var mode = searchField == null
+                   ? SearchMode.FULL_TEXT
+                   : searchField.mode();
+        var configuration = searchField == null
+                            ? SearchField.DEFAULT_CONFIGURATION
+                            : searchField.configuration();
+
+        var arguments = new ArrayList<Expression<?>>();
+        arguments.add(cb.literal(mode.name()));
+        arguments.add(cb.literal(configuration));
+        arguments.add(cb.literal(filter.value()
+                                       .toString()));
+        if (searchField == null || searchField.paths().length == 0) {
+            arguments.add(this.getPath(
+                    root,
+                    filter
+            ));
+        } else {
+            var prefix = filter.field()
+                               .substring(
+                                       0,
+                                       filter.field()
+                                             .lastIndexOf('.') + 1
+                               );
+            for (var path : searchField.paths()) {
+                arguments.add(this.getPath(
+                        root,
+                        prefix + path
+                ));
+            }
+        }
+        var functionArguments = arguments.toArray(Expression[]::new);
+
+        if (searchField != null && searchField.orderByRelevance()
+                && selectsRoot(
+                        query,
+                        root
+                )) {
+            query.orderBy(cb.desc(cb.function(
+                    TextSearchSQLFunction.RANK_FUNC_NAME,
+                    Double.class,
+                    functionArguments
+            )));
+        }
+
+        return cb.function(
+                         TextSearchSQLFunction.FUNC_NAME,
+                         Boolean.class,
+                         functionArguments
+                 )
+                 .in(true);
+    }
+
+    /**
+     * Checks whether a query selects the root entities, the only queries
+     * a filter orders; counts, aggregates and projections keep their own
+     * ordering.
+     *
+     * @param query The query being built, may be {@code null}.
+     * @param root  The root of the query.
+     * @return Whether the query selects the root entities.
+     */
+    private static boolean selectsRoot(
+            CriteriaQuery<?> query,
+            Root<Object> root
+    ) {
+        var resultType = query == null
+                         ? null
+                         : query.getResultType();
+
+        return resultType != null && resultType.equals(root.getJavaType());
+    }
+}
@@ -0,0 +1,127 @@
+package bg.codexio.springframework.data.jpa.requery.resolver;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.JsonPathSQLFunction;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A filter field reaching into a JSON column, such as
+ * {@code attributes.color} for an {@code attributes} field mapped with
+ * {@code @JdbcTypeCode(SqlTypes.JSON)}.
+ *
+ * @param column the dot-separated path of the JSON field on the entity
+ * @param keys   the keys of the path inside the JSON document
+ */
+record JsonFieldPath(
+        String column,
+        List<String> keys
+) {
+    /**
+     * Splits a filter field into the JSON field it goes through and the
+     * keys inside it.
+     *
+     * @param entityType the entity type being filtered
+     * @param field      the dot-separated filter field
+     * @return the JSON path, or empty if the field does not go through a
+     * JSON field or cannot be resolved
+     * @throws FilterRejectedException with {@code 400 Bad Request} if a key
+     *                                 inside the JSON field is not an
+     *                                 identifier
+     */
+    static Optional<JsonFieldPath> resolve(
+            Class<?> entityType,
+            String field
+    ) {
+        var segments = field.split("\\.");
+        for (var length = 1; length < segments.length; length++) {
+            var column = String.join(
+                    ".",
+                    Arrays.copyOf(
+                            segments,
+                            length
+                    )
+            );
+            FieldInfo fieldInfo;
+            try {
+                fieldInfo = FieldPathResolver.resolve(
+                        entityType,
+                        column
+                );
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+
+            var jdbcTypeCode = fieldInfo.field()
+                                        .getAnnotation(JdbcTypeCode.class);
+            if (jdbcTypeCode != null && jdbcTypeCode.value() == SqlTypes.JSON) {
+                var keys = List.of(Arrays.copyOfRange(
+                        segments,
+                        length,
+                        segments.length
+                ));
+                for (var key : keys) {
+                    if (!JsonPathSQLFunction.isKey(key)) {
+                        throw new FilterRejectedException(
+                                HttpStatus.BAD_REQUEST,
+                                "Invalid JSON key '" + key + "' in '"
+                                        + field + "'"
+                        );
+                    }
+                }
+
+                return Optional.of(new JsonFieldPath(
+                        column,
+                        keys
+                ));
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Builds the JSON document holding a value at this path, e.g.
+     * {@code {"color":"red"}}, which a column contains when the value at
+     * the path equals the given one.
+     *
+     * @param value the value of the filter
+     * @return the JSON document
+     */
+    String document(Object value) {
+        var document = this.scalar(value);
+        for (var i = this.keys.size() - 1; i >= 0; i--) {
+            var parent = JsonNodeFactory.instance.objectNode();
+            parent.set(
+                    this.keys.get(i),
+                    document
+            );
+            document = parent;
+        }
+
+        return document.toString();
+    }
+
+    /**
+     * @param value a scalar value of a filter
+     * @return the value as a JSON node, keeping numbers and booleans typed
+     */
+    private JsonNode scalar(Object value) {
+        return switch (value) {
+            case Boolean bool -> JsonNodeFactory.instance.booleanNode(bool);
+            case Integer number -> JsonNodeFactory.instance.numberNode(number);
+            case Long number -> JsonNodeFactory.instance.numberNode(number);
+            case Number number ->
+                    JsonNodeFactory.instance.numberNode(new BigDecimal(number.toString()));
+            default -> JsonNodeFactory.instance.textNode(value.toString());
+        };
+    }
+}
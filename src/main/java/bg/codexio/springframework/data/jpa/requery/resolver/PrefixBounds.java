@@ -0,0 +1,59 @@
+package bg.codexio.springframework.data.jpa.requery.resolver;
+
+import java.util.Optional;
+
+/**
+ * Computes the half-open range {@code [prefix, upperBound(prefix))} that
+ * contains exactly the strings starting with a prefix when strings are
+ * ordered by code point, as in binary and {@code C} collations.
+ */
+public final class PrefixBounds {
+    private PrefixBounds() {
+    }
+
+    /**
+     * Computes the smallest string greater than every string starting with
+     * the given prefix. The last code point that can be incremented is
+     * incremented and everything after it dropped, skipping the surrogate
+     * range so the result is always a valid string.
+     *
+     * @param prefix the prefix to bound
+     * @return the exclusive upper bound, or empty if every code point of
+     * the prefix is {@link Character#MAX_CODE_POINT} and there is no upper
+     * bound
+     */
+    public static Optional<String> upperBound(String prefix) {
+        var codePoints = prefix.codePoints()
+                               .toArray();
+
+        for (var i = codePoints.length - 1; i >= 0; i--) {
+            var next = nextCodePoint(codePoints[i]);
+            if (next < 0) {
+                continue;
+            }
+
+            var upperBound = new StringBuilder(prefix.length());
+            for (var j = 0; j < i; j++) {
+                upperBound.appendCodePoint(codePoints[j]);
+            }
+
+            return Optional.of(upperBound.appendCodePoint(next)
+                                         .toString());
+        }
+
+        return Optional.empty();
+    }
+
+    private static int nextCodePoint(int codePoint) {
+        if (codePoint == Character.MAX_CODE_POINT) {
+            return -1;
+        }
+
+        var next = codePoint + 1;
+
+        return next >= Character.MIN_SURROGATE
+                       && next <= Character.MAX_SURROGATE
+               ? Character.MAX_SURROGATE + 1
+               : next;
+    }
+}
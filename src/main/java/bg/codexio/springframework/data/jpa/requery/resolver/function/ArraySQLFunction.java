@@ -0,0 +1,147 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.NamedSqmFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionArgumentTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.Literal;
+
+import java.util.List;
+
+/**
+ * Base SQL function descriptor for the {@code OVERLAPS},
+ * {@code CONTAINS_ALL} and {@code CONTAINED_BY} operations on array
+ * attributes.
+ *
+ * <p>The arguments are the filter operation as a literal, the array column
+ * and the values. The values are bound as a single parameter, whose type
+ * is inferred from the column, so the statement text does not depend on
+ * how many values are given.</p>
+ */
+public abstract class ArraySQLFunction
+        extends NamedSqmFunctionDescriptor {
+
+    public static final String FUNC_NAME = "requery_array";
+
+    protected ArraySQLFunction() {
+        super(
+                ArraySQLFunction.FUNC_NAME,
+                true,
+                StandardArgumentsValidators.exactly(3),
+                null,
+                StandardFunctionArgumentTypeResolvers.argumentsOrImplied(1)
+        );
+    }
+
+    /**
+     * Reads the operation from its literal argument.
+     *
+     * @param argument the argument to read
+     * @return the name of the operation
+     * @throws IllegalArgumentException if the argument is not a literal
+     */
+    private static String operation(SqlAstNode argument) {
+        if (argument instanceof Literal literal) {
+            return String.valueOf(literal.getLiteralValue());
+        }
+
+        throw new IllegalArgumentException("Expected a literal array "
+                                                   + "operation but got "
+                                                   + argument);
+    }
+
+    /**
+     * Renders the boolean expression of the array operation.
+     *
+     * @param sqlAppender the appender to which the SQL is written
+     * @param arguments   the operation, column and values, in that order
+     * @param walker      the SQL AST translator that handles the rendering
+     *                    of {@link SqlAstNode} instances
+     */
+    @Override
+    public void render(
+            SqlAppender sqlAppender,
+            List<? extends SqlAstNode> arguments,
+            ReturnableType<?> returnType,
+            SqlAstTranslator<?> walker
+    ) {
+        var operation = operation(arguments.get(0));
+        var column = arguments.get(1);
+        var values = arguments.get(2);
+
+        switch (operation) {
+            case "OVERLAPS" -> this.renderOverlaps(
+                    sqlAppender,
+                    column,
+                    values,
+                    walker
+            );
+            case "CONTAINS_ALL" -> this.renderContains(
+                    sqlAppender,
+                    column,
+                    values,
+                    walker
+            );
+            case "CONTAINED_BY" -> this.renderContainedBy(
+                    sqlAppender,
+                    column,
+                    values,
+                    walker
+            );
+            default -> throw new IllegalArgumentException("Unsupported array "
+                                                                  + "operation "
+                                                                  + operation);
+        }
+    }
+
+    /**
+     * Renders a boolean expression that is true when the column and the
+     * values have an element in common.
+     *
+     * @param sqlAppender the appender to which the SQL is written
+     * @param column      the array column
+     * @param values      the bound values
+     * @param walker      the SQL AST translator
+     */
+    protected abstract void renderOverlaps(
+            SqlAppender sqlAppender,
+            SqlAstNode column,
+            SqlAstNode values,
+            SqlAstTranslator<?> walker
+    );
+
+    /**
+     * Renders a boolean expression that is true when the column holds
+     * every one of the values.
+     *
+     * @param sqlAppender the appender to which the SQL is written
+     * @param column      the array column
+     * @param values      the bound values
+     * @param walker      the SQL AST translator
+     */
+    protected abstract void renderContains(
+            SqlAppender sqlAppender,
+            SqlAstNode column,
+            SqlAstNode values,
+            SqlAstTranslator<?> walker
+    );
+
+    /**
+     * Renders a boolean expression that is true when every element of the
+     * column is one of the values.
+     *
+     * @param sqlAppender the appender to which the SQL is written
+     * @param column      the array column
+     * @param values      the bound values
+     * @param walker      the SQL AST translator
+     */
+    protected abstract void renderContainedBy(
+            SqlAppender sqlAppender,
+            SqlAstNode column,
+            SqlAstNode values,
+            SqlAstTranslator<?> walker
+    );
+}
@@ -14,27 +14,36 @@ import java.util.List;
  * A SQL function descriptor for Hibernate that renders a case-insensitive
  * "LIKE" SQL operation.
  *
- * <p>This function assumes the SQL dialect supports the LOWER function and
- * that it will be applied
- * to string type columns or values.</p>
+ * <p>The pattern passed as second argument must already be lower-cased,
+ * which the {@code FilterJsonArgumentResolver} does once in Java instead of
+ * having the database lower it for every row. The column side is rendered
+ * according to the {@link CaseInsensitiveLikeStrategy} chosen by the
+ * dialect.</p>
  */
 public class CaseInsensitiveLikeSQLFunction
         extends NamedSqmFunctionDescriptor {
 
     public static final String FUNC_NAME = "case_insensitive_like";
 
+    private final CaseInsensitiveLikeStrategy strategy;
+
     public CaseInsensitiveLikeSQLFunction() {
+        this(CaseInsensitiveLikeStrategy.LOWER_LIKE);
+    }
+
+    public CaseInsensitiveLikeSQLFunction(CaseInsensitiveLikeStrategy strategy) {
         super(
                 CaseInsensitiveLikeSQLFunction.FUNC_NAME,
                 true,
                 StandardArgumentsValidators.exactly(2),
                 null
         );
+        this.strategy = strategy;
     }
 
     /**
-     * Renders the SQL for a case-insensitive LIKE operation using the LOWER
-     * function on both sides of the LIKE operator.
+     * Renders the SQL for a case-insensitive LIKE operation according to
+     * the {@link CaseInsensitiveLikeStrategy} of this function.
      *
      * @param sqlAppender the appender to which the SQL is written
      * @param arguments   the arguments of the SQL function, expecting
@@ -48,16 +57,36 @@ public class CaseInsensitiveLikeSQLFunction
             ReturnableType<?> returnType,
             SqlAstTranslator<?> walker
     ) {
-        sqlAppender.appendSql("(LOWER(");
-        walker.render(
-                arguments.get(0),
-                SqlAstNodeRenderingMode.DEFAULT
-        );
-        sqlAppender.appendSql(") LIKE LOWER(");
+        switch (this.strategy) {
+            case LOWER_LIKE -> {
+                sqlAppender.appendSql("(LOWER(");
+                walker.render(
+                        arguments.get(0),
+                        SqlAstNodeRenderingMode.DEFAULT
+                );
+                sqlAppender.appendSql(") LIKE ");
+            }
+            case ILIKE -> {
+                sqlAppender.appendSql("(");
+                walker.render(
+                        arguments.get(0),
+                        SqlAstNodeRenderingMode.DEFAULT
+                );
+                sqlAppender.appendSql(" ILIKE ");
+            }
+            case COLLATION_LIKE -> {
+                sqlAppender.appendSql("(");
+                walker.render(
+                        arguments.get(0),
+                        SqlAstNodeRenderingMode.DEFAULT
+                );
+                sqlAppender.appendSql(" LIKE ");
+            }
+        }
         walker.render(
                 arguments.get(1),
                 SqlAstNodeRenderingMode.DEFAULT
         );
-        sqlAppender.appendSql("))");
+        sqlAppender.appendSql(")");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+/**
+ * How {@link CaseInsensitiveLikeSQLFunction} renders a case-insensitive
+ * LIKE. In every strategy the pattern is expected to be lower-cased
+ * already, so no function is applied to the bound value.
+ */
+public enum CaseInsensitiveLikeStrategy {
+    /**
+     * Renders {@code LOWER(column) LIKE ?}, which can use an expression
+     * index on {@code lower(column)}.
+     */
+    LOWER_LIKE,
+    /**
+     * Renders {@code column ILIKE ?}, avoiding a function call per row on
+     * PostgreSQL.
+     */
+    ILIKE,
+    /**
+     * Renders {@code column LIKE ?}, for columns whose collation is already
+     * case-insensitive, such as the MySQL {@code _ci} collations.
+     */
+    COLLATION_LIKE
+}
@@ -0,0 +1,81 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.NamedSqmFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+
+import java.util.List;
+
+/**
+ * SQL function descriptors for computing several groupings in one query.
+ *
+ * <p>Used in the {@code GROUP BY} clause, {@value #FUNC_NAME} renders
+ * {@code GROUPING SETS ((a), (b), ...)}, one set per argument. Used in the
+ * {@code SELECT} clause, {@value #GROUPING_FUNC_NAME} renders
+ * {@code GROUPING(a, b, ...)}, whose result has the bit of every argument
+ * that is not part of the grouping set of the row set, the last argument
+ * being the lowest bit. Only dialects supporting grouping sets register
+ * these functions.</p>
+ */
+public class GroupingSetsSQLFunction
+        extends NamedSqmFunctionDescriptor {
+
+    public static final String FUNC_NAME = "requery_grouping_sets";
+
+    public static final String GROUPING_FUNC_NAME = "requery_grouping";
+
+    private final boolean grouping;
+
+    public GroupingSetsSQLFunction(boolean grouping) {
+        super(
+                grouping
+                ? GroupingSetsSQLFunction.GROUPING_FUNC_NAME
+                : GroupingSetsSQLFunction.FUNC_NAME,
+                true,
+                StandardArgumentsValidators.min(1),
+                null
+        );
+        this.grouping = grouping;
+    }
+
+    /**
+     * Renders the grouping sets or the grouping bit mask, depending on which
+     * of the two this function was created for.
+     *
+     * @param sqlAppender the appender to which the SQL is written
+     * @param arguments   the grouped expressions
+     * @param walker      the SQL AST translator that handles the rendering
+     *                    of {@link SqlAstNode} instances
+     */
+    @Override
+    public void render(
+            SqlAppender sqlAppender,
+            List<? extends SqlAstNode> arguments,
+            ReturnableType<?> returnType,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql(this.grouping
+                              ? "GROUPING("
+                              : "GROUPING SETS (");
+        for (var i = 0; i < arguments.size(); i++) {
+            if (i > 0) {
+                sqlAppender.appendSql(", ");
+            }
+            if (!this.grouping) {
+                sqlAppender.appendSql("(");
+            }
+            walker.render(
+                    arguments.get(i),
+                    SqlAstNodeRenderingMode.DEFAULT
+            );
+            if (!this.grouping) {
+                sqlAppender.appendSql(")");
+            }
+        }
+        sqlAppender.appendSql(")");
+    }
+}
@@ -0,0 +1,209 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.NamedSqmFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.Literal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Base SQL function descriptor for filters on a path inside a JSON column,
+ * such as {@code attributes.color}.
+ *
+ * <p>The arguments are the filter operation and the dot-separated keys of
+ * the path as literals, followed by the JSON column and, unless the
+ * operation is {@code EMPTY} or {@code NOT_EMPTY}, the value. For
+ * {@code EQ} the value is the JSON document the column must contain, e.g.
+ * {@code {"color":"red"}}; for the comparisons it is the scalar value. The
+ * keys are rendered into the SQL instead of being bound, as the database
+ * only matches an expression index against a textually identical
+ * expression, so they are restricted to identifiers.</p>
+ */
+public abstract class JsonPathSQLFunction
+        extends NamedSqmFunctionDescriptor {
+
+    public static final String FUNC_NAME = "requery_json_path";
+
+    private static final Pattern KEY_PATTERN =
+            Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    protected JsonPathSQLFunction() {
+        super(
+                JsonPathSQLFunction.FUNC_NAME,
+                true,
+                StandardArgumentsValidators.between(
+                        3,
+                        4
+                ),
+                null
+        );
+    }
+
+    /**
+     * @param key a segment of a JSON path
+     * @return {@code true} if the key can be rendered into a JSON path
+     */
+    public static boolean isKey(String key) {
+        return KEY_PATTERN.matcher(key)
+                          .matches();
+    }
+
+    /**
+     * Builds the SQL/JSON path of the given keys, e.g.
+     * {@code $."size"."width"}, as rendered by this function.
+     *
+     * @param keys the keys of the path
+     * @return the JSON path
+     * @throws IllegalArgumentException if a key is not an identifier
+     */
+    public static String jsonPath(List<String> keys) {
+        var path = new StringBuilder("$");
+        for (var key : keys) {
+            if (!isKey(key)) {
+                throw new IllegalArgumentException("Invalid JSON key '"
+                                                           + key + "'");
+            }
+            path.append(".\"")
+                .append(key)
+                .append('"');
+        }
+
+        return path.toString();
+    }
+
+    /**
+     * Reads the value of a literal argument.
+     *
+     * @param argument the argument to read
+     * @return the literal value as a string
+     * @throws IllegalArgumentException if the argument is not a literal
+     */
+    private static String literalValue(SqlAstNode argument) {
+        if (argument instanceof Literal literal) {
+            return String.valueOf(literal.getLiteralValue());
+        }
+
+        throw new IllegalArgumentException("Expected a literal JSON path "
+                                                   + "argument but got "
+                                                   + argument);
+    }
+
+    /**
+     * Renders the boolean expression of the filter operation.
+     *
+     * @param sqlAppender the appender to which the SQL is written
+     * @param arguments   the operation, keys, column and optional value,
+     *                    in that order
+     * @param walker      the SQL AST translator that handles the rendering
+     *                    of {@link SqlAstNode} instances
+     */
+    @Override
+    public void render(
+            SqlAppender sqlAppender,
+            List<? extends SqlAstNode> arguments,
+            ReturnableType<?> returnType,
+            SqlAstTranslator<?> walker
+    ) {
+        var operation = literalValue(arguments.get(0));
+        var keys = Arrays.asList(literalValue(arguments.get(1)).split("\\."));
+        var path = jsonPath(keys);
+        var column = arguments.get(2);
+
+        switch (operation) {
+            case "EQ" -> this.renderContains(
+                    sqlAppender,
+                    column,
+                    arguments.get(3),
+                    walker
+            );
+            case "GT", "GTE", "LT", "LTE" -> this.renderComparison(
+                    sqlAppender,
+                    path,
+                    column,
+                    switch (operation) {
+                        case "GT" -> ">";
+                        case "GTE" -> ">=";
+                        case "LT" -> "<";
+                        default -> "<=";
+                    },
+                    arguments.get(3),
+                    walker
+            );
+            case "EMPTY", "NOT_EMPTY" -> this.renderEmpty(
+                    sqlAppender,
+                    keys,
+                    path,
+                    column,
+                    "EMPTY".equals(operation),
+                    walker
+            );
+            default -> throw new IllegalArgumentException("Unsupported JSON "
+                                                                  + "path "
+                                                                  + "operation "
+                                                                  + operation);
+        }
+    }
+
+    /**
+     * Renders a boolean expression that is true when the column contains
+     * the given JSON document.
+     *
+     * @param sqlAppender the appender to which the SQL is written
+     * @param column      the JSON column
+     * @param document    the JSON document to look for
+     * @param walker      the SQL AST translator
+     */
+    protected abstract void renderContains(
+            SqlAppender sqlAppender,
+            SqlAstNode column,
+            SqlAstNode document,
+            SqlAstTranslator<?> walker
+    );
+
+    /**
+     * Renders a boolean expression comparing the value at a path with a
+     * scalar.
+     *
+     * @param sqlAppender the appender to which the SQL is written
+     * @param path        the validated JSON path
+     * @param column      the JSON column
+     * @param operator    the SQL comparison operator
+     * @param value       the scalar to compare with
+     * @param walker      the SQL AST translator
+     */
+    protected abstract void renderComparison(
+            SqlAppender sqlAppender,
+            String path,
+            SqlAstNode column,
+            String operator,
+            SqlAstNode value,
+            SqlAstTranslator<?> walker
+    );
+
+    /**
+     * Renders a boolean expression that is true when the path is missing
+     * or holds JSON {@code null}, or the opposite.
+     *
+     * @param sqlAppender the appender to which the SQL is written
+     * @param keys        the validated keys of the path
+     * @param path        the validated JSON path
+     * @param column      the JSON column
+     * @param empty       whether to match missing values instead of present
+     *                    ones
+     * @param walker      the SQL AST translator
+     */
+    protected abstract void renderEmpty(
+            SqlAppender sqlAppender,
+            List<String> keys,
+            String path,
+            SqlAstNode column,
+            boolean empty,
+            SqlAstTranslator<?> walker
+    );
+}
@@ -0,0 +1,98 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+
+/**
+ * Renders the array operations for MySQL, which has no array columns, on
+ * array attributes stored as {@code JSON} arrays.
+ *
+ * <p>{@code OVERLAPS} is rendered as {@code JSON_OVERLAPS(column, ?)} and
+ * {@code CONTAINS_ALL} as {@code JSON_CONTAINS(column, ?)}, both of which
+ * use the multi-valued index described by
+ * {@code RequeryEnhancedMySQLDialect#multiValuedIndexDefinition}.
+ * {@code CONTAINED_BY} is rendered as {@code JSON_CONTAINS(?, column)},
+ * which no index answers.</p>
+ */
+public class MySQLArraySQLFunction
+        extends ArraySQLFunction {
+
+    /**
+     * Renders {@code function(first, second)}.
+     *
+     * @param sqlAppender the appender to which the SQL is written
+     * @param function    the JSON function
+     * @param first       the first argument
+     * @param second      the second argument
+     * @param walker      the SQL AST translator
+     */
+    private void renderFunction(
+            SqlAppender sqlAppender,
+            String function,
+            SqlAstNode first,
+            SqlAstNode second,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql(function + "(");
+        walker.render(
+                first,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(", ");
+        walker.render(
+                second,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(")");
+    }
+
+    @Override
+    protected void renderOverlaps(
+            SqlAppender sqlAppender,
+            SqlAstNode column,
+            SqlAstNode values,
+            SqlAstTranslator<?> walker
+    ) {
+        this.renderFunction(
+                sqlAppender,
+                "JSON_OVERLAPS",
+                column,
+                values,
+                walker
+        );
+    }
+
+    @Override
+    protected void renderContains(
+            SqlAppender sqlAppender,
+            SqlAstNode column,
+            SqlAstNode values,
+            SqlAstTranslator<?> walker
+    ) {
+        this.renderFunction(
+                sqlAppender,
+                "JSON_CONTAINS",
+                column,
+                values,
+                walker
+        );
+    }
+
+    @Override
+    protected void renderContainedBy(
+            SqlAppender sqlAppender,
+            SqlAstNode column,
+            SqlAstNode values,
+            SqlAstTranslator<?> walker
+    ) {
+        this.renderFunction(
+                sqlAppender,
+                "JSON_CONTAINS",
+                values,
+                column,
+                walker
+        );
+    }
+}
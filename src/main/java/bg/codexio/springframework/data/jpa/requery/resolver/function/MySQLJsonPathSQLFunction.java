@@ -0,0 +1,100 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+
+import java.util.List;
+
+/**
+ * Renders filters on JSON paths for MySQL {@code JSON} columns.
+ *
+ * <p>{@code EQ} is rendered as {@code JSON_CONTAINS(column, ?)}. The
+ * comparisons are rendered on the unquoted value
+ * {@code column->>'$."key"'}, exactly the expression of the generated
+ * column described by
+ * {@code RequeryEnhancedMySQLDialect#jsonGeneratedColumnDefinition}, which
+ * MySQL substitutes so that its index is used.</p>
+ */
+public class MySQLJsonPathSQLFunction
+        extends JsonPathSQLFunction {
+
+    /**
+     * Builds the unquoted value expression of a path, as rendered by this
+     * function.
+     *
+     * @param column the JSON column
+     * @param keys   the keys of the path
+     * @return the value expression
+     * @throws IllegalArgumentException if a key is not an identifier
+     */
+    public static String valueExpression(
+            String column,
+            List<String> keys
+    ) {
+        return column + "->>'" + JsonPathSQLFunction.jsonPath(keys) + "'";
+    }
+
+    @Override
+    protected void renderContains(
+            SqlAppender sqlAppender,
+            SqlAstNode column,
+            SqlAstNode document,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql("JSON_CONTAINS(");
+        walker.render(
+                column,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(", ");
+        walker.render(
+                document,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(")");
+    }
+
+    @Override
+    protected void renderComparison(
+            SqlAppender sqlAppender,
+            String path,
+            SqlAstNode column,
+            String operator,
+            SqlAstNode value,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql("(");
+        walker.render(
+                column,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql("->>'" + path + "' " + operator + " ");
+        walker.render(
+                value,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(")");
+    }
+
+    @Override
+    protected void renderEmpty(
+            SqlAppender sqlAppender,
+            List<String> keys,
+            String path,
+            SqlAstNode column,
+            boolean empty,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql("(coalesce(JSON_TYPE(JSON_EXTRACT(");
+        walker.render(
+                column,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(", '" + path + "')), 'NULL') " + (empty
+                                                                 ? "="
+                                                                 : "<>")
+                                      + " 'NULL')");
+    }
+}
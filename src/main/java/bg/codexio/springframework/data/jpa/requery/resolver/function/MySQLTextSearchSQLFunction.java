@@ -0,0 +1,89 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import bg.codexio.springframework.data.jpa.requery.search.SearchMode;
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+
+import java.util.List;
+
+/**
+ * Renders the {@code SEARCH} operation for MySQL as
+ * {@code MATCH (columns) AGAINST (? IN NATURAL LANGUAGE MODE)}.
+ *
+ * <p>The columns must be exactly those of a {@code FULLTEXT} index. The
+ * relevance score is the value of the {@code MATCH} expression itself,
+ * which MySQL computes once when it appears in both the {@code WHERE} and
+ * the {@code ORDER BY} clause. The text search configuration is a
+ * PostgreSQL concept and is ignored here, and {@link SearchMode#TRIGRAM}
+ * is matched the same way, relying on an {@code ngram} full-text
+ * parser.</p>
+ */
+public class MySQLTextSearchSQLFunction
+        extends TextSearchSQLFunction {
+
+    public MySQLTextSearchSQLFunction(boolean rank) {
+        super(rank);
+    }
+
+    @Override
+    protected void renderMatch(
+            SqlAppender sqlAppender,
+            SearchMode mode,
+            String configuration,
+            SqlAstNode query,
+            List<? extends SqlAstNode> columns,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql("(");
+        this.renderMatchAgainst(
+                sqlAppender,
+                query,
+                columns,
+                walker
+        );
+        sqlAppender.appendSql(" > 0)");
+    }
+
+    @Override
+    protected void renderRank(
+            SqlAppender sqlAppender,
+            SearchMode mode,
+            String configuration,
+            SqlAstNode query,
+            List<? extends SqlAstNode> columns,
+            SqlAstTranslator<?> walker
+    ) {
+        this.renderMatchAgainst(
+                sqlAppender,
+                query,
+                columns,
+                walker
+        );
+    }
+
+    private void renderMatchAgainst(
+            SqlAppender sqlAppender,
+            SqlAstNode query,
+            List<? extends SqlAstNode> columns,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql("MATCH (");
+        for (var i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sqlAppender.appendSql(", ");
+            }
+            walker.render(
+                    columns.get(i),
+                    SqlAstNodeRenderingMode.DEFAULT
+            );
+        }
+        sqlAppender.appendSql(") AGAINST (");
+        walker.render(
+                query,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(" IN NATURAL LANGUAGE MODE)");
+    }
+}
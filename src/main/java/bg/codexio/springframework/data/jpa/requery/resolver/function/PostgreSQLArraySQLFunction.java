@@ -0,0 +1,93 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+
+/**
+ * Renders the array operations for PostgreSQL array columns with the
+ * {@code &&}, {@code @>} and {@code <@} operators, all of which a GIN index
+ * on the column answers, as described by
+ * {@code RequeryEnhancedPostgreSQLDialect#arrayIndexDefinition}.
+ */
+public class PostgreSQLArraySQLFunction
+        extends ArraySQLFunction {
+
+    /**
+     * Renders {@code (column operator values)}.
+     *
+     * @param sqlAppender the appender to which the SQL is written
+     * @param column      the array column
+     * @param operator    the array operator
+     * @param values      the bound values
+     * @param walker      the SQL AST translator
+     */
+    private void renderOperator(
+            SqlAppender sqlAppender,
+            SqlAstNode column,
+            String operator,
+            SqlAstNode values,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql("(");
+        walker.render(
+                column,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(" " + operator + " ");
+        walker.render(
+                values,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(")");
+    }
+
+    @Override
+    protected void renderOverlaps(
+            SqlAppender sqlAppender,
+            SqlAstNode column,
+            SqlAstNode values,
+            SqlAstTranslator<?> walker
+    ) {
+        this.renderOperator(
+                sqlAppender,
+                column,
+                "&&",
+                values,
+                walker
+        );
+    }
+
+    @Override
+    protected void renderContains(
+            SqlAppender sqlAppender,
+            SqlAstNode column,
+            SqlAstNode values,
+            SqlAstTranslator<?> walker
+    ) {
+        this.renderOperator(
+                sqlAppender,
+                column,
+                "@>",
+                values,
+                walker
+        );
+    }
+
+    @Override
+    protected void renderContainedBy(
+            SqlAppender sqlAppender,
+            SqlAstNode column,
+            SqlAstNode values,
+            SqlAstTranslator<?> walker
+    ) {
+        this.renderOperator(
+                sqlAppender,
+                column,
+                "<@",
+                values,
+                walker
+        );
+    }
+}
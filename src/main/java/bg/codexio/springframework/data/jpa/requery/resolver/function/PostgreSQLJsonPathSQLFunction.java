@@ -0,0 +1,88 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+
+import java.util.List;
+
+/**
+ * Renders filters on JSON paths for PostgreSQL {@code jsonb} columns.
+ *
+ * <p>{@code EQ} is rendered as the containment {@code column @> ?::jsonb},
+ * which a GIN index on the column answers, see
+ * {@code RequeryEnhancedPostgreSQLDialect#jsonIndexDefinition}. The
+ * comparisons are rendered with {@code jsonb_path_exists} and the value
+ * passed as a variable of the JSON path, which keeps JSON numbers compared
+ * as numbers but is not answered by the GIN index.</p>
+ */
+public class PostgreSQLJsonPathSQLFunction
+        extends JsonPathSQLFunction {
+
+    @Override
+    protected void renderContains(
+            SqlAppender sqlAppender,
+            SqlAstNode column,
+            SqlAstNode document,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql("(");
+        walker.render(
+                column,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(" @> cast(");
+        walker.render(
+                document,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(" as jsonb))");
+    }
+
+    @Override
+    protected void renderComparison(
+            SqlAppender sqlAppender,
+            String path,
+            SqlAstNode column,
+            String operator,
+            SqlAstNode value,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql("jsonb_path_exists(");
+        walker.render(
+                column,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(", '" + path + " ? (@ " + operator
+                                      + " $value)', jsonb_build_object"
+                                      + "('value', ");
+        walker.render(
+                value,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql("))");
+    }
+
+    @Override
+    protected void renderEmpty(
+            SqlAppender sqlAppender,
+            List<String> keys,
+            String path,
+            SqlAstNode column,
+            boolean empty,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql("(coalesce(jsonb_typeof(");
+        walker.render(
+                column,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(" #> '{" + String.join(
+                ",",
+                keys
+        ) + "}'), 'null') " + (empty
+                               ? "="
+                               : "<>") + " 'null')");
+    }
+}
@@ -0,0 +1,189 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import bg.codexio.springframework.data.jpa.requery.search.SearchMode;
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+
+import java.util.List;
+
+/**
+ * Renders the {@code SEARCH} operation for PostgreSQL.
+ *
+ * <p>{@link SearchMode#FULL_TEXT} matches with {@code to_tsvector(config,
+ * document) @@ plainto_tsquery(config, ?)} and ranks with {@code ts_rank}.
+ * {@link SearchMode#TRIGRAM} matches with the {@code pg_trgm} similarity
+ * operator {@code document % ?} and ranks with {@code similarity}. A
+ * document made of several columns is rendered as the columns coalesced to
+ * empty strings and joined with spaces, the same expression as
+ * {@link #documentExpression(List)}.</p>
+ */
+public class PostgreSQLTextSearchSQLFunction
+        extends TextSearchSQLFunction {
+
+    public PostgreSQLTextSearchSQLFunction(boolean rank) {
+        super(rank);
+    }
+
+    /**
+     * Builds the document expression for the given column names, as
+     * rendered by this function.
+     *
+     * @param columns the columns of the document
+     * @return the document expression
+     */
+    public static String documentExpression(List<String> columns) {
+        if (columns.size() == 1) {
+            return columns.getFirst();
+        }
+
+        return String.join(
+                " || ' ' || ",
+                columns.stream()
+                       .map(column -> "coalesce(" + column + ", '')")
+                       .toList()
+        );
+    }
+
+    @Override
+    protected void renderMatch(
+            SqlAppender sqlAppender,
+            SearchMode mode,
+            String configuration,
+            SqlAstNode query,
+            List<? extends SqlAstNode> columns,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql("(");
+        switch (mode) {
+            case FULL_TEXT -> {
+                this.renderTsVector(
+                        sqlAppender,
+                        configuration,
+                        columns,
+                        walker
+                );
+                sqlAppender.appendSql(" @@ ");
+                this.renderTsQuery(
+                        sqlAppender,
+                        configuration,
+                        query,
+                        walker
+                );
+            }
+            case TRIGRAM -> {
+                this.renderDocument(
+                        sqlAppender,
+                        columns,
+                        walker
+                );
+                sqlAppender.appendSql(" % ");
+                walker.render(
+                        query,
+                        SqlAstNodeRenderingMode.DEFAULT
+                );
+            }
+        }
+        sqlAppender.appendSql(")");
+    }
+
+    @Override
+    protected void renderRank(
+            SqlAppender sqlAppender,
+            SearchMode mode,
+            String configuration,
+            SqlAstNode query,
+            List<? extends SqlAstNode> columns,
+            SqlAstTranslator<?> walker
+    ) {
+        switch (mode) {
+            case FULL_TEXT -> {
+                sqlAppender.appendSql("ts_rank(");
+                this.renderTsVector(
+                        sqlAppender,
+                        configuration,
+                        columns,
+                        walker
+                );
+                sqlAppender.appendSql(", ");
+                this.renderTsQuery(
+                        sqlAppender,
+                        configuration,
+                        query,
+                        walker
+                );
+            }
+            case TRIGRAM -> {
+                sqlAppender.appendSql("similarity(");
+                this.renderDocument(
+                        sqlAppender,
+                        columns,
+                        walker
+                );
+                sqlAppender.appendSql(", ");
+                walker.render(
+                        query,
+                        SqlAstNodeRenderingMode.DEFAULT
+                );
+            }
+        }
+        sqlAppender.appendSql(")");
+    }
+
+    private void renderTsVector(
+            SqlAppender sqlAppender,
+            String configuration,
+            List<? extends SqlAstNode> columns,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql("to_tsvector('" + configuration + "', ");
+        this.renderDocument(
+                sqlAppender,
+                columns,
+                walker
+        );
+        sqlAppender.appendSql(")");
+    }
+
+    private void renderTsQuery(
+            SqlAppender sqlAppender,
+            String configuration,
+            SqlAstNode query,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql("plainto_tsquery('" + configuration + "', ");
+        walker.render(
+                query,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(")");
+    }
+
+    private void renderDocument(
+            SqlAppender sqlAppender,
+            List<? extends SqlAstNode> columns,
+            SqlAstTranslator<?> walker
+    ) {
+        if (columns.size() == 1) {
+            walker.render(
+                    columns.getFirst(),
+                    SqlAstNodeRenderingMode.DEFAULT
+            );
+
+            return;
+        }
+
+        for (var i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sqlAppender.appendSql(" || ' ' || ");
+            }
+            sqlAppender.appendSql("coalesce(");
+            walker.render(
+                    columns.get(i),
+                    SqlAstNodeRenderingMode.DEFAULT
+            );
+            sqlAppender.appendSql(", '')");
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.NamedSqmFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+
+import java.util.List;
+
+/**
+ * A SQL function descriptor for Hibernate that renders the
+ * {@code BEGINS_WITH} and {@code BEGINS_WITH_CASEINS} operations on string
+ * columns.
+ *
+ * <p>The arguments are the column, the {@code LIKE} pattern, the inclusive
+ * lower bound and, unless the prefix has no upper bound, the exclusive
+ * upper bound; for the case-insensitive variant the pattern and bounds must
+ * already be lower-cased. A prefix containing {@code LIKE} wildcards is
+ * passed without bounds and always matched as a {@code LIKE}, as the other
+ * filter backends match it. With {@link PrefixMatchStrategy#RANGE} the bounds
+ * are compared against the column, or against {@code lower(column)} for the
+ * case-insensitive variant so an expression index on it is used. With
+ * {@link PrefixMatchStrategy#LIKE} the pattern is matched as a
+ * {@code LIKE}, through the dialect's {@link CaseInsensitiveLikeStrategy}
+ * for the case-insensitive variant.</p>
+ */
+public class PrefixMatchSQLFunction
+        extends NamedSqmFunctionDescriptor {
+
+    public static final String FUNC_NAME = "requery_begins_with";
+
+    public static final String CASE_INSENSITIVE_FUNC_NAME =
+            "requery_begins_with_caseins";
+
+    private final PrefixMatchStrategy strategy;
+
+    private final CaseInsensitiveLikeSQLFunction caseInsensitiveLike;
+
+    public PrefixMatchSQLFunction(PrefixMatchStrategy strategy) {
+        this(
+                PrefixMatchSQLFunction.FUNC_NAME,
+                strategy,
+                null
+        );
+    }
+
+    public PrefixMatchSQLFunction(
+            PrefixMatchStrategy strategy,
+            CaseInsensitiveLikeStrategy caseInsensitiveLikeStrategy
+    ) {
+        this(
+                PrefixMatchSQLFunction.CASE_INSENSITIVE_FUNC_NAME,
+                strategy,
+                new CaseInsensitiveLikeSQLFunction(caseInsensitiveLikeStrategy)
+        );
+    }
+
+    private PrefixMatchSQLFunction(
+            String name,
+            PrefixMatchStrategy strategy,
+            CaseInsensitiveLikeSQLFunction caseInsensitiveLike
+    ) {
+        super(
+                name,
+                true,
+                StandardArgumentsValidators.between(
+                        2,
+                        4
+                ),
+                null
+        );
+        this.strategy = strategy;
+        this.caseInsensitiveLike = caseInsensitiveLike;
+    }
+
+    /**
+     * Renders the SQL for a prefix match according to the
+     * {@link PrefixMatchStrategy} of this function.
+     *
+     * @param sqlAppender the appender to which the SQL is written
+     * @param arguments   the column, pattern and optional lower and upper
+     *                    bounds
+     * @param walker      the SQL AST translator that handles the rendering
+     *                    of {@link SqlAstNode} instances
+     */
+    @Override
+    public void render(
+            SqlAppender sqlAppender,
+            List<? extends SqlAstNode> arguments,
+            ReturnableType<?> returnType,
+            SqlAstTranslator<?> walker
+    ) {
+        if (this.strategy == PrefixMatchStrategy.LIKE || arguments.size() < 3) {
+            this.renderLike(
+                    sqlAppender,
+                    arguments,
+                    returnType,
+                    walker
+            );
+
+            return;
+        }
+
+        sqlAppender.appendSql("(");
+        this.renderColumn(
+                sqlAppender,
+                arguments.get(0),
+                walker
+        );
+        sqlAppender.appendSql(" >= ");
+        walker.render(
+                arguments.get(2),
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        if (arguments.size() > 3) {
+            sqlAppender.appendSql(" AND ");
+            this.renderColumn(
+                    sqlAppender,
+                    arguments.get(0),
+                    walker
+            );
+            sqlAppender.appendSql(" < ");
+            walker.render(
+                    arguments.get(3),
+                    SqlAstNodeRenderingMode.DEFAULT
+            );
+        }
+        sqlAppender.appendSql(")");
+    }
+
+    private void renderLike(
+            SqlAppender sqlAppender,
+            List<? extends SqlAstNode> arguments,
+            ReturnableType<?> returnType,
+            SqlAstTranslator<?> walker
+    ) {
+        if (this.caseInsensitiveLike != null) {
+            this.caseInsensitiveLike.render(
+                    sqlAppender,
+                    arguments.subList(
+                            0,
+                            2
+                    ),
+                    returnType,
+                    walker
+            );
+
+            return;
+        }
+
+        sqlAppender.appendSql("(");
+        walker.render(
+                arguments.get(0),
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(" LIKE ");
+        walker.render(
+                arguments.get(1),
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(")");
+    }
+
+    private void renderColumn(
+            SqlAppender sqlAppender,
+            SqlAstNode column,
+            SqlAstTranslator<?> walker
+    ) {
+        if (this.caseInsensitiveLike != null) {
+            sqlAppender.appendSql("LOWER(");
+        }
+        walker.render(
+                column,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        if (this.caseInsensitiveLike != null) {
+            sqlAppender.appendSql(")");
+        }
+    }
+}
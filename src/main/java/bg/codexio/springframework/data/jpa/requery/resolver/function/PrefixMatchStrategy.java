@@ -0,0 +1,17 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+/**
+ * How {@link PrefixMatchSQLFunction} renders a prefix match.
+ */
+public enum PrefixMatchStrategy {
+    /**
+     * Renders {@code column LIKE 'prefix%'}, without casting the column.
+     */
+    LIKE,
+    /**
+     * Renders {@code column >= 'prefix' AND column < 'upper bound'}, which
+     * any B-tree index on the column can seek. Only equivalent to the
+     * {@code LIKE} when the collation orders strings by code point.
+     */
+    RANGE
+}
@@ -0,0 +1,158 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import bg.codexio.springframework.data.jpa.requery.search.SearchMode;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.NamedSqmFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.Literal;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Base SQL function descriptor for the {@code SEARCH} filter operation.
+ *
+ * <p>Both the match predicate ({@value #FUNC_NAME}) and the relevance score
+ * ({@value #RANK_FUNC_NAME}) take the same arguments: the
+ * {@link SearchMode} name and the text search configuration as literals,
+ * followed by the search query and the columns of the indexed document.
+ * The mode and configuration are rendered into the SQL instead of being
+ * bound, as the database only matches an expression index against a
+ * textually identical expression.</p>
+ */
+public abstract class TextSearchSQLFunction
+        extends NamedSqmFunctionDescriptor {
+
+    public static final String FUNC_NAME = "requery_search";
+
+    public static final String RANK_FUNC_NAME = "requery_search_rank";
+
+    private static final Pattern CONFIGURATION_PATTERN =
+            Pattern.compile("[A-Za-z_][A-Za-z0-9_.]*");
+
+    private final boolean rank;
+
+    protected TextSearchSQLFunction(boolean rank) {
+        super(
+                rank
+                ? TextSearchSQLFunction.RANK_FUNC_NAME
+                : TextSearchSQLFunction.FUNC_NAME,
+                true,
+                StandardArgumentsValidators.min(4),
+                null
+        );
+        this.rank = rank;
+    }
+
+    /**
+     * Reads the value of a literal argument.
+     *
+     * @param argument the argument to read
+     * @return the literal value as a string
+     * @throws IllegalArgumentException if the argument is not a literal
+     */
+    private static String literalValue(SqlAstNode argument) {
+        if (argument instanceof Literal literal) {
+            return String.valueOf(literal.getLiteralValue());
+        }
+
+        throw new IllegalArgumentException("Expected a literal search "
+                                                   + "argument but got "
+                                                   + argument);
+    }
+
+    /**
+     * Renders the SQL of the match predicate or the relevance score,
+     * depending on which of the two this function was created for.
+     *
+     * @param sqlAppender the appender to which the SQL is written
+     * @param arguments   the mode, configuration, query and document
+     *                    columns, in that order
+     * @param walker      the SQL AST translator that handles the rendering
+     *                    of {@link SqlAstNode} instances
+     */
+    @Override
+    public void render(
+            SqlAppender sqlAppender,
+            List<? extends SqlAstNode> arguments,
+            ReturnableType<?> returnType,
+            SqlAstTranslator<?> walker
+    ) {
+        var mode = SearchMode.valueOf(literalValue(arguments.get(0)));
+        var configuration = literalValue(arguments.get(1));
+        if (!CONFIGURATION_PATTERN.matcher(configuration)
+                                  .matches()) {
+            throw new IllegalArgumentException("Invalid text search "
+                                                       + "configuration '"
+                                                       + configuration
+                                                       + "'");
+        }
+
+        var query = arguments.get(2);
+        var columns = arguments.subList(
+                3,
+                arguments.size()
+        );
+
+        if (this.rank) {
+            this.renderRank(
+                    sqlAppender,
+                    mode,
+                    configuration,
+                    query,
+                    columns,
+                    walker
+            );
+        } else {
+            this.renderMatch(
+                    sqlAppender,
+                    mode,
+                    configuration,
+                    query,
+                    columns,
+                    walker
+            );
+        }
+    }
+
+    /**
+     * Renders a boolean expression that is true for matching rows.
+     *
+     * @param sqlAppender   the appender to which the SQL is written
+     * @param mode          the kind of text index to match against
+     * @param configuration the validated text search configuration
+     * @param query         the search query
+     * @param columns       the columns of the indexed document
+     * @param walker        the SQL AST translator
+     */
+    protected abstract void renderMatch(
+            SqlAppender sqlAppender,
+            SearchMode mode,
+            String configuration,
+            SqlAstNode query,
+            List<? extends SqlAstNode> columns,
+            SqlAstTranslator<?> walker
+    );
+
+    /**
+     * Renders a numeric relevance score, higher for better matches.
+     *
+     * @param sqlAppender   the appender to which the SQL is written
+     * @param mode          the kind of text index to match against
+     * @param configuration the validated text search configuration
+     * @param query         the search query
+     * @param columns       the columns of the indexed document
+     * @param walker        the SQL AST translator
+     */
+    protected abstract void renderRank(
+            SqlAppender sqlAppender,
+            SearchMode mode,
+            String configuration,
+            SqlAstNode query,
+            List<? extends SqlAstNode> columns,
+            SqlAstTranslator<?> walker
+    );
+}
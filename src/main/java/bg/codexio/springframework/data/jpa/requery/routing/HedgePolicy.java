@@ -0,0 +1,79 @@
+package bg.codexio.springframework.data.jpa.requery.routing;
+
+import java.time.Duration;
+
+/**
+ * When the {@link HedgedQueryExecutor} duplicates a slow query on another
+ * data source.
+ *
+ * @param delay         how long a query runs before it is hedged; with a
+ *                      percentile, the delay until the shape of the query
+ *                      has enough recorded latencies
+ * @param percentile    the percentile of the recent latencies of the same
+ *                      query after which it is hedged, between 0 and 1, or
+ *                      0 to always wait for the fixed delay
+ * @param maxHedgeRatio the largest share of the queries that is hedged,
+ *                      between 0 and 1
+ */
+public record HedgePolicy(
+        Duration delay,
+        double percentile,
+        double maxHedgeRatio
+) {
+    public HedgePolicy {
+        if (delay.isNegative()) {
+            throw new IllegalArgumentException("The hedge delay must not be "
+                                                       + "negative");
+        }
+        if (percentile < 0 || percentile >= 1) {
+            throw new IllegalArgumentException("The hedge percentile must be "
+                                                       + "at least 0 and "
+                                                       + "less than 1");
+        }
+        if (maxHedgeRatio < 0 || maxHedgeRatio > 1) {
+            throw new IllegalArgumentException("The hedge ratio must be "
+                                                       + "between 0 and 1");
+        }
+    }
+
+    /**
+     * Hedges the queries still running after a fixed delay.
+     *
+     * @param delay         how long a query runs before it is hedged
+     * @param maxHedgeRatio the largest share of the queries that is hedged
+     * @return the policy
+     */
+    public static HedgePolicy after(
+            Duration delay,
+            double maxHedgeRatio
+    ) {
+        return new HedgePolicy(
+                delay,
+                0,
+                maxHedgeRatio
+        );
+    }
+
+    /**
+     * Hedges the queries running longer than a percentile of the recent
+     * queries of the same shape, e.g. {@code 0.95} hedges the slowest
+     * twentieth.
+     *
+     * @param percentile    the percentile of the recent latencies
+     * @param initialDelay  the delay until a shape has enough recorded
+     *                      latencies
+     * @param maxHedgeRatio the largest share of the queries that is hedged
+     * @return the policy
+     */
+    public static HedgePolicy atPercentile(
+            double percentile,
+            Duration initialDelay,
+            double maxHedgeRatio
+    ) {
+        return new HedgePolicy(
+                initialDelay,
+                percentile,
+                maxHedgeRatio
+        );
+    }
+}
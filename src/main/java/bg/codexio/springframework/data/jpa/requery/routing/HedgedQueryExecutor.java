@@ -0,0 +1,396 @@
+package bg.codexio.springframework.data.jpa.requery.routing;
+
+import bg.codexio.springframework.data.jpa.requery.admission.QueryDeadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs read queries on a pool of equivalent data sources, such as the
+ * replicas of a database, and hedges the slow ones: a query still running
+ * after the {@link HedgePolicy} delay is issued again on the next data
+ * source. The first result wins and the other statement is cancelled with
+ * {@link Statement#cancel()}.
+ *
+ * <p>The delay is fixed or a percentile of the recent latencies of the
+ * same SQL, which is the same for all the filters of a shape. Hedges are
+ * budgeted: every query earns a {@link HedgePolicy#maxHedgeRatio()
+ * fraction} of a hedge and a hedge spends a whole one, so a slow database
+ * does not receive twice the traffic.</p>
+ *
+ * <p>The {@link QueryDeadline} of the request bounds every execution.
+ * An executor created with the default thread pool owns it and shuts it
+ * down when it is closed.</p>
+ */
+public class HedgedQueryExecutor implements AutoCloseable {
+    public static final int DEFAULT_MAX_TRACKED_QUERIES = 1024;
+
+    private static final double BUDGET_WINDOW = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final List<JdbcTemplate> templates;
+
+    private final HedgePolicy policy;
+
+    private final Executor executor;
+
+    private final int maxTrackedQueries;
+
+    private final boolean ownsExecutor;
+
+    private final Map<String, LatencyWindow> latencies =
+            new ConcurrentHashMap<>();
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private double hedgeBudget;
+
+    public HedgedQueryExecutor(
+            List<DataSource> dataSources,
+            HedgePolicy policy
+    ) {
+        this(
+                dataSources,
+                policy,
+                Executors.newVirtualThreadPerTaskExecutor(),
+                DEFAULT_MAX_TRACKED_QUERIES,
+                true
+        );
+    }
+
+    /**
+     * Constructs an executor running the queries on a custom executor,
+     * which the caller keeps managing.
+     *
+     * @param dataSources       the data sources a query may run on
+     * @param policy            when a query is hedged
+     * @param executor          runs the queries and their hedges
+     * @param maxTrackedQueries the number of distinct queries whose
+     *                          latencies are recorded; further queries are
+     *                          hedged after the fixed delay
+     */
+    public HedgedQueryExecutor(
+            List<DataSource> dataSources,
+            HedgePolicy policy,
+            Executor executor,
+            int maxTrackedQueries
+    ) {
+        this(
+                dataSources,
+                policy,
+                executor,
+                maxTrackedQueries,
+                false
+        );
+    }
+
+    private HedgedQueryExecutor(
+            List<DataSource> dataSources,
+            HedgePolicy policy,
+            Executor executor,
+            int maxTrackedQueries,
+            boolean ownsExecutor
+    ) {
+        if (dataSources.isEmpty()) {
+            throw new IllegalArgumentException("At least one data source is "
+                                                       + "required");
+        }
+
+        this.templates = dataSources.stream()
+                                    .map(JdbcTemplate::new)
+                                    .toList();
+        this.policy = policy;
+        this.executor = executor;
+        this.maxTrackedQueries = maxTrackedQueries;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Runs a query, hedging it if it is slow, bounded by the deadline of
+     * the current request.
+     *
+     * @param sql       the SQL of the query
+     * @param setter    binds the parameters of the statement
+     * @param extractor reads the result
+     * @param <T>       the result type
+     * @return the result of the first execution to complete
+     * @throws org.springframework.dao.DataAccessException if every
+     *                                                     execution fails
+     */
+    public <T> T query(
+            String sql,
+            PreparedStatementSetter setter,
+            ResultSetExtractor<T> extractor
+    ) {
+        this.earnHedge();
+        var latencies = this.latencies(sql);
+        var first = Math.floorMod(
+                this.next.getAndIncrement(),
+                this.templates.size()
+        );
+        var race = new Race<T>(QueryDeadline.current()
+                                            .orElse(null));
+        var attempt = race.start(
+                this.templates.get(first),
+                sql,
+                setter,
+                extractor,
+                latencies
+        );
+        Attempt hedge = null;
+        try {
+            try {
+                return race.result.get(
+                        this.delay(latencies),
+                        TimeUnit.NANOSECONDS
+                );
+            } catch (TimeoutException e) {
+                if (this.templates.size() > 1 && this.spendHedge()) {
+                    this.logger.debug(
+                            "Hedging slow query: {}",
+                            sql
+                    );
+                    hedge = race.start(
+                            this.templates.get((first + 1)
+                                                       % this.templates.size()),
+                            sql,
+                            setter,
+                            extractor,
+                            latencies
+                    );
+                }
+            }
+
+            return race.result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while waiting for a query",
+                    e
+            );
+        } finally {
+            attempt.cancel();
+            if (hedge != null) {
+                hedge.cancel();
+            }
+        }
+    }
+
+    /**
+     * Shuts down the thread pool of the executor if it created it; the
+     * running queries complete.
+     */
+    @Override
+    public void close() {
+        if (this.ownsExecutor
+                && this.executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * @param sql the SQL of a query
+     * @return the recent latencies of the query, {@code null} if it is not
+     * tracked
+     */
+    private LatencyWindow latencies(String sql) {
+        var window = this.latencies.get(sql);
+        if (window != null || this.latencies.size() >= this.maxTrackedQueries) {
+            return window;
+        }
+
+        return this.latencies.computeIfAbsent(
+                sql,
+                key -> new LatencyWindow()
+        );
+    }
+
+    /**
+     * @param latencies the recent latencies of a query, may be
+     *                  {@code null}
+     * @return how long the query runs before it is hedged, in nanoseconds
+     */
+    private long delay(LatencyWindow latencies) {
+        if (this.policy.percentile() > 0 && latencies != null) {
+            var percentile = latencies.percentile(this.policy.percentile());
+            if (percentile >= 0) {
+                return percentile;
+            }
+        }
+
+        return this.policy.delay()
+                          .toNanos();
+    }
+
+    /**
+     * Earns the share of a hedge of a query, the budget holding at most
+     * the hedges of a hundred queries so that it cannot grow unbounded
+     * while the data sources are fast.
+     */
+    private synchronized void earnHedge() {
+        var ratio = this.policy.maxHedgeRatio();
+        this.hedgeBudget = Math.min(
+                this.hedgeBudget + ratio,
+                Math.max(
+                        1,
+                        ratio * BUDGET_WINDOW
+                )
+        );
+    }
+
+    /**
+     * Spends a hedge if the budget allows it.
+     *
+     * @return whether the query may be hedged
+     */
+    private synchronized boolean spendHedge() {
+        if (this.hedgeBudget < 1) {
+            return false;
+        }
+
+        this.hedgeBudget--;
+
+        return true;
+    }
+
+    /**
+     * The executions of a query, the first result completing the race.
+     *
+     * @param <T> the result type
+     */
+    private final class Race<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private final AtomicInteger running = new AtomicInteger();
+
+        private final QueryDeadline deadline;
+
+        /**
+         * @param deadline the deadline of the request, captured on its
+         *                 thread, {@code null} if there is none
+         */
+        private Race(QueryDeadline deadline) {
+            this.deadline = deadline;
+        }
+
+        /**
+         * Starts an execution of the query.
+         *
+         * @return the execution
+         */
+        private Attempt start(
+                JdbcTemplate template,
+                String sql,
+                PreparedStatementSetter setter,
+                ResultSetExtractor<T> extractor,
+                LatencyWindow latencies
+        ) {
+            var attempt = new Attempt();
+            this.running.incrementAndGet();
+            HedgedQueryExecutor.this.executor.execute(() -> {
+                var start = System.nanoTime();
+                try {
+                    var value = template.query(
+                            connection -> {
+                                var statement = connection.prepareStatement(sql);
+                                if (this.deadline != null) {
+                                    this.deadline.applyTo(statement);
+                                }
+                                attempt.started(statement);
+
+                                return statement;
+                            },
+                            setter,
+                            extractor
+                    );
+                    attempt.finished();
+                    if (this.result.complete(value) && latencies != null) {
+                        latencies.record(System.nanoTime() - start);
+                    }
+                } catch (RuntimeException e) {
+                    attempt.finished();
+                    if (this.running.decrementAndGet() == 0) {
+                        this.result.completeExceptionally(e);
+                    }
+                }
+            });
+
+            return attempt;
+        }
+    }
+
+    /**
+     * A single execution of a query, which can be cancelled at any time.
+     */
+    private final class Attempt {
+        private static final Object PENDING = new Object();
+
+        private static final Object DONE = new Object();
+
+        private final AtomicReference<Object> state =
+                new AtomicReference<>(PENDING);
+
+        /**
+         * Registers the statement of the execution, cancelling it if the
+         * execution was cancelled before it started.
+         *
+         * @param statement the statement of the execution
+         * @throws SQLException if the statement cannot be cancelled
+         */
+        private void started(Statement statement) throws SQLException {
+            if (!this.state.compareAndSet(
+                    PENDING,
+                    statement
+            )) {
+                statement.cancel();
+            }
+        }
+
+        private void finished() {
+            this.state.set(DONE);
+        }
+
+        /**
+         * Cancels the statement of the execution if it is still running.
+         */
+        private void cancel() {
+            var current = this.state.getAndSet(DONE);
+            if (current instanceof Statement statement) {
+                try {
+                    statement.cancel();
+                } catch (SQLException e) {
+                    HedgedQueryExecutor.this.logger.debug(
+                            "Could not cancel a hedged query",
+                            e
+                    );
+                }
+            }
+        }
+    }
+}
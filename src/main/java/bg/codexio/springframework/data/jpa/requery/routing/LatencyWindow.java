@@ -0,0 +1,55 @@
+package bg.codexio.springframework.data.jpa.requery.routing;
+
+import java.util.Arrays;
+
+/**
+ * The latencies of the most recent executions of a query.
+ */
+class LatencyWindow {
+    static final int SIZE = 128;
+
+    static final int MIN_SAMPLES = 16;
+
+    private final long[] samples = new long[SIZE];
+
+    private int count;
+
+    private int next;
+
+    /**
+     * @param nanos the latency of an execution
+     */
+    synchronized void record(long nanos) {
+        this.samples[this.next] = nanos;
+        this.next = (this.next + 1) % SIZE;
+        this.count = Math.min(
+                this.count + 1,
+                SIZE
+        );
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 1
+     * @return the latency at the percentile, or {@code -1} while fewer
+     * than {@link #MIN_SAMPLES} executions are recorded
+     */
+    synchronized long percentile(double percentile) {
+        if (this.count < MIN_SAMPLES) {
+            return -1;
+        }
+
+        var sorted = Arrays.copyOf(
+                this.samples,
+                this.count
+        );
+        Arrays.sort(sorted);
+
+        var rank = (int) Math.ceil(percentile * this.count);
+
+        return sorted[Math.clamp(
+                rank - 1,
+                0,
+                this.count - 1
+        )];
+    }
+}
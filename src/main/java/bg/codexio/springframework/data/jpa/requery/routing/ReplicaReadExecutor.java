@@ -0,0 +1,97 @@
+package bg.codexio.springframework.data.jpa.requery.routing;
+
+import bg.codexio.springframework.data.jpa.requery.admission.QueryDeadline;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FlushModeType;
+import org.hibernate.Session;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs the queries built from a resolved filter on a replica of the
+ * {@link ReplicaRoutingDataSource}.
+ *
+ * <p>Each read opens its own {@code EntityManager} in a
+ * {@link ReplicaRouting#readOnly read-only scope}, so its connection is
+ * acquired from a replica even when the caller is inside a transaction on
+ * the primary. The session is read-only and the loaded entities are
+ * detached once the read returns, so changes to them are never written.
+ * The {@link QueryDeadline} of the current request, if any, bounds its
+ * queries.</p>
+ */
+public class ReplicaReadExecutor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReplicaReadExecutor(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Runs a read on a replica.
+     *
+     * @param query the read, given a fresh read-only {@link EntityManager}
+     *              that is closed afterwards
+     * @param <R>   the result type
+     * @return the result of the read
+     */
+    public <R> R read(Function<EntityManager, R> query) {
+        return ReplicaRouting.readOnly(() -> {
+            try (var entityManager =
+                         this.entityManagerFactory.createEntityManager()) {
+                entityManager.setFlushMode(FlushModeType.COMMIT);
+                entityManager.unwrap(Session.class)
+                             .setDefaultReadOnly(true);
+                QueryDeadline.current()
+                             .ifPresent(deadline -> deadline.applyTo(entityManager));
+
+                return query.apply(entityManager);
+            }
+        });
+    }
+
+    /**
+     * Finds the entities matching a specification on a replica.
+     *
+     * @param specification the resolved filter, may be {@code null}
+     * @param entityType    the entity type being queried
+     * @param sort          the sort of the results
+     * @param <T>           the entity type
+     * @return the matching entities
+     */
+    public <T> List<T> findAll(
+            Specification<T> specification,
+            Class<T> entityType,
+            Sort sort
+    ) {
+        return this.read(entityManager -> {
+            var cb = entityManager.getCriteriaBuilder();
+            var criteriaQuery = cb.createQuery(entityType);
+            var root = criteriaQuery.from(entityType);
+            if (specification != null) {
+                var predicate = specification.toPredicate(
+                        root,
+                        criteriaQuery,
+                        cb
+                );
+                if (predicate != null) {
+                    criteriaQuery.where(predicate);
+                }
+            }
+            if (sort.isSorted()) {
+                criteriaQuery.orderBy(QueryUtils.toOrders(
+                        sort,
+                        root,
+                        cb
+                ));
+            }
+
+            return entityManager.createQuery(criteriaQuery.select(root))
+                                .getResultList();
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package bg.codexio.springframework.data.jpa.requery.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the code running on the current thread as read-only, so that the
+ * {@link ReplicaRoutingDataSource} hands it connections to a replica.
+ *
+ * <p>The data source decides when a connection is acquired: a read-only
+ * scope has no effect on an {@code EntityManager} or transaction that
+ * already holds a connection to the primary. The
+ * {@link ReplicaReadExecutor} opens its own {@code EntityManager} within
+ * the scope for that reason.</p>
+ */
+public final class ReplicaRouting {
+    private static final ThreadLocal<Boolean> READ_ONLY = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * Runs a query in a read-only scope.
+     *
+     * @param query the query to run
+     * @param <T>   the result type
+     * @return the result of the query
+     */
+    public static <T> T readOnly(Supplier<T> query) {
+        var previous = READ_ONLY.get();
+        READ_ONLY.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            if (previous == null) {
+                READ_ONLY.remove();
+            } else {
+                READ_ONLY.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return whether the current thread is in a read-only scope
+     */
+    public static boolean isReadOnly() {
+        return Boolean.TRUE.equals(READ_ONLY.get());
+    }
+}
@@ -0,0 +1,394 @@
+package bg.codexio.springframework.data.jpa.requery.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A {@link DataSource} sending reads to a pool of replicas and everything
+ * else to the primary.
+ *
+ * <p>Connections acquired in a {@link ReplicaRouting#readOnly read-only
+ * scope}, such as the reads of the {@link ReplicaReadExecutor}, come from a
+ * replica picked by the {@link ReplicaSelection}. A replica whose
+ * connection cannot be acquired is skipped for the retry interval; reads
+ * fall back to the other replicas and, when none is healthy, to the
+ * primary.</p>
+ *
+ * <p>Replicas lag behind the primary, so after a session commits a
+ * read-write transaction on the primary, its reads stay on the primary for
+ * the pinning interval and see their own writes. The session is
+ * identified by a session key, by default the HTTP session of the current
+ * request; reads without a session key are never pinned. {@link
+ * #pinToPrimary()} pins the session explicitly, e.g. after a write in
+ * auto-commit mode.</p>
+ */
+public class ReplicaRoutingDataSource
+        extends AbstractDataSource {
+    public static final Duration DEFAULT_PIN_AFTER_WRITE = Duration.ofSeconds(1);
+
+    public static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(5);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final ReplicaSelection selection;
+
+    private final long pinAfterWriteNanos;
+
+    private final long retryAfterNanos;
+
+    private final Supplier<Object> sessionKey;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Map<Object, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            List<DataSource> replicas
+    ) {
+        this(
+                primary,
+                replicas,
+                ReplicaSelection.ROUND_ROBIN,
+                DEFAULT_PIN_AFTER_WRITE,
+                DEFAULT_RETRY_AFTER
+        );
+    }
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            List<DataSource> replicas,
+            ReplicaSelection selection,
+            Duration pinAfterWrite,
+            Duration retryAfter
+    ) {
+        this(
+                primary,
+                replicas,
+                selection,
+                pinAfterWrite,
+                retryAfter,
+                ReplicaRoutingDataSource::currentSession
+        );
+    }
+
+    /**
+     * Constructs a data source pinning the sessions identified by a custom
+     * key, such as the authenticated user.
+     *
+     * @param primary       the primary, receiving writes and pinned reads
+     * @param replicas      the replicas, receiving the other reads
+     * @param selection     how a replica is picked
+     * @param pinAfterWrite how long the reads of a session stay on the
+     *                      primary after it wrote
+     * @param retryAfter    how long an unavailable replica is skipped
+     * @param sessionKey    supplies the key of the current session,
+     *                      {@code null} if there is none and the reads
+     *                      cannot be pinned
+     */
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            List<DataSource> replicas,
+            ReplicaSelection selection,
+            Duration pinAfterWrite,
+            Duration retryAfter,
+            Supplier<Object> sessionKey
+    ) {
+        this.primary = primary;
+        this.replicas = replicas.stream()
+                                .map(Replica::new)
+                                .toList();
+        this.selection = selection;
+        this.pinAfterWriteNanos = pinAfterWrite.toNanos();
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.sessionKey = sessionKey;
+    }
+
+    /**
+     * @return the id of the HTTP session of the current request,
+     * {@code null} if there is no session
+     */
+    private static Object currentSession() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            var session = attributes.getRequest()
+                                    .getSession(false);
+            if (session != null) {
+                return session.getId();
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return this.route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(
+            String username,
+            String password
+    ) throws SQLException {
+        return this.route(dataSource -> dataSource.getConnection(
+                username,
+                password
+        ));
+    }
+
+    /**
+     * Keeps the reads of the current session on the primary for the
+     * pinning interval. Does nothing without a session key.
+     */
+    public void pinToPrimary() {
+        var key = this.sessionKey.get();
+        if (key == null) {
+            return;
+        }
+
+        var now = System.nanoTime();
+        this.pinnedUntil.values()
+                        .removeIf(until -> until - now < 0);
+        this.pinnedUntil.put(
+                key,
+                now + this.pinAfterWriteNanos
+        );
+    }
+
+    /**
+     * Checks whether the reads of the current session are pinned, evicting
+     * its pin once it expired.
+     *
+     * @return whether the reads of the current session are pinned to the
+     * primary
+     */
+    public boolean isPinnedToPrimary() {
+        var key = this.sessionKey.get();
+        if (key == null) {
+            return false;
+        }
+
+        var until = this.pinnedUntil.get(key);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+
+        this.pinnedUntil.remove(
+                key,
+                until
+        );
+
+        return false;
+    }
+
+    /**
+     * Acquires a connection from a replica for a read of an unpinned
+     * session, and from the primary otherwise.
+     *
+     * @param source acquires a connection from a data source
+     * @return the connection
+     * @throws SQLException if the primary cannot provide a connection
+     */
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (ReplicaRouting.isReadOnly() && !this.isPinnedToPrimary()) {
+            for (var replica : this.candidates()) {
+                try {
+                    return replica.acquire(source);
+                } catch (SQLException e) {
+                    replica.downUntil = System.nanoTime()
+                            + this.retryAfterNanos;
+                    this.logger.warn(
+                            "Replica unavailable, skipping it for {} ms",
+                            this.retryAfterNanos / 1_000_000,
+                            e
+                    );
+                }
+            }
+        }
+
+        return this.primaryConnection(source.acquire(this.primary));
+    }
+
+    /**
+     * Lists the healthy replicas in the order they should be tried.
+     *
+     * @return the healthy replicas, the preferred one first
+     */
+    private List<Replica> candidates() {
+        var now = System.nanoTime();
+        var size = this.replicas.size();
+        var start = size == 0
+                    ? 0
+                    : Math.floorMod(
+                            this.next.getAndIncrement(),
+                            size
+                    );
+        var candidates = new ArrayList<Replica>(size);
+        for (var i = 0; i < size; i++) {
+            var replica = this.replicas.get((start + i) % size);
+            if (replica.downUntil - now <= 0) {
+                candidates.add(replica);
+            }
+        }
+        if (this.selection == ReplicaSelection.LEAST_LOADED) {
+            candidates.sort(Comparator.comparingInt(replica -> replica.active.get()));
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Wraps a connection to the primary so that committing a read-write
+     * transaction pins the session to the primary.
+     *
+     * @param connection the connection to the primary
+     * @return the wrapped connection
+     */
+    private Connection primaryConnection(Connection connection) {
+        return proxy(
+                connection,
+                () -> {
+                },
+                () -> {
+                    if (!connection.isReadOnly()) {
+                        this.pinToPrimary();
+                    }
+                }
+        );
+    }
+
+    /**
+     * Wraps a connection, running callbacks when it is closed and after it
+     * commits.
+     *
+     * @param connection the connection to wrap
+     * @param onClose    runs once, when the connection is first closed
+     * @param onCommit   runs after each successful commit
+     * @return the wrapped connection
+     */
+    private static Connection proxy(
+            Connection connection,
+            Runnable onClose,
+            SqlCallback onCommit
+    ) {
+        var closed = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class},
+                (proxy, method, arguments) -> {
+                    switch (method.getName()) {
+                        case "equals" -> {
+                            return proxy == arguments[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "getTargetConnection" -> {
+                            return connection;
+                        }
+                        case "close" -> {
+                            if (closed.compareAndSet(
+                                    false,
+                                    true
+                            )) {
+                                onClose.run();
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+
+                    try {
+                        var result = method.invoke(
+                                connection,
+                                arguments
+                        );
+                        if ("commit".equals(method.getName())) {
+                            onCommit.run();
+                        }
+
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                }
+        );
+    }
+
+    /**
+     * Acquires a connection from a data source.
+     */
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection acquire(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * A callback that may fail with a {@link SQLException}.
+     */
+    @FunctionalInterface
+    private interface SqlCallback {
+        void run() throws SQLException;
+    }
+
+    /**
+     * A replica with its number of open connections and health.
+     */
+    private static final class Replica {
+        private final DataSource dataSource;
+
+        private final AtomicInteger active = new AtomicInteger();
+
+        private volatile long downUntil = System.nanoTime();
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        /**
+         * Acquires a connection, counted as active until it is closed.
+         *
+         * @param source acquires a connection from a data source
+         * @return the connection
+         * @throws SQLException if the replica cannot provide a connection
+         */
+        private Connection acquire(ConnectionSource source) throws SQLException {
+            var connection = source.acquire(this.dataSource);
+            this.active.incrementAndGet();
+
+            return proxy(
+                    connection,
+                    this.active::decrementAndGet,
+                    () -> {
+                    }
+            );
+        }
+    }
+}
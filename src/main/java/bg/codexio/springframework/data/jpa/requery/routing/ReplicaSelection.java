@@ -0,0 +1,16 @@
+package bg.codexio.springframework.data.jpa.requery.routing;
+
+/**
+ * How the {@link ReplicaRoutingDataSource} picks the replica of a read.
+ */
+public enum ReplicaSelection {
+    /**
+     * Cycles through the healthy replicas.
+     */
+    ROUND_ROBIN,
+    /**
+     * Picks the healthy replica with the fewest open connections handed out
+     * by the router, cycling through the replicas on ties.
+     */
+    LEAST_LOADED
+}
@@ -0,0 +1,50 @@
+package bg.codexio.springframework.data.jpa.requery.search;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps the {@code SEARCH} operation of an entity field to the expression of
+ * the text index backing it.
+ *
+ * <p>The database only uses a text index when the searched expression is
+ * exactly the indexed one, so the columns, their order and the text search
+ * configuration have to match the index definition. The dialects describe
+ * matching indexes, e.g.
+ * {@code RequeryEnhancedPostgreSQLDialect#fullTextIndexDefinition}.</p>
+ *
+ * <p>Fields without this annotation are searched in {@link SearchMode#FULL_TEXT}
+ * mode on their own column with the {@value #DEFAULT_CONFIGURATION}
+ * configuration.</p>
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SearchField {
+    String DEFAULT_CONFIGURATION = "simple";
+
+    /**
+     * @return the kind of text index to match against
+     */
+    SearchMode mode() default SearchMode.FULL_TEXT;
+
+    /**
+     * @return the PostgreSQL text search configuration, e.g.
+     * {@code english}; ignored by MySQL
+     */
+    String configuration() default DEFAULT_CONFIGURATION;
+
+    /**
+     * @return the fields making up the indexed document, in index order and
+     * relative to the type declaring the annotated field; empty for the
+     * annotated field alone
+     */
+    String[] paths() default {};
+
+    /**
+     * @return whether results are ordered by descending relevance when the
+     * request does not specify its own sort
+     */
+    boolean orderByRelevance() default false;
+}
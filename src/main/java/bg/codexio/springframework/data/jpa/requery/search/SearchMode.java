@@ -0,0 +1,20 @@
+package bg.codexio.springframework.data.jpa.requery.search;
+
+/**
+ * The kind of text index a {@link SearchField} is matched against.
+ */
+public enum SearchMode {
+    /**
+     * Word based matching, rendered as {@code to_tsvector(...) @@
+     * plainto_tsquery(...)} on PostgreSQL and {@code MATCH ... AGAINST} on
+     * MySQL.
+     */
+    FULL_TEXT,
+    /**
+     * Fuzzy substring matching through the {@code pg_trgm} similarity
+     * operator on PostgreSQL. MySQL has no trigram operator and falls back
+     * to {@code MATCH ... AGAINST}, which matches substrings when the
+     * full-text index uses the {@code ngram} parser.
+     */
+    TRIGRAM
+}
@@ -0,0 +1,624 @@
+package bg.codexio.springframework.data.jpa.requery.sql;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterAdmissionPolicy;
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.admission.QueryDeadline;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverter;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import bg.codexio.springframework.data.jpa.requery.routing.HedgedQueryExecutor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.pagination.LimitHandler;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.spi.Limit;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.DataClassRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Executes filters as SQL rendered directly from the Hibernate mapping
+ * metamodel through a {@link JdbcTemplate}, bypassing the Criteria to SQM
+ * to SQL translation of every request.
+ *
+ * <p>The rendered SQL is cached by filter shape: the entity type, the
+ * fields, operations and operators of the filter, the size of its
+ * {@code IN} lists, the selected fields and the sort. Values are not part
+ * of the shape, they are converted with the {@link FilterJsonTypeConverter}
+ * and bound as parameters on every execution. Filters go through the
+ * {@link FilterAdmissionPolicy admission policies} like on the Criteria
+ * path. See {@link SqlFilterRenderer} for the supported filters.</p>
+ *
+ * <p>Results are read through a {@link RowMapper} or mapped to a DTO whose
+ * properties are named like the entity fields they are read from. Queries
+ * run on the {@link JdbcTemplate}, or on a {@link HedgedQueryExecutor}
+ * hedging the slow ones across replicas, and the slow ones are recorded by
+ * the {@link SlowFilterLog} if there is one.</p>
+ */
+public class DirectSqlFilterExecutor {
+    public static final int DEFAULT_MAX_CACHED_SHAPES = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SqlFilterRenderer renderer;
+
+    private final LimitHandler limitHandler;
+
+    private final List<FilterAdmissionPolicy> admissionPolicies;
+
+    private final int maxCachedShapes;
+
+    private final HedgedQueryExecutor hedgedReads;
+
+    private final SlowFilterLog slowFilterLog;
+
+    private final Map<PlanKey, SqlFilterPlan> plans = new ConcurrentHashMap<>();
+
+    public DirectSqlFilterExecutor(
+            EntityManagerFactory entityManagerFactory,
+            JdbcTemplate jdbcTemplate,
+            FilterJsonTypeConverter converter
+    ) {
+        this(
+                entityManagerFactory,
+                jdbcTemplate,
+                converter,
+                List.of(),
+                DEFAULT_MAX_CACHED_SHAPES
+        );
+    }
+
+    /**
+     * Constructs an executor admitting filters and caching a custom number
+     * of filter shapes.
+     *
+     * @param entityManagerFactory the factory of the mapped entities
+     * @param jdbcTemplate         the template of the entities' data source
+     * @param converter            the converter of filter values
+     * @param admissionPolicies    the policies every filter is admitted by
+     * @param maxCachedShapes      the number of filter shapes whose SQL is
+     *                             cached; further shapes are rendered on
+     *                             every execution
+     */
+    public DirectSqlFilterExecutor(
+            EntityManagerFactory entityManagerFactory,
+            JdbcTemplate jdbcTemplate,
+            FilterJsonTypeConverter converter,
+            List<FilterAdmissionPolicy> admissionPolicies,
+            int maxCachedShapes
+    ) {
+        this(
+                entityManagerFactory,
+                jdbcTemplate,
+                converter,
+                admissionPolicies,
+                maxCachedShapes,
+                null,
+                null
+        );
+    }
+
+    /**
+     * Constructs an executor hedging its queries across replicas and
+     * recording the slow ones.
+     *
+     * @param entityManagerFactory the factory of the mapped entities
+     * @param jdbcTemplate         the template of the entities' data source
+     * @param converter            the converter of filter values
+     * @param admissionPolicies    the policies every filter is admitted by
+     * @param maxCachedShapes      the number of filter shapes whose SQL is
+     *                             cached; further shapes are rendered on
+     *                             every execution
+     * @param hedgedReads          runs the queries instead of the template,
+     *                             {@code null} to run them on the template
+     * @param slowFilterLog        records the slow executions, may be
+     *                             {@code null}
+     */
+    public DirectSqlFilterExecutor(
+            EntityManagerFactory entityManagerFactory,
+            JdbcTemplate jdbcTemplate,
+            FilterJsonTypeConverter converter,
+            List<FilterAdmissionPolicy> admissionPolicies,
+            int maxCachedShapes,
+            HedgedQueryExecutor hedgedReads,
+            SlowFilterLog slowFilterLog
+    ) {
+        var sessionFactory =
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        var dialect = sessionFactory.getJdbcServices()
+                                    .getDialect();
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.renderer = new SqlFilterRenderer(
+                sessionFactory.getMappingMetamodel(),
+                dialect,
+                converter
+        );
+        this.limitHandler = dialect.getLimitHandler();
+        this.admissionPolicies = admissionPolicies;
+        this.maxCachedShapes = maxCachedShapes;
+        this.hedgedReads = hedgedReads;
+        this.slowFilterLog = slowFilterLog;
+    }
+
+    /**
+     * Lists the matching entities, mapped to a DTO. Every property of the
+     * DTO is read from the entity field of the same name.
+     *
+     * @param filterWrapper the adapted filter
+     * @param entityType    the filtered entity type
+     * @param projection    the DTO type, a record or a bean
+     * @param sort          the order of the results
+     * @param <T>           the DTO type
+     * @return the matching entities as DTOs
+     * @throws FilterRejectedException if the filter is rejected or cannot
+     *                                 be rendered to SQL
+     */
+    public <T> List<T> findAll(
+            FilterRequestWrapper<?> filterWrapper,
+            Class<?> entityType,
+            Class<T> projection,
+            Sort sort
+    ) {
+        return this.query(
+                this.admit(
+                        filterWrapper,
+                        entityType
+                ),
+                entityType,
+                projectionFields(projection),
+                sort,
+                Limit.NONE,
+                new DataClassRowMapper<>(projection)
+        );
+    }
+
+    /**
+     * Reads a page of the matching entities, mapped to a DTO, and counts
+     * all matching entities if the page does not reveal the total.
+     *
+     * @param filterWrapper the adapted filter
+     * @param entityType    the filtered entity type
+     * @param projection    the DTO type, a record or a bean
+     * @param pageable      the page to read and its sort
+     * @param <T>           the DTO type
+     * @return the page of DTOs
+     * @throws FilterRejectedException if the filter is rejected or cannot
+     *                                 be rendered to SQL
+     */
+    public <T> Page<T> findAll(
+            FilterRequestWrapper<?> filterWrapper,
+            Class<?> entityType,
+            Class<T> projection,
+            Pageable pageable
+    ) {
+        var group = this.admit(
+                filterWrapper,
+                entityType
+        );
+        var content = this.query(
+                group,
+                entityType,
+                projectionFields(projection),
+                pageable.getSort(),
+                pageable.isPaged()
+                ? new Limit(
+                        (int) pageable.getOffset(),
+                        pageable.getPageSize()
+                )
+                : Limit.NONE,
+                new DataClassRowMapper<>(projection)
+        );
+
+        return PageableExecutionUtils.getPage(
+                content,
+                pageable,
+                () -> this.count(
+                        group,
+                        entityType
+                )
+        );
+    }
+
+    /**
+     * Lists the given fields of the matching entities.
+     *
+     * @param filterWrapper the adapted filter
+     * @param entityType    the filtered entity type
+     * @param fields        the selected dot-separated fields, read by the
+     *                      row mapper in this order
+     * @param sort          the order of the results
+     * @param rowMapper     the mapper of every row
+     * @param <T>           the type of the mapped rows
+     * @return the mapped rows
+     * @throws FilterRejectedException if the filter is rejected or cannot
+     *                                 be rendered to SQL
+     */
+    public <T> List<T> findAll(
+            FilterRequestWrapper<?> filterWrapper,
+            Class<?> entityType,
+            List<String> fields,
+            Sort sort,
+            RowMapper<T> rowMapper
+    ) {
+        var projection = new LinkedHashMap<String, String>();
+        for (var i = 0; i < fields.size(); i++) {
+            projection.put(
+                    "c" + i,
+                    fields.get(i)
+            );
+        }
+
+        return this.query(
+                this.admit(
+                        filterWrapper,
+                        entityType
+                ),
+                entityType,
+                projection,
+                sort,
+                Limit.NONE,
+                rowMapper
+        );
+    }
+
+    /**
+     * Counts the matching entities.
+     *
+     * @param filterWrapper the adapted filter
+     * @param entityType    the filtered entity type
+     * @return the number of matching entities
+     * @throws FilterRejectedException if the filter is rejected or cannot
+     *                                 be rendered to SQL
+     */
+    public long count(
+            FilterRequestWrapper<?> filterWrapper,
+            Class<?> entityType
+    ) {
+        return this.count(
+                this.admit(
+                        filterWrapper,
+                        entityType
+                ),
+                entityType
+        );
+    }
+
+    private long count(
+            FilterGroupRequest group,
+            Class<?> entityType
+    ) {
+        var plan = this.plan(
+                new PlanKey(
+                        entityType,
+                        shape(group),
+                        null,
+                        null
+                ),
+                () -> this.renderer.count(
+                        entityType,
+                        group
+                )
+        );
+
+        var parameters = plan.parameters(group);
+
+        return this.execute(
+                entityType,
+                group,
+                plan.sql(),
+                parameters,
+                Limit.NONE,
+                resultSet -> resultSet.next()
+                             ? resultSet.getLong(1)
+                             : 0L
+        );
+    }
+
+    private <T> List<T> query(
+            FilterGroupRequest group,
+            Class<?> entityType,
+            Map<String, String> projection,
+            Sort sort,
+            Limit limit,
+            RowMapper<T> rowMapper
+    ) {
+        var plan = this.plan(
+                new PlanKey(
+                        entityType,
+                        shape(group),
+                        projection,
+                        sort
+                ),
+                () -> this.renderer.select(
+                        entityType,
+                        group,
+                        projection,
+                        sort
+                )
+        );
+        var parameters = plan.parameters(group);
+        var sql = limit.isEmpty()
+                  ? plan.sql()
+                  : this.limitHandler.processSql(
+                          plan.sql(),
+                          limit
+                  );
+
+        return this.execute(
+                entityType,
+                group,
+                sql,
+                parameters,
+                limit,
+                new RowMapperResultSetExtractor<>(rowMapper)
+        );
+    }
+
+    /**
+     * Runs a query on the hedged executor if there is one, and on the
+     * template otherwise, bounded by the deadline of the current request,
+     * and records it if it is slow.
+     *
+     * @param entityType the filtered entity type
+     * @param group      the filter, {@code null} if there is none
+     * @param sql        the SQL of the query
+     * @param parameters the filter parameters
+     * @param limit      the limit of the query
+     * @param extractor  reads the result
+     * @param <T>        the result type
+     * @return the result
+     */
+    private <T> T execute(
+            Class<?> entityType,
+            FilterGroupRequest group,
+            String sql,
+            List<Object> parameters,
+            Limit limit,
+            ResultSetExtractor<T> extractor
+    ) {
+        PreparedStatementSetter binder = statement -> this.bind(
+                statement,
+                parameters,
+                limit
+        );
+        var deadline = QueryDeadline.current()
+                                    .orElse(null);
+        PreparedStatementSetter setter = statement -> {
+            if (deadline != null) {
+                deadline.applyTo(statement);
+            }
+            binder.setValues(statement);
+        };
+        var start = System.nanoTime();
+        T result;
+        if (this.hedgedReads != null) {
+            result = this.hedgedReads.query(
+                    sql,
+                    setter,
+                    extractor
+            );
+        } else {
+            result = this.jdbcTemplate.query(
+                    sql,
+                    setter,
+                    extractor
+            );
+        }
+
+        if (this.slowFilterLog != null) {
+            this.slowFilterLog.record(
+                    entityType,
+                    group,
+                    sql,
+                    parameters,
+                    binder,
+                    System.nanoTime() - start,
+                    result instanceof Collection<?> rows
+                    ? rows.size()
+                    : 1
+            );
+        }
+
+        return result;
+    }
+
+    /**
+     * Binds the parameters of a statement, surrounded by the limit
+     * parameters the dialect places at the start or the end of the query.
+     *
+     * @param statement  the statement
+     * @param parameters the filter parameters
+     * @param limit      the limit of the query
+     * @throws SQLException if a parameter cannot be bound
+     */
+    private void bind(
+            PreparedStatement statement,
+            List<Object> parameters,
+            Limit limit
+    )
+            throws SQLException {
+        var index = 1;
+        if (!limit.isEmpty()) {
+            index += this.limitHandler.bindLimitParametersAtStartOfQuery(
+                    limit,
+                    statement,
+                    index
+            );
+        }
+        for (var parameter : parameters) {
+            StatementCreatorUtils.setParameterValue(
+                    statement,
+                    index++,
+                    SqlTypeValue.TYPE_UNKNOWN,
+                    parameter
+            );
+        }
+        if (!limit.isEmpty()) {
+            this.limitHandler.bindLimitParametersAtEndOfQuery(
+                    limit,
+                    statement,
+                    index
+            );
+            this.limitHandler.setMaxRows(
+                    limit,
+                    statement
+            );
+        }
+    }
+
+    /**
+     * Admits the filter of the wrapper.
+     *
+     * @param filterWrapper the adapted filter
+     * @param entityType    the filtered entity type
+     * @return the filter as a group, {@code null} if there is none
+     * @throws FilterRejectedException if a policy rejects the filter
+     */
+    private FilterGroupRequest admit(
+            FilterRequestWrapper<?> filterWrapper,
+            Class<?> entityType
+    ) {
+        var group = filterWrapper.toFilterGroupRequest()
+                                 .orElse(null);
+        if (group != null) {
+            this.admissionPolicies.forEach(policy -> policy.admit(
+                    group,
+                    entityType,
+                    null
+            ));
+        }
+
+        return group;
+    }
+
+    private SqlFilterPlan plan(
+            PlanKey key,
+            Supplier<SqlFilterPlan> render
+    ) {
+        var plan = this.plans.get(key);
+        if (plan != null) {
+            return plan;
+        }
+
+        plan = render.get();
+        if (this.plans.size() < this.maxCachedShapes) {
+            this.plans.putIfAbsent(
+                    key,
+                    plan
+            );
+        }
+
+        return plan;
+    }
+
+    /**
+     * Describes the shape of a filter: everything the rendered SQL depends
+     * on, but none of the values.
+     *
+     * @param group the filter, {@code null} if there is none
+     * @return the shape
+     */
+    static String shape(FilterGroupRequest group) {
+        if (group == null) {
+            return "";
+        }
+
+        var shape = new StringBuilder("(");
+        for (var i = 0; i < group.groupOperations().length; i++) {
+            if (i > 0) {
+                shape.append(' ')
+                     .append(group.nonPriorityGroupOperators()[i - 1])
+                     .append(' ');
+            }
+            var operation = group.groupOperations()[i];
+            shape.append(operation.field())
+                 .append(' ')
+                 .append(operation.operation());
+            if (operation.operation() == FilterOperation.IN
+                    || operation.operation() == FilterOperation.NOT_IN) {
+                shape.append('[')
+                     .append(operation.value() instanceof Collection<?> values
+                             ? values.size()
+                             : 1)
+                     .append(']');
+            }
+        }
+        if (group.rightSideOperands() != null) {
+            shape.append(' ')
+                 .append(group.rightSideOperands()
+                              .unaryGroupOperator())
+                 .append(' ')
+                 .append(shape(group.rightSideOperands()
+                                    .unaryGroup()));
+        }
+
+        return shape.append(')')
+                    .toString();
+    }
+
+    /**
+     * Lists the properties of a DTO, read from the entity fields of the
+     * same name.
+     *
+     * @param projection the DTO type
+     * @return the entity field of every property, by column label
+     */
+    private static Map<String, String> projectionFields(Class<?> projection) {
+        var fields = new LinkedHashMap<String, String>();
+        if (projection.isRecord()) {
+            for (var component : projection.getRecordComponents()) {
+                fields.put(
+                        component.getName(),
+                        component.getName()
+                );
+            }
+        } else {
+            for (var property : BeanUtils.getPropertyDescriptors(projection)) {
+                if (property.getWriteMethod() != null) {
+                    fields.put(
+                            property.getName(),
+                            property.getName()
+                    );
+                }
+            }
+        }
+
+        return fields;
+    }
+
+    /**
+     * The cache key of a rendered plan.
+     *
+     * @param entityType the filtered entity type
+     * @param shape      the shape of the filter
+     * @param projection the selected fields, {@code null} for a count
+     * @param sort       the sort, {@code null} for a count
+     */
+    private record PlanKey(
+            Class<?> entityType,
+            String shape,
+            Map<String, String> projection,
+            Sort sort
+    ) {
+    }
+}
@@ -0,0 +1,22 @@
+package bg.codexio.springframework.data.jpa.requery.sql;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+
+import java.util.List;
+
+/**
+ * Adds the JDBC parameters of a single filter operation, in the order of
+ * their placeholders in the rendered SQL.
+ */
+@FunctionalInterface
+interface ParameterBinder {
+    /**
+     * @param filter     the filter operation of the current request
+     * @param parameters the parameters of the statement, in placeholder
+     *                   order
+     */
+    void bind(
+            FilterRequest filter,
+            List<Object> parameters
+    );
+}
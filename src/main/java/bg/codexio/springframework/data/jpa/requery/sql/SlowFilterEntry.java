@@ -0,0 +1,34 @@
+package bg.codexio.springframework.data.jpa.requery.sql;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A filter execution slower than the threshold of the
+ * {@link SlowFilterLog}. It holds no filter value: the filter is described
+ * by its shape and the parameters by their types only.
+ *
+ * @param id         the sequence number of the execution, used to
+ *                   {@link SlowFilterLog#explain(long) explain} it
+ * @param timestamp  when the execution finished
+ * @param entityType the name of the filtered entity type
+ * @param filter     the shape of the filter: its fields, operations and
+ *                   operators, and the size of its {@code IN} lists
+ * @param sql        the executed SQL
+ * @param bindTypes  the types of the bound parameters, in placeholder
+ *                   order
+ * @param duration   how long the execution took
+ * @param rowCount   the number of rows read
+ */
+public record SlowFilterEntry(
+        long id,
+        Instant timestamp,
+        String entityType,
+        String filter,
+        String sql,
+        List<String> bindTypes,
+        Duration duration,
+        long rowCount
+) {
+}
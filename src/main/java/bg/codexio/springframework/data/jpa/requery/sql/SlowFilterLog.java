@@ -0,0 +1,254 @@
+package bg.codexio.springframework.data.jpa.requery.sql;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+/**
+ * Keeps the latest filter executions of the {@link DirectSqlFilterExecutor}
+ * and, through the {@link SlowFilterRepositoryPostProcessor}, of the
+ * Spring Data repositories that were slower than a threshold, so that a
+ * slow endpoint can be traced back to the filters causing it.
+ *
+ * <p>The log is a fixed-size ring: recording claims the next slot with an
+ * atomic counter and overwrites the oldest entry, so executions never wait
+ * for each other. Filter values are never exposed, see
+ * {@link SlowFilterEntry}; they are kept in memory only to
+ * {@link #explain(long) explain} the query on demand, until the entry is
+ * overwritten. Depending on the database, a plan may show the values it
+ * was made for.</p>
+ *
+ * <p>Optionally, every slow execution is also logged as a single
+ * structured line. The log is exposed over HTTP only if the application
+ * registers its {@link #routes(String) routes}.</p>
+ */
+public class SlowFilterLog {
+    public static final Duration DEFAULT_THRESHOLD = Duration.ofMillis(500);
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final long thresholdNanos;
+
+    private final boolean logEntries;
+
+    private final AtomicReferenceArray<Capture> captures;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SlowFilterLog(JdbcTemplate jdbcTemplate) {
+        this(
+                jdbcTemplate,
+                DEFAULT_THRESHOLD,
+                DEFAULT_CAPACITY,
+                false
+        );
+    }
+
+    /**
+     * Constructs a log with a custom threshold and capacity.
+     *
+     * @param jdbcTemplate the template explaining the captured queries
+     * @param threshold    the shortest execution that is recorded
+     * @param capacity     the number of executions kept
+     * @param logEntries   whether every slow execution is also logged
+     */
+    public SlowFilterLog(
+            JdbcTemplate jdbcTemplate,
+            Duration threshold,
+            int capacity,
+            boolean logEntries
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.thresholdNanos = threshold.toNanos();
+        this.logEntries = logEntries;
+        this.captures = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Records a filter execution if it was slower than the threshold.
+     *
+     * @param entityType the filtered entity type
+     * @param group      the filter, {@code null} if there is none
+     * @param sql        the executed SQL
+     * @param parameters the filter parameters, in placeholder order
+     * @param setter     binds all the parameters of the statement,
+     *                   {@code null} if they are unknown
+     * @param nanos      how long the execution took
+     * @param rowCount   the number of rows read
+     */
+    void record(
+            Class<?> entityType,
+            FilterGroupRequest group,
+            String sql,
+            List<Object> parameters,
+            PreparedStatementSetter setter,
+            long nanos,
+            long rowCount
+    ) {
+        if (nanos < this.thresholdNanos) {
+            return;
+        }
+
+        var id = this.sequence.getAndIncrement();
+        var entry = new SlowFilterEntry(
+                id,
+                Instant.now(),
+                entityType.getName(),
+                DirectSqlFilterExecutor.shape(group),
+                sql,
+                parameters.stream()
+                          .map(parameter -> parameter == null
+                                            ? "null"
+                                            : parameter.getClass()
+                                                       .getSimpleName())
+                          .toList(),
+                Duration.ofNanos(nanos),
+                rowCount
+        );
+        this.captures.set(
+                (int) (id % this.captures.length()),
+                new Capture(
+                        entry,
+                        setter
+                )
+        );
+
+        if (this.logEntries) {
+            this.logger.warn(
+                    "Slow filter id={} entity={} durationMs={} rows={} "
+                            + "filter=\"{}\" bindTypes={} sql=\"{}\"",
+                    id,
+                    entry.entityType(),
+                    entry.duration()
+                         .toMillis(),
+                    rowCount,
+                    entry.filter(),
+                    entry.bindTypes(),
+                    sql
+            );
+        }
+    }
+
+    /**
+     * @return the recorded executions, the latest first
+     */
+    public List<SlowFilterEntry> entries() {
+        return IntStream.range(
+                                0,
+                                this.captures.length()
+                        )
+                        .mapToObj(this.captures::get)
+                        .filter(Objects::nonNull)
+                        .map(Capture::entry)
+                        .sorted(Comparator.comparingLong(SlowFilterEntry::id)
+                                          .reversed())
+                        .toList();
+    }
+
+    /**
+     * Runs {@code EXPLAIN} for a recorded execution with its original
+     * parameters.
+     *
+     * @param id the id of the execution
+     * @return the lines of the plan, every row of the {@code EXPLAIN}
+     * output with its columns separated by tabs
+     * @throws ResponseStatusException with {@code 404 Not Found} if the
+     *                                 execution is no longer recorded, and
+     *                                 with {@code 400 Bad Request} if its
+     *                                 parameters are unknown
+     */
+    public List<String> explain(long id) {
+        var capture = this.captures.get((int) (id % this.captures.length()));
+        if (capture == null || capture.entry()
+                                      .id() != id) {
+            throw new ResponseStatusException(
+                    HttpStatus.NOT_FOUND,
+                    "No slow filter with id " + id
+            );
+        }
+        if (capture.setter() == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "The parameters of slow filter " + id + " are unknown"
+            );
+        }
+
+        return this.jdbcTemplate.query(
+                "EXPLAIN " + capture.entry()
+                                    .sql(),
+                capture.setter(),
+                (resultSet, rowNumber) -> {
+                    var columns = new ArrayList<String>();
+                    for (var i = 1; i <= resultSet.getMetaData()
+                                                  .getColumnCount(); i++) {
+                        columns.add(String.valueOf(resultSet.getString(i)));
+                    }
+
+                    return String.join(
+                            "\t",
+                            columns
+                    );
+                }
+        );
+    }
+
+    /**
+     * Creates the routes exposing the log, in the manner of an actuator
+     * endpoint: {@code GET path} lists the recorded executions and
+     * {@code GET path/{id}/explain} explains one of them. Nothing is
+     * exposed unless the application registers the returned function as
+     * a bean, behind the same security as its operational endpoints.
+     *
+     * @param path the base path of the routes, e.g.
+     *             {@code /requery/slow-filters}
+     * @return the routes
+     */
+    public RouterFunction<ServerResponse> routes(String path) {
+        return RouterFunctions.route()
+                              .GET(
+                                      path,
+                                      request -> ServerResponse.ok()
+                                                               .body(this.entries())
+                              )
+                              .GET(
+                                      path + "/{id:\\d+}/explain",
+                                      request -> ServerResponse.ok()
+                                                               .body(this.explain(Long.parseLong(request.pathVariable("id"))))
+                              )
+                              .build();
+    }
+
+    /**
+     * A recorded execution with the binder of its parameters.
+     *
+     * @param entry  the recorded execution
+     * @param setter binds the parameters of the statement, {@code null}
+     *               if they are unknown
+     */
+    private record Capture(
+            SlowFilterEntry entry,
+            PreparedStatementSetter setter
+    ) {
+    }
+}
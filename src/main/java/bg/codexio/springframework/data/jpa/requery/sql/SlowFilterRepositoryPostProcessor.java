@@ -0,0 +1,163 @@
+package bg.codexio.springframework.data.jpa.requery.sql;
+
+import bg.codexio.springframework.data.jpa.requery.resolver.ReversibleSpecification;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Records the Spring Data repository calls of a resolved filter, such as
+ * {@code findAll(spec, pageable)}, in a {@link SlowFilterLog}, in the same
+ * way as the executions of the {@link DirectSqlFilterExecutor}.
+ *
+ * <p>Registered as a bean, it adds itself to every repository factory. A
+ * call is recorded if one of its arguments is a
+ * {@link ReversibleSpecification}, the specification the argument
+ * resolver hands out, which carries the shape of the filter; a
+ * specification combined with another one no longer does. The duration
+ * spans the whole call: the statements, such as the count query of a
+ * page, and the loading of the entities.</p>
+ *
+ * <p>To also record the SQL, set it as the
+ * {@code hibernate.session_factory.statement_inspector} of the entity
+ * manager factory, so it collects the statements a recorded call
+ * prepares. Hibernate does not expose the bound values, so the entries
+ * have no parameter types and cannot be
+ * {@link SlowFilterLog#explain(long) explained}.</p>
+ */
+public class SlowFilterRepositoryPostProcessor
+        implements BeanPostProcessor, RepositoryProxyPostProcessor,
+                   StatementInspector {
+    private final SlowFilterLog slowFilterLog;
+
+    private final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+    public SlowFilterRepositoryPostProcessor(SlowFilterLog slowFilterLog) {
+        this.slowFilterLog = slowFilterLog;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(
+            Object bean,
+            String beanName
+    ) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(this));
+        }
+
+        return bean;
+    }
+
+    /**
+     * Adds the recording to the repository, around every call.
+     *
+     * @param factory               the factory of the repository proxy
+     * @param repositoryInformation the repository
+     */
+    @Override
+    public void postProcess(
+            ProxyFactory factory,
+            RepositoryInformation repositoryInformation
+    ) {
+        factory.addAdvice((MethodInterceptor) invocation -> this.record(
+                invocation,
+                repositoryInformation.getDomainType()
+        ));
+    }
+
+    /**
+     * Collects a statement prepared by a recorded call.
+     *
+     * @param sql the statement
+     * @return the statement, unchanged
+     */
+    @Override
+    public String inspect(String sql) {
+        var collected = this.statements.get();
+        if (collected != null) {
+            collected.add(sql);
+        }
+
+        return sql;
+    }
+
+    /**
+     * Times a repository call and records it if it was made with a
+     * resolved filter. A repository called by another recorded call is
+     * only part of the outer one.
+     *
+     * @param invocation the repository call
+     * @param domainType the entity type of the repository
+     * @return the result of the call
+     * @throws Throwable if the call fails
+     */
+    private Object record(
+            MethodInvocation invocation,
+            Class<?> domainType
+    ) throws Throwable {
+        if (this.statements.get() != null) {
+            return invocation.proceed();
+        }
+
+        ReversibleSpecification<?> specification = null;
+        for (var argument : invocation.getArguments()) {
+            if (argument instanceof ReversibleSpecification<?> reversible) {
+                specification = reversible;
+            }
+        }
+        if (specification == null) {
+            return invocation.proceed();
+        }
+
+        var collected = new ArrayList<String>();
+        this.statements.set(collected);
+        var start = System.nanoTime();
+        try {
+            var result = invocation.proceed();
+            this.slowFilterLog.record(
+                    domainType,
+                    specification.toRequest(),
+                    String.join(
+                            ";\n",
+                            collected
+                    ),
+                    List.of(),
+                    null,
+                    System.nanoTime() - start,
+                    rowCount(result)
+            );
+
+            return result;
+        } finally {
+            this.statements.remove();
+        }
+    }
+
+    /**
+     * @param result the result of a repository call
+     * @return the number of entities the call returned, one for a single
+     * value such as a count
+     */
+    private static long rowCount(Object result) {
+        return switch (result) {
+            case null -> 0;
+            case Collection<?> rows -> rows.size();
+            case Slice<?> slice -> slice.getNumberOfElements();
+            case Optional<?> optional -> optional.isPresent()
+                                         ? 1
+                                         : 0;
+            default -> 1;
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package bg.codexio.springframework.data.jpa.requery.sql;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The SQL rendered for a filter shape, together with the binders turning
+ * the values of a filter of that shape into JDBC parameters.
+ *
+ * @param sql     the parameterized SQL
+ * @param binders one binder per filter operation, in the order of
+ *                {@link FilterGroupRequest#allOperations()}
+ */
+record SqlFilterPlan(
+        String sql,
+        List<ParameterBinder> binders
+) {
+    /**
+     * Collects the JDBC parameters of a filter with the shape of this
+     * plan.
+     *
+     * @param group the filter, {@code null} if there is none
+     * @return the parameters, in placeholder order
+     */
+    List<Object> parameters(FilterGroupRequest group) {
+        var parameters = new ArrayList<>();
+        if (group == null) {
+            return parameters;
+        }
+
+        var operations = group.allOperations()
+                              .toArray(FilterRequest[]::new);
+        for (var i = 0; i < operations.length; i++) {
+            this.binders.get(i)
+                        .bind(
+                                operations[i],
+                                parameters
+                        );
+        }
+
+        return parameters;
+    }
+}
@@ -0,0 +1,722 @@
+package bg.codexio.springframework.data.jpa.requery.sql;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverter;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterLogicalOperator;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.resolver.EntityPaths;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.metamodel.mapping.BasicValuedModelPart;
+import org.hibernate.metamodel.mapping.EmbeddableValuedModelPart;
+import org.hibernate.metamodel.mapping.EntityMappingType;
+import org.hibernate.metamodel.mapping.ForeignKeyDescriptor;
+import org.hibernate.metamodel.mapping.ModelPart;
+import org.hibernate.metamodel.mapping.ModelPartContainer;
+import org.hibernate.metamodel.mapping.internal.ToOneAttributeMapping;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders filters directly to parameterized SQL against the tables and
+ * columns of the Hibernate mapping metamodel, without building a Criteria
+ * query.
+ *
+ * <p>The SQL mirrors the Criteria query of the
+ * {@code FilterJsonArgumentResolver}: operations are folded from left to
+ * right, the associations on a filtered path are inner joined like the
+ * implicit joins of the Criteria path, and the associations only selected
+ * or sorted by are left joined. Values are bound as JDBC parameters, so
+ * the SQL only depends on the shape of the filter.</p>
+ *
+ * <p>Only single-column to-one associations and embeddables can be
+ * navigated. Collections, {@code SEARCH}, which depends on the text search
+ * functions of the dialect, and string operations on non-text fields,
+ * which would need a dialect specific cast, are rejected with
+ * {@code 400 Bad Request}; they remain available on the Criteria path.
+ * So are entities whose rows are not exactly the rows of their table:
+ * entities of an inheritance hierarchy, which need a discriminator or the
+ * tables of their super and sub types, and entities with an
+ * {@code @SQLRestriction} or soft delete.</p>
+ */
+final class SqlFilterRenderer {
+    private static final ParameterBinder NO_PARAMETERS = (filter, parameters) -> {
+    };
+
+    private final MappingMetamodel metamodel;
+
+    private final Dialect dialect;
+
+    private final FilterJsonTypeConverter converter;
+
+    SqlFilterRenderer(
+            MappingMetamodel metamodel,
+            Dialect dialect,
+            FilterJsonTypeConverter converter
+    ) {
+        this.metamodel = metamodel;
+        this.dialect = dialect;
+        this.converter = converter;
+    }
+
+    /**
+     * Renders a query selecting the given fields of the matching entities.
+     *
+     * @param entityType the filtered entity type
+     * @param group      the filter, {@code null} if there is none
+     * @param projection the selected dot-separated fields, by column label
+     * @param sort       the order of the results
+     * @return the rendered plan
+     * @throws FilterRejectedException if a field cannot be rendered
+     */
+    SqlFilterPlan select(
+            Class<?> entityType,
+            FilterGroupRequest group,
+            Map<String, String> projection,
+            Sort sort
+    ) {
+        var context = new Context(entityType);
+        var binders = new ArrayList<ParameterBinder>();
+        var where = this.where(
+                context,
+                group,
+                binders
+        );
+
+        var selections = new ArrayList<String>(projection.size());
+        projection.forEach((label, field) -> selections.add(context.column(
+                                                                           field,
+                                                                           false
+                                                                   )
+                                                                   .expression()
+                + " AS " + this.dialect.toQuotedIdentifier(label)));
+
+        var orders = new ArrayList<String>();
+        for (var order : sort) {
+            orders.add(context.column(
+                                      order.getProperty(),
+                                      false
+                              )
+                              .expression() + (order.isAscending()
+                                               ? " ASC"
+                                               : " DESC"));
+        }
+
+        var sql = new StringBuilder("SELECT ").append(String.join(
+                                                      ", ",
+                                                      selections
+                                              ))
+                                              .append(context.from());
+        if (where != null) {
+            sql.append(" WHERE ")
+               .append(where);
+        }
+        if (!orders.isEmpty()) {
+            sql.append(" ORDER BY ")
+               .append(String.join(
+                       ", ",
+                       orders
+               ));
+        }
+
+        return new SqlFilterPlan(
+                sql.toString(),
+                List.copyOf(binders)
+        );
+    }
+
+    /**
+     * Renders a query counting the matching entities.
+     *
+     * @param entityType the filtered entity type
+     * @param group      the filter, {@code null} if there is none
+     * @return the rendered plan
+     * @throws FilterRejectedException if a field cannot be rendered
+     */
+    SqlFilterPlan count(
+            Class<?> entityType,
+            FilterGroupRequest group
+    ) {
+        var context = new Context(entityType);
+        var binders = new ArrayList<ParameterBinder>();
+        var where = this.where(
+                context,
+                group,
+                binders
+        );
+
+        return new SqlFilterPlan(
+                "SELECT COUNT(*)" + context.from() + (where == null
+                                                      ? ""
+                                                      : " WHERE " + where),
+                List.copyOf(binders)
+        );
+    }
+
+    private String where(
+            Context context,
+            FilterGroupRequest group,
+            List<ParameterBinder> binders
+    ) {
+        return group == null || group.groupOperations().length == 0
+               ? null
+               : this.group(
+                       context,
+                       group,
+                       binders
+               );
+    }
+
+    /**
+     * Renders a group, folding its operations from left to right and
+     * combining the nested group with the result. Every fold step is
+     * parenthesized, so the SQL precedence of {@code AND} over
+     * {@code OR} does not apply.
+     *
+     * @param context the render context
+     * @param group   the group
+     * @param binders the binders, appended in operation order
+     * @return the condition of the group
+     */
+    private String group(
+            Context context,
+            FilterGroupRequest group,
+            List<ParameterBinder> binders
+    ) {
+        var leftSide = this.operation(
+                context,
+                group.groupOperations()[0],
+                binders
+        );
+        for (var i = 1; i < group.groupOperations().length; i++) {
+            leftSide = this.combine(
+                    leftSide,
+                    group.nonPriorityGroupOperators()[i - 1],
+                    this.operation(
+                            context,
+                            group.groupOperations()[i],
+                            binders
+                    )
+            );
+        }
+
+        if (group.rightSideOperands() == null
+                || group.rightSideOperands()
+                        .unaryGroup()
+                        .groupOperations().length == 0) {
+            return leftSide;
+        }
+
+        return this.combine(
+                leftSide,
+                group.rightSideOperands()
+                     .unaryGroupOperator(),
+                this.group(
+                        context,
+                        group.rightSideOperands()
+                             .unaryGroup(),
+                        binders
+                )
+        );
+    }
+
+    private String combine(
+            String leftSide,
+            FilterLogicalOperator operator,
+            String rightSide
+    ) {
+        return "(" + leftSide + " " + operator.name() + " " + rightSide
+                + ")";
+    }
+
+    /**
+     * Renders a single filter operation and registers the binder of its
+     * parameters.
+     *
+     * @param context the render context
+     * @param filter  the filter operation
+     * @param binders the binders, appended in operation order
+     * @return the condition of the operation
+     */
+    private String operation(
+            Context context,
+            FilterRequest filter,
+            List<ParameterBinder> binders
+    ) {
+        var fieldType = EntityPaths.resolve(
+                                           context.entityType,
+                                           filter.field(),
+                                           "Field"
+                                   )
+                                   .type();
+        var column = context.column(
+                filter.field(),
+                true
+        );
+        var expression = column.expression();
+
+        switch (filter.operation()) {
+            case EMPTY -> {
+                binders.add(NO_PARAMETERS);
+
+                return expression + " IS NULL";
+            }
+            case NOT_EMPTY -> {
+                binders.add(NO_PARAMETERS);
+
+                return expression + " IS NOT NULL";
+            }
+            case EQ, GT, GTE, LT, LTE -> {
+                binders.add((request, parameters) -> parameters.add(this.jdbcValue(
+                        column.part(),
+                        this.convert(
+                                fieldType,
+                                request.value()
+                        )
+                )));
+
+                return expression + " " + switch (filter.operation()) {
+                    case EQ -> "=";
+                    case GT -> ">";
+                    case GTE -> ">=";
+                    case LT -> "<";
+                    default -> "<=";
+                } + " ?";
+            }
+            case IN, NOT_IN -> {
+                binders.add((request, parameters) -> {
+                    for (var value : values(request.value())) {
+                        parameters.add(this.jdbcValue(
+                                column.part(),
+                                this.convert(
+                                        fieldType,
+                                        value
+                                )
+                        ));
+                    }
+                });
+
+                var size = values(filter.value()).size();
+                if (size == 0) {
+                    return filter.operation() == FilterOperation.IN
+                           ? "1=0"
+                           : "1=1";
+                }
+
+                return expression + (filter.operation() == FilterOperation.IN
+                                     ? " IN ("
+                                     : " NOT IN (") + String.join(
+                        ", ",
+                        Collections.nCopies(
+                                size,
+                                "?"
+                        )
+                ) + ")";
+            }
+            case BEGINS_WITH, ENDS_WITH, CONTAINS, BEGINS_WITH_CASEINS,
+                 ENDS_WITH_CASEINS, CONTAINS_CASEINS -> {
+                if (!String.class.equals(fieldType)) {
+                    throw this.rejected(
+                            filter,
+                            "is only supported on text fields by direct SQL"
+                    );
+                }
+
+                var caseInsensitive = filter.operation()
+                                            .name()
+                                            .endsWith("_CASEINS");
+                binders.add((request, parameters) -> parameters.add(this.likePattern(
+                        request,
+                        caseInsensitive
+                )));
+
+                return (caseInsensitive
+                        ? "LOWER(" + expression + ")"
+                        : expression) + " LIKE ?";
+            }
+            case SEARCH, OVERLAPS, CONTAINS_ALL, CONTAINED_BY, WITHIN_RADIUS,
+                 WITHIN_BOX ->
+                    throw this.rejected(
+                            filter,
+                            "is not supported by direct SQL"
+                    );
+        }
+
+        throw new IllegalStateException(filter.operation()
+                                              .name());
+    }
+
+    /**
+     * Builds the {@code LIKE} pattern of a string operation. Like the
+     * Criteria path, the value is not escaped.
+     *
+     * @param filter          the string operation
+     * @param caseInsensitive whether the pattern is lower-cased
+     * @return the pattern
+     */
+    private String likePattern(
+            FilterRequest filter,
+            boolean caseInsensitive
+    ) {
+        var value = caseInsensitive
+                    ? filter.value()
+                            .toString()
+                            .toLowerCase(Locale.ROOT)
+                    : filter.value()
+                            .toString();
+
+        return switch (filter.operation()) {
+            case BEGINS_WITH, BEGINS_WITH_CASEINS -> value + "%";
+            case ENDS_WITH, ENDS_WITH_CASEINS -> "%" + value;
+            default -> "%" + value + "%";
+        };
+    }
+
+    /**
+     * Converts a filter value to the type of its field, falling back to
+     * the raw string like the Criteria path.
+     *
+     * @param fieldType the type of the field
+     * @param value     the value to convert
+     * @return the converted value
+     */
+    private Object convert(
+            Class<?> fieldType,
+            Object value
+    ) {
+        try {
+            return this.converter.convert(
+                    fieldType,
+                    value.toString()
+            );
+        } catch (RuntimeException e) {
+            return value.toString();
+        }
+    }
+
+    /**
+     * Converts a domain value to the value bound to the column, applying
+     * the attribute converter of the mapping and storing enums by name or
+     * ordinal depending on the column type.
+     *
+     * @param part  the mapped column
+     * @param value the domain value
+     * @return the JDBC value
+     */
+    private Object jdbcValue(
+            BasicValuedModelPart part,
+            Object value
+    ) {
+        var mapping = part.getJdbcMapping();
+        var relational = mapping.getJavaTypeDescriptor()
+                                .getJavaTypeClass()
+                                .isInstance(value)
+                         ? mapping.convertToRelationalValue(value)
+                         : value;
+
+        if (relational instanceof Enum<?> constant) {
+            return SqlTypes.isCharacterType(mapping.getJdbcType()
+                                                   .getDefaultSqlTypeCode())
+                   ? constant.name()
+                   : constant.ordinal();
+        }
+
+        return relational;
+    }
+
+    private static Collection<?> values(Object value) {
+        return value instanceof Collection<?> collection
+               ? collection
+               : List.of(value);
+    }
+
+    private FilterRejectedException rejected(
+            FilterRequest filter,
+            String reason
+    ) {
+        return new FilterRejectedException(
+                HttpStatus.BAD_REQUEST,
+                filter.operation() + " on '" + filter.field() + "' " + reason
+        );
+    }
+
+    /**
+     * Checks that the rows of an entity are exactly the rows of its mapped
+     * table, the only one the rendered SQL reads.
+     *
+     * @param entity  the entity
+     * @param subject the entity type or association path, for the error
+     *                message
+     * @throws FilterRejectedException if the entity belongs to an
+     *                                 inheritance hierarchy or its rows are
+     *                                 restricted
+     */
+    private void requirePlainTable(
+            EntityMappingType entity,
+            String subject
+    ) {
+        String reason = null;
+        if (entity.getSuperMappingType() != null || entity.hasSubclasses()) {
+            reason = "is part of an inheritance hierarchy";
+        } else if (entity.hasWhereRestrictions()) {
+            reason = "has an SQL restriction";
+        } else if (entity.getSoftDeleteMapping() != null) {
+            reason = "is soft deleted";
+        }
+
+        if (reason != null) {
+            throw new FilterRejectedException(
+                    HttpStatus.BAD_REQUEST,
+                    subject + " " + reason + ", which direct SQL does not "
+                            + "render"
+            );
+        }
+    }
+
+    private FilterRejectedException rejected(
+            String field,
+            String reason
+    ) {
+        return new FilterRejectedException(
+                HttpStatus.BAD_REQUEST,
+                "Field '" + field + "' " + reason
+        );
+    }
+
+    /**
+     * A column of the query with its mapping.
+     *
+     * @param expression the column qualified with its table alias
+     * @param part       the mapped column
+     */
+    private record Column(
+            String expression,
+            BasicValuedModelPart part
+    ) {
+    }
+
+    /**
+     * A joined table of the query.
+     */
+    private static final class TableJoin {
+        private final String alias;
+
+        private final String table;
+
+        private final String condition;
+
+        private boolean inner;
+
+        private TableJoin(
+                String alias,
+                String table,
+                String condition,
+                boolean inner
+        ) {
+            this.alias = alias;
+            this.table = table;
+            this.condition = condition;
+            this.inner = inner;
+        }
+    }
+
+    /**
+     * The tables of a single rendered query.
+     */
+    private final class Context {
+        private static final String ROOT_ALIAS = "t0";
+
+        private final Class<?> entityType;
+
+        private final EntityMappingType descriptor;
+
+        private final Map<String, TableJoin> joins = new LinkedHashMap<>();
+
+        private Context(Class<?> entityType) {
+            this.entityType = entityType;
+            this.descriptor =
+                    SqlFilterRenderer.this.metamodel.findEntityDescriptor(entityType);
+            if (this.descriptor == null) {
+                throw new IllegalArgumentException(entityType.getName()
+                                                           + " is not a mapped "
+                                                           + "entity");
+            }
+            SqlFilterRenderer.this.requirePlainTable(
+                    this.descriptor,
+                    entityType.getSimpleName()
+            );
+        }
+
+        private String from() {
+            var from = new StringBuilder(" FROM ").append(this.descriptor.getMappedTableDetails()
+                                                                         .getTableName())
+                                                  .append(' ')
+                                                  .append(ROOT_ALIAS);
+            for (var join : this.joins.values()) {
+                from.append(join.inner
+                            ? " JOIN "
+                            : " LEFT JOIN ")
+                    .append(join.table)
+                    .append(' ')
+                    .append(join.alias)
+                    .append(" ON ")
+                    .append(join.condition);
+            }
+
+            return from.toString();
+        }
+
+        /**
+         * Resolves a dot-separated field to its column, joining the
+         * associations on its way.
+         *
+         * @param field the dot-separated field
+         * @param inner whether the associations are inner joined
+         * @return the column
+         * @throws FilterRejectedException if the field is not a mapped
+         *                                 single column
+         */
+        private Column column(
+                String field,
+                boolean inner
+        ) {
+            var segments = field.split("\\.");
+            var part = (ModelPart) this.descriptor;
+            var alias = ROOT_ALIAS;
+            var table = this.descriptor.getMappedTableDetails()
+                                       .getTableName();
+
+            for (var i = 0; i < segments.length; i++) {
+                if (!(part instanceof ModelPartContainer container)) {
+                    throw SqlFilterRenderer.this.rejected(
+                            field,
+                            "is not a mapped column"
+                    );
+                }
+                var subPart = container.findSubPart(
+                        segments[i],
+                        null
+                );
+                var last = i == segments.length - 1;
+
+                if (subPart instanceof ToOneAttributeMapping toOne && !last) {
+                    var join = this.join(
+                            String.join(
+                                    ".",
+                                    List.of(segments)
+                                        .subList(
+                                                0,
+                                                i + 1
+                                        )
+                            ),
+                            alias,
+                            toOne,
+                            inner
+                    );
+                    alias = join.alias;
+                    table = join.table;
+                    part = toOne.getEntityMappingType();
+                } else if (subPart instanceof EmbeddableValuedModelPart && !last) {
+                    part = subPart;
+                } else if (subPart instanceof BasicValuedModelPart basic && last
+                        && basic.getContainingTableExpression()
+                                .equals(table)) {
+                    return new Column(
+                            alias + "." + basic.getSelectionExpression(),
+                            basic
+                    );
+                } else if (subPart instanceof ToOneAttributeMapping toOne
+                        && toOne.getSideNature() == ForeignKeyDescriptor.Nature.KEY
+                        && toOne.getForeignKeyDescriptor()
+                                .getKeyPart() instanceof BasicValuedModelPart key) {
+                    return new Column(
+                            alias + "." + key.getSelectionExpression(),
+                            key
+                    );
+                } else {
+                    throw SqlFilterRenderer.this.rejected(
+                            field,
+                            "is not a single column of the mapped tables"
+                    );
+                }
+            }
+
+            throw SqlFilterRenderer.this.rejected(
+                    field,
+                    "is not a mapped column"
+            );
+        }
+
+        /**
+         * Joins the table of a to-one association, reusing the join of the
+         * same path. A join needed by a filter is upgraded to an inner
+         * join.
+         *
+         * @param path        the path of the association
+         * @param parentAlias the alias of the table holding the association
+         * @param toOne       the association
+         * @param inner       whether the join is an inner join
+         * @return the join
+         */
+        private TableJoin join(
+                String path,
+                String parentAlias,
+                ToOneAttributeMapping toOne,
+                boolean inner
+        ) {
+            var existing = this.joins.get(path);
+            if (existing != null) {
+                existing.inner |= inner;
+
+                return existing;
+            }
+
+            SqlFilterRenderer.this.requirePlainTable(
+                    toOne.getEntityMappingType(),
+                    "Field '" + path + "'"
+            );
+            var foreignKey = toOne.getForeignKeyDescriptor();
+            if (!(foreignKey.getKeyPart() instanceof BasicValuedModelPart key)
+                    || !(foreignKey.getTargetPart() instanceof BasicValuedModelPart target)) {
+                throw SqlFilterRenderer.this.rejected(
+                        path,
+                        "has a composite foreign key"
+                );
+            }
+
+            var alias = "t" + (this.joins.size() + 1);
+            var condition =
+                    toOne.getSideNature() == ForeignKeyDescriptor.Nature.KEY
+                    ? parentAlias + "." + key.getSelectionExpression() + " = "
+                            + alias + "." + target.getSelectionExpression()
+                    : parentAlias + "." + target.getSelectionExpression()
+                            + " = " + alias + "."
+                            + key.getSelectionExpression();
+            var join = new TableJoin(
+                    alias,
+                    toOne.getSideNature() == ForeignKeyDescriptor.Nature.KEY
+                    ? foreignKey.getTargetTable()
+                    : foreignKey.getKeyTable(),
+                    condition,
+                    inner
+            );
+            this.joins.put(
+                    path,
+                    join
+            );
+
+            return join;
+        }
+    }
+}
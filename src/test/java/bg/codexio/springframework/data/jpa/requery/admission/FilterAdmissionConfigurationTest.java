@@ -0,0 +1,150 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterLogicalOperator;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.test.objects.AccountMock;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterAdmissionConfigurationTest {
+    private final FilterGroupRequest twoEqualsFilter = new FilterGroupRequest(
+            new FilterRequest[]{
+                    new FilterRequest(
+                            "email",
+                            "a@example.com",
+                            FilterOperation.EQ
+                    ), new FilterRequest(
+                    "name",
+                    "A",
+                    FilterOperation.EQ
+            )
+            },
+            new FilterLogicalOperator[]{FilterLogicalOperator.OR},
+            null
+    );
+
+    private static AnnotationConfigApplicationContext context(
+            Map<String, Object> properties,
+            Class<?>... configurations
+    ) {
+        var context = new AnnotationConfigApplicationContext();
+        context.getEnvironment()
+               .getPropertySources()
+               .addFirst(new MapPropertySource(
+                       "test",
+                       properties
+               ));
+        context.register(configurations);
+        context.refresh();
+
+        return context;
+    }
+
+    @Test
+    void filterCostModel_ShouldUseDefaults_WhenNoPropertiesAreSet() {
+        try (var context = context(
+                Map.of(),
+                FilterAdmissionConfiguration.class
+        )) {
+            assertEquals(
+                    FilterCostModel.defaults(),
+                    context.getBean(FilterCostModel.class)
+            );
+            assertDoesNotThrow(() -> context.getBean(FilterComplexityBudgetPolicy.class)
+                                            .admit(
+                                                    this.twoEqualsFilter,
+                                                    AccountMock.class,
+                                                    null
+                                            ));
+        }
+    }
+
+    @Test
+    void filterComplexityBudgetPolicy_ShouldUseProperties_WhenTheyAreSet() {
+        try (var context = context(
+                Map.of(
+                        FilterAdmissionConfiguration.NODE_WEIGHT_PROPERTY,
+                        "3",
+                        FilterAdmissionConfiguration.MAX_COST_PROPERTY,
+                        "5"
+                ),
+                FilterAdmissionConfiguration.class
+        )) {
+            assertEquals(
+                    3,
+                    context.getBean(FilterCostModel.class)
+                           .nodeWeight()
+            );
+            assertThrows(
+                    FilterRejectedException.class,
+                    () -> context.getBean(FilterComplexityBudgetPolicy.class)
+                                 .admit(
+                                         this.twoEqualsFilter,
+                                         AccountMock.class,
+                                         null
+                                 )
+            );
+        }
+    }
+
+    @Test
+    void filterAdmissionConfiguration_ShouldKeepApplicationBeans_WhenTheyReplaceDefaults() {
+        try (var context = context(
+                Map.of(),
+                FilterAdmissionConfiguration.class,
+                ApplicationConfiguration.class
+        )) {
+            assertSame(
+                    ApplicationConfiguration.COST_MODEL,
+                    context.getBean(FilterCostModel.class)
+            );
+            assertEquals(
+                    1,
+                    context.getBeansOfType(FilterAdmissionPolicy.class)
+                           .size()
+            );
+            assertThrows(
+                    FilterRejectedException.class,
+                    () -> context.getBean(FilterComplexityBudgetPolicy.class)
+                                 .admit(
+                                         this.twoEqualsFilter,
+                                         AccountMock.class,
+                                         null
+                                 )
+            );
+        }
+    }
+
+    @Configuration
+    static class ApplicationConfiguration {
+        static final FilterCostModel COST_MODEL = new FilterCostModel(
+                10,
+                0,
+                0,
+                0,
+                0
+        );
+
+        @Bean
+        public FilterCostModel applicationCostModel() {
+            return COST_MODEL;
+        }
+
+        @Bean
+        public FilterComplexityBudgetPolicy applicationBudgetPolicy(FilterCostModel filterCostModel) {
+            return new FilterComplexityBudgetPolicy(
+                    filterCostModel,
+                    15
+            );
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterLogicalOperator;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.test.objects.ParentMock;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterComplexityBudgetPolicyTest {
+    private final FilterComplexityBudgetPolicy policy =
+            new FilterComplexityBudgetPolicy(
+                    FilterCostModel.defaults(),
+                    30
+            );
+
+    private final FilterGroupRequest containsFilter = new FilterGroupRequest(
+            new FilterRequest[]{
+                    new FilterRequest(
+                            "name",
+                            "a",
+                            FilterOperation.CONTAINS_CASEINS
+                    ), new FilterRequest(
+                    "role",
+                    "b",
+                    FilterOperation.CONTAINS_CASEINS
+            )
+            },
+            new FilterLogicalOperator[]{FilterLogicalOperator.OR},
+            null
+    );
+
+    @Test
+    void admit_ShouldAcceptFilter_WhenWithinDefaultBudget() {
+        assertDoesNotThrow(() -> this.policy.admit(
+                this.containsFilter,
+                ParentMock.class,
+                parameter("unannotated")
+        ));
+    }
+
+    @Test
+    void admit_ShouldRejectFilter_WhenParameterBudgetIsExceeded() {
+        var exception = assertThrows(
+                FilterRejectedException.class,
+                () -> this.policy.admit(
+                        this.containsFilter,
+                        ParentMock.class,
+                        parameter("annotated")
+                )
+        );
+
+        assertEquals(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                exception.getStatusCode()
+        );
+    }
+
+    @Test
+    void admit_ShouldRejectFilter_WhenEntityBudgetIsExceeded() {
+        assertThrows(
+                FilterRejectedException.class,
+                () -> this.policy.admit(
+                        this.containsFilter,
+                        BudgetedEntity.class,
+                        parameter("unannotated")
+                )
+        );
+    }
+
+    private static MethodParameter parameter(String methodName) {
+        try {
+            return MethodParameter.forExecutable(
+                    Endpoints.class.getDeclaredMethod(
+                            methodName,
+                            Specification.class
+                    ),
+                    0
+            );
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @FilterBudget(maxCost = 5)
+    static class BudgetedEntity {
+        private String name;
+        private String role;
+    }
+
+    static class Endpoints {
+        void unannotated(Specification<ParentMock> specification) {}
+
+        void annotated(@FilterBudget(maxCost = 5) Specification<ParentMock> specification) {}
+    }
+}
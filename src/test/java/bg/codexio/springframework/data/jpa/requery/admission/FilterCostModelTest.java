@@ -0,0 +1,131 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterLogicalOperator;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.UnaryGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.test.objects.ParentMock;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FilterCostModelTest {
+    private final FilterCostModel costModel = new FilterCostModel(
+            1,
+            2,
+            0.5,
+            10,
+            5
+    );
+
+    @Test
+    void estimate_ShouldChargeNodeWeight_WhenOperationIsSargable() {
+        var filter = group(new FilterRequest(
+                "name",
+                "John",
+                FilterOperation.EQ
+        ));
+
+        assertEquals(
+                1,
+                this.costModel.estimate(
+                        filter,
+                        ParentMock.class
+                )
+        );
+    }
+
+    @Test
+    void estimate_ShouldChargeLeadingWildcard_WhenOperationCannotUseIndex() {
+        var filter = group(
+                new FilterRequest(
+                        "name",
+                        "John",
+                        FilterOperation.CONTAINS_CASEINS
+                ),
+                new FilterRequest(
+                        "name",
+                        "John",
+                        FilterOperation.BEGINS_WITH
+                )
+        );
+
+        assertEquals(
+                12,
+                this.costModel.estimate(
+                        filter,
+                        ParentMock.class
+                )
+        );
+    }
+
+    @Test
+    void estimate_ShouldChargeInValuesAndCollectionPath_WhenFilteringCollection() {
+        var filter = group(new FilterRequest(
+                "grades",
+                List.of(
+                        1,
+                        2,
+                        3,
+                        4
+                ),
+                FilterOperation.IN
+        ));
+
+        assertEquals(
+                8,
+                this.costModel.estimate(
+                        filter,
+                        ParentMock.class
+                )
+        );
+    }
+
+    @Test
+    void estimate_ShouldChargeDepth_WhenGroupsAreNested() {
+        var filter = new FilterGroupRequest(
+                new FilterRequest[]{
+                        new FilterRequest(
+                                "age",
+                                "1",
+                                FilterOperation.GT
+                        )
+                },
+                new FilterLogicalOperator[0],
+                new UnaryGroupRequest(
+                        group(new FilterRequest(
+                                "unknown",
+                                "1",
+                                FilterOperation.LT
+                        )),
+                        FilterLogicalOperator.OR
+                )
+        );
+
+        assertEquals(
+                4,
+                this.costModel.estimate(
+                        filter,
+                        ParentMock.class
+                )
+        );
+    }
+
+    private static FilterGroupRequest group(FilterRequest... requests) {
+        var operators = new FilterLogicalOperator[requests.length - 1];
+        Arrays.fill(
+                operators,
+                FilterLogicalOperator.OR
+        );
+
+        return new FilterGroupRequest(
+                requests,
+                operators,
+                null
+        );
+    }
+}
@@ -0,0 +1,159 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterLogicalOperator;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.test.objects.ParentMock;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FilterTimeoutPolicyTest {
+    private final FilterTimeoutPolicy policy = new FilterTimeoutPolicy(
+            FilterCostModel.defaults(),
+            Duration.ofSeconds(10)
+    );
+
+    // Two case-insensitive LIKEs cost 22 of the reference cost of 100.
+    private final FilterGroupRequest containsFilter = new FilterGroupRequest(
+            new FilterRequest[]{
+                    new FilterRequest(
+                            "name",
+                            "a",
+                            FilterOperation.CONTAINS_CASEINS
+                    ), new FilterRequest(
+                    "role",
+                    "b",
+                    FilterOperation.CONTAINS_CASEINS
+            )
+            },
+            new FilterLogicalOperator[]{FilterLogicalOperator.OR},
+            null
+    );
+
+    private HttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        this.request = mock(HttpServletRequest.class);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(this.request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private Duration admit(String methodName) {
+        this.policy.admit(
+                this.containsFilter,
+                ParentMock.class,
+                parameter(methodName)
+        );
+
+        var deadline = ArgumentCaptor.forClass(QueryDeadline.class);
+        verify(this.request).setAttribute(
+                eq(QueryDeadline.ATTRIBUTE),
+                deadline.capture()
+        );
+
+        return deadline.getValue()
+                       .remaining();
+    }
+
+    private static void assertAbout(
+            Duration expected,
+            Duration actual
+    ) {
+        assertTrue(
+                actual.compareTo(expected) <= 0 && actual.compareTo(expected.minusMillis(100)) > 0,
+                () -> "Expected about " + expected + " but was " + actual
+        );
+    }
+
+    @Test
+    void admit_ShouldScaleDefaultTimeout_ByFilterCost() {
+        assertAbout(
+                Duration.ofMillis(2200),
+                this.admit("unannotated")
+        );
+    }
+
+    @Test
+    void admit_ShouldScaleParameterTimeout_ButNotBelowMinimum() {
+        assertAbout(
+                FilterTimeoutPolicy.DEFAULT_MIN_TIMEOUT,
+                this.admit("annotated")
+        );
+    }
+
+    @Test
+    void admit_ShouldKeepQueriesWithinCallerDeadline() {
+        when(this.request.getHeader(FilterTimeoutPolicy.DEFAULT_DEADLINE_HEADER)).thenReturn("500");
+
+        assertAbout(
+                Duration.ofMillis(500),
+                this.admit("unannotated")
+        );
+    }
+
+    @Test
+    void admit_ShouldRejectFilter_WhenCallerDeadlineIsInvalidOrPassed() {
+        for (var header : new String[][]{
+                {"soon", "BAD_REQUEST"},
+                {"0", "GATEWAY_TIMEOUT"}
+        }) {
+            when(this.request.getHeader(FilterTimeoutPolicy.DEFAULT_DEADLINE_HEADER)).thenReturn(header[0]);
+
+            var exception = assertThrows(
+                    FilterRejectedException.class,
+                    () -> this.policy.admit(
+                            this.containsFilter,
+                            ParentMock.class,
+                            parameter("unannotated")
+                    )
+            );
+
+            assertEquals(
+                    HttpStatus.valueOf(header[1]),
+                    exception.getStatusCode()
+            );
+        }
+    }
+
+    private static MethodParameter parameter(String methodName) {
+        try {
+            return MethodParameter.forExecutable(
+                    Endpoints.class.getDeclaredMethod(
+                            methodName,
+                            Specification.class
+                    ),
+                    0
+            );
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static class Endpoints {
+        void unannotated(Specification<ParentMock> specification) {}
+
+        void annotated(@FilterTimeout(millis = 300) Specification<ParentMock> specification) {}
+    }
+}
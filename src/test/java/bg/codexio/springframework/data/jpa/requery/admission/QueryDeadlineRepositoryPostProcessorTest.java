@@ -0,0 +1,92 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import bg.codexio.springframework.data.jpa.requery.test.objects.AccountMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.SessionFactoryMock;
+import jakarta.persistence.PersistenceException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QueryDeadlineRepositoryPostProcessorTest {
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setupDatabase() {
+        sessionFactory = SessionFactoryMock.create(
+                "query_deadline_repository",
+                AccountMock.class
+        );
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery("INSERT INTO accounts (id, email) "
+                                                                                        + "SELECT X, 'a' || X || '@example.com' "
+                                                                                        + "FROM SYSTEM_RANGE(1, 1000)")
+                                                       .executeUpdate());
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        sessionFactory.close();
+    }
+
+    /**
+     * Counts the accounts joined twice more with themselves, a billion
+     * rows outliving the deadline of the test.
+     */
+    private static Specification<AccountMock> crossJoined() {
+        return (root, query, cb) -> {
+            query.from(AccountMock.class);
+            query.from(AccountMock.class);
+
+            return null;
+        };
+    }
+
+    @Test
+    void postProcess_ShouldTimeOutRepositoryQueries_OfRequestWithDeadline() {
+        var factory = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(sessionFactory));
+        factory.addRepositoryProxyPostProcessor(new QueryDeadlineRepositoryPostProcessor());
+        var repository = factory.getRepository(AccountRepository.class);
+        var request = mock(HttpServletRequest.class);
+        when(request.getAttribute(QueryDeadline.ATTRIBUTE)).thenReturn(new QueryDeadline(Duration.ofMillis(200)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            TransactionSynchronizationManager.bindResource(
+                    sessionFactory,
+                    new EntityManagerHolder(entityManager)
+            );
+            var start = System.nanoTime();
+
+            assertThrows(
+                    PersistenceException.class,
+                    () -> repository.count(crossJoined())
+            );
+            assertTrue(System.nanoTime() - start < Duration.ofSeconds(5)
+                                                          .toNanos());
+        } finally {
+            TransactionSynchronizationManager.unbindResource(sessionFactory);
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    interface AccountRepository
+            extends JpaRepository<AccountMock, Long>,
+                    JpaSpecificationExecutor<AccountMock> {
+    }
+}
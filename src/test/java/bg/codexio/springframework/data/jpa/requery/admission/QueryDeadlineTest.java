@@ -0,0 +1,110 @@
+package bg.codexio.springframework.data.jpa.requery.admission;
+
+import bg.codexio.springframework.data.jpa.requery.test.objects.AccountMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.SessionFactoryMock;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryDeadlineTest {
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setupDatabase() {
+        sessionFactory = SessionFactoryMock.create(
+                "query_deadline",
+                AccountMock.class
+        );
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery("INSERT INTO accounts (id, email) "
+                                                                                        + "SELECT X, 'a' || X || '@example.com' "
+                                                                                        + "FROM SYSTEM_RANGE(1, 1000)")
+                                                       .executeUpdate());
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        sessionFactory.close();
+    }
+
+    /**
+     * Counts a billion rows, outliving every deadline of these tests.
+     */
+    private static TypedQuery<Long> slowCountQuery(EntityManager entityManager) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(Long.class);
+        query.from(AccountMock.class);
+        query.from(AccountMock.class);
+        var root = query.from(AccountMock.class);
+
+        return entityManager.createQuery(query.select(cb.count(root)));
+    }
+
+    private static Long slowCount(EntityManager entityManager) {
+        return slowCountQuery(entityManager).getSingleResult();
+    }
+
+    @Test
+    void applyTo_ShouldTimeOutQuery() {
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            var query = new QueryDeadline(Duration.ofMillis(200)).applyTo(slowCountQuery(entityManager));
+            var start = System.nanoTime();
+
+            assertThrows(
+                    PersistenceException.class,
+                    query::getSingleResult
+            );
+            assertTrue(System.nanoTime() - start < Duration.ofSeconds(5)
+                                                          .toNanos());
+        }
+    }
+
+    @Test
+    void applyTo_ShouldTimeOutQueriesOfEntityManager() {
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            new QueryDeadline(Duration.ofMillis(200)).applyTo(entityManager);
+            var start = System.nanoTime();
+
+            assertThrows(
+                    PersistenceException.class,
+                    () -> slowCount(entityManager)
+            );
+            assertTrue(System.nanoTime() - start < Duration.ofSeconds(5)
+                                                          .toNanos());
+        }
+    }
+
+    @Test
+    void cancel_ShouldAbortRunningQuery() throws InterruptedException {
+        var deadline = new QueryDeadline(Duration.ofMinutes(1));
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            deadline.applyTo(entityManager);
+            var query = CompletableFuture.supplyAsync(() -> slowCount(entityManager));
+            Thread.sleep(300);
+
+            deadline.cancel();
+
+            var exception = assertThrows(
+                    ExecutionException.class,
+                    () -> query.get(
+                            5,
+                            TimeUnit.SECONDS
+                    )
+            );
+            assertInstanceOf(
+                    PersistenceException.class,
+                    exception.getCause()
+            );
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package bg.codexio.springframework.data.jpa.requery.aggregation;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.resolver.FilterJsonArgumentResolver;
+import bg.codexio.springframework.data.jpa.requery.test.objects.AccountMock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AggregationArgumentResolverTest {
+    private FilterJsonArgumentResolver filterResolverMock;
+
+    private NativeWebRequest webRequestMock;
+
+    private AggregationArgumentResolver resolver;
+
+    private MethodParameter parameter;
+
+    @SuppressWarnings("unused")
+    void report(Aggregation<AccountMock> aggregation) {
+    }
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        this.filterResolverMock = mock(FilterJsonArgumentResolver.class);
+        this.webRequestMock = mock(NativeWebRequest.class);
+        this.resolver = new AggregationArgumentResolver(
+                this.filterResolverMock,
+                new ObjectMapper()
+        );
+        this.parameter = new MethodParameter(
+                AggregationArgumentResolverTest.class.getDeclaredMethod(
+                        "report",
+                        Aggregation.class
+                ),
+                0
+        );
+    }
+
+    @Test
+    void supportsParameter_ShouldAcceptAggregationParameters() {
+        assertTrue(this.resolver.supportsParameter(this.parameter));
+    }
+
+    @Test
+    void resolveArgument_ShouldCombineFilterAndAggregationRequest() {
+        Specification<Object> specification = (root, query, cb) -> null;
+        when(this.filterResolverMock.resolveArgument(
+                any(),
+                any(),
+                any(),
+                any()
+        )).thenReturn(specification);
+        when(this.webRequestMock.getParameter("aggregation")).thenReturn("""
+                {
+                  "groupBy": "manager.name",
+                  "aggregates": {"total": {"function": "SUM", "field": "id"}},
+                  "having": {"field": "total", "operation": "GT", "value": "3"}
+                }""");
+
+        var aggregation = (Aggregation<?>) this.resolver.resolveArgument(
+                this.parameter,
+                null,
+                this.webRequestMock,
+                null
+        );
+
+        assertEquals(
+                AccountMock.class,
+                aggregation.entityType()
+        );
+        assertSame(
+                specification,
+                aggregation.specification()
+        );
+        assertEquals(
+                List.of("manager.name"),
+                aggregation.request()
+                           .groupBy()
+        );
+        assertEquals(
+                Aggregate.of(
+                        AggregateFunction.SUM,
+                        "id"
+                ),
+                aggregation.request()
+                           .aggregates()
+                           .get("total")
+        );
+        assertEquals(
+                FilterOperation.GT,
+                aggregation.request()
+                           .having()
+                           .getFirst()
+                           .operation()
+        );
+    }
+
+    @Test
+    void resolveArgument_ShouldReject_WhenAggregationIsMalformed() {
+        when(this.webRequestMock.getParameter("aggregation")).thenReturn("{");
+
+        var exception = assertThrows(
+                FilterRejectedException.class,
+                () -> this.resolver.resolveArgument(
+                        this.parameter,
+                        null,
+                        this.webRequestMock,
+                        null
+                )
+        );
+
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                exception.getStatusCode()
+        );
+        verifyNoInteractions(this.filterResolverMock);
+    }
+}
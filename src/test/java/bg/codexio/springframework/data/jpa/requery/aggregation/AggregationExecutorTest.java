@@ -0,0 +1,309 @@
+package bg.codexio.springframework.data.jpa.requery.aggregation;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConversionConfiguration;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverterImpl;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.specification.joinColumn.types.enumType.LongTypePrimaryKeyProvider;
+import bg.codexio.springframework.data.jpa.requery.test.objects.AccountMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.SessionFactoryMock;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregationExecutorTest {
+    private static SessionFactory sessionFactory;
+
+    private static FilterJsonTypeConverterImpl converter;
+
+    @BeforeAll
+    static void setupDatabase() {
+        sessionFactory = SessionFactoryMock.create(
+                "aggregation",
+                AccountMock.class
+        );
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery("INSERT INTO accounts (id, email, name, manager_id) VALUES "
+                                                                                        + "(1, 'a@example.com', 'John', NULL), "
+                                                                                        + "(2, 'b@example.com', 'John', 1), "
+                                                                                        + "(3, 'c@example.com', 'Mary', 1), "
+                                                                                        + "(4, 'd@example.com', 'Ann', 3), "
+                                                                                        + "(5, 'e@example.com', 'Mary', 3)")
+                                                       .executeUpdate());
+
+        converter = new FilterJsonTypeConverterImpl();
+        new FilterJsonTypeConversionConfiguration(
+                converter,
+                new LongTypePrimaryKeyProvider()
+        );
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        sessionFactory.close();
+    }
+
+    private static <R> R withExecutor(Function<AggregationExecutor, R> action) {
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            return action.apply(new AggregationExecutor(
+                    entityManager,
+                    converter
+            ));
+        }
+    }
+
+    private static AggregationRequest request(
+            List<String> groupBy,
+            List<FilterRequest> having
+    ) {
+        var aggregates = new LinkedHashMap<String, Aggregate>();
+        aggregates.put(
+                "accounts",
+                Aggregate.count()
+        );
+        aggregates.put(
+                "idSum",
+                Aggregate.of(
+                        AggregateFunction.SUM,
+                        "id"
+                )
+        );
+        aggregates.put(
+                "firstEmail",
+                Aggregate.of(
+                        AggregateFunction.MIN,
+                        "email"
+                )
+        );
+        aggregates.put(
+                "lastId",
+                Aggregate.of(
+                        AggregateFunction.MAX,
+                        "id"
+                )
+        );
+
+        return new AggregationRequest(
+                groupBy,
+                aggregates,
+                having
+        );
+    }
+
+    @Test
+    void aggregate_ShouldComputeAggregatesOfEveryGroup() {
+        var rows = withExecutor(executor -> executor.aggregate(
+                AccountMock.class,
+                null,
+                request(
+                        List.of("name"),
+                        null
+                )
+        ));
+
+        assertEquals(
+                List.of(
+                        new AggregateRow(
+                                Map.of("name", "Ann"),
+                                Map.of(
+                                        "accounts", 1L,
+                                        "idSum", 4L,
+                                        "firstEmail", "d@example.com",
+                                        "lastId", 4L
+                                )
+                        ),
+                        new AggregateRow(
+                                Map.of("name", "John"),
+                                Map.of(
+                                        "accounts", 2L,
+                                        "idSum", 3L,
+                                        "firstEmail", "a@example.com",
+                                        "lastId", 2L
+                                )
+                        ),
+                        new AggregateRow(
+                                Map.of("name", "Mary"),
+                                Map.of(
+                                        "accounts", 2L,
+                                        "idSum", 8L,
+                                        "firstEmail", "c@example.com",
+                                        "lastId", 5L
+                                )
+                        )
+                ),
+                rows
+        );
+    }
+
+    @Test
+    void aggregate_ShouldApplyFilterAndHaving() {
+        Specification<AccountMock> specification =
+                (root, query, cb) -> cb.greaterThan(
+                        root.get("id"),
+                        1L
+                );
+
+        var rows = withExecutor(executor -> executor.aggregate(
+                AccountMock.class,
+                specification,
+                request(
+                        List.of("name"),
+                        List.of(new FilterRequest(
+                                "accounts",
+                                "2",
+                                FilterOperation.GTE
+                        ))
+                )
+        ));
+
+        assertEquals(
+                1,
+                rows.size()
+        );
+        assertEquals(
+                "Mary",
+                rows.getFirst()
+                    .groups()
+                    .get("name")
+        );
+    }
+
+    @Test
+    void aggregate_ShouldKeepEntitiesWithoutAssociation_InNullGroup() {
+        var rows = withExecutor(executor -> executor.aggregate(
+                AccountMock.class,
+                null,
+                request(
+                        List.of("manager.name"),
+                        null
+                )
+        ));
+
+        var counts = new HashMap<Object, Object>();
+        rows.forEach(row -> counts.put(
+                row.groups()
+                   .get("manager.name"),
+                row.aggregates()
+                   .get("accounts")
+        ));
+        assertEquals(
+                Map.of(
+                        "John", 2L,
+                        "Mary", 2L
+                ),
+                Map.of(
+                        "John", counts.get("John"),
+                        "Mary", counts.get("Mary")
+                )
+        );
+        assertTrue(counts.containsKey(null));
+        assertEquals(
+                1L,
+                counts.get(null)
+        );
+    }
+
+    @Test
+    void aggregate_ShouldReturnSingleRow_WhenThereIsNoGroupBy() {
+        var rows = withExecutor(executor -> executor.aggregate(
+                AccountMock.class,
+                null,
+                request(
+                        List.of(),
+                        null
+                )
+        ));
+
+        assertEquals(
+                1,
+                rows.size()
+        );
+        assertEquals(
+                15L,
+                rows.getFirst()
+                    .aggregates()
+                    .get("idSum")
+        );
+    }
+
+    @Test
+    void aggregate_ShouldRejectRequest_WhenFieldsOrConditionsCannotBeUsed() {
+        var requests = List.of(
+                new AggregationRequest(
+                        List.of("unknown"),
+                        Map.of(
+                                "accounts",
+                                Aggregate.count()
+                        ),
+                        null
+                ),
+                new AggregationRequest(
+                        null,
+                        Map.of(
+                                "emails",
+                                Aggregate.of(
+                                        AggregateFunction.SUM,
+                                        "email"
+                                )
+                        ),
+                        null
+                ),
+                new AggregationRequest(
+                        null,
+                        Map.of(
+                                "accounts",
+                                Aggregate.count()
+                        ),
+                        List.of(new FilterRequest(
+                                "name",
+                                "John",
+                                FilterOperation.EQ
+                        ))
+                ),
+                new AggregationRequest(
+                        null,
+                        Map.of(
+                                "accounts",
+                                Aggregate.count()
+                        ),
+                        List.of(new FilterRequest(
+                                "accounts",
+                                "many",
+                                FilterOperation.GT
+                        ))
+                ),
+                new AggregationRequest(
+                        List.of("name"),
+                        null,
+                        null
+                )
+        );
+
+        for (var request : requests) {
+            var exception = assertThrows(
+                    FilterRejectedException.class,
+                    () -> withExecutor(executor -> executor.aggregate(
+                            AccountMock.class,
+                            null,
+                            request
+                    ))
+            );
+
+            assertEquals(
+                    HttpStatus.BAD_REQUEST,
+                    exception.getStatusCode()
+            );
+        }
+    }
+}
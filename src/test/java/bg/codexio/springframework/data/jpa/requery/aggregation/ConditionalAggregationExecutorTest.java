@@ -0,0 +1,261 @@
+package bg.codexio.springframework.data.jpa.requery.aggregation;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConversionConfiguration;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverterImpl;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.resolver.FilterJsonArgumentResolver;
+import bg.codexio.springframework.data.jpa.requery.specification.joinColumn.types.enumType.LongTypePrimaryKeyProvider;
+import bg.codexio.springframework.data.jpa.requery.test.objects.AccountMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.SessionFactoryMock;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalAggregationExecutorTest {
+    private static SessionFactory sessionFactory;
+
+    private static FilterJsonArgumentResolver resolver;
+
+    @BeforeAll
+    static void setupDatabase() {
+        sessionFactory = SessionFactoryMock.create(
+                "conditional_aggregation",
+                AccountMock.class
+        );
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery("INSERT INTO accounts (id, email, name, manager_id) VALUES "
+                                                                                        + "(1, 'a@example.com', 'John', NULL), "
+                                                                                        + "(2, 'b@example.com', 'John', 1), "
+                                                                                        + "(3, 'b@example.com', 'Mary', 1), "
+                                                                                        + "(4, 'c@example.com', 'Ann', 3)")
+                                                       .executeUpdate());
+
+        var converter = new FilterJsonTypeConverterImpl();
+        new FilterJsonTypeConversionConfiguration(
+                converter,
+                new LongTypePrimaryKeyProvider()
+        );
+        resolver = new FilterJsonArgumentResolver(
+                converter,
+                List.of()
+        );
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        sessionFactory.close();
+    }
+
+    private static <R> R withExecutor(Function<ConditionalAggregationExecutor, R> action) {
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            return action.apply(new ConditionalAggregationExecutor(
+                    entityManager,
+                    resolver
+            ));
+        }
+    }
+
+    @Test
+    void aggregate_ShouldComputeEveryAggregateOverItsOwnFilter() {
+        var aggregates = new LinkedHashMap<String, ConditionalAggregate>();
+        aggregates.put(
+                "johns",
+                ConditionalAggregate.count(new FilterRequest(
+                        "name",
+                        "John",
+                        FilterOperation.EQ
+                ))
+        );
+        aggregates.put(
+                "managedByJohn",
+                ConditionalAggregate.count(new FilterRequest(
+                        "manager.name",
+                        "John",
+                        FilterOperation.EQ
+                ))
+        );
+        aggregates.put(
+                "sharedEmailIds",
+                new ConditionalAggregate(
+                        List.of(new FilterRequest(
+                                "email",
+                                "b@example.com",
+                                FilterOperation.EQ
+                        )),
+                        null,
+                        AggregateFunction.SUM,
+                        "id"
+                )
+        );
+        aggregates.put(
+                "all",
+                new ConditionalAggregate(
+                        null,
+                        null,
+                        AggregateFunction.COUNT,
+                        null
+                )
+        );
+
+        var result = withExecutor(executor -> executor.aggregate(
+                AccountMock.class,
+                aggregates
+        ));
+
+        assertEquals(
+                List.of(
+                        "johns",
+                        "managedByJohn",
+                        "sharedEmailIds",
+                        "all"
+                ),
+                List.copyOf(result.keySet())
+        );
+        assertEquals(
+                2L,
+                result.get("johns")
+                      .longValue()
+        );
+        assertEquals(
+                2L,
+                result.get("managedByJohn")
+                      .longValue()
+        );
+        assertEquals(
+                5L,
+                result.get("sharedEmailIds")
+                      .longValue()
+        );
+        assertEquals(
+                4L,
+                result.get("all")
+                      .longValue()
+        );
+    }
+
+    @Test
+    void aggregate_ShouldReturnZeroCount_WhenNoEntityMatchesFilter() {
+        var result = withExecutor(executor -> executor.aggregate(
+                AccountMock.class,
+                Map.of(
+                        "none",
+                        ConditionalAggregate.count(new FilterRequest(
+                                "name",
+                                "Nobody",
+                                FilterOperation.EQ
+                        ))
+                )
+        ));
+
+        assertEquals(
+                0L,
+                result.get("none")
+                      .longValue()
+        );
+    }
+
+    @Test
+    void aggregate_ShouldComputeMinAndMax_OverFilteredEntitiesOnly() {
+        var aggregates = new LinkedHashMap<String, ConditionalAggregate>();
+        aggregates.put(
+                "firstJohn",
+                new ConditionalAggregate(
+                        List.of(new FilterRequest(
+                                "name",
+                                "John",
+                                FilterOperation.EQ
+                        )),
+                        null,
+                        AggregateFunction.MIN,
+                        "id"
+                )
+        );
+        aggregates.put(
+                "lastShared",
+                new ConditionalAggregate(
+                        List.of(new FilterRequest(
+                                "email",
+                                "b@example.com",
+                                FilterOperation.EQ
+                        )),
+                        null,
+                        AggregateFunction.MAX,
+                        "id"
+                )
+        );
+
+        var result = withExecutor(executor -> executor.aggregate(
+                AccountMock.class,
+                aggregates
+        ));
+
+        assertEquals(
+                1L,
+                result.get("firstJohn")
+                      .longValue()
+        );
+        assertEquals(
+                3L,
+                result.get("lastShared")
+                      .longValue()
+        );
+    }
+
+    @Test
+    void aggregate_ShouldRejectAggregate_WhenFieldIsNotNumeric() {
+        var exception = assertThrows(
+                FilterRejectedException.class,
+                () -> withExecutor(executor -> executor.aggregate(
+                        AccountMock.class,
+                        Map.of(
+                                "names",
+                                new ConditionalAggregate(
+                                        null,
+                                        null,
+                                        AggregateFunction.SUM,
+                                        "name"
+                                )
+                        )
+                ))
+        );
+
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                exception.getStatusCode()
+        );
+    }
+
+    @Test
+    void aggregate_ShouldRejectAggregate_WhenFieldIsUnknown() {
+        var exception = assertThrows(
+                FilterRejectedException.class,
+                () -> withExecutor(executor -> executor.aggregate(
+                        AccountMock.class,
+                        Map.of(
+                                "unknown",
+                                new ConditionalAggregate(
+                                        null,
+                                        null,
+                                        AggregateFunction.AVG,
+                                        "salary"
+                                )
+                        )
+                ))
+        );
+
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                exception.getStatusCode()
+        );
+    }
+}
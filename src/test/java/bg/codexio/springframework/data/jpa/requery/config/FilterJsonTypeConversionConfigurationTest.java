@@ -1,13 +1,18 @@
 package bg.codexio.springframework.data.jpa.requery.config;
 
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
 import bg.codexio.springframework.data.jpa.requery.specification.joinColumn.types.enumType.LongTypePrimaryKeyProvider;
 import bg.codexio.springframework.data.jpa.requery.test.objects.EnumMock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -114,4 +119,152 @@ class FilterJsonTypeConversionConfigurationTest {
                 result
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void convert_ShouldPreferInterfaceConversion_WhenRegisteredAfterEnum() {
+        assertEquals(
+                Colour.BLUE,
+                this.converter.convert(
+                        Colour.class,
+                        "BLUE"
+                )
+        );
+
+        this.converter.addConversion(
+                Labelled.class,
+                (input, type) -> Arrays.stream(type.getEnumConstants())
+                                       .map(Labelled.class::cast)
+                                       .filter(constant -> constant.label()
+                                                                   .equals(input))
+                                       .findFirst()
+                                       .orElseThrow()
+        );
+
+        assertEquals(
+                Colour.BLUE,
+                this.converter.convert(
+                        Colour.class,
+                        "blue"
+                )
+        );
+        assertEquals(
+                FilterOperation.LT,
+                this.converter.convert(
+                        FilterOperation.class,
+                        "LT"
+                )
+        );
+    }
+
+    @Test
+    void convert_ShouldReturnEnumConstant_WhenGivenNameOrOrdinal() {
+        assertEquals(
+                FilterOperation.LT,
+                this.converter.convert(
+                        FilterOperation.class,
+                        "LT"
+                )
+        );
+        assertEquals(
+                FilterOperation.values()[2],
+                this.converter.convert(
+                        FilterOperation.class,
+                        "2"
+                )
+        );
+    }
+
+    @Test
+    void convert_ShouldThrow_WhenGivenUnknownEnumConstant() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> this.converter.convert(
+                        FilterOperation.class,
+                        "UNKNOWN"
+                )
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> this.converter.convert(
+                        FilterOperation.class,
+                        "999"
+                )
+        );
+    }
+
+    @Test
+    void convert_ShouldParseNumerics_WhenGivenNumericStrings() {
+        assertEquals(
+                21L,
+                this.converter.convert(
+                        Long.class,
+                        "21"
+                )
+        );
+        assertEquals(
+                21,
+                this.converter.convert(
+                        int.class,
+                        "21"
+                )
+        );
+        assertEquals(
+                2.5d,
+                this.converter.convert(
+                        Double.class,
+                        "2.5"
+                )
+        );
+    }
+
+    @Test
+    void convert_ShouldKeepPrecision_WhenGivenBigDecimalString() {
+        var input = "12345678901234567890.123456789";
+        var result = this.converter.convert(
+                BigDecimal.class,
+                input
+        );
+
+        assertEquals(
+                new BigDecimal(input),
+                result
+        );
+    }
+
+    @Test
+    void convert_ShouldParseUuidAndInstant_WhenGivenCanonicalStrings() {
+        var uuid = UUID.randomUUID();
+
+        assertEquals(
+                uuid,
+                this.converter.convert(
+                        UUID.class,
+                        uuid.toString()
+                )
+        );
+        assertEquals(
+                Instant.parse("2024-01-01T10:15:30Z"),
+                this.converter.convert(
+                        Instant.class,
+                        "2024-01-01T10:15:30Z"
+                )
+        );
+    }
+
+    interface Labelled<E>
+            extends Comparable<E> {
+        String label();
+    }
+
+    enum Colour
+            implements Labelled<Colour> {
+        RED,
+        BLUE;
+
+        @Override
+        public String label() {
+            return this.name()
+                       .toLowerCase();
+        }
+    }
+}
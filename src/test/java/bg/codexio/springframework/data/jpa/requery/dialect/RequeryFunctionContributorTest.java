@@ -0,0 +1,77 @@
+package bg.codexio.springframework.data.jpa.requery.dialect;
+
+import bg.codexio.springframework.data.jpa.requery.resolver.function.PrefixMatchSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.test.objects.AccountMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.SessionFactoryMock;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequeryFunctionContributorTest {
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setupDatabase() {
+        sessionFactory = SessionFactoryMock.create(
+                "function-contributor",
+                AccountMock.class
+        );
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery("INSERT INTO accounts (id, email, name) VALUES "
+                                                                                        + "(1, 'john@example.com', 'John'), "
+                                                                                        + "(2, 'joan@example.com', 'Joan'), "
+                                                                                        + "(3, 'mary@example.com', 'Mary')")
+                                                       .executeUpdate());
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        sessionFactory.close();
+    }
+
+    private static long countBeginningWith(
+            String function,
+            String prefix,
+            String upperBound
+    ) {
+        return sessionFactory.fromSession(session -> {
+            var cb = session.getCriteriaBuilder();
+            var query = cb.createQuery(Long.class);
+            var root = query.from(AccountMock.class);
+
+            return session.createQuery(query.select(cb.count(root))
+                                            .where(cb.function(
+                                                             function,
+                                                             Boolean.class,
+                                                             root.get("name"),
+                                                             cb.literal(prefix + "%"),
+                                                             cb.literal(prefix),
+                                                             cb.literal(upperBound)
+                                                     )
+                                                     .in(true)))
+                          .getSingleResult();
+        });
+    }
+
+    @Test
+    void contributeFunctions_ShouldRegisterPrefixMatchFallback_WhenDialectHasNone() {
+        assertEquals(
+                2,
+                countBeginningWith(
+                        PrefixMatchSQLFunction.FUNC_NAME,
+                        "Jo",
+                        "Jp"
+                )
+        );
+        assertEquals(
+                1,
+                countBeginningWith(
+                        PrefixMatchSQLFunction.CASE_INSENSITIVE_FUNC_NAME,
+                        "mar",
+                        "mas"
+                )
+        );
+    }
+}
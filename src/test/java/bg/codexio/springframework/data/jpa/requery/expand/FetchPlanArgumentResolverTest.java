@@ -0,0 +1,83 @@
+package bg.codexio.springframework.data.jpa.requery.expand;
+
+import bg.codexio.springframework.data.jpa.requery.test.objects.DepartmentMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FetchPlanArgumentResolverTest {
+    private final FetchPlanArgumentResolver resolver =
+            new FetchPlanArgumentResolver();
+
+    private NativeWebRequest webRequestMock;
+
+    private MethodParameter parameter;
+
+    @SuppressWarnings("unused")
+    void list(FetchPlan<DepartmentMock> plan) {
+    }
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        this.webRequestMock = mock(NativeWebRequest.class);
+        this.parameter = new MethodParameter(
+                FetchPlanArgumentResolverTest.class.getDeclaredMethod(
+                        "list",
+                        FetchPlan.class
+                ),
+                0
+        );
+    }
+
+    @Test
+    void resolveArgument_ShouldReadCommaSeparatedAndRepeatedPaths() {
+        when(this.webRequestMock.getParameterValues("expand")).thenReturn(new String[]{
+                "head, employees",
+                "head"
+        });
+
+        var plan = (FetchPlan<?>) this.resolver.resolveArgument(
+                this.parameter,
+                null,
+                this.webRequestMock,
+                null
+        );
+
+        assertTrue(this.resolver.supportsParameter(this.parameter));
+        assertEquals(
+                DepartmentMock.class,
+                plan.entityType()
+        );
+        assertEquals(
+                List.of(
+                        "head",
+                        "employees"
+                ),
+                plan.paths()
+        );
+        assertEquals(
+                List.of("employees"),
+                plan.collectionPaths()
+        );
+    }
+
+    @Test
+    void resolveArgument_ShouldReturnEmptyPlan_WhenThereIsNoExpandParameter() {
+        var plan = (FetchPlan<?>) this.resolver.resolveArgument(
+                this.parameter,
+                null,
+                this.webRequestMock,
+                null
+        );
+
+        assertTrue(plan.paths()
+                       .isEmpty());
+    }
+}
@@ -0,0 +1,310 @@
+package bg.codexio.springframework.data.jpa.requery.expand;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.test.objects.DepartmentMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.EmployeeMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.SessionFactoryMock;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FetchPlanExecutorTest {
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setupDatabase() {
+        sessionFactory = SessionFactoryMock.create(
+                "fetch_plan",
+                DepartmentMock.class,
+                EmployeeMock.class
+        );
+        sessionFactory.inTransaction(session -> {
+            session.createNativeMutationQuery("INSERT INTO departments (id, name, head_id) VALUES "
+                                                      + "(1, 'IT', NULL), "
+                                                      + "(2, 'HR', NULL), "
+                                                      + "(3, 'Sales', NULL)")
+                   .executeUpdate();
+            session.createNativeMutationQuery("INSERT INTO employees (id, name, department_id) VALUES "
+                                                      + "(1, 'John', 1), "
+                                                      + "(2, 'Mary', 1), "
+                                                      + "(3, 'Ann', 2), "
+                                                      + "(4, 'Bob', 3)")
+                   .executeUpdate();
+            session.createNativeMutationQuery("UPDATE departments SET head_id = id")
+                   .executeUpdate();
+        });
+        sessionFactory.getStatistics()
+                      .setStatisticsEnabled(true);
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        sessionFactory.close();
+    }
+
+    private static Object field(
+            Object entity,
+            String name
+    ) {
+        try {
+            var field = entity.getClass()
+                              .getDeclaredField(name);
+            field.setAccessible(true);
+
+            return field.get(entity);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void findAll_ShouldLoadPlannedAssociations_WithoutSelectPerEntity() {
+        var util = sessionFactory.getPersistenceUnitUtil();
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            var statistics = sessionFactory.getStatistics();
+            statistics.clear();
+
+            var page = new FetchPlanExecutor(entityManager).findAll(
+                    null,
+                    FetchPlan.of(
+                            DepartmentMock.class,
+                            "head",
+                            "employees"
+                    ),
+                    PageRequest.of(
+                            0,
+                            2,
+                            Sort.by("id")
+                    )
+            );
+
+            assertEquals(
+                    3,
+                    page.getTotalElements()
+            );
+            for (var department : page.getContent()) {
+                assertTrue(util.isLoaded(
+                        department,
+                        "employees"
+                ));
+                assertTrue(util.isLoaded(field(
+                        department,
+                        "head"
+                )));
+            }
+            // The page, its collections and the count.
+            assertEquals(
+                    3,
+                    statistics.getPrepareStatementCount()
+            );
+            assertEquals(
+                    2,
+                    ((List<?>) field(
+                            page.getContent()
+                                .getFirst(),
+                            "employees"
+                    )).size()
+            );
+        }
+    }
+
+    @Test
+    void findAll_ShouldLeaveAssociationsLazy_WhenPlanIsEmpty() {
+        var util = sessionFactory.getPersistenceUnitUtil();
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            var departments = new FetchPlanExecutor(entityManager).findAll(
+                    null,
+                    FetchPlan.of(DepartmentMock.class),
+                    Sort.unsorted()
+            );
+
+            assertEquals(
+                    3,
+                    departments.size()
+            );
+            assertFalse(util.isLoaded(
+                    departments.getFirst(),
+                    "employees"
+            ));
+        }
+    }
+
+    @Test
+    void findAll_ShouldLoadNestedPaths_WhenFilterIsApplied() {
+        var util = sessionFactory.getPersistenceUnitUtil();
+        Specification<EmployeeMock> spec = (root, query, cb) -> cb.equal(
+                root.get("department")
+                    .get("name"),
+                "IT"
+        );
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            var employees = new FetchPlanExecutor(entityManager).findAll(
+                    spec,
+                    FetchPlan.of(
+                            EmployeeMock.class,
+                            "department.head",
+                            "department.employees"
+                    ),
+                    Sort.by("id")
+            );
+
+            assertEquals(
+                    2,
+                    employees.size()
+            );
+            var department = field(
+                    employees.getFirst(),
+                    "department"
+            );
+            assertTrue(util.isLoaded(department));
+            assertTrue(util.isLoaded(field(
+                    department,
+                    "head"
+            )));
+            assertTrue(util.isLoaded(
+                    department,
+                    "employees"
+            ));
+        }
+    }
+
+    @Test
+    void findAll_ShouldKeepPageOrder_WhenIdsAreSelectedFirst() {
+        var util = sessionFactory.getPersistenceUnitUtil();
+        var plan = FetchPlan.of(
+                DepartmentMock.class,
+                "head",
+                "employees"
+        );
+        var pageable = PageRequest.of(
+                0,
+                2,
+                Sort.by(
+                        Sort.Direction.DESC,
+                        "name"
+                )
+        );
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            var joined = new FetchPlanExecutor(entityManager).findAll(
+                                                                     null,
+                                                                     plan,
+                                                                     pageable
+                                                             )
+                                                             .map(department -> field(
+                                                                     department,
+                                                                     "id"
+                                                             ))
+                                                             .getContent();
+            entityManager.clear();
+
+            var page = new FetchPlanExecutor(
+                    entityManager,
+                    FetchStrategy.IDS_FIRST
+            ).findAll(
+                    null,
+                    plan,
+                    pageable
+            );
+
+            assertEquals(
+                    List.of(
+                            3L,
+                            1L
+                    ),
+                    joined
+            );
+            assertEquals(
+                    joined,
+                    page.map(department -> field(
+                                department,
+                                "id"
+                        ))
+                        .getContent()
+            );
+            assertEquals(
+                    3,
+                    page.getTotalElements()
+            );
+            for (var department : page.getContent()) {
+                assertTrue(util.isLoaded(
+                        department,
+                        "employees"
+                ));
+                assertTrue(util.isLoaded(field(
+                        department,
+                        "head"
+                )));
+            }
+        }
+    }
+
+    @Test
+    void findAll_ShouldReuseManagedEntities_WhenIdsAreSelectedFirst() {
+        Specification<DepartmentMock> spec = (root, query, cb) -> cb.equal(
+                root.get("name"),
+                "HR"
+        );
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            var managed = entityManager.find(
+                    DepartmentMock.class,
+                    2L
+            );
+            var statistics = sessionFactory.getStatistics();
+            statistics.clear();
+
+            var page = new FetchPlanExecutor(
+                    entityManager,
+                    FetchStrategy.IDS_FIRST
+            ).findAll(
+                    spec,
+                    FetchPlan.of(DepartmentMock.class),
+                    PageRequest.of(
+                            0,
+                            10
+                    )
+            );
+
+            assertSame(
+                    managed,
+                    page.getContent()
+                        .getFirst()
+            );
+            // Only the identifiers, the entity comes from the session.
+            assertEquals(
+                    1,
+                    statistics.getPrepareStatementCount()
+            );
+        }
+    }
+
+    @Test
+    void fetchPlan_ShouldRejectPaths_ThatCannotBeExpanded() {
+        for (var path : List.of(
+                "unknown",
+                "name",
+                "employees.department.employees"
+        )) {
+            var exception = assertThrows(
+                    FilterRejectedException.class,
+                    () -> FetchPlan.of(
+                            DepartmentMock.class,
+                            path
+                    )
+            );
+
+            assertEquals(
+                    HttpStatus.BAD_REQUEST,
+                    exception.getStatusCode()
+            );
+        }
+    }
+}
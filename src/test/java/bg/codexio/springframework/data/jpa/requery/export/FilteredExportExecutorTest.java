@@ -0,0 +1,213 @@
+package bg.codexio.springframework.data.jpa.requery.export;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.test.objects.AccountMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.SessionFactoryMock;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilteredExportExecutorTest {
+    private static SessionFactory sessionFactory;
+    private FilteredExportExecutor executor;
+
+    @BeforeAll
+    static void setupDatabase() {
+        sessionFactory = SessionFactoryMock.create(
+                "filtered-export",
+                AccountMock.class
+        );
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery("INSERT INTO accounts (id, email, name, manager_id) VALUES "
+                                                                                        + "(1, 'john@example.com', 'John', NULL), "
+                                                                                        + "(2, 'joan@example.com', 'Joan, Jr.', 1), "
+                                                                                        + "(3, 'mary@example.com', 'Mary', 1)")
+                                                       .executeUpdate());
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        sessionFactory.close();
+    }
+
+    private static Specification<AccountMock> nameBeginningWithJo() {
+        return (root, query, cb) -> cb.like(
+                root.get("name"),
+                "Jo%"
+        );
+    }
+
+    @BeforeEach
+    void setup() {
+        var objectMapper = new ObjectMapper().setVisibility(
+                PropertyAccessor.FIELD,
+                JsonAutoDetect.Visibility.ANY
+        );
+        this.executor = new FilteredExportExecutor(
+                SharedEntityManagerCreator.createSharedEntityManager(sessionFactory),
+                new JpaTransactionManager(sessionFactory),
+                objectMapper,
+                1,
+                1
+        );
+    }
+
+    @Test
+    void write_ShouldWriteBasicFieldsAsCsv_WhenNoColumnsAreGiven()
+            throws IOException {
+        var output = new ByteArrayOutputStream();
+
+        var count = this.executor.write(
+                nameBeginningWithJo(),
+                AccountMock.class,
+                ExportFormat.CSV,
+                List.of(),
+                output
+        );
+
+        assertEquals(
+                2,
+                count
+        );
+        assertEquals(
+                "id,email,name\r\n"
+                        + "1,john@example.com,John\r\n"
+                        + "2,joan@example.com,\"Joan, Jr.\"\r\n",
+                output.toString(StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void write_ShouldReadNestedColumns_WhenColumnsAreGiven()
+            throws IOException {
+        var output = new ByteArrayOutputStream();
+
+        this.executor.write(
+                nameBeginningWithJo(),
+                AccountMock.class,
+                ExportFormat.CSV,
+                List.of(
+                        "name",
+                        "manager.name"
+                ),
+                output
+        );
+
+        assertEquals(
+                "name,manager.name\r\n"
+                        + "John,\r\n"
+                        + "\"Joan, Jr.\",John\r\n",
+                output.toString(StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void export_ShouldRejectUnknownColumn() {
+        var exception = assertThrows(
+                FilterRejectedException.class,
+                () -> this.executor.export(
+                        nameBeginningWithJo(),
+                        AccountMock.class,
+                        ExportFormat.CSV,
+                        List.of(
+                                "name",
+                                "manager.nmae"
+                        )
+                )
+        );
+
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                exception.getStatusCode()
+        );
+    }
+
+    @Test
+    void write_ShouldWriteOneDocumentPerLine_WhenFormatIsNdjson()
+            throws IOException {
+        var output = new ByteArrayOutputStream();
+
+        var count = this.executor.write(
+                (root, query, cb) -> cb.equal(
+                        root.get("id"),
+                        3L
+                ),
+                AccountMock.class,
+                ExportFormat.NDJSON,
+                List.of(),
+                output
+        );
+
+        assertEquals(
+                1,
+                count
+        );
+        assertEquals(
+                "{\"id\":3,\"email\":\"mary@example.com\",\"name\":\"Mary\","
+                        + "\"manager\":{\"id\":1,\"email\":\"john@example"
+                        + ".com\",\"name\":\"John\",\"manager\":null}}\n",
+                output.toString(StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void escape_ShouldQuoteValues_WhenTheyContainSeparatorsOrQuotes() {
+        assertEquals(
+                "\"say \"\"hi\"\"\"",
+                CsvRowWriter.escape("say \"hi\"")
+        );
+        assertEquals(
+                "",
+                CsvRowWriter.escape(null)
+        );
+    }
+
+    @Test
+    void toResponseEntity_ShouldEscapeFileName_WhenItHasQuotesOrNonAsciiCharacters() {
+        var export = this.executor.export(
+                nameBeginningWithJo(),
+                AccountMock.class,
+                ExportFormat.CSV,
+                List.of()
+        );
+
+        var quoted = export.toResponseEntity("report \"Q1\";.csv")
+                           .getHeaders();
+        assertEquals(
+                "attachment; filename=\"report \\\"Q1\\\";.csv\"",
+                quoted.getFirst(HttpHeaders.CONTENT_DISPOSITION)
+        );
+        assertEquals(
+                ExportFormat.CSV.mediaType(),
+                quoted.getContentType()
+        );
+
+        var nonAscii = export.toResponseEntity("отчет.csv")
+                             .getHeaders();
+        assertTrue(nonAscii.getFirst(HttpHeaders.CONTENT_DISPOSITION)
+                           .endsWith("; filename*=UTF-8''%D0%BE%D1%82%D1%87%D0%B5%D1%82.csv"));
+        assertEquals(
+                "отчет.csv",
+                nonAscii.getContentDisposition()
+                        .getFilename()
+        );
+    }
+}
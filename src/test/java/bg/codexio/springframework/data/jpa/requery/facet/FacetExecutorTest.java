@@ -0,0 +1,249 @@
+package bg.codexio.springframework.data.jpa.requery.facet;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConversionConfiguration;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverterImpl;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import bg.codexio.springframework.data.jpa.requery.resolver.FilterJsonArgumentResolver;
+import bg.codexio.springframework.data.jpa.requery.specification.joinColumn.types.enumType.LongTypePrimaryKeyProvider;
+import bg.codexio.springframework.data.jpa.requery.test.objects.AccountMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.ArticleMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.SessionFactoryMock;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FacetExecutorTest {
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setupDatabase() {
+        sessionFactory = SessionFactoryMock.create(
+                "facets",
+                AccountMock.class
+        );
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery("INSERT INTO accounts (id, email, name, manager_id) VALUES "
+                                                                                        + "(1, 'a@example.com', 'John', NULL), "
+                                                                                        + "(2, 'b@example.com', 'John', 1), "
+                                                                                        + "(3, 'b@example.com', 'Mary', 1), "
+                                                                                        + "(4, 'c@example.com', 'Ann', 3)")
+                                                       .executeUpdate());
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        sessionFactory.close();
+    }
+
+    private static <R> R withExecutor(Function<FacetExecutor, R> action) {
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            return action.apply(new FacetExecutor(entityManager));
+        }
+    }
+
+    @Test
+    void facets_ShouldCountTopBucketsOfEveryFacet_WhenDialectHasNoGroupingSets() {
+        var results = withExecutor(executor -> executor.facets(
+                Specification.<AccountMock>where(null),
+                AccountMock.class,
+                List.of(
+                        new FacetRequest(
+                                "name",
+                                2
+                        ),
+                        FacetRequest.of("email"),
+                        FacetRequest.of("manager.name")
+                )
+        ));
+
+        assertEquals(
+                List.of(
+                        new FacetResult(
+                                "name",
+                                List.of(
+                                        new FacetBucket(
+                                                "John",
+                                                2
+                                        ),
+                                        new FacetBucket(
+                                                "Ann",
+                                                1
+                                        )
+                                )
+                        ),
+                        new FacetResult(
+                                "email",
+                                List.of(
+                                        new FacetBucket(
+                                                "b@example.com",
+                                                2
+                                        ),
+                                        new FacetBucket(
+                                                "a@example.com",
+                                                1
+                                        ),
+                                        new FacetBucket(
+                                                "c@example.com",
+                                                1
+                                        )
+                                )
+                        ),
+                        new FacetResult(
+                                "manager.name",
+                                List.of(
+                                        new FacetBucket(
+                                                "John",
+                                                2
+                                        ),
+                                        new FacetBucket(
+                                                "Mary",
+                                                1
+                                        ),
+                                        new FacetBucket(
+                                                null,
+                                                1
+                                        )
+                                )
+                        )
+                ),
+                results
+        );
+    }
+
+    @Test
+    void facets_ShouldOnlyCountFilteredEntities_WhenGivenSpecification() {
+        var results = withExecutor(executor -> executor.facets(
+                (root, query, cb) -> cb.notEqual(
+                        root.get("name"),
+                        "John"
+                ),
+                AccountMock.class,
+                List.of(FacetRequest.of("id"))
+        ));
+
+        assertEquals(
+                List.of(
+                        new FacetBucket(
+                                "3",
+                                1
+                        ),
+                        new FacetBucket(
+                                "4",
+                                1
+                        )
+                ),
+                results.getFirst()
+                       .buckets()
+        );
+    }
+
+    @Test
+    void facets_ShouldKeepCountOrdering_WhenFilterOrdersByRelevance() {
+        var converter = new FilterJsonTypeConverterImpl();
+        new FilterJsonTypeConversionConfiguration(
+                converter,
+                new LongTypePrimaryKeyProvider()
+        );
+        @SuppressWarnings("unchecked") var spec =
+                (Specification<ArticleMock>) new FilterJsonArgumentResolver(
+                        converter,
+                        List.of()
+                ).resolveSpecification(
+                        (FilterRequestWrapper) new FilterRequestWrapper<>(List.of(new FilterRequest(
+                                "title",
+                                "Java",
+                                FilterOperation.SEARCH
+                        ))),
+                        ArticleMock.class,
+                        null
+                );
+
+        try (var articles = SessionFactoryMock.createSearchable(
+                "facets_search",
+                ArticleMock.class
+        )) {
+            articles.inTransaction(session -> session.createNativeMutationQuery("INSERT INTO articles (id, title, category) VALUES "
+                                                                                      + "(1, 'Java', 'news'), "
+                                                                                      + "(2, 'Java streams', 'tips'), "
+                                                                                      + "(3, 'Learning Java', 'tips'), "
+                                                                                      + "(4, 'Kotlin', 'tips')")
+                                                    .executeUpdate());
+
+            try (var entityManager = articles.createEntityManager()) {
+                var results = new FacetExecutor(entityManager).facets(
+                        spec,
+                        ArticleMock.class,
+                        List.of(new FacetRequest(
+                                "category",
+                                1
+                        ))
+                );
+
+                assertEquals(
+                        List.of(new FacetBucket(
+                                "tips",
+                                2
+                        )),
+                        results.getFirst()
+                               .buckets()
+                );
+            }
+        }
+    }
+
+    @Test
+    void facets_ShouldReject_WhenFieldIsUnknownOrDuplicated() {
+        var unknown = assertThrows(
+                FilterRejectedException.class,
+                () -> withExecutor(executor -> executor.facets(
+                        Specification.<AccountMock>where(null),
+                        AccountMock.class,
+                        List.of(FacetRequest.of("password"))
+                ))
+        );
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                unknown.getStatusCode()
+        );
+
+        assertThrows(
+                FilterRejectedException.class,
+                () -> withExecutor(executor -> executor.facets(
+                        Specification.<AccountMock>where(null),
+                        AccountMock.class,
+                        List.of(
+                                FacetRequest.of("name"),
+                                FacetRequest.of("name")
+                        )
+                ))
+        );
+    }
+
+    @Test
+    void facetIndex_ShouldFindTheOnlyGroupedFacet_WhenGivenGroupingMask() {
+        assertEquals(
+                0,
+                FacetExecutor.facetIndex(
+                        0b011,
+                        3
+                )
+        );
+        assertEquals(
+                2,
+                FacetExecutor.facetIndex(
+                        0b110,
+                        3
+                )
+        );
+    }
+}
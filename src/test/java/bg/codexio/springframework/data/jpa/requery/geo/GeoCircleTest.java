@@ -0,0 +1,97 @@
+package bg.codexio.springframework.data.jpa.requery.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoCircleTest {
+    @Test
+    void boundingBox_ShouldWrapLongitudes_WhenCircleCrossesAntimeridian() {
+        var box = new GeoCircle(
+                0,
+                179.9,
+                50_000
+        ).boundingBox();
+
+        assertTrue(box.crossesAntimeridian());
+        assertTrue(box.contains(
+                0,
+                -179.9
+        ));
+        assertFalse(box.contains(
+                0,
+                0
+        ));
+    }
+
+    @Test
+    void boundingBox_ShouldHoldEveryLongitude_WhenCircleReachesPole() {
+        var box = new GeoCircle(
+                89.9,
+                10,
+                50_000
+        ).boundingBox();
+
+        assertEquals(
+                90,
+                box.north()
+        );
+        assertEquals(
+                -180,
+                box.west()
+        );
+        assertEquals(
+                180,
+                box.east()
+        );
+    }
+
+    @Test
+    void contains_ShouldMatchHaversineDistance() {
+        // Sofia to Plovdiv is about 132.5 km.
+        var sofia = new GeoCircle(
+                42.6977,
+                23.3219,
+                133_000
+        );
+
+        assertTrue(sofia.contains(
+                42.1354,
+                24.7453
+        ));
+        assertFalse(new GeoCircle(
+                42.6977,
+                23.3219,
+                132_000
+        ).contains(
+                42.1354,
+                24.7453
+        ));
+    }
+
+    @Test
+    void of_ShouldReject_WhenValueIsNotACircle() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> GeoCircle.of(Map.of(
+                        "latitude",
+                        0,
+                        "longitude",
+                        0
+                ))
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> GeoCircle.of(Map.of(
+                        "latitude",
+                        0,
+                        "longitude",
+                        0,
+                        "radius",
+                        -1
+                ))
+        );
+    }
+}
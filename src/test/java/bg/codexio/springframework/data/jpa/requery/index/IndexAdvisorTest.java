@@ -0,0 +1,165 @@
+package bg.codexio.springframework.data.jpa.requery.index;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.metrics.MicrometerFilterMetrics;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterLogicalOperator;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.test.objects.AccountMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.SessionFactoryMock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexAdvisorTest {
+    private static SessionFactory sessionFactory;
+    private SimpleMeterRegistry registry;
+    private IndexAdvisor advisor;
+
+    @BeforeAll
+    static void setupDatabase() {
+        sessionFactory = SessionFactoryMock.create(
+                "index-advisor",
+                AccountMock.class
+        );
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        sessionFactory.close();
+    }
+
+    private static FilterGroupRequest filter(
+            String field,
+            FilterOperation operation
+    ) {
+        return new FilterGroupRequest(
+                new FilterRequest[]{
+                        new FilterRequest(
+                                field,
+                                "value",
+                                operation
+                        )
+                },
+                new FilterLogicalOperator[0],
+                null
+        );
+    }
+
+    @BeforeEach
+    void setup() {
+        this.registry = new SimpleMeterRegistry();
+        this.advisor = new IndexAdvisor(
+                sessionFactory,
+                new MicrometerFilterMetrics(this.registry),
+                UnindexedFilterAction.WARN,
+                Map.of(
+                        FilterOperation.CONTAINS,
+                        UnindexedFilterAction.REJECT
+                )
+        );
+        this.advisor.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void refresh_ShouldMapPathsToIndexedColumns() {
+        var coverage = this.advisor.coverage()
+                                   .coverage(AccountMock.class);
+
+        assertEquals(
+                Boolean.TRUE,
+                coverage.get("id")
+        );
+        assertEquals(
+                Boolean.TRUE,
+                coverage.get("email")
+        );
+        assertEquals(
+                Boolean.FALSE,
+                coverage.get("name")
+        );
+    }
+
+    @Test
+    void hasUsableIndex_ShouldResolveAssociationPathsOnDemand() {
+        assertEquals(
+                Optional.of(true),
+                this.advisor.hasUsableIndex(
+                        AccountMock.class,
+                        new FilterRequest(
+                                "manager.email",
+                                "value",
+                                FilterOperation.EQ
+                        )
+                )
+        );
+        assertEquals(
+                Optional.empty(),
+                this.advisor.hasUsableIndex(
+                        AccountMock.class,
+                        new FilterRequest(
+                                "unknown",
+                                "value",
+                                FilterOperation.EQ
+                        )
+                )
+        );
+    }
+
+    @Test
+    void admit_ShouldAcceptFilter_WhenLeadingPredicateUsesIndex() {
+        assertDoesNotThrow(() -> this.advisor.admit(
+                filter(
+                        "email",
+                        FilterOperation.EQ
+                ),
+                AccountMock.class,
+                null
+        ));
+        assertTrue(this.registry.find(MicrometerFilterMetrics.UNINDEXED_COUNTER)
+                                .counters()
+                                .isEmpty());
+    }
+
+    @Test
+    void admit_ShouldRecordAndAccept_WhenActionIsWarn() {
+        assertDoesNotThrow(() -> this.advisor.admit(
+                filter(
+                        "name",
+                        FilterOperation.EQ
+                ),
+                AccountMock.class,
+                null
+        ));
+        assertEquals(
+                1,
+                this.registry.get(MicrometerFilterMetrics.UNINDEXED_COUNTER)
+                             .counter()
+                             .count()
+        );
+    }
+
+    @Test
+    void admit_ShouldReject_WhenActionIsRejectAndOperationCannotUseIndex() {
+        assertThrows(
+                FilterRejectedException.class,
+                () -> this.advisor.admit(
+                        filter(
+                                "email",
+                                FilterOperation.CONTAINS
+                        ),
+                        AccountMock.class,
+                        null
+                )
+        );
+    }
+}
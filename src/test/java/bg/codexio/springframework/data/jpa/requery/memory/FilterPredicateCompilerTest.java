@@ -0,0 +1,504 @@
+package bg.codexio.springframework.data.jpa.requery.memory;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConversionConfiguration;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverterImpl;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterLogicalOperator;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import bg.codexio.springframework.data.jpa.requery.payload.UnaryGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.resolver.FilterJsonArgumentResolver;
+import bg.codexio.springframework.data.jpa.requery.specification.joinColumn.types.enumType.LongTypePrimaryKeyProvider;
+import bg.codexio.springframework.data.jpa.requery.test.objects.AccountMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.SessionFactoryMock;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterPredicateCompilerTest {
+    private static final List<Employee> EMPLOYEES = List.of(
+            new Employee(
+                    "Ann",
+                    31,
+                    new BigDecimal("1200.50"),
+                    List.of(
+                            "java",
+                            "sql"
+                    ),
+                    new Department("IT")
+            ),
+            new Employee(
+                    "Bob",
+                    45,
+                    new BigDecimal("900"),
+                    List.of("sales"),
+                    new Department("Sales")
+            ),
+            new Employee(
+                    "Carol_1",
+                    28,
+                    null,
+                    List.of(),
+                    null
+            )
+    );
+
+    private static SessionFactory sessionFactory;
+
+    private static FilterPredicateCompiler compiler;
+
+    private static FilterJsonArgumentResolver resolver;
+
+    @BeforeAll
+    static void setup() {
+        var converter = new FilterJsonTypeConverterImpl();
+        new FilterJsonTypeConversionConfiguration(
+                converter,
+                new LongTypePrimaryKeyProvider()
+        );
+        compiler = new FilterPredicateCompiler(converter);
+        resolver = new FilterJsonArgumentResolver(
+                converter,
+                List.of()
+        );
+
+        sessionFactory = SessionFactoryMock.create(
+                "in_memory",
+                AccountMock.class
+        );
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery("INSERT INTO accounts (id, email, name, manager_id) VALUES "
+                                                                                        + "(1, 'a@example.com', 'John', NULL), "
+                                                                                        + "(2, 'b@example.com', 'John', 1), "
+                                                                                        + "(3, 'b@example.com', NULL, 1), "
+                                                                                        + "(4, 'c@example.com', 'Ann', 3), "
+                                                                                        + "(5, 'd_x@example.com', 'Mary', 4)")
+                                                       .executeUpdate());
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        sessionFactory.close();
+    }
+
+    private static List<String> names(
+            FilterRequest... filters
+    ) {
+        var predicate = compiler.compile(
+                new FilterRequestWrapper<>(List.of(filters)),
+                Employee.class
+        );
+
+        return EMPLOYEES.stream()
+                        .filter(predicate)
+                        .map(Employee::getName)
+                        .toList();
+    }
+
+    @Test
+    void compile_ShouldMatchEverything_WhenWrapperHoldsNoFilter() {
+        var predicate = compiler.compile(
+                new FilterRequestWrapper<>(),
+                Employee.class
+        );
+
+        assertEquals(
+                3,
+                EMPLOYEES.stream()
+                         .filter(predicate)
+                         .count()
+        );
+    }
+
+    @Test
+    void compile_ShouldCompareConvertedValues_WhenGivenComparisons() {
+        assertEquals(
+                List.of("Bob"),
+                names(new FilterRequest(
+                        "age",
+                        "40",
+                        FilterOperation.GT
+                ))
+        );
+        assertEquals(
+                List.of(
+                        "Ann",
+                        "Carol_1"
+                ),
+                names(new FilterRequest(
+                        "age",
+                        31,
+                        FilterOperation.LTE
+                ))
+        );
+        assertEquals(
+                List.of("Ann"),
+                names(new FilterRequest(
+                        "salary",
+                        "1200.5",
+                        FilterOperation.EQ
+                ))
+        );
+    }
+
+    @Test
+    void compile_ShouldReadNestedAndCollectionPaths() {
+        assertEquals(
+                List.of("Bob"),
+                names(new FilterRequest(
+                        "department.name",
+                        "Sales",
+                        FilterOperation.EQ
+                ))
+        );
+        assertEquals(
+                List.of("Ann"),
+                names(new FilterRequest(
+                        "skills",
+                        List.of(
+                                "sql",
+                                "go"
+                        ),
+                        FilterOperation.IN
+                ))
+        );
+        assertEquals(
+                List.of(),
+                names(new FilterRequest(
+                        "department.name",
+                        null,
+                        FilterOperation.EMPTY
+                ))
+        );
+    }
+
+    @Test
+    void compile_ShouldHonourLikeWildcards_WhenGivenStringOperations() {
+        assertEquals(
+                List.of("Carol_1"),
+                names(new FilterRequest(
+                        "name",
+                        "c",
+                        FilterOperation.BEGINS_WITH_CASEINS
+                ))
+        );
+        assertEquals(
+                List.of(
+                        "Ann",
+                        "Bob",
+                        "Carol_1"
+                ),
+                names(new FilterRequest(
+                        "name",
+                        "_",
+                        FilterOperation.CONTAINS
+                ))
+        );
+        assertEquals(
+                List.of("Bob"),
+                names(new FilterRequest(
+                        "age",
+                        "4",
+                        FilterOperation.BEGINS_WITH
+                ))
+        );
+    }
+
+    @Test
+    void compile_ShouldFoldComplexGroupsLeftToRight() {
+        var group = new FilterGroupRequest(
+                new FilterRequest[]{
+                        new FilterRequest(
+                                "name",
+                                "Ann",
+                                FilterOperation.EQ
+                        ),
+                        new FilterRequest(
+                                "name",
+                                "Bob",
+                                FilterOperation.EQ
+                        )
+                },
+                new FilterLogicalOperator[]{FilterLogicalOperator.OR},
+                new UnaryGroupRequest(
+                        new FilterGroupRequest(
+                                new FilterRequest[]{
+                                        new FilterRequest(
+                                                "salary",
+                                                "1000",
+                                                FilterOperation.LT
+                                        )
+                                },
+                                new FilterLogicalOperator[0],
+                                null
+                        ),
+                        FilterLogicalOperator.AND
+                )
+        );
+
+        var predicate = compiler.compile(
+                group,
+                Employee.class
+        );
+
+        assertEquals(
+                List.of("Bob"),
+                EMPLOYEES.stream()
+                         .filter(predicate)
+                         .map(Employee::getName)
+                         .toList()
+        );
+    }
+
+    @Test
+    void compile_ShouldCompareElementSets_WhenGivenArrayOperations() {
+        var articles = List.of(
+                new Article(new String[]{
+                        "java",
+                        "sql"
+                }),
+                new Article(new String[]{"java"}),
+                new Article(null)
+        );
+        var expected = List.of(
+                List.of(
+                        true,
+                        true,
+                        false
+                ),
+                List.of(
+                        true,
+                        false,
+                        false
+                ),
+                List.of(
+                        false,
+                        true,
+                        false
+                )
+        );
+        var operations = List.of(
+                FilterOperation.OVERLAPS,
+                FilterOperation.CONTAINS_ALL,
+                FilterOperation.CONTAINED_BY
+        );
+        var values = List.of(
+                List.of("java"),
+                List.of(
+                        "sql",
+                        "java"
+                ),
+                List.of(
+                        "java",
+                        "go"
+                )
+        );
+
+        for (var i = 0; i < operations.size(); i++) {
+            var predicate = compiler.compile(
+                    new FilterRequestWrapper<>(List.of(new FilterRequest(
+                            "tags",
+                            values.get(i),
+                            operations.get(i)
+                    ))),
+                    Article.class
+            );
+
+            assertEquals(
+                    expected.get(i),
+                    articles.stream()
+                            .map(predicate::test)
+                            .toList(),
+                    operations.get(i)
+                              .toString()
+            );
+        }
+    }
+
+    @Test
+    void compile_ShouldRejectArrayOperation_WhenFieldIsNotAnArray() {
+        var exception = assertThrows(
+                FilterRejectedException.class,
+                () -> names(new FilterRequest(
+                        "skills",
+                        List.of("java"),
+                        FilterOperation.OVERLAPS
+                ))
+        );
+
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                exception.getStatusCode()
+        );
+    }
+
+    @Test
+    void compile_ShouldRejectFilter_WhenFieldIsUnknown() {
+        var exception = assertThrows(
+                FilterRejectedException.class,
+                () -> names(new FilterRequest(
+                        "unknown",
+                        "x",
+                        FilterOperation.EQ
+                ))
+        );
+
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                exception.getStatusCode()
+        );
+    }
+
+    @Test
+    void compile_ShouldMatchSqlPath_WhenAppliedToLoadedEntities() {
+        var filters = List.of(
+                List.of(new FilterRequest(
+                        "manager.name",
+                        "John",
+                        FilterOperation.EQ
+                )),
+                List.of(new FilterRequest(
+                        "name",
+                        List.of(
+                                "John",
+                                "Ann"
+                        ),
+                        FilterOperation.NOT_IN
+                )),
+                List.of(new FilterRequest(
+                        "email",
+                        "d_",
+                        FilterOperation.BEGINS_WITH
+                )),
+                List.of(
+                        new FilterRequest(
+                                "id",
+                                "2",
+                                FilterOperation.GTE
+                        ),
+                        new FilterRequest(
+                                "name",
+                                "",
+                                FilterOperation.NOT_EMPTY
+                        )
+                )
+        );
+
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            var all = entityManager.createQuery(
+                                           "from AccountMock",
+                                           AccountMock.class
+                                   )
+                                   .getResultList();
+
+            for (var filter : filters) {
+                var spec = resolver.resolveSpecification(
+                        new FilterRequestWrapper<>(filter),
+                        AccountMock.class,
+                        null
+                );
+                var cb = entityManager.getCriteriaBuilder();
+                var query = cb.createQuery(Object.class);
+                var root = query.from((Class<Object>) (Class<?>) AccountMock.class);
+                query.select(root)
+                     .where(spec.toPredicate(
+                             root,
+                             query,
+                             cb
+                     ));
+
+                var expected = entityManager.createQuery(query)
+                                            .getResultList();
+                var actual = all.stream()
+                                .filter(compiler.compile(
+                                        new FilterRequestWrapper<>(filter),
+                                        AccountMock.class
+                                ))
+                                .toList();
+
+                assertEquals(
+                        Stream.of(expected.toArray())
+                              .distinct()
+                              .count(),
+                        actual.size(),
+                        filter.toString()
+                );
+                assertTrue(
+                        actual.containsAll(expected),
+                        filter.toString()
+                );
+            }
+        }
+    }
+
+    static class Article {
+        private final String[] tags;
+
+        Article(String[] tags) {
+            this.tags = tags;
+        }
+
+        public String[] getTags() {
+            return this.tags;
+        }
+    }
+
+    static class Employee {
+        private final String name;
+        private final int age;
+        private final BigDecimal salary;
+        private final List<String> skills;
+        private final Department department;
+
+        Employee(
+                String name,
+                int age,
+                BigDecimal salary,
+                List<String> skills,
+                Department department
+        ) {
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+            this.skills = skills;
+            this.department = department;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public int getAge() {
+            return this.age;
+        }
+
+        public BigDecimal getSalary() {
+            return this.salary;
+        }
+
+        public List<String> getSkills() {
+            return this.skills;
+        }
+
+        public Department getDepartment() {
+            return this.department;
+        }
+    }
+
+    static class Department {
+        private final String name;
+
+        Department(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package bg.codexio.springframework.data.jpa.requery.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class FilterMetricsConfigurationTest {
+    @Test
+    void filterMetrics_ShouldBeNoop_WhenNoMeterRegistryBeanIsPresent() {
+        var beanFactory = new DefaultListableBeanFactory();
+
+        var metrics =
+                new FilterMetricsConfiguration().filterMetrics(beanFactory);
+
+        assertSame(
+                FilterMetrics.noop(),
+                metrics
+        );
+    }
+
+    @Test
+    void filterMetrics_ShouldUseMicrometer_WhenMeterRegistryBeanIsPresent() {
+        var beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton(
+                "meterRegistry",
+                new SimpleMeterRegistry()
+        );
+
+        var metrics =
+                new FilterMetricsConfiguration().filterMetrics(beanFactory);
+
+        assertInstanceOf(
+                MicrometerFilterMetrics.class,
+                metrics
+        );
+    }
+}
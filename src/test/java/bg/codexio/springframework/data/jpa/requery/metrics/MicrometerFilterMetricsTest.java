@@ -0,0 +1,121 @@
+package bg.codexio.springframework.data.jpa.requery.metrics;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.test.objects.ParentMock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MicrometerFilterMetricsTest {
+    private SimpleMeterRegistry registry;
+    private MicrometerFilterMetrics metrics;
+
+    @BeforeEach
+    void setup() {
+        this.registry = new SimpleMeterRegistry();
+        this.metrics = new MicrometerFilterMetrics(this.registry);
+    }
+
+    @Test
+    void record_ShouldTimeStageAndReturnActionResult() {
+        var result = this.metrics.record(
+                FilterStage.CONVERSION,
+                () -> "converted"
+        );
+
+        assertEquals(
+                "converted",
+                result
+        );
+        assertEquals(
+                1,
+                this.registry.get(MicrometerFilterMetrics.STAGE_TIMER)
+                             .tag(
+                                     "stage",
+                                     "conversion"
+                             )
+                             .timer()
+                             .count()
+        );
+    }
+
+    @Test
+    void countOperation_ShouldIncrementCounterPerOperationAndEntity() {
+        this.metrics.countOperation(
+                FilterOperation.EQ,
+                ParentMock.class
+        );
+        this.metrics.countOperation(
+                FilterOperation.EQ,
+                ParentMock.class
+        );
+
+        assertEquals(
+                2,
+                this.registry.get(MicrometerFilterMetrics.OPERATION_COUNTER)
+                             .tag(
+                                     "operation",
+                                     "EQ"
+                             )
+                             .tag(
+                                     "entity",
+                                     "ParentMock"
+                             )
+                             .counter()
+                             .count()
+        );
+    }
+
+    @Test
+    void countAdapter_ShouldIncrementCounterPerAdapter() {
+        this.metrics.countAdapter(
+                String.class,
+                ParentMock.class
+        );
+
+        assertEquals(
+                1,
+                this.registry.get(MicrometerFilterMetrics.ADAPTER_COUNTER)
+                             .tag(
+                                     "adapter",
+                                     "String"
+                             )
+                             .counter()
+                             .count()
+        );
+    }
+
+    @Test
+    void recordFilterShape_ShouldRecordNodeCountAndDepth() {
+        this.metrics.recordFilterShape(
+                5,
+                3,
+                ParentMock.class
+        );
+        this.metrics.recordInListSize(
+                40,
+                ParentMock.class
+        );
+
+        assertEquals(
+                5,
+                this.registry.get(MicrometerFilterMetrics.NODE_SUMMARY)
+                             .summary()
+                             .totalAmount()
+        );
+        assertEquals(
+                3,
+                this.registry.get(MicrometerFilterMetrics.DEPTH_SUMMARY)
+                             .summary()
+                             .totalAmount()
+        );
+        assertEquals(
+                40,
+                this.registry.get(MicrometerFilterMetrics.IN_LIST_SUMMARY)
+                             .summary()
+                             .max()
+        );
+    }
+}
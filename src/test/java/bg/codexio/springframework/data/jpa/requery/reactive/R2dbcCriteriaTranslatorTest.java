@@ -0,0 +1,153 @@
+package bg.codexio.springframework.data.jpa.requery.reactive;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConversionConfiguration;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverterImpl;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterLogicalOperator;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import bg.codexio.springframework.data.jpa.requery.payload.UnaryGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.specification.joinColumn.types.enumType.LongTypePrimaryKeyProvider;
+import bg.codexio.springframework.data.jpa.requery.test.objects.ParentMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class R2dbcCriteriaTranslatorTest {
+    private R2dbcCriteriaTranslator translator;
+
+    @BeforeEach
+    void setup() {
+        var converter = new FilterJsonTypeConverterImpl();
+        new FilterJsonTypeConversionConfiguration(
+                converter,
+                new LongTypePrimaryKeyProvider()
+        );
+        this.translator = new R2dbcCriteriaTranslator(converter);
+    }
+
+    @Test
+    void translate_ShouldReturnEmptyCriteria_WhenNoFilterIsPresent() {
+        var criteria = this.translator.translate(
+                new FilterRequestWrapper<>(),
+                ParentMock.class
+        );
+
+        assertTrue(criteria.isEmpty());
+    }
+
+    @Test
+    void translate_ShouldJoinSimpleFiltersWithAnd_WhenGivenFilterList() {
+        var criteria = this.translator.translate(
+                new FilterRequestWrapper<>(List.of(
+                        new FilterRequest(
+                                "age",
+                                "18",
+                                FilterOperation.GTE
+                        ),
+                        new FilterRequest(
+                                "name",
+                                "Jo",
+                                FilterOperation.BEGINS_WITH_CASEINS
+                        )
+                )),
+                ParentMock.class
+        );
+
+        assertEquals(
+                "(age >= 18) AND (name LIKE 'Jo%')",
+                criteria.toString()
+        );
+        assertTrue(((Criteria) criteria.getGroup()
+                                       .get(0)).isIgnoreCase());
+    }
+
+    @Test
+    void translate_ShouldFoldGroupsLikeTheSpecificationResolver_WhenGivenComplexFilter() {
+        var group = new FilterGroupRequest(
+                new FilterRequest[]{
+                        new FilterRequest(
+                                "role",
+                                List.of(
+                                        "ADMIN",
+                                        "USER"
+                                ),
+                                FilterOperation.IN
+                        ),
+                        new FilterRequest(
+                                "name",
+                                null,
+                                FilterOperation.EMPTY
+                        )
+                },
+                new FilterLogicalOperator[]{FilterLogicalOperator.OR},
+                new UnaryGroupRequest(
+                        new FilterGroupRequest(
+                                new FilterRequest[]{
+                                        new FilterRequest(
+                                                "description",
+                                                "phone",
+                                                FilterOperation.SEARCH
+                                        )
+                                },
+                                new FilterLogicalOperator[0],
+                                null
+                        ),
+                        FilterLogicalOperator.AND
+                )
+        );
+
+        var criteria = this.translator.translate(
+                group,
+                ParentMock.class
+        );
+
+        assertEquals(
+                "((role IN ('ADMIN', 'USER')) OR (name IS NULL)) AND ((name "
+                        + "LIKE '%phone%') OR (description LIKE '%phone%'))",
+                criteria.toString()
+        );
+    }
+
+    @Test
+    void translate_ShouldReject_WhenFieldIsNested() {
+        var exception = assertThrows(
+                FilterRejectedException.class,
+                () -> this.translator.translate(
+                        new FilterRequestWrapper<>(List.of(new FilterRequest(
+                                "children.name",
+                                "x",
+                                FilterOperation.EQ
+                        ))),
+                        ParentMock.class
+                )
+        );
+
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                exception.getStatusCode()
+        );
+    }
+
+    @Test
+    void translate_ShouldReject_WhenFieldIsUnknown() {
+        assertThrows(
+                FilterRejectedException.class,
+                () -> this.translator.translate(
+                        new FilterRequestWrapper<>(List.of(new FilterRequest(
+                                "name; drop table parent",
+                                "x",
+                                FilterOperation.EQ
+                        ))),
+                        ParentMock.class
+                )
+        );
+    }
+}
@@ -0,0 +1,153 @@
+package bg.codexio.springframework.data.jpa.requery.reactive;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterAdmissionPolicy;
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConversionConfiguration;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverterImpl;
+import bg.codexio.springframework.data.jpa.requery.metrics.FilterMetrics;
+import bg.codexio.springframework.data.jpa.requery.specification.joinColumn.types.enumType.LongTypePrimaryKeyProvider;
+import bg.codexio.springframework.data.jpa.requery.test.objects.ParentMock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveFilterJsonArgumentResolverTest {
+    private final LinkedMultiValueMap<String, String> queryParams =
+            new LinkedMultiValueMap<>();
+    private FilterAdmissionPolicy admissionPolicyMock;
+    private ServerWebExchange exchangeMock;
+    private MethodParameter parameter;
+    private ReactiveFilterJsonArgumentResolver resolver;
+
+    @BeforeEach
+    void setup() throws NoSuchMethodException {
+        var converter = new FilterJsonTypeConverterImpl();
+        new FilterJsonTypeConversionConfiguration(
+                converter,
+                new LongTypePrimaryKeyProvider()
+        );
+        this.admissionPolicyMock = mock(FilterAdmissionPolicy.class);
+        this.resolver = new ReactiveFilterJsonArgumentResolver(
+                new R2dbcCriteriaTranslator(converter),
+                List.of(new JsonServerHttpFilterAdapter(new ObjectMapper())),
+                FilterMetrics.noop(),
+                List.of(this.admissionPolicyMock)
+        );
+
+        var requestMock = mock(ServerHttpRequest.class);
+        when(requestMock.getQueryParams()).thenReturn(this.queryParams);
+        this.exchangeMock = mock(ServerWebExchange.class);
+        when(this.exchangeMock.getRequest()).thenReturn(requestMock);
+
+        this.parameter = new MethodParameter(
+                Handler.class.getDeclaredMethod(
+                        "list",
+                        FilterCriteria.class,
+                        String.class
+                ),
+                0
+        );
+    }
+
+    @Test
+    void supportsParameter_ShouldOnlySupportFilterCriteria() {
+        assertTrue(this.resolver.supportsParameter(this.parameter));
+        assertFalse(this.resolver.supportsParameter(new MethodParameter(
+                this.parameter.getMethod(),
+                1
+        )));
+    }
+
+    @Test
+    void resolveArgument_ShouldTranslateFilter_WhenFilterParameterIsPresent() {
+        this.queryParams.add(
+                "filter",
+                "{\"field\":\"age\",\"value\":\"21\",\"operation\":\"GT\"}"
+        );
+
+        var result = (FilterCriteria<?>) this.resolver.resolveArgument(
+                                                     this.parameter,
+                                                     null,
+                                                     this.exchangeMock
+                                             )
+                                             .block();
+
+        assertNotNull(result);
+        assertEquals(
+                "age > 21",
+                result.criteria()
+                      .toString()
+        );
+        verify(this.admissionPolicyMock).admit(
+                any(),
+                eq(ParentMock.class),
+                eq(this.parameter)
+        );
+    }
+
+    @Test
+    void resolveArgument_ShouldReturnEmptyCriteria_WhenNoFilterParameterIsPresent() {
+        var result = (FilterCriteria<?>) this.resolver.resolveArgument(
+                                                     this.parameter,
+                                                     null,
+                                                     this.exchangeMock
+                                             )
+                                             .block();
+
+        assertNotNull(result);
+        assertTrue(result.criteria()
+                         .isEmpty());
+        verifyNoInteractions(this.admissionPolicyMock);
+    }
+
+    @Test
+    void resolveArgument_ShouldSignalError_WhenFilterIsRejected() {
+        this.queryParams.add(
+                "filter",
+                "{\"field\":\"age\",\"value\":\"21\",\"operation\":\"GT\"}"
+        );
+        doThrow(new FilterRejectedException(
+                HttpStatus.TOO_MANY_REQUESTS,
+                "too complex"
+        )).when(this.admissionPolicyMock)
+          .admit(
+                  any(),
+                  any(),
+                  any()
+          );
+
+        var mono = this.resolver.resolveArgument(
+                this.parameter,
+                null,
+                this.exchangeMock
+        );
+
+        var exception = assertThrows(
+                FilterRejectedException.class,
+                mono::block
+        );
+        assertEquals(
+                HttpStatus.TOO_MANY_REQUESTS,
+                exception.getStatusCode()
+        );
+    }
+
+    private static class Handler {
+        @SuppressWarnings("unused")
+        void list(
+                FilterCriteria<ParentMock> filter,
+                String other
+        ) {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package bg.codexio.springframework.data.jpa.requery.resolver;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DatePrefixRangeTest {
+    @Test
+    void parse_ShouldCoverWholePeriod_WhenPrefixIsYearMonthOrDay() {
+        assertEquals(
+                Optional.of(new DatePrefixRange(
+                        LocalDate.of(
+                                2024,
+                                1,
+                                1
+                        ),
+                        LocalDate.of(
+                                2025,
+                                1,
+                                1
+                        )
+                )),
+                DatePrefixRange.parse("2024")
+        );
+        assertEquals(
+                Optional.of(new DatePrefixRange(
+                        LocalDate.of(
+                                2024,
+                                12,
+                                1
+                        ),
+                        LocalDate.of(
+                                2025,
+                                1,
+                                1
+                        )
+                )),
+                DatePrefixRange.parse("2024-12")
+        );
+        assertEquals(
+                Optional.of(new DatePrefixRange(
+                        LocalDate.of(
+                                2024,
+                                2,
+                                29
+                        ),
+                        LocalDate.of(
+                                2024,
+                                3,
+                                1
+                        )
+                )),
+                DatePrefixRange.parse("2024-02-29")
+        );
+    }
+
+    @Test
+    void parse_ShouldBeEmpty_WhenPrefixIsPartialOrInvalid() {
+        assertEquals(
+                Optional.empty(),
+                DatePrefixRange.parse("2024-1")
+        );
+        assertEquals(
+                Optional.empty(),
+                DatePrefixRange.parse("2023-02-29")
+        );
+        assertEquals(
+                Optional.empty(),
+                DatePrefixRange.parse("05/2024")
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package bg.codexio.springframework.data.jpa.requery.resolver;
+
+import bg.codexio.springframework.data.jpa.requery.test.objects.ChildMock;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldPathResolverTest {
+    @Test
+    void resolve_ShouldFindFieldInSuperclass() {
+        var fieldInfo = FieldPathResolver.resolve(
+                ChildMock.class,
+                "age"
+        );
+
+        assertEquals(
+                Long.class,
+                fieldInfo.type()
+        );
+        assertFalse(fieldInfo.collection());
+    }
+
+    @Test
+    void resolve_ShouldReturnElementType_WhenFieldIsCollection() {
+        var fieldInfo = FieldPathResolver.resolve(
+                ChildMock.class,
+                "grades"
+        );
+
+        assertEquals(
+                Integer.class,
+                fieldInfo.type()
+        );
+        assertTrue(fieldInfo.collection());
+    }
+
+    @Test
+    void resolve_ShouldReturnCachedInstance_WhenResolvedTwice() {
+        assertSame(
+                FieldPathResolver.resolve(
+                        ChildMock.class,
+                        "name"
+                ),
+                FieldPathResolver.resolve(
+                        ChildMock.class,
+                        "name"
+                )
+        );
+    }
+
+    @Test
+    void resolve_ShouldThrow_WhenFieldDoesNotExist() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> FieldPathResolver.resolve(
+                        ChildMock.class,
+                        "name.missing"
+                )
+        );
+    }
+}
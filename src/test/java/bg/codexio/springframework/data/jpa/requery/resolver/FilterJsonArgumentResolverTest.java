@@ -2,30 +2,45 @@ package bg.codexio.springframework.data.jpa.requery.resolver;
 
 import bg.codexio.springframework.data.jpa.requery.adapter.HttpFilterAdapter;
 import bg.codexio.springframework.data.jpa.requery.adapter.JsonHttpFilterAdapter;
+import bg.codexio.springframework.data.jpa.requery.admission.FilterAdmissionPolicy;
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
 import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverter;
+import bg.codexio.springframework.data.jpa.requery.metrics.FilterMetrics;
+import bg.codexio.springframework.data.jpa.requery.metrics.MicrometerFilterMetrics;
 import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
 import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
 import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.ArraySQLFunction;
 import bg.codexio.springframework.data.jpa.requery.resolver.function.CaseInsensitiveLikeSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.JsonPathSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.PrefixMatchSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.resolver.function.TextSearchSQLFunction;
 import bg.codexio.springframework.data.jpa.requery.test.objects.ChildMock;
 import bg.codexio.springframework.data.jpa.requery.test.objects.ParentMock;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.criteria.*;
 import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaFunction;
+import org.hibernate.query.criteria.JpaPredicate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.springframework.core.MethodParameter;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -197,6 +212,11 @@ class FilterJsonArgumentResolverTest {
                 any(),
                 any()
         )).thenReturn(mockExpression);
+        when(this.mockCriteriaBuilder.function(
+                startsWith(PrefixMatchSQLFunction.FUNC_NAME),
+                eq(Boolean.class),
+                any(Expression[].class)
+        )).thenReturn(mockExpression);
         when(mockPath.in(any(Collection.class))).thenReturn(this.mockPredicate);
         when(this.nativeWebRequestMock.getNativeRequest(HttpServletRequest.class)).thenReturn(this.httpServletRequestMock);
         when(this.httpFilterAdapterMock.supports(this.httpServletRequestMock)).thenReturn(true);
@@ -380,10 +400,13 @@ class FilterJsonArgumentResolverTest {
                 100,
                 95
         ))).thenReturn(gradesPredicate);
-        when(this.mockCriteriaBuilder.like(
-                eq(namePath),
-                eq("Doe%")
-        )).thenReturn(namePredicate);
+        var namePrefixMatch = mock(Expression.class);
+        when(this.mockCriteriaBuilder.function(
+                eq(PrefixMatchSQLFunction.FUNC_NAME),
+                eq(Boolean.class),
+                any(Expression[].class)
+        )).thenReturn(namePrefixMatch);
+        when(namePrefixMatch.in(true)).thenReturn(namePredicate);
         when(this.mockCriteriaBuilder.greaterThan(
                 eq(agePath),
                 eq(25)
@@ -466,10 +489,17 @@ class FilterJsonArgumentResolverTest {
                 100,
                 95
         )));
-        verify(this.mockCriteriaBuilder).like(
+        verify(this.mockCriteriaBuilder).function(
+                eq(PrefixMatchSQLFunction.FUNC_NAME),
+                eq(Boolean.class),
                 eq(namePath),
-                eq("Doe%")
+                any(),
+                any(),
+                any()
         );
+        verify(this.mockCriteriaBuilder).literal("Doe%");
+        verify(this.mockCriteriaBuilder).literal("Doe");
+        verify(this.mockCriteriaBuilder).literal("Dof");
         verify(this.mockCriteriaBuilder).greaterThan(
                 eq(agePath),
                 eq(25)
@@ -570,4 +600,568 @@ class FilterJsonArgumentResolverTest {
                 this.mockCriteriaBuilder
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void resolveArgument_ShouldRecordMetrics_WhenMeterRegistryIsPresent()
+            throws Exception {
+        var registry = new SimpleMeterRegistry();
+        var resolver = new FilterJsonArgumentResolver(
+                this.filterJsonTypeConverterMock,
+                this.activeAdapters,
+                new MicrometerFilterMetrics(registry)
+        );
+        var filterJson = simpleFilterTemplate(
+                "IN",
+                Boolean.TRUE
+        );
+        doReturn(createMockSimpleFilterRequestWrapper(filterJson)).when(this.httpFilterAdapterMock)
+                                                                  .adapt(this.httpServletRequestMock);
+
+        var result = (Specification<?>) resolver.resolveArgument(
+                this.methodParameterMock,
+                this.modelAndViewContainerMock,
+                this.nativeWebRequestMock,
+                this.webDataBinderFactoryMock
+        );
+        result.toPredicate(
+                this.mockRoot,
+                this.criteriaQueryMock,
+                this.mockCriteriaBuilder
+        );
+
+        assertEquals(
+                1,
+                registry.get(MicrometerFilterMetrics.OPERATION_COUNTER)
+                        .tag(
+                                "operation",
+                                "IN"
+                        )
+                        .tag(
+                                "entity",
+                                "ParentMock"
+                        )
+                        .counter()
+                        .count()
+        );
+        assertEquals(
+                2,
+                registry.get(MicrometerFilterMetrics.IN_LIST_SUMMARY)
+                        .summary()
+                        .max()
+        );
+        assertEquals(
+                1,
+                registry.get(MicrometerFilterMetrics.STAGE_TIMER)
+                        .tag(
+                                "stage",
+                                "predicate_building"
+                        )
+                        .timer()
+                        .count()
+        );
+        assertEquals(
+                1,
+                registry.get(MicrometerFilterMetrics.STAGE_TIMER)
+                        .tag(
+                                "stage",
+                                "path_resolution"
+                        )
+                        .timer()
+                        .count()
+        );
+    }
+
+    @Test
+    void resolveArgument_ShouldThrow_WhenAdmissionPolicyRejectsFilter() {
+        var policy = mock(FilterAdmissionPolicy.class);
+        var resolver = new FilterJsonArgumentResolver(
+                this.filterJsonTypeConverterMock,
+                this.activeAdapters,
+                FilterMetrics.noop(),
+                List.of(policy)
+        );
+        doReturn(createMockSimpleFilterRequestWrapper(simpleFilterTemplate("EQ"))).when(this.httpFilterAdapterMock)
+                                                                                 .adapt(this.httpServletRequestMock);
+        doThrow(new FilterRejectedException(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                "too complex"
+        )).when(policy)
+          .admit(
+                  any(FilterGroupRequest.class),
+                  eq(ParentMock.class),
+                  eq(this.methodParameterMock)
+          );
+
+        assertThrows(
+                FilterRejectedException.class,
+                () -> resolver.resolveArgument(
+                        this.methodParameterMock,
+                        this.modelAndViewContainerMock,
+                        this.nativeWebRequestMock,
+                        this.webDataBinderFactoryMock
+                )
+        );
+        verify(this.filterJsonTypeConverterMock,
+               never()).convert(
+                any(),
+                any()
+        );
+    }
+
+    @Test
+    void resolveArgument_ShouldLowerCasePatternOnce_WhenOperationIsCaseInsensitive()
+            throws Exception {
+        doReturn(createMockSimpleFilterRequestWrapper(simpleFilterTemplate("ENDS_WITH_CASEINS"))).when(this.httpFilterAdapterMock)
+                                                                                                .adapt(this.httpServletRequestMock);
+        var literal = mock(Expression.class);
+        when(this.mockCriteriaBuilder.literal("%john")).thenReturn(literal);
+
+        var result =
+                (Specification<?>) this.filterJsonArgumentResolver.resolveArgument(
+                        this.methodParameterMock,
+                        this.modelAndViewContainerMock,
+                        this.nativeWebRequestMock,
+                        this.webDataBinderFactoryMock
+                );
+        result.toPredicate(
+                this.mockRoot,
+                this.criteriaQueryMock,
+                this.mockCriteriaBuilder
+        );
+
+        verify(this.mockCriteriaBuilder).function(
+                eq(CaseInsensitiveLikeSQLFunction.FUNC_NAME),
+                eq(Boolean.class),
+                any(),
+                eq(literal)
+        );
+    }
+
+    @Test
+    void resolveArgument_ShouldSearchMappedDocumentAndOrderByRelevance_WhenOperationIsSearch()
+            throws Exception {
+        doReturn(createMockSimpleFilterRequestWrapper(simpleFilterTemplate(
+                "SEARCH",
+                "description",
+                Boolean.FALSE
+        ))).when(this.httpFilterAdapterMock)
+           .adapt(this.httpServletRequestMock);
+        var searchExpression = mock(Expression.class);
+        var rankExpression = mock(Expression.class);
+        var order = mock(Order.class);
+        when(this.mockCriteriaBuilder.function(
+                eq(TextSearchSQLFunction.FUNC_NAME),
+                eq(Boolean.class),
+                any(Expression[].class)
+        )).thenReturn(searchExpression);
+        when(this.mockCriteriaBuilder.function(
+                eq(TextSearchSQLFunction.RANK_FUNC_NAME),
+                eq(Double.class),
+                any(Expression[].class)
+        )).thenReturn(rankExpression);
+        when(this.mockCriteriaBuilder.desc(rankExpression)).thenReturn(order);
+        when(searchExpression.in(true)).thenReturn(this.mockPredicate);
+        when(this.criteriaQueryMock.getResultType()).thenReturn(ParentMock.class);
+        doReturn(ParentMock.class).when(this.mockRoot)
+                                  .getJavaType();
+
+        var result =
+                (Specification<?>) this.filterJsonArgumentResolver.resolveArgument(
+                        this.methodParameterMock,
+                        this.modelAndViewContainerMock,
+                        this.nativeWebRequestMock,
+                        this.webDataBinderFactoryMock
+                );
+        result.toPredicate(
+                this.mockRoot,
+                this.criteriaQueryMock,
+                this.mockCriteriaBuilder
+        );
+
+        verify(this.mockCriteriaBuilder).literal("FULL_TEXT");
+        verify(this.mockCriteriaBuilder).literal("english");
+        verify(this.mockCriteriaBuilder).literal("John");
+        verify(this.mockRoot).get("name");
+        verify(this.mockRoot).get("description");
+        verify(this.criteriaQueryMock).orderBy(order);
+    }
+
+    @Test
+    void resolveArgument_ShouldNotOrderByRelevance_WhenQueryIsCount()
+            throws Exception {
+        doReturn(createMockSimpleFilterRequestWrapper(simpleFilterTemplate(
+                "SEARCH",
+                "description",
+                Boolean.FALSE
+        ))).when(this.httpFilterAdapterMock)
+           .adapt(this.httpServletRequestMock);
+        var searchExpression = mock(Expression.class);
+        when(this.mockCriteriaBuilder.function(
+                eq(TextSearchSQLFunction.FUNC_NAME),
+                eq(Boolean.class),
+                any(Expression[].class)
+        )).thenReturn(searchExpression);
+        when(searchExpression.in(true)).thenReturn(this.mockPredicate);
+        when(this.criteriaQueryMock.getResultType()).thenReturn(Long.class);
+
+        var result =
+                (Specification<?>) this.filterJsonArgumentResolver.resolveArgument(
+                        this.methodParameterMock,
+                        this.modelAndViewContainerMock,
+                        this.nativeWebRequestMock,
+                        this.webDataBinderFactoryMock
+                );
+        result.toPredicate(
+                this.mockRoot,
+                this.criteriaQueryMock,
+                this.mockCriteriaBuilder
+        );
+
+        verify(
+                this.criteriaQueryMock,
+                never()
+        ).orderBy(any(Order.class));
+    }
+
+    @Test
+    void resolveArgument_ShouldPassLowerCasedRangeBounds_WhenStringPrefixIsCaseInsensitive()
+            throws Exception {
+        doReturn(createMockSimpleFilterRequestWrapper(simpleFilterTemplate("BEGINS_WITH_CASEINS"))).when(this.httpFilterAdapterMock)
+                                                                                                  .adapt(this.httpServletRequestMock);
+        var pattern = mock(Expression.class);
+        var lowerBound = mock(Expression.class);
+        var upperBound = mock(Expression.class);
+        when(this.mockCriteriaBuilder.literal("john%")).thenReturn(pattern);
+        when(this.mockCriteriaBuilder.literal("john")).thenReturn(lowerBound);
+        when(this.mockCriteriaBuilder.literal("joho")).thenReturn(upperBound);
+
+        var result =
+                (Specification<?>) this.filterJsonArgumentResolver.resolveArgument(
+                        this.methodParameterMock,
+                        this.modelAndViewContainerMock,
+                        this.nativeWebRequestMock,
+                        this.webDataBinderFactoryMock
+                );
+        result.toPredicate(
+                this.mockRoot,
+                this.criteriaQueryMock,
+                this.mockCriteriaBuilder
+        );
+
+        verify(this.mockCriteriaBuilder).function(
+                eq(PrefixMatchSQLFunction.CASE_INSENSITIVE_FUNC_NAME),
+                eq(Boolean.class),
+                any(),
+                eq(pattern),
+                eq(lowerBound),
+                eq(upperBound)
+        );
+    }
+
+    @Test
+    void resolveArgument_ShouldPassPatternOnly_WhenStringPrefixHasWildcard()
+            throws Exception {
+        doReturn(createMockSimpleFilterRequestWrapper("{\"operation\":\"BEGINS_WITH\", "
+                                                              + "\"field\":\"name\", \"value\":\"jo_n\"}")).when(this.httpFilterAdapterMock)
+                                                                                                                  .adapt(this.httpServletRequestMock);
+        var pattern = mock(Expression.class);
+        when(this.mockCriteriaBuilder.literal("jo_n%")).thenReturn(pattern);
+
+        var result =
+                (Specification<?>) this.filterJsonArgumentResolver.resolveArgument(
+                        this.methodParameterMock,
+                        this.modelAndViewContainerMock,
+                        this.nativeWebRequestMock,
+                        this.webDataBinderFactoryMock
+                );
+        result.toPredicate(
+                this.mockRoot,
+                this.criteriaQueryMock,
+                this.mockCriteriaBuilder
+        );
+
+        verify(this.mockCriteriaBuilder).function(
+                eq(PrefixMatchSQLFunction.FUNC_NAME),
+                eq(Boolean.class),
+                any(),
+                eq(pattern)
+        );
+    }
+
+    private FilterJsonArgumentResolver strictResolver() {
+        return new FilterJsonArgumentResolver(
+                this.filterJsonTypeConverterMock,
+                this.activeAdapters,
+                FilterMetrics.noop(),
+                List.of(),
+                FilterBindingMode.STRICT
+        );
+    }
+
+    private FilterRejectedException assertStrictlyRejected(String filterJson) {
+        doReturn(createMockSimpleFilterRequestWrapper(filterJson)).when(this.httpFilterAdapterMock)
+                                                                  .adapt(this.httpServletRequestMock);
+
+        var exception = assertThrows(
+                FilterRejectedException.class,
+                () -> this.strictResolver()
+                          .resolveArgument(
+                                  this.methodParameterMock,
+                                  this.modelAndViewContainerMock,
+                                  this.nativeWebRequestMock,
+                                  this.webDataBinderFactoryMock
+                          )
+        );
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                exception.getStatusCode()
+        );
+
+        return exception;
+    }
+
+    @Test
+    void resolveArgument_ShouldBindNativeValue_WhenStrict() throws Exception {
+        doReturn(createMockSimpleFilterRequestWrapper("{\"operation\":\"EQ\", "
+                                                              + "\"field\":\"age\", \"value\":21}")).when(this.httpFilterAdapterMock)
+                                                                                                    .adapt(this.httpServletRequestMock);
+        doReturn(21L).when(this.filterJsonTypeConverterMock)
+                     .convert(
+                             Long.class,
+                             "21"
+                     );
+
+        var result = (Specification<?>) this.strictResolver()
+                                            .resolveArgument(
+                                                    this.methodParameterMock,
+                                                    this.modelAndViewContainerMock,
+                                                    this.nativeWebRequestMock,
+                                                    this.webDataBinderFactoryMock
+                                            );
+        result.toPredicate(
+                this.mockRoot,
+                this.criteriaQueryMock,
+                this.mockCriteriaBuilder
+        );
+
+        verify(this.mockCriteriaBuilder).equal(
+                any(Expression.class),
+                eq(21L)
+        );
+    }
+
+    @Test
+    void resolveArgument_ShouldReject_WhenStrictAndValueIsNotConvertedToFieldType() {
+        doReturn("twenty").when(this.filterJsonTypeConverterMock)
+                          .convert(
+                                  Long.class,
+                                  "twenty"
+                          );
+
+        assertStrictlyRejected("{\"operation\":\"GT\", \"field\":\"age\", "
+                                       + "\"value\":\"twenty\"}");
+    }
+
+    @Test
+    void resolveArgument_ShouldReject_WhenStrictAndConversionFails() {
+        doThrow(new NumberFormatException("twenty")).when(this.filterJsonTypeConverterMock)
+                                                    .convert(
+                                                            Integer.class,
+                                                            "twenty"
+                                                    );
+
+        assertStrictlyRejected("{\"operation\":\"IN\", \"field\":\"grades\", "
+                                       + "\"value\":[\"twenty\"]}");
+    }
+
+    @Test
+    void resolveArgument_ShouldReject_WhenStrictAndStringOperationTargetsNumber() {
+        assertStrictlyRejected("{\"operation\":\"CONTAINS\", \"field\":\"age\", "
+                                       + "\"value\":\"2\"}");
+        verify(
+                this.filterJsonTypeConverterMock,
+                never()
+        ).convert(
+                any(),
+                any()
+        );
+    }
+
+    @Test
+    void resolveArgument_ShouldRewriteDatePrefixIntoRange_WhenStrict()
+            throws Exception {
+        doReturn(createMockSimpleFilterRequestWrapper("{\"operation\":\"BEGINS_WITH\", "
+                                                              + "\"field\":\"birthDate\", \"value\":\"2024-05\"}")).when(this.httpFilterAdapterMock)
+                                                                                                                      .adapt(this.httpServletRequestMock);
+
+        var result = (Specification<?>) this.strictResolver()
+                                            .resolveArgument(
+                                                    this.methodParameterMock,
+                                                    this.modelAndViewContainerMock,
+                                                    this.nativeWebRequestMock,
+                                                    this.webDataBinderFactoryMock
+                                            );
+        result.toPredicate(
+                this.mockRoot,
+                this.criteriaQueryMock,
+                this.mockCriteriaBuilder
+        );
+
+        verify(this.mockCriteriaBuilder).greaterThanOrEqualTo(
+                any(Expression.class),
+                eq(LocalDate.of(
+                        2024,
+                        5,
+                        1
+                ))
+        );
+        verify(this.mockCriteriaBuilder).lessThan(
+                any(Expression.class),
+                eq(LocalDate.of(
+                        2024,
+                        6,
+                        1
+                ))
+        );
+    }
+
+    @Test
+    void resolveArgument_ShouldBindValuesAsOneArray_WhenArrayOperation()
+            throws Exception {
+        doReturn(createMockSimpleFilterRequestWrapper("{\"operation\":\"CONTAINS_ALL\", "
+                                                              + "\"field\":\"tags\", \"value\":[\"a\", \"b\"]}")).when(this.httpFilterAdapterMock)
+                                                                                                                          .adapt(this.httpServletRequestMock);
+        doReturn("a").when(this.filterJsonTypeConverterMock)
+                     .convert(
+                             String.class,
+                             "a"
+                     );
+        doReturn("b").when(this.filterJsonTypeConverterMock)
+                     .convert(
+                             String.class,
+                             "b"
+                     );
+        var cb = mock(HibernateCriteriaBuilder.class);
+        var arrayExpression = mock(JpaFunction.class);
+        when(cb.function(
+                eq(ArraySQLFunction.FUNC_NAME),
+                eq(Boolean.class),
+                any(Expression[].class)
+        )).thenReturn(arrayExpression);
+        when(arrayExpression.in(true)).thenReturn(mock(JpaPredicate.class));
+
+        var result = (Specification<?>) this.strictResolver()
+                                            .resolveArgument(
+                                                    this.methodParameterMock,
+                                                    this.modelAndViewContainerMock,
+                                                    this.nativeWebRequestMock,
+                                                    this.webDataBinderFactoryMock
+                                            );
+        result.toPredicate(
+                this.mockRoot,
+                this.criteriaQueryMock,
+                cb
+        );
+
+        var values = ArgumentCaptor.forClass(Object.class);
+        verify(cb).literal("CONTAINS_ALL");
+        verify(cb).value(values.capture());
+        assertArrayEquals(
+                new String[]{
+                        "a",
+                        "b"
+                },
+                (String[]) values.getValue()
+        );
+    }
+
+    @Test
+    void resolveArgument_ShouldReject_WhenArrayOperationTargetsScalar() {
+        var exception = assertStrictlyRejected("{\"operation\":\"OVERLAPS\", "
+                                                       + "\"field\":\"name\", \"value\":[\"John\"]}");
+
+        assertTrue(exception.getReason()
+                            .contains("only supported on array fields"));
+    }
+
+    @Test
+    void resolveArgument_ShouldMatchJsonContainment_WhenFieldIsInsideJsonColumn()
+            throws Exception {
+        doReturn(createMockSimpleFilterRequestWrapper("{\"operation\":\"EQ\", "
+                                                              + "\"field\":\"attributes.size.width\", \"value\":42}")).when(this.httpFilterAdapterMock)
+                                                                                                                             .adapt(this.httpServletRequestMock);
+        var jsonPathExpression = mock(Expression.class);
+        when(this.mockCriteriaBuilder.function(
+                eq(JsonPathSQLFunction.FUNC_NAME),
+                eq(Boolean.class),
+                any(Expression[].class)
+        )).thenReturn(jsonPathExpression);
+        when(jsonPathExpression.in(true)).thenReturn(this.mockPredicate);
+
+        var result = (Specification<?>) this.strictResolver()
+                                            .resolveArgument(
+                                                    this.methodParameterMock,
+                                                    this.modelAndViewContainerMock,
+                                                    this.nativeWebRequestMock,
+                                                    this.webDataBinderFactoryMock
+                                            );
+        result.toPredicate(
+                this.mockRoot,
+                this.criteriaQueryMock,
+                this.mockCriteriaBuilder
+        );
+
+        verify(this.mockRoot).get("attributes");
+        verify(this.mockCriteriaBuilder).literal("EQ");
+        verify(this.mockCriteriaBuilder).literal("size.width");
+        verify(this.mockCriteriaBuilder).literal("{\"size\":{\"width\":42}}");
+        verify(this.filterJsonTypeConverterMock,
+               never()).convert(
+                any(),
+                any()
+        );
+    }
+
+    @Test
+    void resolveArgument_ShouldOrContainments_WhenJsonPathIsMatchedByIn()
+            throws Exception {
+        doReturn(createMockSimpleFilterRequestWrapper(simpleFilterTemplate(
+                "IN",
+                "attributes.color",
+                Boolean.TRUE
+        ))).when(this.httpFilterAdapterMock)
+           .adapt(this.httpServletRequestMock);
+        var jsonPathExpression = mock(Expression.class);
+        when(this.mockCriteriaBuilder.function(
+                eq(JsonPathSQLFunction.FUNC_NAME),
+                eq(Boolean.class),
+                any(Expression[].class)
+        )).thenReturn(jsonPathExpression);
+        when(jsonPathExpression.in(true)).thenReturn(this.mockPredicate);
+
+        var result =
+                (Specification<?>) this.filterJsonArgumentResolver.resolveArgument(
+                        this.methodParameterMock,
+                        this.modelAndViewContainerMock,
+                        this.nativeWebRequestMock,
+                        this.webDataBinderFactoryMock
+                );
+        result.toPredicate(
+                this.mockRoot,
+                this.criteriaQueryMock,
+                this.mockCriteriaBuilder
+        );
+
+        verify(this.mockCriteriaBuilder).literal("{\"color\":\"John\"}");
+        verify(this.mockCriteriaBuilder).literal("{\"color\":\"Jane\"}");
+        verify(this.mockCriteriaBuilder).or(any(Predicate[].class));
+    }
+
+    @Test
+    void resolveArgument_ShouldReject_WhenJsonPathOperationOrKeyIsUnsupported() {
+        assertStrictlyRejected("{\"operation\":\"CONTAINS\", "
+                                       + "\"field\":\"attributes.color\", \"value\":\"re\"}");
+        assertStrictlyRejected("{\"operation\":\"EQ\", "
+                                       + "\"field\":\"attributes.color'\", \"value\":\"red\"}");
+    }
+}
@@ -0,0 +1,241 @@
+package bg.codexio.springframework.data.jpa.requery.resolver;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConversionConfiguration;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverterImpl;
+import bg.codexio.springframework.data.jpa.requery.memory.FilterPredicateCompiler;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import bg.codexio.springframework.data.jpa.requery.specification.joinColumn.types.enumType.LongTypePrimaryKeyProvider;
+import bg.codexio.springframework.data.jpa.requery.test.objects.SessionFactoryMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.StoreMock;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoFilterOperationTest {
+    private static SessionFactory sessionFactory;
+
+    private static FilterJsonArgumentResolver resolver;
+
+    private static FilterPredicateCompiler compiler;
+
+    @BeforeAll
+    static void setup() {
+        sessionFactory = SessionFactoryMock.create(
+                "geo_operations",
+                StoreMock.class
+        );
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery("INSERT INTO stores (id, name, latitude, longitude) VALUES "
+                                                                                        + "(1, 'Sofia', 42.6977, 23.3219), "
+                                                                                        + "(2, 'Airport', 42.6952, 23.4062), "
+                                                                                        + "(3, 'Plovdiv', 42.1354, 24.7453), "
+                                                                                        + "(4, 'Suva', -17.0, 179.5), "
+                                                                                        + "(5, 'Lau', -17.0, -179.2), "
+                                                                                        + "(6, 'Corner', 0.8, 0.8), "
+                                                                                        + "(7, 'North', 0.5, 0.0)")
+                                                       .executeUpdate());
+
+        var converter = new FilterJsonTypeConverterImpl();
+        new FilterJsonTypeConversionConfiguration(
+                converter,
+                new LongTypePrimaryKeyProvider()
+        );
+        resolver = new FilterJsonArgumentResolver(
+                converter,
+                List.of()
+        );
+        compiler = new FilterPredicateCompiler(converter);
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        sessionFactory.close();
+    }
+
+    private static List<String> names(FilterRequest filter) {
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            var spec = resolver.resolveSpecification(
+                    new FilterRequestWrapper<>(List.of(filter)),
+                    StoreMock.class,
+                    null
+            );
+            var cb = entityManager.getCriteriaBuilder();
+            @SuppressWarnings("unchecked") var query =
+                    cb.createQuery((Class<Object>) (Class<?>) StoreMock.class);
+            var root = query.from((Class<Object>) (Class<?>) StoreMock.class);
+            query.select(root)
+                 .where(spec.toPredicate(
+                         root,
+                         query,
+                         cb
+                 ));
+
+            return entityManager.createQuery(query)
+                                .getResultStream()
+                                .map(store -> ((StoreMock) store).getName())
+                                .toList();
+        }
+    }
+
+    private static List<String> inMemoryNames(FilterRequest filter) {
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            return entityManager.createQuery(
+                                        "from StoreMock order by id",
+                                        StoreMock.class
+                                )
+                                .getResultStream()
+                                .filter(compiler.compile(
+                                        new FilterRequestWrapper<>(List.of(filter)),
+                                        StoreMock.class
+                                ))
+                                .map(StoreMock::getName)
+                                .toList();
+        }
+    }
+
+    private static FilterRequest radius(
+            double latitude,
+            double longitude,
+            double radius
+    ) {
+        return new FilterRequest(
+                "location",
+                Map.of(
+                        "latitude",
+                        latitude,
+                        "longitude",
+                        longitude,
+                        "radius",
+                        radius
+                ),
+                FilterOperation.WITHIN_RADIUS
+        );
+    }
+
+    @Test
+    void resolveSpecification_ShouldOrderByDistance_WhenWithinRadius() {
+        assertEquals(
+                List.of(
+                        "Airport",
+                        "Sofia"
+                ),
+                names(radius(
+                        42.6952,
+                        23.4062,
+                        10_000
+                ))
+        );
+        assertEquals(
+                List.of(
+                        "Sofia",
+                        "Airport",
+                        "Plovdiv"
+                ),
+                names(radius(
+                        42.6977,
+                        23.3219,
+                        200_000
+                ))
+        );
+    }
+
+    @Test
+    void resolveSpecification_ShouldCheckExactDistance_WhenPointIsInsideBoundingBox() {
+        // (0.8, 0.8) is inside the bounding box of 100 km around (0, 0),
+        // but 126 km away.
+        var filter = radius(
+                0,
+                0,
+                100_000
+        );
+
+        assertEquals(
+                List.of("North"),
+                names(filter)
+        );
+        assertEquals(
+                List.of("North"),
+                inMemoryNames(filter)
+        );
+    }
+
+    @Test
+    void resolveSpecification_ShouldMatchBothSides_WhenBoxCrossesAntimeridian() {
+        var filter = new FilterRequest(
+                "location",
+                Map.of(
+                        "south",
+                        -18,
+                        "west",
+                        179,
+                        "north",
+                        -16,
+                        "east",
+                        "-179"
+                ),
+                FilterOperation.WITHIN_BOX
+        );
+
+        assertEquals(
+                List.of(
+                        "Suva",
+                        "Lau"
+                ),
+                names(filter)
+        );
+        assertEquals(
+                List.of(
+                        "Suva",
+                        "Lau"
+                ),
+                inMemoryNames(filter)
+        );
+    }
+
+    @Test
+    void resolveSpecification_ShouldReject_WhenPointOrAreaIsInvalid() {
+        for (var filter : List.of(
+                radius(
+                        91,
+                        0,
+                        1_000
+                ),
+                new FilterRequest(
+                        "location",
+                        "near",
+                        FilterOperation.WITHIN_BOX
+                ),
+                new FilterRequest(
+                        "name",
+                        Map.of(
+                                "latitude",
+                                0,
+                                "longitude",
+                                0,
+                                "radius",
+                                1
+                        ),
+                        FilterOperation.WITHIN_RADIUS
+                )
+        )) {
+            var exception = assertThrows(
+                    FilterRejectedException.class,
+                    () -> names(filter)
+            );
+
+            assertEquals(
+                    HttpStatus.BAD_REQUEST,
+                    exception.getStatusCode()
+            );
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package bg.codexio.springframework.data.jpa.requery.resolver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrefixBoundsTest {
+    private static final String MAX = new String(Character.toChars(Character.MAX_CODE_POINT));
+
+    @Test
+    void upperBound_ShouldIncrementLastCodePoint() {
+        assertEquals(
+                Optional.of("abd"),
+                PrefixBounds.upperBound("abc")
+        );
+    }
+
+    @Test
+    void upperBound_ShouldIncrementSupplementaryCodePointAsAWhole() {
+        assertEquals(
+                Optional.of("a\uD83D\uDE01"),
+                PrefixBounds.upperBound("a\uD83D\uDE00")
+        );
+        assertEquals(
+                Optional.of("a\uD800\uDC00"),
+                PrefixBounds.upperBound("a\uFFFF")
+        );
+    }
+
+    @Test
+    void upperBound_ShouldSkipSurrogateRange() {
+        assertEquals(
+                Optional.of("a\uE000"),
+                PrefixBounds.upperBound("a\uD7FF")
+        );
+    }
+
+    @Test
+    void upperBound_ShouldDropTrailingMaxCodePoints() {
+        assertEquals(
+                Optional.of("ac"),
+                PrefixBounds.upperBound("ab" + MAX + MAX)
+        );
+    }
+
+    @Test
+    void upperBound_ShouldBeEmpty_WhenNoCodePointCanBeIncremented() {
+        assertEquals(
+                Optional.empty(),
+                PrefixBounds.upperBound(MAX)
+        );
+        assertEquals(
+                Optional.empty(),
+                PrefixBounds.upperBound("")
+        );
+    }
+}
@@ -0,0 +1,222 @@
+package bg.codexio.springframework.data.jpa.requery.resolver;
+
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConversionConfiguration;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverterImpl;
+import bg.codexio.springframework.data.jpa.requery.config.ReversibleSpecificationFactory;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterLogicalOperator;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import bg.codexio.springframework.data.jpa.requery.specification.joinColumn.types.enumType.LongTypePrimaryKeyProvider;
+import bg.codexio.springframework.data.jpa.requery.test.objects.AccountMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.SessionFactoryMock;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReversibleSpecificationTest {
+    private static SessionFactory sessionFactory;
+
+    private static FilterJsonArgumentResolver resolver;
+
+    @BeforeAll
+    static void setup() {
+        sessionFactory = SessionFactoryMock.create(
+                "reversible",
+                AccountMock.class
+        );
+
+        var converter = new FilterJsonTypeConverterImpl();
+        new FilterJsonTypeConversionConfiguration(
+                converter,
+                new LongTypePrimaryKeyProvider()
+        );
+        resolver = new FilterJsonArgumentResolver(
+                converter,
+                List.of()
+        );
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void resolveSpecification_ShouldAttachSourceFilter_WithFullPaths() {
+        var specification = resolver.resolveSpecification(
+                new FilterRequestWrapper<>(List.of(
+                        new FilterRequest(
+                                "manager.name",
+                                "John",
+                                FilterOperation.EQ
+                        ),
+                        new FilterRequest(
+                                "email",
+                                "example",
+                                FilterOperation.CONTAINS
+                        )
+                )),
+                AccountMock.class,
+                null
+        );
+
+        var reversible =
+                assertInstanceOf(ReversibleSpecification.class, specification);
+        var request = reversible.toRequest();
+
+        assertEquals(
+                List.of(
+                        "manager.name",
+                        "email"
+                ),
+                request.allOperations()
+                       .map(FilterRequest::field)
+                       .toList()
+        );
+        assertArrayEquals(
+                new FilterLogicalOperator[]{FilterLogicalOperator.AND},
+                request.nonPriorityGroupOperators()
+        );
+        assertSame(
+                request,
+                reversible.toRequest()
+        );
+    }
+
+    @Test
+    void toRequest_ShouldStayUnchanged_WhenPredicateIsBuiltRepeatedly() {
+        var specification =
+                (ReversibleSpecification<Object>) resolver.resolveSpecification(
+                        new FilterRequestWrapper<>(List.of(new FilterRequest(
+                                "name",
+                                "John",
+                                FilterOperation.EQ
+                        ))),
+                        AccountMock.class,
+                        null
+                );
+
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            var cb = entityManager.getCriteriaBuilder();
+            for (var i = 0; i < 2; i++) {
+                var query = cb.createQuery(Long.class);
+                @SuppressWarnings("unchecked") var root =
+                        query.from((Class<Object>) (Class<?>) AccountMock.class);
+                specification.toPredicate(
+                        root,
+                        query,
+                        cb
+                );
+            }
+        }
+
+        assertEquals(
+                1,
+                specification.toRequest()
+                             .nodeCount()
+        );
+    }
+
+    @Test
+    void constructor_ShouldCopySourceFilter() {
+        var operations = new FilterRequest[]{
+                new FilterRequest(
+                        "name",
+                        "John",
+                        FilterOperation.EQ
+                )
+        };
+        var specification = new ReversibleSpecification<>(
+                Specification.where(null),
+                new FilterGroupRequest(
+                        operations,
+                        new FilterLogicalOperator[0],
+                        null
+                )
+        );
+
+        operations[0] = new FilterRequest(
+                "email",
+                "x",
+                FilterOperation.EQ
+        );
+
+        assertEquals(
+                "name",
+                specification.toRequest()
+                             .groupOperations()[0].field()
+        );
+    }
+
+    @Test
+    void create_ShouldReturnSameSpecification_WhenItCarriesSourceFilter() {
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            var factory = new ReversibleSpecificationFactory(entityManager);
+            var specification = new ReversibleSpecification<AccountMock>(
+                    Specification.where(null),
+                    new FilterGroupRequest(
+                            new FilterRequest[0],
+                            new FilterLogicalOperator[0],
+                            null
+                    )
+            );
+
+            assertSame(
+                    specification,
+                    factory.create(
+                            specification,
+                            AccountMock.class
+                    )
+            );
+        }
+    }
+
+    @Test
+    void create_ShouldReverseNestedPaths_WhenSpecificationCarriesNoFilter() {
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            var factory = new ReversibleSpecificationFactory(entityManager);
+            Specification<AccountMock> specification =
+                    (root, query, cb) -> cb.and(
+                            cb.equal(
+                                    root.get("manager")
+                                        .get("name"),
+                                    "John"
+                            ),
+                            cb.isNull(root.get("email"))
+                    );
+
+            var request = factory.create(
+                                         specification,
+                                         AccountMock.class
+                                 )
+                                 .toRequest();
+
+            assertEquals(
+                    List.of(
+                            "manager.name",
+                            "email"
+                    ),
+                    request.allOperations()
+                           .map(FilterRequest::field)
+                           .toList()
+            );
+            assertEquals(
+                    List.of(
+                            FilterOperation.EQ,
+                            FilterOperation.EMPTY
+                    ),
+                    request.allOperations()
+                           .map(FilterRequest::operation)
+                           .toList()
+            );
+        }
+    }
+}
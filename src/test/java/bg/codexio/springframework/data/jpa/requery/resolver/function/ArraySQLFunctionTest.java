@@ -0,0 +1,141 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import bg.codexio.springframework.data.jpa.requery.dialect.RequeryEnhancedMySQLDialect;
+import bg.codexio.springframework.data.jpa.requery.dialect.RequeryEnhancedPostgreSQLDialect;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.Literal;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ArraySQLFunctionTest {
+    private static String render(
+            ArraySQLFunction function,
+            String operation
+    ) {
+        var sql = new StringBuilder();
+        var walker = mock(SqlAstTranslator.class);
+        var literal = mock(Literal.class);
+        when(literal.getLiteralValue()).thenReturn(operation);
+        var column = mock(SqlAstNode.class);
+        var values = mock(SqlAstNode.class);
+        var rendered = Map.of(
+                column,
+                "p.tags",
+                values,
+                "?"
+        );
+        doAnswer(invocation -> sql.append(rendered.get(invocation.<SqlAstNode>getArgument(0)))).when(walker)
+                                                                                              .render(
+                                                                                                      any(),
+                                                                                                      eq(SqlAstNodeRenderingMode.DEFAULT)
+                                                                                              );
+
+        function.render(
+                sql::append,
+                List.of(
+                        literal,
+                        column,
+                        values
+                ),
+                (ReturnableType<?>) null,
+                walker
+        );
+
+        return sql.toString();
+    }
+
+    @Test
+    void render_ShouldUseArrayOperators_WhenPostgreSQL() {
+        assertEquals(
+                "(p.tags && ?)",
+                render(
+                        new PostgreSQLArraySQLFunction(),
+                        "OVERLAPS"
+                )
+        );
+        assertEquals(
+                "(p.tags @> ?)",
+                render(
+                        new PostgreSQLArraySQLFunction(),
+                        "CONTAINS_ALL"
+                )
+        );
+        assertEquals(
+                "(p.tags <@ ?)",
+                render(
+                        new PostgreSQLArraySQLFunction(),
+                        "CONTAINED_BY"
+                )
+        );
+    }
+
+    @Test
+    void render_ShouldUseJsonArrayFunctions_WhenMySQL() {
+        assertEquals(
+                "JSON_OVERLAPS(p.tags, ?)",
+                render(
+                        new MySQLArraySQLFunction(),
+                        "OVERLAPS"
+                )
+        );
+        assertEquals(
+                "JSON_CONTAINS(p.tags, ?)",
+                render(
+                        new MySQLArraySQLFunction(),
+                        "CONTAINS_ALL"
+                )
+        );
+        assertEquals(
+                "JSON_CONTAINS(?, p.tags)",
+                render(
+                        new MySQLArraySQLFunction(),
+                        "CONTAINED_BY"
+                )
+        );
+    }
+
+    @Test
+    void render_ShouldReject_WhenOperationIsNotAnArrayOperation() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> render(
+                        new PostgreSQLArraySQLFunction(),
+                        "EQ"
+                )
+        );
+    }
+
+    @Test
+    void indexDefinitions_ShouldIndexTheArrayColumn() {
+        assertEquals(
+                "CREATE INDEX products_tags_gin_idx ON products USING gin "
+                        + "(tags)",
+                RequeryEnhancedPostgreSQLDialect.arrayIndexDefinition(
+                        "products",
+                        "tags"
+                )
+        );
+        assertEquals(
+                "CREATE INDEX products_tags_mvi_idx ON products ((CAST(tags "
+                        + "AS CHAR(64) ARRAY)))",
+                RequeryEnhancedMySQLDialect.multiValuedIndexDefinition(
+                        "products",
+                        "tags",
+                        "CHAR(64)"
+                )
+        );
+    }
+}
@@ -14,8 +14,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 class CaseInsensitiveLikeSQLFunctionTest {
-    @Test
-    void render_ShouldAppendCorrectSqlForCaseInsensitiveLike_WhenGivenNodes() {
+    private static List<String> render(CaseInsensitiveLikeSQLFunction function) {
         var sqlAppender = mock(SqlAppender.class);
         var walker = mock(SqlAstTranslator.class);
         var node1 = mock(SqlAstNode.class);
@@ -26,8 +25,6 @@ class CaseInsensitiveLikeSQLFunctionTest {
                 node2
         );
 
-        var function = new CaseInsensitiveLikeSQLFunction();
-
         function.render(
                 sqlAppender,
                 arguments,
@@ -40,27 +37,55 @@ class CaseInsensitiveLikeSQLFunctionTest {
                 sqlAppender,
                 times(3)
         ).appendSql(captor.capture());
-        var allValues = captor.getAllValues();
 
+        var inOrder = inOrder(walker);
+        inOrder.verify(walker)
+               .render(
+                       eq(node1),
+                       eq(SqlAstNodeRenderingMode.DEFAULT)
+               );
+        inOrder.verify(walker)
+               .render(
+                       eq(node2),
+                       eq(SqlAstNodeRenderingMode.DEFAULT)
+               );
+
+        return captor.getAllValues();
+    }
+
+    @Test
+    void render_ShouldAppendCorrectSqlForCaseInsensitiveLike_WhenGivenNodes() {
         assertEquals(
-                "(LOWER(",
-                allValues.get(0)
-        );
-        assertEquals(
-                ") LIKE LOWER(",
-                allValues.get(1)
+                List.of(
+                        "(LOWER(",
+                        ") LIKE ",
+                        ")"
+                ),
+                render(new CaseInsensitiveLikeSQLFunction())
         );
+    }
+
+    @Test
+    void render_ShouldAppendIlike_WhenStrategyIsIlike() {
         assertEquals(
-                "))",
-                allValues.get(2)
+                List.of(
+                        "(",
+                        " ILIKE ",
+                        ")"
+                ),
+                render(new CaseInsensitiveLikeSQLFunction(CaseInsensitiveLikeStrategy.ILIKE))
         );
+    }
 
-        verify(
-                walker,
-                times(2)
-        ).render(
-                any(SqlAstNode.class),
-                eq(SqlAstNodeRenderingMode.DEFAULT)
+    @Test
+    void render_ShouldAppendPlainLike_WhenStrategyIsCollationLike() {
+        assertEquals(
+                List.of(
+                        "(",
+                        " LIKE ",
+                        ")"
+                ),
+                render(new CaseInsensitiveLikeSQLFunction(CaseInsensitiveLikeStrategy.COLLATION_LIKE))
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import org.hibernate.query.ReturnableType;
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class GroupingSetsSQLFunctionTest {
+    private static String render(
+            GroupingSetsSQLFunction function,
+            String... arguments
+    ) {
+        var sql = new StringBuilder();
+        var walker = mock(SqlAstTranslator.class);
+        var rendered = new HashMap<SqlAstNode, String>();
+        var nodes = new ArrayList<SqlAstNode>();
+        for (var argument : arguments) {
+            var node = mock(SqlAstNode.class);
+            rendered.put(
+                    node,
+                    argument
+            );
+            nodes.add(node);
+        }
+        doAnswer(invocation -> sql.append(rendered.get(invocation.<SqlAstNode>getArgument(0)))).when(walker)
+                                                                                              .render(
+                                                                                                      any(),
+                                                                                                      eq(SqlAstNodeRenderingMode.DEFAULT)
+                                                                                              );
+
+        function.render(
+                sql::append,
+                nodes,
+                (ReturnableType<?>) null,
+                walker
+        );
+
+        return sql.toString();
+    }
+
+    @Test
+    void render_ShouldRenderOneSetPerArgument_WhenUsedForGroupBy() {
+        assertEquals(
+                "GROUPING SETS ((a.name), (a.email))",
+                render(
+                        new GroupingSetsSQLFunction(false),
+                        "a.name",
+                        "a.email"
+                )
+        );
+    }
+
+    @Test
+    void render_ShouldRenderGroupingMask_WhenUsedForSelect() {
+        assertEquals(
+                "GROUPING(a.name, a.email)",
+                render(
+                        new GroupingSetsSQLFunction(true),
+                        "a.name",
+                        "a.email"
+                )
+        );
+    }
+}
@@ -0,0 +1,180 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import bg.codexio.springframework.data.jpa.requery.dialect.RequeryEnhancedMySQLDialect;
+import bg.codexio.springframework.data.jpa.requery.dialect.RequeryEnhancedPostgreSQLDialect;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.Literal;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JsonPathSQLFunctionTest {
+    private static Literal literal(String value) {
+        var literal = mock(Literal.class);
+        when(literal.getLiteralValue()).thenReturn(value);
+
+        return literal;
+    }
+
+    private static String render(
+            JsonPathSQLFunction function,
+            String operation,
+            String keys,
+            boolean withValue
+    ) {
+        var sql = new StringBuilder();
+        var walker = mock(SqlAstTranslator.class);
+        var rendered = new HashMap<SqlAstNode, String>();
+        var column = mock(SqlAstNode.class);
+        rendered.put(
+                column,
+                "p.attributes"
+        );
+
+        var arguments = new ArrayList<SqlAstNode>(List.of(
+                literal(operation),
+                literal(keys),
+                column
+        ));
+        if (withValue) {
+            var value = mock(SqlAstNode.class);
+            rendered.put(
+                    value,
+                    "?"
+            );
+            arguments.add(value);
+        }
+        doAnswer(invocation -> sql.append(rendered.get(invocation.<SqlAstNode>getArgument(0)))).when(walker)
+                                                                                              .render(
+                                                                                                      any(),
+                                                                                                      eq(SqlAstNodeRenderingMode.DEFAULT)
+                                                                                              );
+
+        function.render(
+                sql::append,
+                arguments,
+                (ReturnableType<?>) null,
+                walker
+        );
+
+        return sql.toString();
+    }
+
+    @Test
+    void render_ShouldMatchContainment_WhenPostgreSQLEquality() {
+        assertEquals(
+                "(p.attributes @> cast(? as jsonb))",
+                render(
+                        new PostgreSQLJsonPathSQLFunction(),
+                        "EQ",
+                        "color",
+                        true
+                )
+        );
+    }
+
+    @Test
+    void render_ShouldCompareThroughJsonPathVariable_WhenPostgreSQLComparison() {
+        assertEquals(
+                "jsonb_path_exists(p.attributes, '$.\"size\".\"width\" ? (@ >= "
+                        + "$value)', jsonb_build_object('value', ?))",
+                render(
+                        new PostgreSQLJsonPathSQLFunction(),
+                        "GTE",
+                        "size.width",
+                        true
+                )
+        );
+        assertEquals(
+                "(coalesce(jsonb_typeof(p.attributes #> '{size,width}'), "
+                        + "'null') = 'null')",
+                render(
+                        new PostgreSQLJsonPathSQLFunction(),
+                        "EMPTY",
+                        "size.width",
+                        false
+                )
+        );
+    }
+
+    @Test
+    void render_ShouldUseGeneratedColumnExpression_WhenMySQL() {
+        assertEquals(
+                "JSON_CONTAINS(p.attributes, ?)",
+                render(
+                        new MySQLJsonPathSQLFunction(),
+                        "EQ",
+                        "color",
+                        true
+                )
+        );
+        assertEquals(
+                "(p.attributes->>'$.\"color\"' < ?)",
+                render(
+                        new MySQLJsonPathSQLFunction(),
+                        "LT",
+                        "color",
+                        true
+                )
+        );
+        assertEquals(
+                "(coalesce(JSON_TYPE(JSON_EXTRACT(p.attributes, "
+                        + "'$.\"color\"')), 'NULL') <> 'NULL')",
+                render(
+                        new MySQLJsonPathSQLFunction(),
+                        "NOT_EMPTY",
+                        "color",
+                        false
+                )
+        );
+    }
+
+    @Test
+    void render_ShouldReject_WhenKeyIsNotAnIdentifier() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> render(
+                        new PostgreSQLJsonPathSQLFunction(),
+                        "EQ",
+                        "color') or true; --",
+                        true
+                )
+        );
+    }
+
+    @Test
+    void indexDefinitions_ShouldMatchRenderedExpressions() {
+        assertEquals(
+                "CREATE INDEX products_attributes_json_idx ON products USING "
+                        + "gin (attributes jsonb_path_ops)",
+                RequeryEnhancedPostgreSQLDialect.jsonIndexDefinition(
+                        "products",
+                        "attributes"
+                )
+        );
+        assertEquals(
+                "ALTER TABLE products ADD COLUMN attributes_color VARCHAR(32) "
+                        + "AS (attributes->>'$.\"color\"') VIRTUAL, ADD INDEX "
+                        + "products_attributes_color_idx (attributes_color)",
+                RequeryEnhancedMySQLDialect.jsonGeneratedColumnDefinition(
+                        "products",
+                        "attributes",
+                        "VARCHAR(32)",
+                        "color"
+                )
+        );
+    }
+}
@@ -0,0 +1,137 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import org.hibernate.query.ReturnableType;
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class PrefixMatchSQLFunctionTest {
+    private static String render(
+            PrefixMatchSQLFunction function,
+            String... arguments
+    ) {
+        var sql = new StringBuilder();
+        var walker = mock(SqlAstTranslator.class);
+        var rendered = new HashMap<SqlAstNode, String>();
+        var nodes = new ArrayList<SqlAstNode>();
+        for (var argument : arguments) {
+            var node = mock(SqlAstNode.class);
+            rendered.put(
+                    node,
+                    argument
+            );
+            nodes.add(node);
+        }
+        doAnswer(invocation -> sql.append(rendered.get(invocation.<SqlAstNode>getArgument(0)))).when(walker)
+                                                                                              .render(
+                                                                                                      any(),
+                                                                                                      eq(SqlAstNodeRenderingMode.DEFAULT)
+                                                                                              );
+
+        function.render(
+                sql::append,
+                nodes,
+                (ReturnableType<?>) null,
+                walker
+        );
+
+        return sql.toString();
+    }
+
+    @Test
+    void render_ShouldRenderHalfOpenRange_WhenStrategyIsRange() {
+        assertEquals(
+                "(name >= 'abc' AND name < 'abd')",
+                render(
+                        new PrefixMatchSQLFunction(PrefixMatchStrategy.RANGE),
+                        "name",
+                        "'abc%'",
+                        "'abc'",
+                        "'abd'"
+                )
+        );
+    }
+
+    @Test
+    void render_ShouldRenderLowerBoundOnly_WhenThereIsNoUpperBound() {
+        assertEquals(
+                "(name >= 'abc')",
+                render(
+                        new PrefixMatchSQLFunction(PrefixMatchStrategy.RANGE),
+                        "name",
+                        "'abc%'",
+                        "'abc'"
+                )
+        );
+    }
+
+    @Test
+    void render_ShouldRenderLike_WhenRangeHasNoBounds() {
+        assertEquals(
+                "(name LIKE 'a_c%')",
+                render(
+                        new PrefixMatchSQLFunction(PrefixMatchStrategy.RANGE),
+                        "name",
+                        "'a_c%'"
+                )
+        );
+    }
+
+    @Test
+    void render_ShouldCompareLowerCasedColumn_WhenCaseInsensitiveRange() {
+        assertEquals(
+                "(LOWER(name) >= 'abc' AND LOWER(name) < 'abd')",
+                render(
+                        new PrefixMatchSQLFunction(
+                                PrefixMatchStrategy.RANGE,
+                                CaseInsensitiveLikeStrategy.ILIKE
+                        ),
+                        "name",
+                        "'abc%'",
+                        "'abc'",
+                        "'abd'"
+                )
+        );
+    }
+
+    @Test
+    void render_ShouldRenderUncastLike_WhenStrategyIsLike() {
+        assertEquals(
+                "(name LIKE 'abc%')",
+                render(
+                        new PrefixMatchSQLFunction(PrefixMatchStrategy.LIKE),
+                        "name",
+                        "'abc%'",
+                        "'abc'",
+                        "'abd'"
+                )
+        );
+    }
+
+    @Test
+    void render_ShouldUseCaseInsensitiveLikeStrategy_WhenCaseInsensitiveLike() {
+        assertEquals(
+                "(name ILIKE 'abc%')",
+                render(
+                        new PrefixMatchSQLFunction(
+                                PrefixMatchStrategy.LIKE,
+                                CaseInsensitiveLikeStrategy.ILIKE
+                        ),
+                        "name",
+                        "'abc%'",
+                        "'abc'",
+                        "'abd'"
+                )
+        );
+    }
+}
@@ -0,0 +1,145 @@
+package bg.codexio.springframework.data.jpa.requery.resolver.function;
+
+import org.hibernate.query.ReturnableType;
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.Literal;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TextSearchSQLFunctionTest {
+    private static Literal literal(String value) {
+        var literal = mock(Literal.class);
+        when(literal.getLiteralValue()).thenReturn(value);
+
+        return literal;
+    }
+
+    private static String render(
+            TextSearchSQLFunction function,
+            String mode,
+            String configuration,
+            String... columns
+    ) {
+        var sql = new StringBuilder();
+        var walker = mock(SqlAstTranslator.class);
+        var rendered = new HashMap<SqlAstNode, String>();
+        var query = mock(SqlAstNode.class);
+        rendered.put(
+                query,
+                "?"
+        );
+
+        var arguments = new ArrayList<SqlAstNode>(List.of(
+                literal(mode),
+                literal(configuration),
+                query
+        ));
+        for (var column : columns) {
+            var node = mock(SqlAstNode.class);
+            rendered.put(
+                    node,
+                    column
+            );
+            arguments.add(node);
+        }
+        doAnswer(invocation -> sql.append(rendered.get(invocation.<SqlAstNode>getArgument(0)))).when(walker)
+                                                                                              .render(
+                                                                                                      any(),
+                                                                                                      eq(SqlAstNodeRenderingMode.DEFAULT)
+                                                                                              );
+
+        function.render(
+                sql::append,
+                arguments,
+                (ReturnableType<?>) null,
+                walker
+        );
+
+        return sql.toString();
+    }
+
+    @Test
+    void render_ShouldMatchTsVector_WhenPostgreSQLFullText() {
+        assertEquals(
+                "(to_tsvector('english', p.description) @@ "
+                        + "plainto_tsquery('english', ?))",
+                render(
+                        new PostgreSQLTextSearchSQLFunction(false),
+                        "FULL_TEXT",
+                        "english",
+                        "p.description"
+                )
+        );
+    }
+
+    @Test
+    void render_ShouldRankBySimilarityOfCoalescedDocument_WhenPostgreSQLTrigram() {
+        assertEquals(
+                "similarity(coalesce(p.title, '') || ' ' || "
+                        + "coalesce(p.description, ''), ?)",
+                render(
+                        new PostgreSQLTextSearchSQLFunction(true),
+                        "TRIGRAM",
+                        "simple",
+                        "p.title",
+                        "p.description"
+                )
+        );
+    }
+
+    @Test
+    void render_ShouldMatchAgainstAllColumns_WhenMySQL() {
+        assertEquals(
+                "(MATCH (p.title, p.description) AGAINST (? IN NATURAL "
+                        + "LANGUAGE MODE) > 0)",
+                render(
+                        new MySQLTextSearchSQLFunction(false),
+                        "FULL_TEXT",
+                        "simple",
+                        "p.title",
+                        "p.description"
+                )
+        );
+    }
+
+    @Test
+    void render_ShouldReject_WhenConfigurationIsNotAnIdentifier() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> render(
+                        new PostgreSQLTextSearchSQLFunction(false),
+                        "FULL_TEXT",
+                        "english'); drop table x; --",
+                        "p.description"
+                )
+        );
+    }
+
+    @Test
+    void documentExpression_ShouldCoalesceColumns_WhenDocumentHasSeveral() {
+        assertEquals(
+                "description",
+                PostgreSQLTextSearchSQLFunction.documentExpression(List.of("description"))
+        );
+        assertEquals(
+                "coalesce(title, '') || ' ' || coalesce(description, '')",
+                PostgreSQLTextSearchSQLFunction.documentExpression(List.of(
+                        "title",
+                        "description"
+                ))
+        );
+    }
+}
@@ -0,0 +1,217 @@
+package bg.codexio.springframework.data.jpa.requery.routing;
+
+import bg.codexio.springframework.data.jpa.requery.admission.QueryDeadline;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HedgedQueryExecutorTest {
+    private static final String SQL = "SELECT 'fast'";
+
+    private static final ResultSetExtractor<String> FIRST_COLUMN =
+            resultSet -> resultSet.next()
+                         ? resultSet.getString(1)
+                         : "slow";
+
+    private final DataSource fast =
+            new DriverManagerDataSource("jdbc:h2:mem:hedged_fast;DB_CLOSE_DELAY=-1");
+
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+
+    private final AtomicBoolean degraded = new AtomicBoolean(true);
+
+    /**
+     * @param latency how long the queries run while the data source is
+     *                degraded, unless they are cancelled
+     * @return a data source whose queries return no rows after the latency
+     */
+    private DataSource slow(Duration latency) throws SQLException {
+        var dataSource = mock(DataSource.class);
+        var connection = mock(Connection.class);
+        var statement = mock(PreparedStatement.class);
+        var empty = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            if (this.degraded.get() && this.cancelled.await(
+                    latency.toMillis(),
+                    TimeUnit.MILLISECONDS
+            )) {
+                throw new SQLException("Query cancelled");
+            }
+
+            return empty;
+        });
+        doAnswer(invocation -> {
+                               this.cancelled.countDown();
+
+                               return null;
+                           })
+                           .when(statement)
+                           .cancel();
+
+        return dataSource;
+    }
+
+    private static String query(HedgedQueryExecutor executor) {
+        return executor.query(
+                SQL,
+                statement -> {
+                },
+                FIRST_COLUMN
+        );
+    }
+
+    @Test
+    void query_ShouldReturnHedge_AndCancelSlowQuery() throws SQLException, InterruptedException {
+        var executor = new HedgedQueryExecutor(
+                List.of(
+                        this.slow(Duration.ofSeconds(5)),
+                        this.fast
+                ),
+                HedgePolicy.after(
+                        Duration.ofMillis(50),
+                        1
+                )
+        );
+
+        assertEquals(
+                "fast",
+                query(executor)
+        );
+        assertTrue(this.cancelled.await(
+                1,
+                TimeUnit.SECONDS
+        ));
+    }
+
+    @Test
+    void query_ShouldNotHedge_BeyondMaxHedgeRatio() throws SQLException {
+        var executor = new HedgedQueryExecutor(
+                List.of(
+                        this.slow(Duration.ofMillis(200)),
+                        this.fast
+                ),
+                HedgePolicy.after(
+                        Duration.ofMillis(20),
+                        0.5
+                )
+        );
+
+        // The first query earns half a hedge, the second one a whole one.
+        assertEquals(
+                "slow",
+                query(executor)
+        );
+        assertEquals(
+                "fast",
+                query(executor)
+        );
+    }
+
+    @Test
+    void query_ShouldHedgeAtPercentile_OfRecentLatencies() throws SQLException {
+        var slow = this.slow(Duration.ofMillis(300));
+        var executor = new HedgedQueryExecutor(
+                List.of(
+                        this.fast,
+                        slow
+                ),
+                HedgePolicy.atPercentile(
+                        0.9,
+                        Duration.ofMinutes(1),
+                        1
+                )
+        );
+
+        // Fast queries build up the latencies of the shape, far below the
+        // initial delay; the next query starts on the degraded replica.
+        this.degraded.set(false);
+        for (var i = 0; i <= LatencyWindow.MIN_SAMPLES * 2; i++) {
+            query(executor);
+        }
+        this.degraded.set(true);
+        var start = System.nanoTime();
+
+        assertEquals(
+                "fast",
+                query(executor)
+        );
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(250)
+                                                      .toNanos());
+    }
+
+    @Test
+    void query_ShouldApplyDeadline_OfCallingRequest() throws SQLException {
+        var dataSource = mock(DataSource.class);
+        var connection = mock(Connection.class);
+        var statement = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(mock(ResultSet.class));
+        var request = mock(HttpServletRequest.class);
+        when(request.getAttribute(QueryDeadline.ATTRIBUTE)).thenReturn(new QueryDeadline(Duration.ofMinutes(1)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        try (var executor = new HedgedQueryExecutor(
+                List.of(dataSource),
+                HedgePolicy.after(
+                        Duration.ofSeconds(1),
+                        1
+                )
+        )) {
+            query(executor);
+
+            verify(statement).setQueryTimeout(60);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void hedgePolicy_ShouldRejectInvalidSettings() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> HedgePolicy.after(
+                        Duration.ofMillis(-1),
+                        0.1
+                )
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> HedgePolicy.atPercentile(
+                        1,
+                        Duration.ZERO,
+                        0.1
+                )
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> HedgePolicy.after(
+                        Duration.ZERO,
+                        1.5
+                )
+        );
+    }
+}
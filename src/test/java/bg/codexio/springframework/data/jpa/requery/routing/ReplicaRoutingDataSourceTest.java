@@ -0,0 +1,211 @@
+package bg.codexio.springframework.data.jpa.requery.routing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+    private final DataSource primary = database("primary");
+
+    private final DataSource first = database("replica_1");
+
+    private final DataSource second = database("replica_2");
+
+    private static DataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:routing_" + name);
+    }
+
+    private static String name(Connection connection) throws SQLException {
+        var url = connection.getMetaData()
+                            .getURL();
+
+        return url.substring(url.indexOf("routing_") + "routing_".length());
+    }
+
+    private static String read(DataSource dataSource) {
+        return ReplicaRouting.readOnly(() -> {
+            try (var connection = dataSource.getConnection()) {
+                return name(connection);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private ReplicaRoutingDataSource router(
+            ReplicaSelection selection,
+            Duration pinAfterWrite
+    ) {
+        return new ReplicaRoutingDataSource(
+                this.primary,
+                List.of(
+                        this.first,
+                        this.second
+                ),
+                selection,
+                pinAfterWrite,
+                Duration.ofMinutes(1),
+                () -> "session"
+        );
+    }
+
+    @Test
+    void getConnection_ShouldAlternateReplicas_ForReads() throws SQLException {
+        var router = this.router(
+                ReplicaSelection.ROUND_ROBIN,
+                Duration.ofSeconds(1)
+        );
+
+        assertEquals(
+                List.of(
+                        "replica_1",
+                        "replica_2",
+                        "replica_1"
+                ),
+                List.of(
+                        read(router),
+                        read(router),
+                        read(router)
+                )
+        );
+        try (var connection = router.getConnection()) {
+            assertEquals(
+                    "primary",
+                    name(connection)
+            );
+        }
+    }
+
+    @Test
+    void getConnection_ShouldPickReplicaWithFewestOpenConnections() throws SQLException {
+        var router = this.router(
+                ReplicaSelection.LEAST_LOADED,
+                Duration.ofSeconds(1)
+        );
+
+        try (var held = ReplicaRouting.readOnly(() -> {
+            try {
+                return router.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        })) {
+            assertEquals(
+                    "replica_1",
+                    name(held)
+            );
+            assertEquals(
+                    "replica_2",
+                    read(router)
+            );
+            assertEquals(
+                    "replica_2",
+                    read(router)
+            );
+        }
+        // Equally loaded again, the replicas take turns.
+        assertEquals(
+                Set.of(
+                        "replica_1",
+                        "replica_2"
+                ),
+                Set.of(
+                        read(router),
+                        read(router)
+                )
+        );
+    }
+
+    @Test
+    void getConnection_ShouldPinSessionToPrimary_AfterWrite() throws SQLException, InterruptedException {
+        var router = this.router(
+                ReplicaSelection.ROUND_ROBIN,
+                Duration.ofMillis(200)
+        );
+
+        try (var connection = router.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.commit();
+        }
+
+        assertEquals(
+                "primary",
+                read(router)
+        );
+        Thread.sleep(300);
+        assertEquals(
+                "replica_1",
+                read(router)
+        );
+    }
+
+    @Test
+    void getConnection_ShouldNotPin_WithoutSessionKey() throws SQLException {
+        var router = new ReplicaRoutingDataSource(
+                this.primary,
+                List.of(this.first)
+        );
+
+        try (var connection = router.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.commit();
+        }
+
+        assertFalse(router.isPinnedToPrimary());
+        assertEquals(
+                "replica_1",
+                read(router)
+        );
+    }
+
+    @Test
+    void getConnection_ShouldFallBackToPrimary_WhenReplicasAreUnhealthy() throws SQLException {
+        var failing = mock(DataSource.class);
+        when(failing.getConnection()).thenThrow(new SQLException("down"));
+        var router = new ReplicaRoutingDataSource(
+                this.primary,
+                List.of(
+                        failing,
+                        this.second
+                )
+        );
+
+        assertEquals(
+                List.of(
+                        "replica_2",
+                        "replica_2"
+                ),
+                List.of(
+                        read(router),
+                        read(router)
+                )
+        );
+        // The failed replica is skipped until the retry interval elapses.
+        verify(
+                failing,
+                times(1)
+        ).getConnection();
+
+        var unhealthy = new ReplicaRoutingDataSource(
+                this.primary,
+                List.of(failing)
+        );
+        assertEquals(
+                "primary",
+                read(unhealthy)
+        );
+    }
+}
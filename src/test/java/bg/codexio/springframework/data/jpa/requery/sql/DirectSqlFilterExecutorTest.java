@@ -0,0 +1,491 @@
+package bg.codexio.springframework.data.jpa.requery.sql;
+
+import bg.codexio.springframework.data.jpa.requery.admission.FilterRejectedException;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConversionConfiguration;
+import bg.codexio.springframework.data.jpa.requery.config.FilterJsonTypeConverterImpl;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterLogicalOperator;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequestWrapper;
+import bg.codexio.springframework.data.jpa.requery.payload.UnaryGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.resolver.FilterJsonArgumentResolver;
+import bg.codexio.springframework.data.jpa.requery.routing.HedgePolicy;
+import bg.codexio.springframework.data.jpa.requery.routing.HedgedQueryExecutor;
+import bg.codexio.springframework.data.jpa.requery.specification.joinColumn.types.enumType.LongTypePrimaryKeyProvider;
+import bg.codexio.springframework.data.jpa.requery.test.objects.AccountMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.CarMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.SessionFactoryMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.VehicleMock;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectSqlFilterExecutorTest {
+    private static SessionFactory sessionFactory;
+
+    private static FilterJsonArgumentResolver resolver;
+
+    private static DirectSqlFilterExecutor executor;
+
+    @BeforeAll
+    static void setup() {
+        sessionFactory = SessionFactoryMock.create(
+                "direct_sql",
+                AccountMock.class
+        );
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery("INSERT INTO accounts (id, email, name, manager_id) VALUES "
+                                                                                        + "(1, 'a@example.com', 'John', NULL), "
+                                                                                        + "(2, 'b@example.com', 'John', 1), "
+                                                                                        + "(3, 'b@example.com', NULL, 1), "
+                                                                                        + "(4, 'c@example.com', 'Ann', 3), "
+                                                                                        + "(5, 'd_x@example.com', 'Mary', 4)")
+                                                       .executeUpdate());
+
+        var converter = new FilterJsonTypeConverterImpl();
+        new FilterJsonTypeConversionConfiguration(
+                converter,
+                new LongTypePrimaryKeyProvider()
+        );
+        resolver = new FilterJsonArgumentResolver(
+                converter,
+                List.of()
+        );
+        executor = new DirectSqlFilterExecutor(
+                sessionFactory,
+                new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:direct_sql;DB_CLOSE_DELAY=-1")),
+                converter
+        );
+    }
+
+    @AfterAll
+    static void closeDatabase() {
+        sessionFactory.close();
+    }
+
+    private static List<Long> criteriaIds(FilterRequestWrapper<?> filterWrapper) {
+        try (var entityManager = sessionFactory.createEntityManager()) {
+            @SuppressWarnings("unchecked") var spec =
+                    resolver.resolveSpecification(
+                            (FilterRequestWrapper) filterWrapper,
+                            AccountMock.class,
+                            null
+                    );
+            var cb = entityManager.getCriteriaBuilder();
+            var query = cb.createQuery(Long.class);
+            @SuppressWarnings("unchecked") var root =
+                    query.from((Class<Object>) (Class<?>) AccountMock.class);
+            query.select(root.get("id"))
+                 .orderBy(cb.asc(root.get("id")));
+            var predicate = spec.toPredicate(
+                    root,
+                    query,
+                    cb
+            );
+            if (predicate != null) {
+                query.where(predicate);
+            }
+
+            return entityManager.createQuery(query)
+                                .getResultList();
+        }
+    }
+
+    private static List<Long> directIds(FilterRequestWrapper<?> filterWrapper) {
+        return executor.findAll(
+                               filterWrapper,
+                               AccountMock.class,
+                               AccountView.class,
+                               Sort.by("id")
+                       )
+                       .stream()
+                       .map(AccountView::id)
+                       .toList();
+    }
+
+    @Test
+    void findAll_ShouldReturnSameResultsAsCriteriaPath() {
+        var filters = List.<FilterRequestWrapper<?>>of(
+                new FilterRequestWrapper<>(),
+                new FilterRequestWrapper<>(List.of(new FilterRequest(
+                        "manager.name",
+                        "John",
+                        FilterOperation.EQ
+                ))),
+                new FilterRequestWrapper<>(List.of(
+                        new FilterRequest(
+                                "id",
+                                "2",
+                                FilterOperation.GTE
+                        ),
+                        new FilterRequest(
+                                "name",
+                                List.of(
+                                        "John",
+                                        "Ann"
+                                ),
+                                FilterOperation.NOT_IN
+                        )
+                )),
+                new FilterRequestWrapper<>(List.of(new FilterRequest(
+                        "email",
+                        "D_",
+                        FilterOperation.BEGINS_WITH_CASEINS
+                ))),
+                new FilterRequestWrapper<>(List.of(new FilterRequest(
+                        "name",
+                        "",
+                        FilterOperation.EMPTY
+                ))),
+                new FilterRequestWrapper<>(new FilterGroupRequest(
+                        new FilterRequest[]{
+                                new FilterRequest(
+                                        "name",
+                                        "Ann",
+                                        FilterOperation.EQ
+                                ),
+                                new FilterRequest(
+                                        "id",
+                                        "2",
+                                        FilterOperation.LT
+                                )
+                        },
+                        new FilterLogicalOperator[]{FilterLogicalOperator.OR},
+                        new UnaryGroupRequest(
+                                new FilterGroupRequest(
+                                        new FilterRequest[]{
+                                                new FilterRequest(
+                                                        "email",
+                                                        "example",
+                                                        FilterOperation.CONTAINS
+                                                )
+                                        },
+                                        new FilterLogicalOperator[0],
+                                        null
+                                ),
+                                FilterLogicalOperator.AND
+                        )
+                ))
+        );
+
+        for (var filter : filters) {
+            assertEquals(
+                    criteriaIds(filter),
+                    directIds(filter)
+            );
+        }
+    }
+
+    @Test
+    void findAll_ShouldReadPageAndCountTotal_WhenGivenPageable() {
+        var page = executor.findAll(
+                new FilterRequestWrapper<>(List.of(new FilterRequest(
+                        "email",
+                        "example.com",
+                        FilterOperation.ENDS_WITH
+                ))),
+                AccountMock.class,
+                AccountView.class,
+                PageRequest.of(
+                        1,
+                        2,
+                        Sort.by(Sort.Direction.DESC, "id")
+                )
+        );
+
+        assertEquals(
+                List.of(
+                        3L,
+                        2L
+                ),
+                page.getContent()
+                    .stream()
+                    .map(AccountView::id)
+                    .toList()
+        );
+        assertEquals(
+                5,
+                page.getTotalElements()
+        );
+    }
+
+    @Test
+    void findAll_ShouldRunQueriesOnHedgedExecutor_WhenGiven() {
+        var replica = new DriverManagerDataSource("jdbc:h2:mem:direct_sql;DB_CLOSE_DELAY=-1");
+        var hedged = new DirectSqlFilterExecutor(
+                sessionFactory,
+                null,
+                new FilterJsonTypeConverterImpl(),
+                List.of(),
+                DirectSqlFilterExecutor.DEFAULT_MAX_CACHED_SHAPES,
+                new HedgedQueryExecutor(
+                        List.of(
+                                replica,
+                                replica
+                        ),
+                        HedgePolicy.after(
+                                Duration.ofMillis(1),
+                                1
+                        )
+                ),
+                null
+        );
+
+        var page = hedged.findAll(
+                new FilterRequestWrapper<>(List.of(new FilterRequest(
+                        "name",
+                        "John",
+                        FilterOperation.EQ
+                ))),
+                AccountMock.class,
+                AccountView.class,
+                PageRequest.of(
+                        0,
+                        1,
+                        Sort.by("id")
+                )
+        );
+
+        assertEquals(
+                List.of(1L),
+                page.getContent()
+                    .stream()
+                    .map(AccountView::id)
+                    .toList()
+        );
+        assertEquals(
+                2,
+                page.getTotalElements()
+        );
+    }
+
+    @Test
+    void findAll_ShouldRecordSlowFilters_WithoutTheirValues() {
+        var template = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:direct_sql;DB_CLOSE_DELAY=-1"));
+        var slowFilterLog = new SlowFilterLog(
+                template,
+                Duration.ZERO,
+                2,
+                true
+        );
+        var logged = new DirectSqlFilterExecutor(
+                sessionFactory,
+                template,
+                new FilterJsonTypeConverterImpl(),
+                List.of(),
+                DirectSqlFilterExecutor.DEFAULT_MAX_CACHED_SHAPES,
+                null,
+                slowFilterLog
+        );
+        var filter = new FilterRequestWrapper<>(List.of(new FilterRequest(
+                "email",
+                "b@example.com",
+                FilterOperation.EQ
+        )));
+
+        logged.count(
+                filter,
+                AccountMock.class
+        );
+        logged.findAll(
+                filter,
+                AccountMock.class,
+                AccountView.class,
+                Sort.by("id")
+        );
+        logged.findAll(
+                filter,
+                AccountMock.class,
+                AccountView.class,
+                PageRequest.of(
+                        0,
+                        1
+                )
+        );
+
+        var entries = slowFilterLog.entries();
+        assertEquals(
+                List.of(
+                        3L,
+                        2L
+                ),
+                entries.stream()
+                       .map(SlowFilterEntry::id)
+                       .toList()
+        );
+        // The page of one row, then the count of the page total.
+        var entry = entries.get(1);
+        assertEquals(
+                "(email EQ)",
+                entry.filter()
+        );
+        assertEquals(
+                AccountMock.class.getName(),
+                entry.entityType()
+        );
+        assertEquals(
+                List.of("String"),
+                entry.bindTypes()
+        );
+        assertEquals(
+                1,
+                entry.rowCount()
+        );
+        assertFalse(entry.toString()
+                         .contains("b@example.com"));
+        assertFalse(slowFilterLog.explain(entry.id())
+                                 .isEmpty());
+        assertEquals(
+                HttpStatus.NOT_FOUND,
+                assertThrows(
+                        ResponseStatusException.class,
+                        () -> slowFilterLog.explain(0)
+                ).getStatusCode()
+        );
+    }
+
+    @Test
+    void findAll_ShouldSelectNestedFields_WhenGivenRowMapper() {
+        var rows = executor.findAll(
+                new FilterRequestWrapper<>(List.of(new FilterRequest(
+                        "id",
+                        "4",
+                        FilterOperation.EQ
+                ))),
+                AccountMock.class,
+                List.of(
+                        "email",
+                        "manager.email"
+                ),
+                Sort.unsorted(),
+                (resultSet, rowNumber) -> resultSet.getString(1) + " > "
+                        + resultSet.getString(2)
+        );
+
+        assertEquals(
+                List.of("c@example.com > b@example.com"),
+                rows
+        );
+    }
+
+    @Test
+    void count_ShouldCountMatchingEntities() {
+        assertEquals(
+                2,
+                executor.count(
+                        new FilterRequestWrapper<>(List.of(new FilterRequest(
+                                "name",
+                                "John",
+                                FilterOperation.EQ
+                        ))),
+                        AccountMock.class
+                )
+        );
+    }
+
+    @Test
+    void shape_ShouldIgnoreValues_WhenListSizesMatch() {
+        var first = new FilterRequestWrapper<>(List.of(new FilterRequest(
+                "name",
+                List.of(
+                        "a",
+                        "b"
+                ),
+                FilterOperation.IN
+        )));
+        var second = new FilterRequestWrapper<>(List.of(new FilterRequest(
+                "name",
+                List.of(
+                        "c",
+                        "d"
+                ),
+                FilterOperation.IN
+        )));
+        var third = new FilterRequestWrapper<>(List.of(new FilterRequest(
+                "name",
+                List.of("c"),
+                FilterOperation.IN
+        )));
+
+        assertEquals(
+                DirectSqlFilterExecutor.shape(first.toFilterGroupRequest()
+                                                   .orElseThrow()),
+                DirectSqlFilterExecutor.shape(second.toFilterGroupRequest()
+                                                    .orElseThrow())
+        );
+        assertNotEquals(
+                DirectSqlFilterExecutor.shape(first.toFilterGroupRequest()
+                                                   .orElseThrow()),
+                DirectSqlFilterExecutor.shape(third.toFilterGroupRequest()
+                                                   .orElseThrow())
+        );
+    }
+
+    @Test
+    void findAll_ShouldRejectFilter_WhenOperationIsSearch() {
+        var exception = assertThrows(
+                FilterRejectedException.class,
+                () -> directIds(new FilterRequestWrapper<>(List.of(new FilterRequest(
+                        "name",
+                        "john",
+                        FilterOperation.SEARCH
+                ))))
+        );
+
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                exception.getStatusCode()
+        );
+    }
+
+    @Test
+    void count_ShouldRejectEntity_WhenItIsSingleTableSubclass() {
+        try (var vehicles = SessionFactoryMock.create(
+                "direct_sql_vehicles",
+                VehicleMock.class,
+                CarMock.class
+        )) {
+            var vehicleExecutor = new DirectSqlFilterExecutor(
+                    vehicles,
+                    new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:direct_sql_vehicles;DB_CLOSE_DELAY=-1")),
+                    new FilterJsonTypeConverterImpl()
+            );
+
+            var exception = assertThrows(
+                    FilterRejectedException.class,
+                    () -> vehicleExecutor.count(
+                            new FilterRequestWrapper<>(List.of(new FilterRequest(
+                                    "name",
+                                    "Polo",
+                                    FilterOperation.EQ
+                            ))),
+                            CarMock.class
+                    )
+            );
+
+            assertEquals(
+                    HttpStatus.BAD_REQUEST,
+                    exception.getStatusCode()
+            );
+        }
+    }
+
+    record AccountView(
+            Long id,
+            String email,
+            String name
+    ) {
+    }
+}
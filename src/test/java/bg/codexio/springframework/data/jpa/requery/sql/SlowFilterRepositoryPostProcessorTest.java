@@ -0,0 +1,137 @@
+package bg.codexio.springframework.data.jpa.requery.sql;
+
+import bg.codexio.springframework.data.jpa.requery.payload.FilterGroupRequest;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterLogicalOperator;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterOperation;
+import bg.codexio.springframework.data.jpa.requery.payload.FilterRequest;
+import bg.codexio.springframework.data.jpa.requery.resolver.ReversibleSpecification;
+import bg.codexio.springframework.data.jpa.requery.test.objects.AccountMock;
+import bg.codexio.springframework.data.jpa.requery.test.objects.SessionFactoryMock;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowFilterRepositoryPostProcessorTest {
+    private SlowFilterLog slowFilterLog;
+
+    private SessionFactory sessionFactory;
+
+    private AccountRepository repository;
+
+    @BeforeEach
+    void setup() {
+        this.slowFilterLog = new SlowFilterLog(
+                new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:slow_filter_repository;DB_CLOSE_DELAY=-1")),
+                Duration.ZERO,
+                4,
+                false
+        );
+        var postProcessor =
+                new SlowFilterRepositoryPostProcessor(this.slowFilterLog);
+        this.sessionFactory = SessionFactoryMock.createInspected(
+                "slow_filter_repository",
+                postProcessor,
+                AccountMock.class
+        );
+        this.sessionFactory.inTransaction(session -> session.createNativeMutationQuery("INSERT INTO accounts (id, email) "
+                                                                                             + "SELECT X, 'a' || X || '@example.com' "
+                                                                                             + "FROM SYSTEM_RANGE(1, 3)")
+                                                            .executeUpdate());
+        var factory = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(this.sessionFactory));
+        factory.addRepositoryProxyPostProcessor(postProcessor);
+        this.repository = factory.getRepository(AccountRepository.class);
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        this.sessionFactory.close();
+    }
+
+    @Test
+    void postProcess_ShouldRecordRepositoryCalls_WithResolvedFilter() {
+        Specification<AccountMock> specification = (root, query, cb) -> cb.like(
+                root.get("email"),
+                "%@example.com"
+        );
+
+        this.repository.findAll(
+                new ReversibleSpecification<>(
+                        specification,
+                        new FilterGroupRequest(
+                                new FilterRequest[]{
+                                        new FilterRequest(
+                                                "email",
+                                                "@example.com",
+                                                FilterOperation.ENDS_WITH
+                                        )
+                                },
+                                new FilterLogicalOperator[0],
+                                null
+                        )
+                ),
+                PageRequest.of(
+                        0,
+                        2
+                )
+        );
+        this.repository.findAll(specification);
+        this.repository.count();
+
+        var entries = this.slowFilterLog.entries();
+        assertEquals(
+                1,
+                entries.size()
+        );
+        var entry = entries.get(0);
+        assertEquals(
+                AccountMock.class.getName(),
+                entry.entityType()
+        );
+        assertEquals(
+                "(email ENDS_WITH)",
+                entry.filter()
+        );
+        assertEquals(
+                2,
+                entry.rowCount()
+        );
+        assertEquals(
+                List.of(),
+                entry.bindTypes()
+        );
+        // The page of two rows, then the count of the page total.
+        var statements = entry.sql()
+                              .split(";\n");
+        assertEquals(
+                2,
+                statements.length
+        );
+        assertTrue(statements[1].startsWith("select count("));
+        assertFalse(entry.sql()
+                         .contains("@example.com"));
+        assertThrows(
+                ResponseStatusException.class,
+                () -> this.slowFilterLog.explain(entry.id())
+        );
+    }
+
+    interface AccountRepository
+            extends JpaRepository<AccountMock, Long>,
+                    JpaSpecificationExecutor<AccountMock> {
+    }
+}
@@ -0,0 +1,21 @@
+package bg.codexio.springframework.data.jpa.requery.test.objects;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(
+        name = "accounts",
+        indexes = @Index(columnList = "email")
+)
+public class AccountMock {
+    @Id
+    private Long id;
+    private String email;
+    private String name;
+    @ManyToOne
+    private AccountMock manager;
+}
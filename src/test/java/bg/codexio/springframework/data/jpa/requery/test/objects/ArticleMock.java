@@ -0,0 +1,16 @@
+package bg.codexio.springframework.data.jpa.requery.test.objects;
+
+import bg.codexio.springframework.data.jpa.requery.search.SearchField;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "articles")
+public class ArticleMock {
+    @Id
+    private Long id;
+    @SearchField(orderByRelevance = true)
+    private String title;
+    private String category;
+}
@@ -0,0 +1,11 @@
+package bg.codexio.springframework.data.jpa.requery.test.objects;
+
+import jakarta.persistence.DiscriminatorValue;
+import jakarta.persistence.Entity;
+
+@Entity
+@DiscriminatorValue("car")
+public class CarMock
+        extends VehicleMock {
+    private Integer seats;
+}
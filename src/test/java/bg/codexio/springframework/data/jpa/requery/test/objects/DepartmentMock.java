@@ -0,0 +1,22 @@
+package bg.codexio.springframework.data.jpa.requery.test.objects;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+
+import java.util.List;
+
+@Entity
+@Table(name = "departments")
+public class DepartmentMock {
+    @Id
+    private Long id;
+    private String name;
+    @ManyToOne(fetch = FetchType.LAZY)
+    private EmployeeMock head;
+    @OneToMany(mappedBy = "department")
+    private List<EmployeeMock> employees;
+}
@@ -0,0 +1,66 @@
+package bg.codexio.springframework.data.jpa.requery.test.objects;
+
+import bg.codexio.springframework.data.jpa.requery.resolver.function.TextSearchSQLFunction;
+import bg.codexio.springframework.data.jpa.requery.search.SearchMode;
+import org.hibernate.sql.ast.SqlAstNodeRenderingMode;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+
+import java.util.List;
+
+/**
+ * Renders the {@code SEARCH} operation with {@code LOCATE}, for databases
+ * without a text index such as H2. The relevance is the position of the
+ * query in the first column.
+ */
+public class LocateTextSearchSQLFunction
+        extends TextSearchSQLFunction {
+
+    public LocateTextSearchSQLFunction(boolean rank) {
+        super(rank);
+    }
+
+    @Override
+    protected void renderMatch(
+            SqlAppender sqlAppender,
+            SearchMode mode,
+            String configuration,
+            SqlAstNode query,
+            List<? extends SqlAstNode> columns,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql("(");
+        this.renderRank(
+                sqlAppender,
+                mode,
+                configuration,
+                query,
+                columns,
+                walker
+        );
+        sqlAppender.appendSql(" > 0)");
+    }
+
+    @Override
+    protected void renderRank(
+            SqlAppender sqlAppender,
+            SearchMode mode,
+            String configuration,
+            SqlAstNode query,
+            List<? extends SqlAstNode> columns,
+            SqlAstTranslator<?> walker
+    ) {
+        sqlAppender.appendSql("LOCATE(");
+        walker.render(
+                query,
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(", ");
+        walker.render(
+                columns.getFirst(),
+                SqlAstNodeRenderingMode.DEFAULT
+        );
+        sqlAppender.appendSql(")");
+    }
+}
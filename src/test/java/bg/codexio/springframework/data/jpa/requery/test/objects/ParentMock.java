@@ -1,10 +1,22 @@
 package bg.codexio.springframework.data.jpa.requery.test.objects;
 
+import bg.codexio.springframework.data.jpa.requery.search.SearchField;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public class ParentMock {
     private String name;
     private Long age;
     private String role;
     private List<Integer> grades;
+    private String[] tags;
+    private LocalDate birthDate;
+    @SearchField(configuration = "english", paths = {"name", "description"}, orderByRelevance = true)
+    private String description;
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, Object> attributes;
 }
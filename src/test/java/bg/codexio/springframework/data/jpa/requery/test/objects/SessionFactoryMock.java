@@ -0,0 +1,78 @@
+package bg.codexio.springframework.data.jpa.requery.test.objects;
+
+import bg.codexio.springframework.data.jpa.requery.resolver.function.TextSearchSQLFunction;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public final class SessionFactoryMock {
+    private SessionFactoryMock() {}
+
+    public static SessionFactory create(
+            String database,
+            Class<?>... entities
+    ) {
+        return configure(
+                database,
+                entities
+        ).buildSessionFactory();
+    }
+
+    /**
+     * Creates a session factory that also renders the {@code SEARCH}
+     * operation, through {@link LocateTextSearchSQLFunction}.
+     */
+    public static SessionFactory createSearchable(
+            String database,
+            Class<?>... entities
+    ) {
+        return configure(
+                database,
+                entities
+        ).addSqlFunction(
+                 TextSearchSQLFunction.FUNC_NAME,
+                 new LocateTextSearchSQLFunction(false)
+         )
+         .addSqlFunction(
+                 TextSearchSQLFunction.RANK_FUNC_NAME,
+                 new LocateTextSearchSQLFunction(true)
+         )
+         .buildSessionFactory();
+    }
+
+    /**
+     * Creates a session factory that passes every statement to the given
+     * inspector.
+     */
+    public static SessionFactory createInspected(
+            String database,
+            StatementInspector statementInspector,
+            Class<?>... entities
+    ) {
+        return configure(
+                database,
+                entities
+        ).setStatementInspector(statementInspector)
+         .buildSessionFactory();
+    }
+
+    private static Configuration configure(
+            String database,
+            Class<?>... entities
+    ) {
+        var configuration = new Configuration();
+        for (var entity : entities) {
+            configuration.addAnnotatedClass(entity);
+        }
+
+        return configuration.setProperty(
+                                    "hibernate.connection.url",
+                                    "jdbc:h2:mem:" + database
+                                            + ";DB_CLOSE_DELAY=-1"
+                            )
+                            .setProperty(
+                                    "hibernate.hbm2ddl.auto",
+                                    "create-drop"
+                            );
+    }
+}
@@ -0,0 +1,22 @@
+package bg.codexio.springframework.data.jpa.requery.test.objects;
+
+import bg.codexio.springframework.data.jpa.requery.geo.GeoPoint;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "stores", indexes = @Index(columnList = "latitude, longitude"))
+@GeoPoint(name = "location", orderByDistance = true)
+public class StoreMock {
+    @Id
+    private Long id;
+    private String name;
+    private Double latitude;
+    private Double longitude;
+
+    public String getName() {
+        return this.name;
+    }
+}